@@ -1,9 +1,20 @@
 package at.fhhagenberg.sqelevator;
 
 import at.fhhagenberg.sqelevator.logic.*;
-import at.fhhagenberg.sqelevator.logic.automaticmode.AutomaticElevatorMode;
+import at.fhhagenberg.sqelevator.logic.automaticmode.ArrivalTimeEstimator;
+import at.fhhagenberg.sqelevator.logic.automaticmode.CostBasedElevatorMode;
+import at.fhhagenberg.sqelevator.logic.automaticmode.DispatchLoop;
+import at.fhhagenberg.sqelevator.logic.automaticmode.FloorZoning;
+import at.fhhagenberg.sqelevator.logic.automaticmode.HallCallAssignmentSolver;
+import at.fhhagenberg.sqelevator.logic.automaticmode.IdleCarParking;
+import at.fhhagenberg.sqelevator.logic.automaticmode.LookElevatorMode;
+import at.fhhagenberg.sqelevator.logic.automaticmode.TargetCommandChannel;
+import at.fhhagenberg.sqelevator.logic.automaticmode.TrafficAdaptiveElevatorMode;
+import at.fhhagenberg.sqelevator.logic.automaticmode.TrafficClassifier;
+import at.fhhagenberg.sqelevator.logic.automaticmode.TrafficMode;
 import at.fhhagenberg.sqelevator.view.RemoteConsoleView;
 import at.fhhagenberg.sqelevator.data.ElevatorClient;
+import at.fhhagenberg.sqelevator.data.IElevatorConnector;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.paint.Color;
@@ -18,6 +29,19 @@ public class ElevatorApplication extends Application {
 
     private static final Logger LOGGER = Logger.getLogger("ElevatorApplication");
 
+    private static final long POLLING_INTERVAL = 100;
+    private static final long MINIMUM_POLLING_INTERVAL = 20;
+    private static final long MAXIMUM_POLLING_INTERVAL = 500;
+    private static final int POLLING_THREADS = 8;
+    private static final long POLLING_CYCLE_DEADLINE = 250;
+    private static final int BUTTON_POLLING_PERIOD = 3;
+    private static final int STATIC_POLLING_PERIOD = 50;
+    private static final String SIMULATOR_URL = "rmi://localhost/ElevatorSim";
+    private static final long MINIMUM_RECONNECT_DELAY = 250;
+    private static final long MAXIMUM_RECONNECT_DELAY = 10000;
+    private static final int ZONING_MINIMUM_FLOORS = 16;
+    private static final int CARS_PER_ZONE = 2;
+
     IRemoteConsoleViewModel viewModel;
     RemoteConsoleView view;
 
@@ -25,19 +49,43 @@ public class ElevatorApplication extends Application {
     public void start(Stage primaryStage) {
 
         try {
-            var controller = (IElevator) Naming.lookup("rmi://localhost/ElevatorSim");
-            var client = new ElevatorClient(controller);
-            var automaticElevatorMode = new AutomaticElevatorMode(client);
-            var pollingService = new ElevatorStatusPollingService(client, client.getElevators(), 100);
+            IElevatorConnector connector = () -> (IElevator) Naming.lookup(SIMULATOR_URL);
+            var client = new ElevatorClient(connector.connect());
+            // every strategy sends its targets through the one channel of the client
+            var targetCommands = new TargetCommandChannel(client);
+            var costBasedElevatorMode = new CostBasedElevatorMode(client, new ArrivalTimeEstimator(), new HallCallAssignmentSolver());
+            costBasedElevatorMode.setIdleCarParking(new IdleCarParking());
+            costBasedElevatorMode.setTargetCommandChannel(targetCommands);
+            var lookElevatorMode = new LookElevatorMode(client);
+            lookElevatorMode.setTargetCommandChannel(targetCommands);
+            var automaticElevatorMode = new TrafficAdaptiveElevatorMode(client, new TrafficClassifier(), costBasedElevatorMode);
+            automaticElevatorMode.setStrategy(TrafficMode.DOWN_PEAK, lookElevatorMode);
+
+            // zoned up-peak only pays off once the round trips get long
+            if (client.getFloorNum() >= ZONING_MINIMUM_FLOORS) {
+                var zonedElevatorMode = new LookElevatorMode(client);
+                zonedElevatorMode.setFloorZoning(new FloorZoning(Math.max(1, client.getElevators().size() / CARS_PER_ZONE)));
+                zonedElevatorMode.setTargetCommandChannel(targetCommands);
+                automaticElevatorMode.setStrategy(TrafficMode.UP_PEAK, zonedElevatorMode);
+            }
+
+            var pollingService = new ElevatorStatusPollingService(client, client.getElevators(),
+                    POLLING_INTERVAL, POLLING_THREADS, POLLING_CYCLE_DEADLINE);
+            pollingService.setPollingSchedule(new PollingSchedule(BUTTON_POLLING_PERIOD, STATIC_POLLING_PERIOD));
+            pollingService.setAdaptivePollingScheduler(new AdaptivePollingScheduler(MINIMUM_POLLING_INTERVAL, MAXIMUM_POLLING_INTERVAL));
+
+            var connectionSupervisor = new ConnectionSupervisor(client, connector, pollingService,
+                    new ReconnectBackoff(MINIMUM_RECONNECT_DELAY, MAXIMUM_RECONNECT_DELAY));
+            pollingService.setConnectionLossObserver(connectionSupervisor);
             pollingService.startPollingService();
 
-            this.viewModel = new RemoteConsoleViewModel(client, automaticElevatorMode);
+            this.viewModel = new RemoteConsoleViewModel(client, new DispatchLoop(automaticElevatorMode));
             this.view = new RemoteConsoleView(viewModel);
 
             var weightAlarmObservable = new WeightAlarmObserver();
 
             pollingService.addObserver(weightAlarmObservable);
-            pollingService.addObserver(viewModel);
+            pollingService.addDeltaObserver(viewModel);
         } catch (Exception exception) {
             LOGGER.log(Level.SEVERE, exception.getLocalizedMessage());
         }
@@ -13,9 +13,7 @@ import java.util.stream.IntStream;
 
 public class ElevatorClient implements IElevatorClient {
 
-    private static final double AVERAGE_PASSENGER_WEIGHT = 80.0;
-
-    private IElevator client;
+    private volatile IElevator client;
     private List<Elevator> elevators;
 
     public ElevatorClient(IElevator client) throws RemoteException {
@@ -23,6 +21,30 @@ public class ElevatorClient implements IElevatorClient {
         this.elevators = createElevators();
     }
 
+    // switches to a freshly looked up stub, the elevators are kept as long as the building has the same shape
+    @Override
+    public boolean reconnect(IElevator client) throws RemoteException {
+        if (client == null) {
+            throw new IllegalArgumentException("Client must not be null!");
+        }
+
+        var numberOfElevators = client.getElevatorNum();
+        var numberOfFloors = client.getFloorNum();
+
+        if (numberOfElevators != elevators.size()
+                || elevators.stream().anyMatch(elevator -> elevator.getElevatorFloors().size() != numberOfFloors)) {
+            return false;
+        }
+
+        for (var elevator : elevators) {
+            elevator.setMaximumPayload(client.getElevatorCapacity(elevator.getElevatorNumber()) * Elevator.AVERAGE_PASSENGER_WEIGHT);
+        }
+
+        this.client = client;
+
+        return true;
+    }
+
     private List<Elevator> createElevators() throws RemoteException {
         var elevators = new ArrayList<Elevator>();
 
@@ -35,7 +57,7 @@ public class ElevatorClient implements IElevatorClient {
         for (int i = 0; i < client.getElevatorNum(); i++) {
             Elevator elevator = new Elevator();
             elevator.setElevatorNumber(i);
-            elevator.setMaximumPayload(client.getElevatorCapacity(i) * AVERAGE_PASSENGER_WEIGHT);
+            elevator.setMaximumPayload(client.getElevatorCapacity(i) * Elevator.AVERAGE_PASSENGER_WEIGHT);
             elevator.setElevatorFloors(floors);
 
             elevators.add(elevator);
@@ -66,6 +88,15 @@ public class ElevatorClient implements IElevatorClient {
         this.client.setTarget(elevatorNumber, floorNumber);
     }
 
+    @Override
+    public void setServicesFloors(Elevator elevator, int floorNumber, boolean isServiced) throws RemoteException {
+        if (elevator == null) {
+            throw new IllegalArgumentException("Elevator must not be null!");
+        }
+
+        this.client.setServicesFloors(elevator.getElevatorNumber(), floorNumber, isServiced);
+    }
+
     @Override
     public List<Elevator> getElevators() {
         return this.elevators;
@@ -103,8 +134,7 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-        var currentTargetFloorNumber = this.client.getTarget(elevatorNumber);
+        var currentTargetFloorNumber = this.getTargetedFloorNumber(elevator.getElevatorNumber());
 
         return this.getFloorByNumber(elevator, currentTargetFloorNumber);
     }
@@ -115,8 +145,7 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-        var currentFloorNumber = this.client.getElevatorFloor(elevatorNumber);
+        var currentFloorNumber = this.getCurrentFloorNumber(elevator.getElevatorNumber());
 
         return this.getFloorByNumber(elevator, currentFloorNumber).orElseThrow(RemoteException::new);
     }
@@ -127,15 +156,7 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-        var doorStatus = this.client.getElevatorDoorStatus(elevatorNumber);
-
-        if (doorStatus == 2) {
-            return DoorStatus.CLOSED;
-        }
-        else {
-            return DoorStatus.OPEN;
-        }
+        return this.getElevatorDoorStatus(elevator.getElevatorNumber());
     }
 
     @Override
@@ -144,9 +165,7 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-
-        return this.client.getElevatorSpeed(elevatorNumber);
+        return this.getCurrentVelocity(elevator.getElevatorNumber());
     }
 
     @Override
@@ -155,30 +174,25 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-
-        return this.client.getElevatorWeight(elevatorNumber);
+        return this.getCurrentWeightLoad(elevator.getElevatorNumber());
     }
 
     @Override
-    public Direction getDirection(Elevator elevator) throws RemoteException {
+    public double getMaximumPayload(Elevator elevator) throws RemoteException {
         if (elevator == null) {
             throw new IllegalArgumentException("Elevator must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-        var direction = this.client.getCommittedDirection(elevatorNumber);
-
-        switch(direction) {
-            case 0:
-                return Direction.UP;
-
-            case 1:
-                return Direction.DOWN;
+        return this.getMaximumPayload(elevator.getElevatorNumber());
+    }
 
-            default:
-                return Direction.UNCOMMITED;
+    @Override
+    public Direction getDirection(Elevator elevator) throws RemoteException {
+        if (elevator == null) {
+            throw new IllegalArgumentException("Elevator must not be null!");
         }
+
+        return this.getDirection(elevator.getElevatorNumber());
     }
 
     @Override
@@ -191,8 +205,7 @@ public class ElevatorClient implements IElevatorClient {
         final boolean[] floorButtonStatus = new boolean[numberOfFloors];
 
         for (int i = 0; i < numberOfFloors; i++) {
-            var hasBeenPressed = this.client.getElevatorButton(elevatorNumber, i);
-            floorButtonStatus[i] = hasBeenPressed;
+            floorButtonStatus[i] = this.isElevatorButtonPressed(elevatorNumber, i);
         }
 
         return floorButtonStatus;
@@ -230,10 +243,7 @@ public class ElevatorClient implements IElevatorClient {
             throw new IllegalArgumentException("Floor must not be null!");
         }
 
-        var elevatorNumber = elevator.getElevatorNumber();
-        var floorNumber = floor.getFloorNumber();
-
-        return this.client.getServicesFloors(elevatorNumber, floorNumber);
+        return this.isServiceEnabled(elevator.getElevatorNumber(), floor.getFloorNumber());
     }
 
     @Override
@@ -250,4 +260,72 @@ public class ElevatorClient implements IElevatorClient {
     public boolean getFloorButtonDown(int floorNumber) throws RemoteException {
         return this.client.getFloorButtonDown(floorNumber);
     }
+
+    @Override
+    public long getClockTick() throws RemoteException {
+        return this.client.getClockTick();
+    }
+
+    @Override
+    public int getTargetedFloorNumber(int elevatorNumber) throws RemoteException {
+        return this.client.getTarget(elevatorNumber);
+    }
+
+    @Override
+    public int getCurrentFloorNumber(int elevatorNumber) throws RemoteException {
+        return this.client.getElevatorFloor(elevatorNumber);
+    }
+
+    @Override
+    public DoorStatus getElevatorDoorStatus(int elevatorNumber) throws RemoteException {
+        var doorStatus = this.client.getElevatorDoorStatus(elevatorNumber);
+
+        if (doorStatus == 2) {
+            return DoorStatus.CLOSED;
+        }
+        else {
+            return DoorStatus.OPEN;
+        }
+    }
+
+    @Override
+    public double getCurrentVelocity(int elevatorNumber) throws RemoteException {
+        return this.client.getElevatorSpeed(elevatorNumber);
+    }
+
+    @Override
+    public double getCurrentWeightLoad(int elevatorNumber) throws RemoteException {
+        return this.client.getElevatorWeight(elevatorNumber);
+    }
+
+    @Override
+    public double getMaximumPayload(int elevatorNumber) throws RemoteException {
+        return this.client.getElevatorCapacity(elevatorNumber) * Elevator.AVERAGE_PASSENGER_WEIGHT;
+    }
+
+    @Override
+    public Direction getDirection(int elevatorNumber) throws RemoteException {
+        var direction = this.client.getCommittedDirection(elevatorNumber);
+
+        switch(direction) {
+            case 0:
+                return Direction.UP;
+
+            case 1:
+                return Direction.DOWN;
+
+            default:
+                return Direction.UNCOMMITED;
+        }
+    }
+
+    @Override
+    public boolean isElevatorButtonPressed(int elevatorNumber, int floorNumber) throws RemoteException {
+        return this.client.getElevatorButton(elevatorNumber, floorNumber);
+    }
+
+    @Override
+    public boolean isServiceEnabled(int elevatorNumber, int floorNumber) throws RemoteException {
+        return this.client.getServicesFloors(elevatorNumber, floorNumber);
+    }
 }
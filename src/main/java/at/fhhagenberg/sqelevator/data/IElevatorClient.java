@@ -1,6 +1,7 @@
 package at.fhhagenberg.sqelevator.data;
 
 import at.fhhagenberg.sqelevator.domain.*;
+import sqelevator.IElevator;
 
 import java.rmi.RemoteException;
 import java.util.List;
@@ -12,6 +13,8 @@ public interface IElevatorClient extends IElevatorStatusClient {
 
     void setTarget(Elevator elevator, int floorNumber) throws RemoteException;
 
+    void setServicesFloors(Elevator elevator, int floorNumber, boolean isServiced) throws RemoteException;
+
     List<Elevator> getElevators();
 
     Optional<Elevator> getElevatorByNumber(int elevatorNumber);
@@ -19,4 +22,6 @@ public interface IElevatorClient extends IElevatorStatusClient {
     Optional<ElevatorFloor> getFloorByNumber(Elevator elevator, int floorNumber);
 
     int getFloorNum() throws RemoteException;
+
+    boolean reconnect(IElevator client) throws RemoteException;
 }
@@ -0,0 +1,13 @@
+package at.fhhagenberg.sqelevator.data;
+
+import sqelevator.IElevator;
+
+import java.net.MalformedURLException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+
+@FunctionalInterface
+public interface IElevatorConnector {
+
+    IElevator connect() throws RemoteException, NotBoundException, MalformedURLException;
+}
@@ -17,6 +17,8 @@ public interface IElevatorStatusClient {
 
     double getCurrentWeightLoad(Elevator elevator) throws RemoteException;
 
+    double getMaximumPayload(Elevator elevator) throws RemoteException;
+
     Direction getDirection(Elevator elevator) throws RemoteException;
 
     boolean[] getElevatorFloorButtonsStatus(Elevator elevator) throws RemoteException;
@@ -30,4 +32,24 @@ public interface IElevatorStatusClient {
     boolean getFloorButtonUp(int floorNumber) throws RemoteException;
 
     boolean getFloorButtonDown(int floorNumber) throws RemoteException;
+
+    long getClockTick() throws RemoteException;
+
+    int getTargetedFloorNumber(int elevatorNumber) throws RemoteException;
+
+    int getCurrentFloorNumber(int elevatorNumber) throws RemoteException;
+
+    DoorStatus getElevatorDoorStatus(int elevatorNumber) throws RemoteException;
+
+    double getCurrentVelocity(int elevatorNumber) throws RemoteException;
+
+    double getCurrentWeightLoad(int elevatorNumber) throws RemoteException;
+
+    double getMaximumPayload(int elevatorNumber) throws RemoteException;
+
+    Direction getDirection(int elevatorNumber) throws RemoteException;
+
+    boolean isElevatorButtonPressed(int elevatorNumber, int floorNumber) throws RemoteException;
+
+    boolean isServiceEnabled(int elevatorNumber, int floorNumber) throws RemoteException;
 }
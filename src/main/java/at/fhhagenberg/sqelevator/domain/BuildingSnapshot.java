@@ -0,0 +1,340 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BuildingSnapshot {
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private final int numberOfElevators;
+    private final int numberOfFloors;
+    private final int wordsPerElevator;
+
+    private long clockTick;
+    private boolean isConnected = true;
+
+    private final long[] polledElevators;
+    private final long[] tornElevators;
+    private final long[] elevatorClockTicks;
+
+    private final int[] currentFloors;
+    private final int[] targetedFloors;
+    private final Direction[] directions;
+    private final DoorStatus[] doorStatuses;
+    private final double[] velocities;
+    private final double[] payloads;
+    private final double[] maximumPayloads;
+
+    // elevator-major bitsets, every elevator owns wordsPerElevator words indexed by floor number
+    private final long[] buttons;
+    private final long[] servicedFloors;
+
+    private final long[] upRequests;
+    private final long[] downRequests;
+
+    private final AtomicInteger referenceCount = new AtomicInteger(1);
+    private BuildingSnapshotPool pool;
+
+    public BuildingSnapshot(int numberOfElevators, int numberOfFloors) {
+        if (numberOfElevators < 0) {
+            throw new IllegalArgumentException(String.format("Number of elevators must not be negative but was: %d", numberOfElevators));
+        }
+
+        if (numberOfFloors < 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must not be negative but was: %d", numberOfFloors));
+        }
+
+        this.numberOfElevators = numberOfElevators;
+        this.numberOfFloors = numberOfFloors;
+        this.wordsPerElevator = FloorBits.words(numberOfFloors);
+
+        this.polledElevators = FloorBits.create(numberOfElevators);
+        this.tornElevators = FloorBits.create(numberOfElevators);
+        this.elevatorClockTicks = new long[numberOfElevators];
+
+        this.currentFloors = new int[numberOfElevators];
+        this.targetedFloors = new int[numberOfElevators];
+        this.directions = new Direction[numberOfElevators];
+        this.doorStatuses = new DoorStatus[numberOfElevators];
+        this.velocities = new double[numberOfElevators];
+        this.payloads = new double[numberOfElevators];
+        this.maximumPayloads = new double[numberOfElevators];
+
+        this.buttons = new long[numberOfElevators * wordsPerElevator];
+        this.servicedFloors = new long[numberOfElevators * wordsPerElevator];
+
+        this.upRequests = FloorBits.create(numberOfFloors);
+        this.downRequests = FloorBits.create(numberOfFloors);
+
+        Arrays.fill(directions, Direction.UNCOMMITED);
+        Arrays.fill(doorStatuses, DoorStatus.CLOSED);
+    }
+
+    // every holder of a snapshot that outlives the call it was handed to retains it and releases it afterwards
+    public BuildingSnapshot retain() {
+        if (referenceCount.getAndIncrement() <= 0) {
+            throw new IllegalStateException("Snapshot has already been released!");
+        }
+
+        return this;
+    }
+
+    public void release() {
+        var remainingReferences = referenceCount.decrementAndGet();
+
+        if (remainingReferences < 0) {
+            throw new IllegalStateException("Snapshot has already been released!");
+        }
+
+        if (remainingReferences == 0 && pool != null) {
+            pool.recycle(this);
+        }
+    }
+
+    public int getReferenceCount() {
+        return referenceCount.get();
+    }
+
+    void resetReferences(BuildingSnapshotPool pool) {
+        this.pool = pool;
+        this.referenceCount.set(1);
+    }
+
+    public int getNumberOfElevators() {
+        return numberOfElevators;
+    }
+
+    public int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    public int getWordsPerElevator() {
+        return wordsPerElevator;
+    }
+
+    public long getClockTick() {
+        return clockTick;
+    }
+
+    public void setClockTick(long clockTick) {
+        this.clockTick = clockTick;
+    }
+
+    public boolean isConnected() {
+        return isConnected;
+    }
+
+    public void setConnected(boolean isConnected) {
+        this.isConnected = isConnected;
+    }
+
+    public boolean isPolled(int elevator) {
+        return FloorBits.isSet(polledElevators, elevator);
+    }
+
+    public void setPolled(int elevator, boolean isPolled) {
+        FloorBits.set(polledElevators, elevator, isPolled);
+    }
+
+    public boolean isTorn(int elevator) {
+        return FloorBits.isSet(tornElevators, elevator);
+    }
+
+    public void setTorn(int elevator, boolean isTorn) {
+        FloorBits.set(tornElevators, elevator, isTorn);
+    }
+
+    public long getClockTick(int elevator) {
+        return elevatorClockTicks[elevator];
+    }
+
+    public void setClockTick(int elevator, long clockTick) {
+        elevatorClockTicks[elevator] = clockTick;
+    }
+
+    public int getCurrentFloor(int elevator) {
+        return currentFloors[elevator];
+    }
+
+    public void setCurrentFloor(int elevator, int floorNumber) {
+        currentFloors[elevator] = floorNumber;
+    }
+
+    public int getTargetedFloor(int elevator) {
+        return targetedFloors[elevator];
+    }
+
+    public void setTargetedFloor(int elevator, int floorNumber) {
+        targetedFloors[elevator] = floorNumber;
+    }
+
+    public Direction getDirection(int elevator) {
+        return directions[elevator];
+    }
+
+    public void setDirection(int elevator, Direction direction) {
+        directions[elevator] = direction;
+    }
+
+    public DoorStatus getDoorStatus(int elevator) {
+        return doorStatuses[elevator];
+    }
+
+    public void setDoorStatus(int elevator, DoorStatus doorStatus) {
+        doorStatuses[elevator] = doorStatus;
+    }
+
+    public double getVelocity(int elevator) {
+        return velocities[elevator];
+    }
+
+    public void setVelocity(int elevator, double velocity) {
+        velocities[elevator] = velocity;
+    }
+
+    public double getPayload(int elevator) {
+        return payloads[elevator];
+    }
+
+    public void setPayload(int elevator, double payload) {
+        payloads[elevator] = payload;
+    }
+
+    public double getMaximumPayload(int elevator) {
+        return maximumPayloads[elevator];
+    }
+
+    public void setMaximumPayload(int elevator, double maximumPayload) {
+        maximumPayloads[elevator] = maximumPayload;
+    }
+
+    public boolean isButtonPressed(int elevator, int floorNumber) {
+        return isFloorBitSet(buttons, elevator, floorNumber);
+    }
+
+    public void setButtonPressed(int elevator, int floorNumber, boolean isPressed) {
+        setFloorBit(buttons, elevator, floorNumber, isPressed);
+    }
+
+    public long getButtonWord(int elevator, int word) {
+        return buttons[elevator * wordsPerElevator + word];
+    }
+
+    public boolean isServiced(int elevator, int floorNumber) {
+        return isFloorBitSet(servicedFloors, elevator, floorNumber);
+    }
+
+    public void setServiced(int elevator, int floorNumber, boolean isServiced) {
+        setFloorBit(servicedFloors, elevator, floorNumber, isServiced);
+    }
+
+    public long getServicedFloorWord(int elevator, int word) {
+        return servicedFloors[elevator * wordsPerElevator + word];
+    }
+
+    public boolean isUpRequested(int floorNumber) {
+        return FloorBits.isSet(upRequests, floorNumber);
+    }
+
+    public void setUpRequested(int floorNumber, boolean isRequested) {
+        FloorBits.set(upRequests, floorNumber, isRequested);
+    }
+
+    public long getUpRequestWord(int word) {
+        return upRequests[word];
+    }
+
+    public boolean isDownRequested(int floorNumber) {
+        return FloorBits.isSet(downRequests, floorNumber);
+    }
+
+    public void setDownRequested(int floorNumber, boolean isRequested) {
+        FloorBits.set(downRequests, floorNumber, isRequested);
+    }
+
+    public long getDownRequestWord(int word) {
+        return downRequests[word];
+    }
+
+    public boolean hasHallCalls() {
+        return !FloorBits.isEmpty(upRequests) || !FloorBits.isEmpty(downRequests);
+    }
+
+    public boolean hasPressedButtons(int elevator) {
+        for (int word = 0; word < wordsPerElevator; word++) {
+            if (getButtonWord(elevator, word) != 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void copyButtonsFrom(BuildingSnapshot other, int elevator) {
+        checkShape(other);
+        System.arraycopy(other.buttons, elevator * wordsPerElevator, buttons, elevator * wordsPerElevator, wordsPerElevator);
+    }
+
+    public void copyStaticFieldsFrom(BuildingSnapshot other, int elevator) {
+        checkShape(other);
+        System.arraycopy(other.servicedFloors, elevator * wordsPerElevator, servicedFloors, elevator * wordsPerElevator, wordsPerElevator);
+        maximumPayloads[elevator] = other.maximumPayloads[elevator];
+    }
+
+    public void copyHallCallsFrom(BuildingSnapshot other) {
+        checkShape(other);
+        System.arraycopy(other.upRequests, 0, upRequests, 0, upRequests.length);
+        System.arraycopy(other.downRequests, 0, downRequests, 0, downRequests.length);
+    }
+
+    public void copyElevatorFrom(BuildingSnapshot other, int elevator) {
+        checkShape(other);
+        setPolled(elevator, other.isPolled(elevator));
+        setTorn(elevator, other.isTorn(elevator));
+        elevatorClockTicks[elevator] = other.elevatorClockTicks[elevator];
+        currentFloors[elevator] = other.currentFloors[elevator];
+        targetedFloors[elevator] = other.targetedFloors[elevator];
+        directions[elevator] = other.directions[elevator];
+        doorStatuses[elevator] = other.doorStatuses[elevator];
+        velocities[elevator] = other.velocities[elevator];
+        payloads[elevator] = other.payloads[elevator];
+        copyButtonsFrom(other, elevator);
+        copyStaticFieldsFrom(other, elevator);
+    }
+
+    public void copyFrom(BuildingSnapshot other) {
+        checkShape(other);
+        clockTick = other.clockTick;
+        isConnected = other.isConnected;
+
+        for (int elevator = 0; elevator < numberOfElevators; elevator++) {
+            copyElevatorFrom(other, elevator);
+        }
+
+        copyHallCallsFrom(other);
+    }
+
+    public BuildingSnapshot copy() {
+        var copy = new BuildingSnapshot(numberOfElevators, numberOfFloors);
+        copy.copyFrom(this);
+
+        return copy;
+    }
+
+    private boolean isFloorBitSet(long[] bits, int elevator, int floorNumber) {
+        return floorNumber >= 0 && floorNumber < numberOfFloors
+                && FloorBits.isSet(bits, elevator * wordsPerElevator * WORD_SIZE + floorNumber);
+    }
+
+    private void setFloorBit(long[] bits, int elevator, int floorNumber, boolean value) {
+        FloorBits.set(bits, elevator * wordsPerElevator * WORD_SIZE + floorNumber, value);
+    }
+
+    private void checkShape(BuildingSnapshot other) {
+        if (other.numberOfElevators != numberOfElevators || other.numberOfFloors != numberOfFloors) {
+            throw new IllegalArgumentException(String.format("Snapshot of %d elevators and %d floors does not match %d elevators and %d floors",
+                    other.numberOfElevators, other.numberOfFloors, numberOfElevators, numberOfFloors));
+        }
+    }
+}
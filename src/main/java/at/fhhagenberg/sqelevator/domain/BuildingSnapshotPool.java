@@ -0,0 +1,59 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import java.util.ArrayDeque;
+
+public class BuildingSnapshotPool {
+
+    private final int numberOfElevators;
+    private final int numberOfFloors;
+    private final ArrayDeque<BuildingSnapshot> availableSnapshots = new ArrayDeque<>();
+
+    private int createdSnapshots;
+
+    public BuildingSnapshotPool(int numberOfElevators, int numberOfFloors) {
+        if (numberOfElevators < 0) {
+            throw new IllegalArgumentException(String.format("Number of elevators must not be negative but was: %d", numberOfElevators));
+        }
+
+        if (numberOfFloors < 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must not be negative but was: %d", numberOfFloors));
+        }
+
+        this.numberOfElevators = numberOfElevators;
+        this.numberOfFloors = numberOfFloors;
+    }
+
+    // the acquired snapshot holds a single reference and returns to the pool once it is fully released
+    public synchronized BuildingSnapshot acquire() {
+        var snapshot = availableSnapshots.poll();
+
+        if (snapshot == null) {
+            snapshot = new BuildingSnapshot(numberOfElevators, numberOfFloors);
+            createdSnapshots++;
+        }
+
+        snapshot.resetReferences(this);
+
+        return snapshot;
+    }
+
+    synchronized void recycle(BuildingSnapshot snapshot) {
+        availableSnapshots.push(snapshot);
+    }
+
+    public int getNumberOfElevators() {
+        return numberOfElevators;
+    }
+
+    public int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    public synchronized int getCreatedCount() {
+        return createdSnapshots;
+    }
+
+    public synchronized int getAvailableCount() {
+        return availableSnapshots.size();
+    }
+}
@@ -11,6 +11,9 @@ import java.util.stream.IntStream;
 
 public class Elevator {
 
+    // the simulator reports capacities in passengers, payloads are derived with this weight per passenger
+    public static final double AVERAGE_PASSENGER_WEIGHT = 80.0;
+
     private int elevatorNumber;
     private double maximumPayload;
 
@@ -6,10 +6,13 @@ public class ElevatorStatus {
 
     private Elevator elevator;
     private boolean isConnected = true;
+    private long clockTick;
+    private boolean isTorn;
 
     private int position;
     private double velocity;
     private double payload;
+    private double maximumPayload;
     private boolean[] elevatorButtonStatuses;
 
     private ElevatorFloor targetedFloor;
@@ -17,17 +20,27 @@ public class ElevatorStatus {
     private ElevatorFloorStatus[] elevatorFloorStatuses;
     private Direction direction;
     private DoorStatus doorStatus;
+    private HallCallStatus hallCallStatus;
 
     private ElevatorStatus(Elevator elevator) {
         this.elevator = elevator;
         this.elevatorButtonStatuses = new boolean[0];
         this.elevatorFloorStatuses = new ElevatorFloorStatus[0];
+        this.hallCallStatus = HallCallStatus.build(0).get();
     }
 
     public boolean isConnected() {
         return isConnected;
     }
 
+    public long getClockTick() {
+        return clockTick;
+    }
+
+    public boolean isTorn() {
+        return isTorn;
+    }
+
     public int getPosition() {
         return position;
     }
@@ -40,6 +53,10 @@ public class ElevatorStatus {
         return payload;
     }
 
+    public double getMaximumPayload() {
+        return maximumPayload;
+    }
+
     public boolean[] getElevatorButtonStatuses() {
         return elevatorButtonStatuses;
     }
@@ -64,6 +81,10 @@ public class ElevatorStatus {
         return doorStatus;
     }
 
+    public HallCallStatus getHallCallStatus() {
+        return hallCallStatus;
+    }
+
     public Elevator getElevator() {
         return this.elevator;
     }
@@ -80,6 +101,16 @@ public class ElevatorStatus {
             status = new ElevatorStatus(elevator);
         }
 
+        public ElevatorStatusBuilder clockTick(long clockTick) {
+            status.clockTick = clockTick;
+            return this;
+        }
+
+        public ElevatorStatusBuilder torn(boolean isTorn) {
+            status.isTorn = isTorn;
+            return this;
+        }
+
         public ElevatorStatusBuilder position(int position) {
             status.position = position;
             return this;
@@ -95,6 +126,11 @@ public class ElevatorStatus {
             return this;
         }
 
+        public ElevatorStatusBuilder maximumPayload(double maximumPayload) {
+            status.maximumPayload = maximumPayload;
+            return this;
+        }
+
         public ElevatorStatusBuilder buttonStatus(boolean[] buttonStatus) {
             status.elevatorButtonStatuses = buttonStatus;
             return this;
@@ -125,6 +161,11 @@ public class ElevatorStatus {
             return this;
         }
 
+        public ElevatorStatusBuilder hallCallStatus(HallCallStatus hallCallStatus) {
+            status.hallCallStatus = hallCallStatus;
+            return this;
+        }
+
         public ElevatorStatus notConnected() {
             status.isConnected = false;
             return status;
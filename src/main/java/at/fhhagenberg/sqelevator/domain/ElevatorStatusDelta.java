@@ -0,0 +1,161 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import java.util.Arrays;
+
+public class ElevatorStatusDelta {
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private BuildingSnapshot snapshot;
+
+    private final int wordsPerElevator;
+    private final int[] changedFields;
+    private final long[] changedButtons;
+    private final long[] changedServicedFloors;
+    private final long[] changedUpRequests;
+    private final long[] changedDownRequests;
+
+    public ElevatorStatusDelta(int numberOfElevators, int numberOfFloors) {
+        this.wordsPerElevator = FloorBits.words(numberOfFloors);
+        this.changedFields = new int[numberOfElevators];
+        this.changedButtons = new long[numberOfElevators * wordsPerElevator];
+        this.changedServicedFloors = new long[numberOfElevators * wordsPerElevator];
+        this.changedUpRequests = FloorBits.create(numberOfFloors);
+        this.changedDownRequests = FloorBits.create(numberOfFloors);
+    }
+
+    public BuildingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(BuildingSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public int getNumberOfElevators() {
+        return changedFields.length;
+    }
+
+    public boolean isEmpty() {
+        for (var changedField : changedFields) {
+            if (changedField != 0) {
+                return false;
+            }
+        }
+
+        return !haveHallCallsChanged();
+    }
+
+    public boolean hasChanged(int elevator) {
+        return changedFields[elevator] != 0;
+    }
+
+    public boolean hasChanged(int elevator, StatusField field) {
+        return (changedFields[elevator] & field.mask()) != 0;
+    }
+
+    public void markChanged(int elevator, StatusField field) {
+        changedFields[elevator] |= field.mask();
+    }
+
+    public void markAllChanged(int elevator) {
+        for (var field : StatusField.values()) {
+            markChanged(elevator, field);
+        }
+
+        Arrays.fill(changedButtons, elevator * wordsPerElevator, (elevator + 1) * wordsPerElevator, -1L);
+        Arrays.fill(changedServicedFloors, elevator * wordsPerElevator, (elevator + 1) * wordsPerElevator, -1L);
+    }
+
+    public boolean isButtonChanged(int elevator, int floorNumber) {
+        return isFloorBitSet(changedButtons, elevator, floorNumber);
+    }
+
+    // changedBits holds one bit per floor, e.g. the xor of the previous and current button word
+    public void markButtonsChanged(int elevator, int word, long changedBits) {
+        if (changedBits != 0) {
+            changedButtons[elevator * wordsPerElevator + word] |= changedBits;
+            markChanged(elevator, StatusField.BUTTONS);
+        }
+    }
+
+    public boolean isServicedFloorChanged(int elevator, int floorNumber) {
+        return isFloorBitSet(changedServicedFloors, elevator, floorNumber);
+    }
+
+    public void markServicedFloorsChanged(int elevator, int word, long changedBits) {
+        if (changedBits != 0) {
+            changedServicedFloors[elevator * wordsPerElevator + word] |= changedBits;
+            markChanged(elevator, StatusField.SERVICED_FLOORS);
+        }
+    }
+
+    public boolean haveHallCallsChanged() {
+        return !FloorBits.isEmpty(changedUpRequests) || !FloorBits.isEmpty(changedDownRequests);
+    }
+
+    public boolean isUpRequestChanged(int floorNumber) {
+        return FloorBits.isSet(changedUpRequests, floorNumber);
+    }
+
+    public void markUpRequestsChanged(int word, long changedBits) {
+        changedUpRequests[word] |= changedBits;
+    }
+
+    public boolean isDownRequestChanged(int floorNumber) {
+        return FloorBits.isSet(changedDownRequests, floorNumber);
+    }
+
+    public void markDownRequestsChanged(int word, long changedBits) {
+        changedDownRequests[word] |= changedBits;
+    }
+
+    public void clear() {
+        snapshot = null;
+        Arrays.fill(changedFields, 0);
+        Arrays.fill(changedButtons, 0);
+        Arrays.fill(changedServicedFloors, 0);
+        Arrays.fill(changedUpRequests, 0);
+        Arrays.fill(changedDownRequests, 0);
+    }
+
+    // accumulates the changes of another delta, e.g. one that was conflated before being delivered
+    public void mergeFrom(ElevatorStatusDelta other) {
+        if (other.changedFields.length != changedFields.length || other.changedUpRequests.length != changedUpRequests.length) {
+            throw new IllegalArgumentException("Delta of a different building can not be merged!");
+        }
+
+        for (int index = 0; index < changedFields.length; index++) {
+            changedFields[index] |= other.changedFields[index];
+        }
+
+        orInto(changedButtons, other.changedButtons);
+        orInto(changedServicedFloors, other.changedServicedFloors);
+        orInto(changedUpRequests, other.changedUpRequests);
+        orInto(changedDownRequests, other.changedDownRequests);
+    }
+
+    public ElevatorStatusDelta copy() {
+        var copy = new ElevatorStatusDelta(changedFields.length, changedUpRequests.length * WORD_SIZE);
+        copy.snapshot = snapshot;
+
+        System.arraycopy(changedFields, 0, copy.changedFields, 0, changedFields.length);
+        System.arraycopy(changedButtons, 0, copy.changedButtons, 0, changedButtons.length);
+        System.arraycopy(changedServicedFloors, 0, copy.changedServicedFloors, 0, changedServicedFloors.length);
+        System.arraycopy(changedUpRequests, 0, copy.changedUpRequests, 0, changedUpRequests.length);
+        System.arraycopy(changedDownRequests, 0, copy.changedDownRequests, 0, changedDownRequests.length);
+
+        return copy;
+    }
+
+    private void orInto(long[] bits, long[] otherBits) {
+        for (int word = 0; word < bits.length; word++) {
+            bits[word] |= otherBits[word];
+        }
+    }
+
+    private boolean isFloorBitSet(long[] bits, int elevator, int floorNumber) {
+        return floorNumber >= 0 && floorNumber < wordsPerElevator * WORD_SIZE
+                && FloorBits.isSet(bits, elevator * wordsPerElevator * WORD_SIZE + floorNumber);
+    }
+}
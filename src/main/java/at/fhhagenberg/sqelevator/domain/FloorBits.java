@@ -0,0 +1,76 @@
+package at.fhhagenberg.sqelevator.domain;
+
+public final class FloorBits {
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private FloorBits() {
+    }
+
+    public static int words(int numberOfBits) {
+        return (numberOfBits + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    public static long[] create(int numberOfBits) {
+        return new long[words(numberOfBits)];
+    }
+
+    public static boolean isSet(long[] bits, int index) {
+        var word = index / WORD_SIZE;
+
+        return index >= 0 && word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    public static void set(long[] bits, int index) {
+        bits[index / WORD_SIZE] |= 1L << index;
+    }
+
+    public static void set(long[] bits, int index, boolean value) {
+        if (value) {
+            set(bits, index);
+        } else {
+            clear(bits, index);
+        }
+    }
+
+    public static void clear(long[] bits, int index) {
+        bits[index / WORD_SIZE] &= ~(1L << index);
+    }
+
+    public static boolean isEmpty(long[] bits) {
+        for (var word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    // returns -1 if there is no set bit at or after fromIndex
+    public static int nextSetBit(long[] bits, int fromIndex) {
+        if (fromIndex < 0) {
+            fromIndex = 0;
+        }
+
+        var word = fromIndex / WORD_SIZE;
+
+        if (word >= bits.length) {
+            return -1;
+        }
+
+        var remainingBits = bits[word] & (-1L << fromIndex);
+
+        while (true) {
+            if (remainingBits != 0) {
+                return word * WORD_SIZE + Long.numberOfTrailingZeros(remainingBits);
+            }
+
+            if (++word == bits.length) {
+                return -1;
+            }
+
+            remainingBits = bits[word];
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package at.fhhagenberg.sqelevator.domain;
+
+public class HallCallStatus {
+
+    private boolean[] upRequests;
+    private boolean[] downRequests;
+
+    private HallCallStatus(int numberOfFloors) {
+        this.upRequests = new boolean[numberOfFloors];
+        this.downRequests = new boolean[numberOfFloors];
+    }
+
+    public int getNumberOfFloors() {
+        return upRequests.length;
+    }
+
+    public boolean isUpRequested(int floorNumber) {
+        return floorNumber >= 0 && floorNumber < upRequests.length && upRequests[floorNumber];
+    }
+
+    public boolean isDownRequested(int floorNumber) {
+        return floorNumber >= 0 && floorNumber < downRequests.length && downRequests[floorNumber];
+    }
+
+    public static HallCallStatusBuilder build(int numberOfFloors) {
+        return new HallCallStatusBuilder(numberOfFloors);
+    }
+
+    public static class HallCallStatusBuilder {
+
+        private HallCallStatus status;
+
+        private HallCallStatusBuilder(int numberOfFloors) {
+            if (numberOfFloors < 0) {
+                throw new IllegalArgumentException(String.format("Number of floors must not be negative but was: %d", numberOfFloors));
+            }
+
+            this.status = new HallCallStatus(numberOfFloors);
+        }
+
+        public HallCallStatusBuilder upRequested(int floorNumber, boolean isUpRequested) {
+            status.upRequests[floorNumber] = isUpRequested;
+            return this;
+        }
+
+        public HallCallStatusBuilder downRequested(int floorNumber, boolean isDownRequested) {
+            status.downRequests[floorNumber] = isDownRequested;
+            return this;
+        }
+
+        public HallCallStatus get() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package at.fhhagenberg.sqelevator.domain;
+
+public enum StatusField {
+    CONNECTION("connection"),
+    CURRENT_FLOOR("current floor"),
+    TARGETED_FLOOR("targeted floor"),
+    DIRECTION("direction"),
+    DOOR_STATUS("door status"),
+    VELOCITY("velocity"),
+    PAYLOAD("payload"),
+    MAXIMUM_PAYLOAD("maximum payload"),
+    BUTTONS("buttons"),
+    SERVICED_FLOORS("serviced floors");
+
+    private String field;
+
+    private StatusField(String field) {
+        this.field = field;
+    }
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return this.field;
+    }
+}
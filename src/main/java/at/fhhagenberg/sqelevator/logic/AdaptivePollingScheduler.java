@@ -0,0 +1,108 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.function.LongSupplier;
+
+public class AdaptivePollingScheduler {
+
+    private static final double SMOOTHING_FACTOR = 0.25;
+    private static final long IDLE_BACKOFF_FACTOR = 2;
+
+    private final long minimumInterval;
+    private final long maximumInterval;
+    private final LongSupplier clock;
+
+    private long lastClockTick = -1;
+    private long lastClockTickTime;
+    private double tickPeriod;
+    private double rpcLatency;
+    private double cycleTime;
+    private long effectiveInterval;
+
+    public AdaptivePollingScheduler(long minimumInterval, long maximumInterval) {
+        this(minimumInterval, maximumInterval, System::currentTimeMillis);
+    }
+
+    AdaptivePollingScheduler(long minimumInterval, long maximumInterval, LongSupplier clock) {
+        if (minimumInterval <= 0) {
+            throw new IllegalArgumentException(String.format("Minimum polling interval must be positive but was: %d", minimumInterval));
+        }
+
+        if (maximumInterval < minimumInterval) {
+            throw new IllegalArgumentException(String.format("Maximum polling interval must not be below %d but was: %d", minimumInterval, maximumInterval));
+        }
+
+        this.minimumInterval = minimumInterval;
+        this.maximumInterval = maximumInterval;
+        this.clock = clock;
+        this.effectiveInterval = minimumInterval;
+    }
+
+    // returns how long to wait after a cycle that took cycleDuration milliseconds, rpcDuration adds up the
+    // milliseconds its rpcCalls took, parallel polls make it exceed the cycle duration
+    public synchronized long nextInterval(long clockTick, long cycleDuration, long rpcDuration, long rpcCalls, boolean isBuildingActive) {
+        sampleTickPeriod(clockTick);
+        sampleRpcLatency(rpcDuration, rpcCalls);
+        cycleTime = smooth(cycleTime, cycleDuration);
+
+        if (isBuildingActive) {
+            // no need to poll faster than the simulator advances or than a cycle can complete
+            effectiveInterval = clamp(Math.round(Math.max(tickPeriod, cycleTime)));
+        } else {
+            effectiveInterval = clamp(effectiveInterval * IDLE_BACKOFF_FACTOR);
+        }
+
+        return Math.max(0, effectiveInterval - cycleDuration);
+    }
+
+    private void sampleTickPeriod(long clockTick) {
+        var now = clock.getAsLong();
+
+        if (lastClockTick >= 0 && clockTick > lastClockTick) {
+            var measuredTickPeriod = (double) (now - lastClockTickTime) / (clockTick - lastClockTick);
+            tickPeriod = smooth(tickPeriod, measuredTickPeriod);
+        }
+
+        if (clockTick != lastClockTick) {
+            lastClockTick = clockTick;
+            lastClockTickTime = now;
+        }
+    }
+
+    private void sampleRpcLatency(long rpcDuration, long rpcCalls) {
+        if (rpcCalls > 0) {
+            rpcLatency = smooth(rpcLatency, (double) rpcDuration / rpcCalls);
+        }
+    }
+
+    private double smooth(double average, double sample) {
+        if (average == 0) {
+            return sample;
+        }
+
+        return average + SMOOTHING_FACTOR * (sample - average);
+    }
+
+    private long clamp(long interval) {
+        return Math.max(minimumInterval, Math.min(maximumInterval, interval));
+    }
+
+    public long getMinimumInterval() {
+        return minimumInterval;
+    }
+
+    public long getMaximumInterval() {
+        return maximumInterval;
+    }
+
+    public synchronized long getEffectiveInterval() {
+        return effectiveInterval;
+    }
+
+    public synchronized double getTickRate() {
+        return tickPeriod > 0 ? 1000.0 / tickPeriod : 0;
+    }
+
+    public synchronized double getRpcLatency() {
+        return rpcLatency;
+    }
+}
@@ -0,0 +1,7 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.rmi.RemoteException;
+
+public interface ConnectionLossObserver {
+    void connectionLost(RemoteException exception);
+}
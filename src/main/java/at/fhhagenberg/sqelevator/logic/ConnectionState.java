@@ -0,0 +1,19 @@
+package at.fhhagenberg.sqelevator.logic;
+
+public enum ConnectionState {
+    CONNECTED("connected"),
+    DISCONNECTED("disconnected"),
+    RECONNECTING("reconnecting"),
+    FAILED("failed");
+
+    private String state;
+
+    private ConnectionState(String state) {
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return this.state;
+    }
+}
@@ -0,0 +1,5 @@
+package at.fhhagenberg.sqelevator.logic;
+
+public interface ConnectionStateObserver {
+    void updateConnectionState(ConnectionStateTransition connectionStateTransition);
+}
@@ -0,0 +1,50 @@
+package at.fhhagenberg.sqelevator.logic;
+
+public class ConnectionStateTransition {
+
+    private final ConnectionState previousState;
+    private final ConnectionState state;
+    private final long timestamp;
+    private final long previousStateDuration;
+    private final int reconnectAttempts;
+
+    public ConnectionStateTransition(ConnectionState previousState, ConnectionState state, long timestamp,
+                                     long previousStateDuration, int reconnectAttempts) {
+        if (previousState == null || state == null) {
+            throw new IllegalArgumentException("Connection state must not be null!");
+        }
+
+        this.previousState = previousState;
+        this.state = state;
+        this.timestamp = timestamp;
+        this.previousStateDuration = previousStateDuration;
+        this.reconnectAttempts = reconnectAttempts;
+    }
+
+    public ConnectionState getPreviousState() {
+        return previousState;
+    }
+
+    public ConnectionState getState() {
+        return state;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    // milliseconds spent in the previous state
+    public long getPreviousStateDuration() {
+        return previousStateDuration;
+    }
+
+    // attempts made since the connection was lost last
+    public int getReconnectAttempts() {
+        return reconnectAttempts;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s -> %s after %d ms (%d reconnect attempts)", previousState, state, previousStateDuration, reconnectAttempts);
+    }
+}
@@ -0,0 +1,170 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.data.IElevatorConnector;
+
+import java.net.MalformedURLException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// looks the simulator up again after the polling service lost it and resumes polling once it is back
+public class ConnectionSupervisor implements ConnectionLossObserver {
+
+    private static final Logger LOGGER = Logger.getLogger("ConnectionSupervisor");
+
+    private final IElevatorClient client;
+    private final IElevatorConnector connector;
+    private final IElevatorStatusPollingService pollingService;
+    private final ReconnectBackoff reconnectBackoff;
+    private final ScheduledExecutorService reconnectExecutor;
+    private final LongSupplier clock;
+    private final List<ConnectionStateObserver> observers;
+
+    private ConnectionState state;
+    private long stateSince;
+    private long downSince;
+    private int reconnectAttempts;
+    private long lastDowntime;
+
+    public ConnectionSupervisor(IElevatorClient client, IElevatorConnector connector,
+                                IElevatorStatusPollingService pollingService, ReconnectBackoff reconnectBackoff) {
+        this(client, connector, pollingService, reconnectBackoff, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "elevator-connection-supervisor");
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis);
+    }
+
+    ConnectionSupervisor(IElevatorClient client, IElevatorConnector connector, IElevatorStatusPollingService pollingService,
+                         ReconnectBackoff reconnectBackoff, ScheduledExecutorService reconnectExecutor, LongSupplier clock) {
+        if (client == null) {
+            throw new IllegalArgumentException("Client must not be null!");
+        }
+
+        if (connector == null) {
+            throw new IllegalArgumentException("Connector must not be null!");
+        }
+
+        if (pollingService == null) {
+            throw new IllegalArgumentException("Polling service must not be null!");
+        }
+
+        if (reconnectBackoff == null) {
+            throw new IllegalArgumentException("Reconnect backoff must not be null!");
+        }
+
+        this.client = client;
+        this.connector = connector;
+        this.pollingService = pollingService;
+        this.reconnectBackoff = reconnectBackoff;
+        this.reconnectExecutor = reconnectExecutor;
+        this.clock = clock;
+        this.observers = new CopyOnWriteArrayList<>();
+        this.state = ConnectionState.CONNECTED;
+        this.stateSince = clock.getAsLong();
+    }
+
+    public void addObserver(ConnectionStateObserver observer) {
+        this.observers.add(observer);
+    }
+
+    public synchronized ConnectionState getState() {
+        return state;
+    }
+
+    public synchronized int getReconnectAttempts() {
+        return reconnectAttempts;
+    }
+
+    // milliseconds between the last connection loss and the successful reconnect
+    public synchronized long getLastDowntime() {
+        return lastDowntime;
+    }
+
+    public void stop() {
+        reconnectExecutor.shutdownNow();
+    }
+
+    @Override
+    public void connectionLost(RemoteException exception) {
+        LOGGER.log(Level.WARNING, "Connection to the simulator lost: {0}", exception.getLocalizedMessage());
+
+        synchronized (this) {
+            if (state != ConnectionState.CONNECTED) {
+                return;
+            }
+
+            reconnectAttempts = 0;
+            reconnectBackoff.reset();
+        }
+
+        transitionTo(ConnectionState.DISCONNECTED);
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        reconnectExecutor.schedule(this::reconnect, reconnectBackoff.nextDelay(), TimeUnit.MILLISECONDS);
+    }
+
+    private void reconnect() {
+        synchronized (this) {
+            reconnectAttempts++;
+        }
+
+        transitionTo(ConnectionState.RECONNECTING);
+
+        try {
+            if (!client.reconnect(connector.connect())) {
+                // elevators and floors are shared with the view, a different building needs a restart
+                LOGGER.log(Level.SEVERE, "Simulator came back with a different building, giving up");
+                transitionTo(ConnectionState.FAILED);
+                return;
+            }
+        } catch (RemoteException | NotBoundException | MalformedURLException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Reconnect attempt failed: {0}", e.getLocalizedMessage());
+            scheduleReconnect();
+            return;
+        }
+
+        synchronized (this) {
+            lastDowntime = clock.getAsLong() - downSince;
+        }
+
+        transitionTo(ConnectionState.CONNECTED);
+        pollingService.startPollingService();
+    }
+
+    private void transitionTo(ConnectionState nextState) {
+        ConnectionStateTransition transition;
+
+        synchronized (this) {
+            if (state == nextState) {
+                return;
+            }
+
+            var now = clock.getAsLong();
+
+            if (state == ConnectionState.CONNECTED) {
+                downSince = now;
+            }
+
+            transition = new ConnectionStateTransition(state, nextState, now, now - stateSince, reconnectAttempts);
+            state = nextState;
+            stateSince = now;
+        }
+
+        LOGGER.log(Level.INFO, "Connection {0}", transition);
+
+        for (var observer : observers) {
+            observer.updateConnectionState(transition);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.ElevatorStatusDelta;
+
+import java.util.concurrent.Executor;
+
+class DeltaObserverLane extends ObserverLane<ElevatorStatusDelta> {
+
+    private final ElevatorStatusDeltaObserver observer;
+
+    private ElevatorStatusDelta pendingDelta;
+    private ElevatorStatusDelta takenDelta;
+
+    DeltaObserverLane(ElevatorStatusDeltaObserver observer, int numberOfElevators, int numberOfFloors, Executor executor) {
+        super(executor);
+        this.observer = observer;
+        this.pendingDelta = new ElevatorStatusDelta(numberOfElevators, numberOfFloors);
+        this.takenDelta = new ElevatorStatusDelta(numberOfElevators, numberOfFloors);
+    }
+
+    @Override
+    Object getObserver() {
+        return observer;
+    }
+
+    @Override
+    void storePending(ElevatorStatusDelta delta, boolean hasPending) {
+        // conflated deltas are merged so no change gets lost, values are read from the latest snapshot
+        if (hasPending) {
+            pendingDelta.getSnapshot().release();
+        } else {
+            pendingDelta.clear();
+        }
+
+        pendingDelta.mergeFrom(delta);
+        pendingDelta.setSnapshot(delta.getSnapshot().retain());
+    }
+
+    @Override
+    void takePending() {
+        var delta = takenDelta;
+        takenDelta = pendingDelta;
+        pendingDelta = delta;
+    }
+
+    @Override
+    void deliverTaken() {
+        var snapshot = takenDelta.getSnapshot();
+
+        try {
+            observer.updateDelta(takenDelta);
+        } finally {
+            takenDelta.setSnapshot(null);
+            snapshot.release();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import at.fhhagenberg.sqelevator.domain.ElevatorFloor;
+import at.fhhagenberg.sqelevator.domain.ElevatorFloorStatus;
+import at.fhhagenberg.sqelevator.domain.ElevatorStatus;
+import at.fhhagenberg.sqelevator.domain.HallCallStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ElevatorStatusAdapter {
+
+    private ElevatorStatusAdapter() {
+    }
+
+    // builds the object view of a snapshot for observers that still consume ElevatorStatus lists
+    public static List<ElevatorStatus> toElevatorStatuses(List<Elevator> elevators, BuildingSnapshot snapshot) {
+        var elevatorStatuses = new ArrayList<ElevatorStatus>(elevators.size());
+
+        if (!snapshot.isConnected()) {
+            for (var elevator : elevators) {
+                elevatorStatuses.add(ElevatorStatus.build(elevator).notConnected());
+            }
+
+            return elevatorStatuses;
+        }
+
+        var hallCallStatus = toHallCallStatus(snapshot);
+
+        for (int index = 0; index < elevators.size(); index++) {
+            if (snapshot.isPolled(index)) {
+                elevatorStatuses.add(toElevatorStatus(elevators.get(index), index, snapshot, hallCallStatus));
+            }
+        }
+
+        return elevatorStatuses;
+    }
+
+    public static ElevatorFloor findElevatorFloor(Elevator elevator, int floorNumber) {
+        for (var elevatorFloor : elevator.getElevatorFloors()) {
+            if (elevatorFloor.getFloor().getFloorNumber() == floorNumber) {
+                return elevatorFloor;
+            }
+        }
+
+        return null;
+    }
+
+    private static ElevatorStatus toElevatorStatus(Elevator elevator, int index, BuildingSnapshot snapshot, HallCallStatus hallCallStatus) {
+        var numberOfButtons = Math.min(elevator.getElevatorFloors().size(), snapshot.getNumberOfFloors());
+        var buttonStatuses = new boolean[numberOfButtons];
+
+        for (int floorNumber = 0; floorNumber < buttonStatuses.length; floorNumber++) {
+            buttonStatuses[floorNumber] = snapshot.isButtonPressed(index, floorNumber);
+        }
+
+        var elevatorStatusBuilder = ElevatorStatus.build(elevator)
+                .clockTick(snapshot.getClockTick(index))
+                .torn(snapshot.isTorn(index))
+                .velocity(snapshot.getVelocity(index))
+                .payload(snapshot.getPayload(index))
+                .maximumPayload(snapshot.getMaximumPayload(index))
+                .buttonStatus(buttonStatuses)
+                .currentFloor(findElevatorFloor(elevator, snapshot.getCurrentFloor(index)))
+                .elevatorFloorStatus(toElevatorFloorStatuses(elevator, index, snapshot))
+                .hallCallStatus(hallCallStatus)
+                .direction(snapshot.getDirection(index))
+                .doorStatus(snapshot.getDoorStatus(index));
+
+        var targetedFloor = findElevatorFloor(elevator, snapshot.getTargetedFloor(index));
+
+        if (targetedFloor != null) {
+            elevatorStatusBuilder.targetedFloor(targetedFloor);
+        }
+
+        return elevatorStatusBuilder.get();
+    }
+
+    private static ElevatorFloorStatus[] toElevatorFloorStatuses(Elevator elevator, int index, BuildingSnapshot snapshot) {
+        var elevatorFloors = elevator.getElevatorFloors();
+        var elevatorFloorStatuses = new ElevatorFloorStatus[elevatorFloors.size()];
+
+        for (int floorIndex = 0; floorIndex < elevatorFloorStatuses.length; floorIndex++) {
+            var elevatorFloor = elevatorFloors.get(floorIndex);
+            var floorNumber = elevatorFloor.getFloor().getFloorNumber();
+
+            elevatorFloorStatuses[floorIndex] = ElevatorFloorStatus.build(elevatorFloor)
+                    .upRequested(snapshot.isUpRequested(floorNumber))
+                    .downRequested(snapshot.isDownRequested(floorNumber))
+                    .serviced(snapshot.isServiced(index, floorNumber))
+                    .get();
+        }
+
+        return elevatorFloorStatuses;
+    }
+
+    private static HallCallStatus toHallCallStatus(BuildingSnapshot snapshot) {
+        var hallCallStatusBuilder = HallCallStatus.build(snapshot.getNumberOfFloors());
+
+        for (int floorNumber = 0; floorNumber < snapshot.getNumberOfFloors(); floorNumber++) {
+            hallCallStatusBuilder
+                    .upRequested(floorNumber, snapshot.isUpRequested(floorNumber))
+                    .downRequested(floorNumber, snapshot.isDownRequested(floorNumber));
+        }
+
+        return hallCallStatusBuilder.get();
+    }
+}
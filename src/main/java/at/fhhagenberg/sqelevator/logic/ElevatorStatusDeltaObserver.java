@@ -0,0 +1,8 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.ElevatorStatusDelta;
+
+// the delta is reused after the call returns, observers that keep it copy the delta and retain its snapshot
+public interface ElevatorStatusDeltaObserver {
+    void updateDelta(ElevatorStatusDelta elevatorStatusDelta);
+}
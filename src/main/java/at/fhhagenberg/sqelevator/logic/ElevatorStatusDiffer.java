@@ -0,0 +1,75 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.ElevatorStatusDelta;
+import at.fhhagenberg.sqelevator.domain.StatusField;
+
+public class ElevatorStatusDiffer {
+
+    // fills delta with the changes from previous to current, a missing previous snapshot counts as fully changed
+    public void diff(BuildingSnapshot previous, BuildingSnapshot current, ElevatorStatusDelta delta) {
+        delta.clear();
+        delta.setSnapshot(current);
+
+        if (previous == null) {
+            for (int elevator = 0; elevator < current.getNumberOfElevators(); elevator++) {
+                delta.markAllChanged(elevator);
+            }
+
+            for (int word = 0; word < current.getWordsPerElevator(); word++) {
+                delta.markUpRequestsChanged(word, current.getUpRequestWord(word));
+                delta.markDownRequestsChanged(word, current.getDownRequestWord(word));
+            }
+
+            return;
+        }
+
+        for (int elevator = 0; elevator < current.getNumberOfElevators(); elevator++) {
+            diffElevator(previous, current, elevator, delta);
+        }
+
+        for (int word = 0; word < current.getWordsPerElevator(); word++) {
+            delta.markUpRequestsChanged(word, previous.getUpRequestWord(word) ^ current.getUpRequestWord(word));
+            delta.markDownRequestsChanged(word, previous.getDownRequestWord(word) ^ current.getDownRequestWord(word));
+        }
+    }
+
+    private void diffElevator(BuildingSnapshot previous, BuildingSnapshot current, int elevator, ElevatorStatusDelta delta) {
+        if (previous.isConnected() != current.isConnected()) {
+            delta.markChanged(elevator, StatusField.CONNECTION);
+        }
+
+        if (previous.getCurrentFloor(elevator) != current.getCurrentFloor(elevator)) {
+            delta.markChanged(elevator, StatusField.CURRENT_FLOOR);
+        }
+
+        if (previous.getTargetedFloor(elevator) != current.getTargetedFloor(elevator)) {
+            delta.markChanged(elevator, StatusField.TARGETED_FLOOR);
+        }
+
+        if (previous.getDirection(elevator) != current.getDirection(elevator)) {
+            delta.markChanged(elevator, StatusField.DIRECTION);
+        }
+
+        if (previous.getDoorStatus(elevator) != current.getDoorStatus(elevator)) {
+            delta.markChanged(elevator, StatusField.DOOR_STATUS);
+        }
+
+        if (Double.compare(previous.getVelocity(elevator), current.getVelocity(elevator)) != 0) {
+            delta.markChanged(elevator, StatusField.VELOCITY);
+        }
+
+        if (Double.compare(previous.getPayload(elevator), current.getPayload(elevator)) != 0) {
+            delta.markChanged(elevator, StatusField.PAYLOAD);
+        }
+
+        if (Double.compare(previous.getMaximumPayload(elevator), current.getMaximumPayload(elevator)) != 0) {
+            delta.markChanged(elevator, StatusField.MAXIMUM_PAYLOAD);
+        }
+
+        for (int word = 0; word < current.getWordsPerElevator(); word++) {
+            delta.markButtonsChanged(elevator, word, previous.getButtonWord(elevator, word) ^ current.getButtonWord(elevator, word));
+            delta.markServicedFloorsChanged(elevator, word, previous.getServicedFloorWord(elevator, word) ^ current.getServicedFloorWord(elevator, word));
+        }
+    }
+}
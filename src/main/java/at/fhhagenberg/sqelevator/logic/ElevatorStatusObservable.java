@@ -1,10 +1,12 @@
 package at.fhhagenberg.sqelevator.logic;
 
-import at.fhhagenberg.sqelevator.domain.ElevatorStatus;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
 
-import java.util.List;
+import java.util.concurrent.Flow;
 
 public interface ElevatorStatusObservable {
     void addObserver(ElevatorStatusObserver observer);
-    void notifyAll(List<ElevatorStatus> elevatorStatuses);
+    void addDeltaObserver(ElevatorStatusDeltaObserver observer);
+    void notifyAll(BuildingSnapshot snapshot);
+    Flow.Publisher<BuildingSnapshot> getSnapshotPublisher();
 }
@@ -1,54 +1,174 @@
 package at.fhhagenberg.sqelevator.logic;
 
 import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshotPool;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
 import at.fhhagenberg.sqelevator.domain.Elevator;
-import at.fhhagenberg.sqelevator.domain.ElevatorFloor;
-import at.fhhagenberg.sqelevator.domain.ElevatorFloorStatus;
-import at.fhhagenberg.sqelevator.domain.ElevatorStatus;
+import at.fhhagenberg.sqelevator.domain.ElevatorStatusDelta;
 
 import java.rmi.RemoteException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class ElevatorStatusPollingService implements IElevatorStatusPollingService {
 
+    private static final long HOT_RPC_CALLS_PER_ELEVATOR = 6;
+    private static final int DEFAULT_CONSISTENCY_RETRIES = 2;
+    private static final PollingTier[] POLLING_TIERS = PollingTier.values();
+    private static final int SNAPSHOT_PUBLISHER_CAPACITY = 32;
+
     private IElevatorClient client;
     private List<Elevator> elevators;
     private long pollingInterval;
 
+    private ExecutorService pollingExecutor;
+    private long cycleDeadline;
+    private int maximumConsistencyRetries;
+
+    private PollingSchedule pollingSchedule;
+    private AdaptivePollingScheduler adaptivePollingScheduler;
+    private long cycle;
+    private long lastClockTick;
+    private AtomicLongArray cycleRpcCalls;
+
+    // nanoseconds the parallel polls of this cycle ran on top of the time spent waiting for them
+    private long cycleParallelPollingTime;
+
+    private int[] elevatorNumbers;
+    private int[] elevatorFloorCounts;
+    private BuildingSnapshotPool snapshotPool;
+    private BuildingSnapshot lastSnapshot;
+
+    private BuildingSnapshot cycleSnapshot;
+    private BuildingSnapshot previousSnapshot;
+    private boolean isMediumTierDue;
+    private boolean isStaticTierDue;
+    private boolean hasPolledHallCalls;
+    private boolean[] hasPolledButtons;
+    private boolean[] hasPolledStaticFields;
+    private DoorStatus[] lastDoorStatuses;
+
+    // parallel polls write into their own buffer only, it is copied into the cycle snapshot once the poll completed
+    private BuildingSnapshot[] elevatorBuffers;
+
+    private final ElevatorPollingTask elevatorPollingTask = this::pollElevatorStatus;
+    private final ElevatorPollingTask consistentElevatorPollingTask = this::pollConsistentElevatorStatus;
+
     private Thread pollingStatusThread;
+    private volatile ConnectionLossObserver connectionLossObserver;
 
-    private List<ElevatorStatusObserver> observers;
+    private Executor observerExecutor;
+    private List<SnapshotObserverLane> snapshotLanes;
+    private List<DeltaObserverLane> deltaLanes;
+    private SubmissionPublisher<BuildingSnapshot> snapshotPublisher;
+    private ElevatorStatusDiffer elevatorStatusDiffer;
+    private ElevatorStatusDelta elevatorStatusDelta;
+    private BuildingSnapshot lastNotifiedSnapshot;
+    private PollingMetrics metrics;
 
     public ElevatorStatusPollingService(IElevatorClient client, List<Elevator> elevators, long pollingInterval) {
         this.client = client;
         this.elevators = elevators;
         this.pollingInterval = pollingInterval;
-        this.observers = new LinkedList<>();
+        this.snapshotLanes = new CopyOnWriteArrayList<>();
+        this.deltaLanes = new CopyOnWriteArrayList<>();
+        this.observerExecutor = Executors.newCachedThreadPool(runnable -> {
+            var thread = new Thread(runnable, "elevator-status-observer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.snapshotPublisher = new SubmissionPublisher<>(observerExecutor, SNAPSHOT_PUBLISHER_CAPACITY);
+        this.elevatorStatusDiffer = new ElevatorStatusDiffer();
+        this.elevatorNumbers = new int[elevators.size()];
+        this.elevatorFloorCounts = new int[elevators.size()];
+        this.hasPolledButtons = new boolean[elevators.size()];
+        this.hasPolledStaticFields = new boolean[elevators.size()];
+        this.lastDoorStatuses = new DoorStatus[elevators.size()];
+
+        // a snapshot starts with closed doors, so a car that never opens them stays idle
+        Arrays.fill(lastDoorStatuses, DoorStatus.CLOSED);
+
+        var numberOfFloors = 0;
+
+        for (int index = 0; index < elevators.size(); index++) {
+            elevatorNumbers[index] = elevators.get(index).getElevatorNumber();
+            elevatorFloorCounts[index] = elevators.get(index).getElevatorFloors().size();
+            numberOfFloors = Math.max(numberOfFloors, elevatorFloorCounts[index]);
+        }
+
+        this.snapshotPool = new BuildingSnapshotPool(elevators.size(), numberOfFloors);
+        this.lastSnapshot = snapshotPool.acquire();
+        this.elevatorStatusDelta = new ElevatorStatusDelta(elevators.size(), numberOfFloors);
+        this.metrics = new PollingMetrics();
+        this.pollingSchedule = PollingSchedule.everyCycle();
+        this.cycleRpcCalls = new AtomicLongArray(PollingTier.values().length);
+        this.maximumConsistencyRetries = DEFAULT_CONSISTENCY_RETRIES;
     }
 
+    public ElevatorStatusPollingService(IElevatorClient client, List<Elevator> elevators, long pollingInterval,
+                                        int pollingThreads, long cycleDeadline) {
+        this(client, elevators, pollingInterval);
+
+        if (pollingThreads <= 0) {
+            throw new IllegalArgumentException(String.format("Number of polling threads must be positive but was: %d", pollingThreads));
+        }
+
+        if (cycleDeadline <= 0) {
+            throw new IllegalArgumentException(String.format("Cycle deadline must be positive but was: %d", cycleDeadline));
+        }
+
+        this.cycleDeadline = cycleDeadline;
+        this.elevatorBuffers = new BuildingSnapshot[elevators.size()];
+
+        for (int index = 0; index < elevators.size(); index++) {
+            elevatorBuffers[index] = createElevatorBuffer();
+        }
+
+        this.pollingExecutor = Executors.newFixedThreadPool(Math.min(pollingThreads, Math.max(1, elevators.size())), runnable -> {
+            var thread = new Thread(runnable, "elevator-status-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // (re)starts the polling thread, after a lost connection every tier is polled again in the first cycle
+    @Override
     public void startPollingService() {
+        awaitPollingThreadStopped();
+
+        this.hasPolledHallCalls = false;
+        Arrays.fill(hasPolledButtons, false);
+        Arrays.fill(hasPolledStaticFields, false);
+
         this.pollingStatusThread = new Thread(() -> {
-            while (true) {
+            while (!Thread.currentThread().isInterrupted()) {
                 try {
-                    var states = new LinkedList<ElevatorStatus>();
-
-                    for (Elevator elevator : elevators) {
-                        try {
-                            var elevatorStatus = pollElevatorStatus(elevator);
-                            states.add(elevatorStatus);
-                        } catch (RemoteException ex) {
-                            var notConnectedStates = elevators.stream().map(e -> ElevatorStatus.build(e).notConnected()).collect(Collectors.toList());
-                            notifyAll(notConnectedStates);
-                            Thread.currentThread().interrupt();
-                        }
-                    }
+                    var snapshot = pollCycle();
+                    notifyAll(snapshot);
+                    Thread.sleep(nextPollingInterval(snapshot));
+                } catch (RemoteException ex) {
+                    // the thread ends here instead of polling a dead stub, the supervisor starts polling again
+                    notifyAll(publishDisconnectedSnapshot());
 
-                    notifyAll(states);
-                    Thread.sleep(pollingInterval);
+                    if (connectionLossObserver != null) {
+                        connectionLossObserver.connectionLost(ex);
+                    }
 
-                } catch(InterruptedException e) {
+                    return;
+                } catch (InterruptedException e) {
                     Thread.currentThread().interrupt();
                 }
             }
@@ -58,52 +178,480 @@ public class ElevatorStatusPollingService implements IElevatorStatusPollingServi
         this.pollingStatusThread.start();
     }
 
+    private void awaitPollingThreadStopped() {
+        var previousThread = pollingStatusThread;
+
+        if (previousThread == null || previousThread == Thread.currentThread()) {
+            return;
+        }
+
+        previousThread.interrupt();
+
+        try {
+            previousThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // stops the polling thread and waits for its last cycle, the service can be started again
+    @Override
     public void stopPollingService() {
-        this.pollingStatusThread.interrupt();
+        awaitPollingThreadStopped();
+    }
+
+    // stops polling for good and shuts down the polling threads and the snapshot publisher
+    @Override
+    public void close() {
+        stopPollingService();
+
+        if (pollingExecutor != null) {
+            pollingExecutor.shutdownNow();
+        }
+
+        snapshotPublisher.close();
     }
 
-    private ElevatorStatus pollElevatorStatus(Elevator elevator) throws RemoteException {
-        var elevatorStatusBuilder = ElevatorStatus.build(elevator)
-                .velocity(client.getCurrentVelocity(elevator))
-                .payload(client.getCurrentWeightLoad(elevator))
-                .buttonStatus(client.getElevatorFloorButtonsStatus(elevator))
-                .currentFloor(client.getCurrentFloor(elevator))
-                .elevatorFloorStatus(pollElevatorFloorStatuses(elevator))
-                .direction(client.getDirection(elevator))
-                .doorStatus(client.getElevatorDoorStatus(elevator));
+    public void setPollingSchedule(PollingSchedule pollingSchedule) {
+        if (pollingSchedule == null) {
+            throw new IllegalArgumentException("Polling schedule must not be null!");
+        }
 
-        client.getTargetedFloor(elevator).ifPresent(elevatorStatusBuilder::targetedFloor);
+        this.pollingSchedule = pollingSchedule;
+    }
 
-        return elevatorStatusBuilder.get();
+    public void setConnectionLossObserver(ConnectionLossObserver connectionLossObserver) {
+        this.connectionLossObserver = connectionLossObserver;
     }
 
-    private ElevatorFloorStatus[] pollElevatorFloorStatuses(Elevator elevator) throws RemoteException {
-        var elevatorFloorStatuses = new LinkedList<ElevatorFloorStatus>();
+    public void setAdaptivePollingScheduler(AdaptivePollingScheduler adaptivePollingScheduler) {
+        this.adaptivePollingScheduler = adaptivePollingScheduler;
+    }
 
-        for (ElevatorFloor elevatorFloor : elevator.getElevatorFloors()) {
-            elevatorFloorStatuses.add(pollElevatorFloorStatus(elevator, elevatorFloor));
+    public void setMaximumConsistencyRetries(int maximumConsistencyRetries) {
+        if (maximumConsistencyRetries < 0) {
+            throw new IllegalArgumentException(String.format("Number of consistency retries must not be negative but was: %d", maximumConsistencyRetries));
         }
 
-        return elevatorFloorStatuses.toArray(ElevatorFloorStatus[]::new);
+        this.maximumConsistencyRetries = maximumConsistencyRetries;
     }
 
-    private ElevatorFloorStatus pollElevatorFloorStatus(Elevator elevator, ElevatorFloor elevatorFloor) throws RemoteException {
-        var floor = elevatorFloor.getFloor();
+    @Override
+    public PollingSchedule getPollingSchedule() {
+        return pollingSchedule;
+    }
 
-        return ElevatorFloorStatus.build(elevatorFloor)
-                .upRequested(client.hasFloorBeenRequestedUp(floor))
-                .downRequested(client.hasFloorBeenRequestedDown(floor))
-                .serviced(client.isServiceEnabled(elevator, floor))
-                .get();
+    @Override
+    public PollingMetrics getMetrics() {
+        return metrics;
+    }
+
+    BuildingSnapshot pollCycle() throws RemoteException, InterruptedException {
+        var cycleStart = System.currentTimeMillis();
+        var cycleEnd = cycleStart + cycleDeadline;
+
+        // the snapshot of the last cycle stays untouched while a pooled buffer is filled
+        var snapshot = snapshotPool.acquire();
+        var previousSnapshot = lastSnapshot;
+
+        this.cycleSnapshot = snapshot;
+        this.previousSnapshot = previousSnapshot;
+        this.isMediumTierDue = pollingSchedule.isDue(PollingTier.MEDIUM, cycle);
+        this.isStaticTierDue = pollingSchedule.isDue(PollingTier.STATIC, cycle);
+        cycle++;
+
+        for (var tier : POLLING_TIERS) {
+            cycleRpcCalls.set(tier.ordinal(), 0);
+        }
+
+        cycleParallelPollingTime = 0;
+
+        snapshot.setConnected(true);
+
+        for (int index = 0; index < elevators.size(); index++) {
+            snapshot.setPolled(index, false);
+            snapshot.setTorn(index, false);
+        }
+
+        try {
+            return pollCycle(snapshot, previousSnapshot, cycleStart, cycleEnd);
+        } catch (RemoteException | InterruptedException | RuntimeException e) {
+            snapshot.release();
+            throw e;
+        }
+    }
+
+    private BuildingSnapshot pollCycle(BuildingSnapshot snapshot, BuildingSnapshot previousSnapshot, long cycleStart, long cycleEnd)
+            throws RemoteException, InterruptedException {
+        var clockTickBefore = pollClockTick();
+
+        // hall buttons are shared by all elevators and therefore polled once per cycle
+        if (isMediumTierDue || !hasPolledHallCalls) {
+            pollHallCalls(snapshot);
+            hasPolledHallCalls = true;
+        } else {
+            snapshot.copyHallCallsFrom(previousSnapshot);
+        }
+
+        pollElevatorStatuses(false, cycleEnd, elevatorPollingTask);
+
+        for (int index = 0; index < elevators.size(); index++) {
+            if (snapshot.isPolled(index)) {
+                hasPolledButtons[index] = true;
+                hasPolledStaticFields[index] = true;
+            }
+        }
+
+        var clockTickAfter = pollClockTick();
+        var tornElevators = 0;
+
+        if (clockTickBefore == clockTickAfter) {
+            for (int index = 0; index < elevators.size(); index++) {
+                snapshot.setClockTick(index, clockTickAfter);
+            }
+        } else {
+            // the simulator advanced while polling, so every elevator is re-polled within its own tick bracket
+            pollElevatorStatuses(true, cycleEnd, consistentElevatorPollingTask);
+
+            for (int index = 0; index < elevators.size(); index++) {
+                if (snapshot.isPolled(index) && snapshot.isTorn(index)) {
+                    tornElevators++;
+                }
+            }
+        }
+
+        var missedDeadlines = 0;
+
+        for (int index = 0; index < elevators.size(); index++) {
+            if (!snapshot.isPolled(index)) {
+                // missed elevators keep their last known state
+                snapshot.copyElevatorFrom(previousSnapshot, index);
+                snapshot.setPolled(index, false);
+                missedDeadlines++;
+            }
+        }
+
+        snapshot.setClockTick(clockTickAfter);
+        replaceLastSnapshot(snapshot);
+
+        for (var tier : POLLING_TIERS) {
+            metrics.recordRpcCalls(tier, cycleRpcCalls.get(tier.ordinal()));
+        }
+
+        lastClockTick = clockTickAfter;
+
+        metrics.recordConsistency(clockTickBefore != clockTickAfter, tornElevators);
+        var cycleDuration = System.currentTimeMillis() - cycleStart;
+        var rpcDuration = cycleDuration + TimeUnit.NANOSECONDS.toMillis(cycleParallelPollingTime);
+        metrics.recordCycle(cycleDuration, rpcDuration, missedDeadlines);
+
+        return snapshot;
+    }
+
+    long nextPollingInterval(BuildingSnapshot snapshot) {
+        if (adaptivePollingScheduler == null) {
+            metrics.recordPollingRate(pollingInterval, pollingInterval, pollingInterval, 0, 0);
+            return pollingInterval;
+        }
+
+        var rpcCalls = 0L;
+
+        for (var tier : POLLING_TIERS) {
+            rpcCalls += metrics.getLastCycleRpcCalls(tier);
+        }
+
+        var nextPollingInterval = adaptivePollingScheduler.nextInterval(lastClockTick, metrics.getLastCycleDuration(),
+                metrics.getLastCycleRpcDuration(), rpcCalls, isBuildingActive(snapshot));
+
+        metrics.recordPollingRate(
+                adaptivePollingScheduler.getMinimumInterval(),
+                adaptivePollingScheduler.getMaximumInterval(),
+                adaptivePollingScheduler.getEffectiveInterval(),
+                adaptivePollingScheduler.getTickRate(),
+                adaptivePollingScheduler.getRpcLatency());
+
+        return nextPollingInterval;
+    }
+
+    // the simulator keeps the direction of a parked car committed, so only a moving car, doors that opened or closed
+    // since the last cycle and pending calls count as activity
+    private boolean isBuildingActive(BuildingSnapshot snapshot) {
+        var isActive = snapshot.hasHallCalls();
+
+        for (int index = 0; index < snapshot.getNumberOfElevators(); index++) {
+            if (!snapshot.isPolled(index)) {
+                continue;
+            }
+
+            var isDoorMoving = snapshot.getDoorStatus(index) != lastDoorStatuses[index];
+            lastDoorStatuses[index] = snapshot.getDoorStatus(index);
+
+            if (snapshot.getVelocity(index) != 0 || isDoorMoving || snapshot.hasPressedButtons(index)) {
+                isActive = true;
+            }
+        }
+
+        return isActive;
+    }
+
+    private BuildingSnapshot publishDisconnectedSnapshot() {
+        var snapshot = snapshotPool.acquire();
+
+        snapshot.copyFrom(lastSnapshot);
+        snapshot.setConnected(false);
+        replaceLastSnapshot(snapshot);
+
+        return snapshot;
+    }
+
+    private void replaceLastSnapshot(BuildingSnapshot snapshot) {
+        lastSnapshot.release();
+        lastSnapshot = snapshot;
+    }
+
+    // polls all elevators, or only those already polled this cycle, missed elevators are marked as not polled
+    private void pollElevatorStatuses(boolean onlyPolledElevators, long cycleEnd, ElevatorPollingTask pollingTask)
+            throws RemoteException, InterruptedException {
+        var snapshot = cycleSnapshot;
+
+        if (pollingExecutor == null) {
+            for (int index = 0; index < elevators.size(); index++) {
+                if (!onlyPolledElevators || snapshot.isPolled(index)) {
+                    pollingTask.poll(index, snapshot);
+                    snapshot.setPolled(index, true);
+                }
+            }
+
+            return;
+        }
+
+        var pollingTasks = new ArrayList<Callable<Long>>(elevators.size());
+        var polledIndices = new int[elevators.size()];
+
+        for (int index = 0; index < elevators.size(); index++) {
+            if (!onlyPolledElevators || snapshot.isPolled(index)) {
+                final var elevatorIndex = index;
+                final var elevatorBuffer = elevatorBuffers[index];
+                polledIndices[pollingTasks.size()] = index;
+                pollingTasks.add(() -> {
+                    var pollStart = System.nanoTime();
+                    pollingTask.poll(elevatorIndex, elevatorBuffer);
+                    return System.nanoTime() - pollStart;
+                });
+            }
+        }
+
+        var remainingTime = Math.max(0, cycleEnd - System.currentTimeMillis());
+        var polledIndex = 0;
+        var waitStart = System.nanoTime();
+
+        // invokeAll cancels every task that has not completed when the deadline expires
+        var polledStatuses = pollingExecutor.invokeAll(pollingTasks, remainingTime, TimeUnit.MILLISECONDS);
+        var waitTime = System.nanoTime() - waitStart;
+        var pollingTime = 0L;
+
+        for (var polledStatus : polledStatuses) {
+            var index = polledIndices[polledIndex++];
+
+            if (polledStatus.isCancelled()) {
+                // a remote call in progress ignores the cancellation, the poll keeps writing into a buffer nobody reads
+                elevatorBuffers[index] = createElevatorBuffer();
+                snapshot.setPolled(index, false);
+                pollingTime += waitTime;
+            } else {
+                pollingTime += awaitPolledStatus(polledStatus);
+                snapshot.copyElevatorFrom(elevatorBuffers[index], index);
+                snapshot.setPolled(index, true);
+            }
+        }
+
+        cycleParallelPollingTime += pollingTime - waitTime;
+    }
+
+    private BuildingSnapshot createElevatorBuffer() {
+        return new BuildingSnapshot(elevators.size(), snapshotPool.getNumberOfFloors());
+    }
+
+    private void pollConsistentElevatorStatus(int index, BuildingSnapshot snapshot) throws RemoteException {
+        var clockTickBefore = pollClockTick();
+        pollHotFields(index, snapshot);
+        var clockTickAfter = pollClockTick();
+
+        for (int retry = 0; retry < maximumConsistencyRetries && clockTickBefore != clockTickAfter; retry++) {
+            clockTickBefore = clockTickAfter;
+            pollHotFields(index, snapshot);
+            clockTickAfter = pollClockTick();
+        }
+
+        snapshot.setClockTick(index, clockTickAfter);
+        snapshot.setTorn(index, clockTickBefore != clockTickAfter);
+    }
+
+    private long pollClockTick() throws RemoteException {
+        cycleRpcCalls.incrementAndGet(PollingTier.HOT.ordinal());
+
+        return client.getClockTick();
+    }
+
+    // returns how many nanoseconds the poll took
+    private long awaitPolledStatus(Future<Long> polledStatus) throws RemoteException, InterruptedException {
+        try {
+            return polledStatus.get();
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+
+            if (cause instanceof RemoteException) {
+                throw (RemoteException) cause;
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private void pollHallCalls(BuildingSnapshot snapshot) throws RemoteException {
+        var numberOfFloors = snapshot.getNumberOfFloors();
+
+        for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+            snapshot.setUpRequested(floorNumber, client.getFloorButtonUp(floorNumber));
+            snapshot.setDownRequested(floorNumber, client.getFloorButtonDown(floorNumber));
+        }
+
+        cycleRpcCalls.addAndGet(PollingTier.MEDIUM.ordinal(), 2L * numberOfFloors);
+    }
+
+    private void pollElevatorStatus(int index, BuildingSnapshot snapshot) throws RemoteException {
+        var elevatorNumber = elevatorNumbers[index];
+        var numberOfFloors = elevatorFloorCounts[index];
+
+        if (isMediumTierDue || !hasPolledButtons[index]) {
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                snapshot.setButtonPressed(index, floorNumber, client.isElevatorButtonPressed(elevatorNumber, floorNumber));
+            }
+
+            cycleRpcCalls.addAndGet(PollingTier.MEDIUM.ordinal(), numberOfFloors);
+        } else {
+            snapshot.copyButtonsFrom(previousSnapshot, index);
+        }
+
+        if (isStaticTierDue || !hasPolledStaticFields[index]) {
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                snapshot.setServiced(index, floorNumber, client.isServiceEnabled(elevatorNumber, floorNumber));
+            }
+
+            snapshot.setMaximumPayload(index, client.getMaximumPayload(elevatorNumber));
+            cycleRpcCalls.addAndGet(PollingTier.STATIC.ordinal(), numberOfFloors + 1L);
+        } else {
+            snapshot.copyStaticFieldsFrom(previousSnapshot, index);
+        }
+
+        snapshot.setTorn(index, false);
+        pollHotFields(index, snapshot);
+    }
+
+    private void pollHotFields(int index, BuildingSnapshot snapshot) throws RemoteException {
+        var elevatorNumber = elevatorNumbers[index];
+
+        snapshot.setVelocity(index, client.getCurrentVelocity(elevatorNumber));
+        snapshot.setPayload(index, client.getCurrentWeightLoad(elevatorNumber));
+        snapshot.setCurrentFloor(index, client.getCurrentFloorNumber(elevatorNumber));
+        snapshot.setDirection(index, client.getDirection(elevatorNumber));
+        snapshot.setDoorStatus(index, client.getElevatorDoorStatus(elevatorNumber));
+        snapshot.setTargetedFloor(index, client.getTargetedFloorNumber(elevatorNumber));
+
+        cycleRpcCalls.addAndGet(PollingTier.HOT.ordinal(), HOT_RPC_CALLS_PER_ELEVATOR);
+    }
+
+    @FunctionalInterface
+    private interface ElevatorPollingTask {
+        void poll(int index, BuildingSnapshot snapshot) throws RemoteException;
     }
 
     @Override
     public void addObserver(ElevatorStatusObserver observer) {
-        this.observers.add(observer);
+        this.snapshotLanes.add(new SnapshotObserverLane(observer, elevators, observerExecutor));
     }
 
     @Override
-    public void notifyAll(List<ElevatorStatus> elevatorStatuses) {
-        this.observers.forEach(observer -> observer.update(elevatorStatuses));
+    public void addDeltaObserver(ElevatorStatusDeltaObserver observer) {
+        this.deltaLanes.add(new DeltaObserverLane(observer, elevators.size(), snapshotPool.getNumberOfFloors(), observerExecutor));
+    }
+
+    @Override
+    public Flow.Publisher<BuildingSnapshot> getSnapshotPublisher() {
+        return snapshotPublisher;
+    }
+
+    @Override
+    public ObserverMetrics getObserverMetrics(ElevatorStatusObserver observer) {
+        return findObserverMetrics(snapshotLanes, observer);
+    }
+
+    @Override
+    public ObserverMetrics getObserverMetrics(ElevatorStatusDeltaObserver observer) {
+        return findObserverMetrics(deltaLanes, observer);
+    }
+
+    // observers are handed over to their own lane, so the polling thread never waits for an observer
+    @Override
+    public void notifyAll(BuildingSnapshot snapshot) {
+        for (var snapshotLane : snapshotLanes) {
+            snapshotLane.offer(snapshot);
+        }
+
+        publishSnapshot(snapshot);
+
+        if (deltaLanes.isEmpty()) {
+            return;
+        }
+
+        elevatorStatusDiffer.diff(lastNotifiedSnapshot, snapshot, elevatorStatusDelta);
+
+        if (lastNotifiedSnapshot != null) {
+            lastNotifiedSnapshot.release();
+        }
+
+        lastNotifiedSnapshot = snapshot.retain();
+        metrics.recordDelta(elevatorStatusDelta.isEmpty());
+
+        // idle cycles do not reach delta observers at all
+        if (!elevatorStatusDelta.isEmpty()) {
+            for (var deltaLane : deltaLanes) {
+                deltaLane.offer(elevatorStatusDelta);
+            }
+        }
+    }
+
+    // subscribers receive unpooled copies they may keep, a subscriber whose buffer is full misses the snapshot
+    private void publishSnapshot(BuildingSnapshot snapshot) {
+        if (!snapshotPublisher.hasSubscribers()) {
+            return;
+        }
+
+        snapshotPublisher.offer(snapshot.copy(), (subscriber, droppedSnapshot) -> {
+            metrics.recordDroppedSnapshot();
+            return false;
+        });
+
+        metrics.recordPublishedSnapshot();
+    }
+
+    void setObserverExecutor(Executor observerExecutor) {
+        this.observerExecutor = observerExecutor;
+        this.snapshotPublisher.close();
+        this.snapshotPublisher = new SubmissionPublisher<>(observerExecutor, SNAPSHOT_PUBLISHER_CAPACITY);
+    }
+
+    private ObserverMetrics findObserverMetrics(List<? extends ObserverLane<?>> lanes, Object observer) {
+        for (var lane : lanes) {
+            if (lane.getObserver() == observer) {
+                return lane.getMetrics();
+            }
+        }
+
+        throw new IllegalArgumentException("Observer is not registered!");
     }
 }
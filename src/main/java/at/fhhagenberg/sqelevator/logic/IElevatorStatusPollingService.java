@@ -4,4 +4,14 @@ public interface IElevatorStatusPollingService extends ElevatorStatusObservable
     void startPollingService();
 
     void stopPollingService();
+
+    void close();
+
+    PollingSchedule getPollingSchedule();
+
+    PollingMetrics getMetrics();
+
+    ObserverMetrics getObserverMetrics(ElevatorStatusObserver observer);
+
+    ObserverMetrics getObserverMetrics(ElevatorStatusDeltaObserver observer);
 }
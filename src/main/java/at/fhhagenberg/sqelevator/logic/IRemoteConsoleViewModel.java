@@ -7,7 +7,7 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ListProperty;
 import javafx.beans.property.ObjectProperty;
 
-public interface IRemoteConsoleViewModel extends ElevatorStatusObserver {
+public interface IRemoteConsoleViewModel extends ElevatorStatusObserver, ElevatorStatusDeltaObserver {
     void targetFloor(Elevator elevator, Floor floor);
 
     ListProperty<Elevator> getElevatorListProperty();
@@ -0,0 +1,89 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// delivers to a single observer on the given executor, never runs the observer concurrently with itself
+// and keeps at most one pending item that newer items replace or merge into
+abstract class ObserverLane<T> implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger("ObserverLane");
+
+    private final Executor executor;
+    private final ObserverMetrics metrics = new ObserverMetrics();
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    private boolean hasPending;
+    private long pendingSince;
+
+    ObserverLane(Executor executor) {
+        this.executor = executor;
+    }
+
+    abstract Object getObserver();
+
+    // called under the lane's lock, hasPending tells whether an undelivered item is replaced
+    abstract void storePending(T item, boolean hasPending);
+
+    // called under the lane's lock to move the pending item out of the mailbox
+    abstract void takePending();
+
+    // called outside the lane's lock with the item moved out by takePending
+    abstract void deliverTaken();
+
+    ObserverMetrics getMetrics() {
+        return metrics;
+    }
+
+    void offer(T item) {
+        synchronized (this) {
+            metrics.recordOffered();
+
+            if (hasPending) {
+                metrics.recordDropped();
+            } else {
+                pendingSince = System.currentTimeMillis();
+            }
+
+            storePending(item, hasPending);
+            hasPending = true;
+        }
+
+        if (isScheduled.compareAndSet(false, true)) {
+            executor.execute(this);
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            long lag;
+
+            synchronized (this) {
+                if (!hasPending) {
+                    isScheduled.set(false);
+                    return;
+                }
+
+                takePending();
+                hasPending = false;
+                lag = System.currentTimeMillis() - pendingSince;
+            }
+
+            try {
+                deliverTaken();
+                metrics.recordDelivered(lag);
+            } catch (RuntimeException e) {
+                metrics.recordFailed();
+                LOGGER.log(Level.WARNING, e.getLocalizedMessage(), e);
+            } catch (Error e) {
+                // the error ends this run, the next offer has to be able to schedule the lane again
+                metrics.recordFailed();
+                isScheduled.set(false);
+                throw e;
+            }
+        }
+    }
+}
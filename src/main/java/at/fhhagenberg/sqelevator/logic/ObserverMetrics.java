@@ -0,0 +1,59 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ObserverMetrics {
+
+    private final AtomicLong offeredCount = new AtomicLong();
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    private volatile long lastLag;
+    private volatile long maximumLag;
+
+    void recordOffered() {
+        this.offeredCount.incrementAndGet();
+    }
+
+    void recordDropped() {
+        this.droppedCount.incrementAndGet();
+    }
+
+    void recordFailed() {
+        this.failedCount.incrementAndGet();
+    }
+
+    void recordDelivered(long lag) {
+        this.deliveredCount.incrementAndGet();
+        this.lastLag = lag;
+
+        if (lag > maximumLag) {
+            this.maximumLag = lag;
+        }
+    }
+
+    public long getOfferedCount() {
+        return offeredCount.get();
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getLastLag() {
+        return lastLag;
+    }
+
+    public long getMaximumLag() {
+        return maximumLag;
+    }
+}
@@ -0,0 +1,152 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class PollingMetrics {
+
+    private final AtomicLong cycleCount = new AtomicLong();
+    private final AtomicLong missedDeadlineCount = new AtomicLong();
+    private final AtomicLong inconsistentCycleCount = new AtomicLong();
+    private final AtomicLong tornElevatorCount = new AtomicLong();
+    private final AtomicLong publishedDeltaCount = new AtomicLong();
+    private final AtomicLong idleCycleCount = new AtomicLong();
+    private final AtomicLong publishedSnapshotCount = new AtomicLong();
+    private final AtomicLong droppedSnapshotCount = new AtomicLong();
+    private final AtomicLongArray rpcCalls = new AtomicLongArray(PollingTier.values().length);
+    private final AtomicLongArray lastCycleRpcCalls = new AtomicLongArray(PollingTier.values().length);
+
+    private volatile long lastCycleDuration;
+    private volatile long lastCycleRpcDuration;
+    private volatile int lastMissedDeadlineCount;
+    private volatile int lastTornElevatorCount;
+
+    private volatile long minimumPollingInterval;
+    private volatile long maximumPollingInterval;
+    private volatile long effectivePollingInterval;
+    private volatile double tickRate;
+    private volatile double rpcLatency;
+
+    // rpcDuration adds up the time every remote call took, parallel polls make it exceed the cycle duration
+    void recordCycle(long cycleDuration, long rpcDuration, int missedDeadlines) {
+        this.cycleCount.incrementAndGet();
+        this.missedDeadlineCount.addAndGet(missedDeadlines);
+        this.lastCycleDuration = cycleDuration;
+        this.lastCycleRpcDuration = rpcDuration;
+        this.lastMissedDeadlineCount = missedDeadlines;
+    }
+
+    void recordRpcCalls(PollingTier tier, long calls) {
+        this.rpcCalls.addAndGet(tier.ordinal(), calls);
+        this.lastCycleRpcCalls.set(tier.ordinal(), calls);
+    }
+
+    void recordConsistency(boolean hasClockTickAdvanced, int tornElevators) {
+        if (hasClockTickAdvanced) {
+            this.inconsistentCycleCount.incrementAndGet();
+        }
+
+        this.tornElevatorCount.addAndGet(tornElevators);
+        this.lastTornElevatorCount = tornElevators;
+    }
+
+    void recordDelta(boolean isEmpty) {
+        if (isEmpty) {
+            this.idleCycleCount.incrementAndGet();
+        } else {
+            this.publishedDeltaCount.incrementAndGet();
+        }
+    }
+
+    void recordPublishedSnapshot() {
+        this.publishedSnapshotCount.incrementAndGet();
+    }
+
+    void recordDroppedSnapshot() {
+        this.droppedSnapshotCount.incrementAndGet();
+    }
+
+    void recordPollingRate(long minimumInterval, long maximumInterval, long effectiveInterval, double tickRate, double rpcLatency) {
+        this.minimumPollingInterval = minimumInterval;
+        this.maximumPollingInterval = maximumInterval;
+        this.effectivePollingInterval = effectiveInterval;
+        this.tickRate = tickRate;
+        this.rpcLatency = rpcLatency;
+    }
+
+    public long getCycleCount() {
+        return cycleCount.get();
+    }
+
+    public long getMissedDeadlineCount() {
+        return missedDeadlineCount.get();
+    }
+
+    public long getLastCycleDuration() {
+        return lastCycleDuration;
+    }
+
+    public long getLastCycleRpcDuration() {
+        return lastCycleRpcDuration;
+    }
+
+    public int getLastMissedDeadlineCount() {
+        return lastMissedDeadlineCount;
+    }
+
+    public long getRpcCalls(PollingTier tier) {
+        return rpcCalls.get(tier.ordinal());
+    }
+
+    public long getLastCycleRpcCalls(PollingTier tier) {
+        return lastCycleRpcCalls.get(tier.ordinal());
+    }
+
+    public long getInconsistentCycleCount() {
+        return inconsistentCycleCount.get();
+    }
+
+    public long getTornElevatorCount() {
+        return tornElevatorCount.get();
+    }
+
+    public int getLastTornElevatorCount() {
+        return lastTornElevatorCount;
+    }
+
+    public long getPublishedDeltaCount() {
+        return publishedDeltaCount.get();
+    }
+
+    public long getIdleCycleCount() {
+        return idleCycleCount.get();
+    }
+
+    public long getPublishedSnapshotCount() {
+        return publishedSnapshotCount.get();
+    }
+
+    public long getDroppedSnapshotCount() {
+        return droppedSnapshotCount.get();
+    }
+
+    public long getMinimumPollingInterval() {
+        return minimumPollingInterval;
+    }
+
+    public long getMaximumPollingInterval() {
+        return maximumPollingInterval;
+    }
+
+    public long getEffectivePollingInterval() {
+        return effectivePollingInterval;
+    }
+
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    public double getRpcLatency() {
+        return rpcLatency;
+    }
+}
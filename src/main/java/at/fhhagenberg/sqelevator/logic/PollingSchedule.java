@@ -0,0 +1,42 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class PollingSchedule {
+
+    private final int[] periods;
+    private final AtomicBoolean[] refreshRequests;
+
+    // periods are given in polling cycles, hot fields are polled in every cycle
+    public PollingSchedule(int mediumPeriod, int staticPeriod) {
+        this.periods = new int[] { 1, mediumPeriod, staticPeriod };
+        this.refreshRequests = new AtomicBoolean[PollingTier.values().length];
+
+        for (var tier : PollingTier.values()) {
+            if (periods[tier.ordinal()] <= 0) {
+                throw new IllegalArgumentException(String.format("Polling period of the %s tier must be positive but was: %d", tier, periods[tier.ordinal()]));
+            }
+
+            refreshRequests[tier.ordinal()] = new AtomicBoolean();
+        }
+    }
+
+    public static PollingSchedule everyCycle() {
+        return new PollingSchedule(1, 1);
+    }
+
+    public int getPeriod(PollingTier tier) {
+        return periods[tier.ordinal()];
+    }
+
+    public void requestRefresh(PollingTier tier) {
+        refreshRequests[tier.ordinal()].set(true);
+    }
+
+    // consumes a pending refresh request of the tier
+    boolean isDue(PollingTier tier, long cycle) {
+        var isRefreshRequested = refreshRequests[tier.ordinal()].getAndSet(false);
+
+        return isRefreshRequested || cycle % periods[tier.ordinal()] == 0;
+    }
+}
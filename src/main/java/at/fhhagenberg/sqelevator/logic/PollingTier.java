@@ -0,0 +1,18 @@
+package at.fhhagenberg.sqelevator.logic;
+
+public enum PollingTier {
+    HOT("hot"),
+    MEDIUM("medium"),
+    STATIC("static");
+
+    private String tier;
+
+    private PollingTier(String tier) {
+        this.tier = tier;
+    }
+
+    @Override
+    public String toString() {
+        return this.tier;
+    }
+}
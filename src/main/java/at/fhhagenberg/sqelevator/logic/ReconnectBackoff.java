@@ -0,0 +1,52 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+public class ReconnectBackoff {
+
+    private static final int MAXIMUM_EXPONENT = 30;
+
+    private final long minimumDelay;
+    private final long maximumDelay;
+    private final DoubleSupplier random;
+
+    private int attempt;
+
+    public ReconnectBackoff(long minimumDelay, long maximumDelay) {
+        this(minimumDelay, maximumDelay, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    ReconnectBackoff(long minimumDelay, long maximumDelay, DoubleSupplier random) {
+        if (minimumDelay <= 0) {
+            throw new IllegalArgumentException(String.format("Minimum reconnect delay must be positive but was: %d", minimumDelay));
+        }
+
+        if (maximumDelay < minimumDelay) {
+            throw new IllegalArgumentException(String.format("Maximum reconnect delay must not be below %d but was: %d", minimumDelay, maximumDelay));
+        }
+
+        this.minimumDelay = minimumDelay;
+        this.maximumDelay = maximumDelay;
+        this.random = random;
+    }
+
+    // doubles the delay per attempt up to the maximum, the upper half is jittered so clients do not retry in lockstep
+    public synchronized long nextDelay() {
+        var exponentialDelay = Math.min(maximumDelay, minimumDelay << Math.min(attempt, MAXIMUM_EXPONENT));
+
+        attempt++;
+
+        var halfDelay = exponentialDelay / 2;
+
+        return Math.max(minimumDelay, halfDelay + Math.round(random.getAsDouble() * (exponentialDelay - halfDelay)));
+    }
+
+    public synchronized void reset() {
+        attempt = 0;
+    }
+
+    public synchronized int getAttempt() {
+        return attempt;
+    }
+}
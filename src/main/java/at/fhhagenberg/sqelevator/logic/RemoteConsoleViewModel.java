@@ -3,6 +3,7 @@ package at.fhhagenberg.sqelevator.logic;
 import at.fhhagenberg.sqelevator.data.IElevatorClient;
 import at.fhhagenberg.sqelevator.domain.Elevator;
 import at.fhhagenberg.sqelevator.domain.Mode;
+import at.fhhagenberg.sqelevator.logic.automaticmode.DispatchLoop;
 import at.fhhagenberg.sqelevator.logic.automaticmode.IAutomaticModeStrategy;
 import javafx.application.Platform;
 import javafx.beans.property.*;
@@ -11,20 +12,27 @@ import at.fhhagenberg.sqelevator.domain.*;
 
 import java.rmi.RemoteException;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 public class RemoteConsoleViewModel implements IRemoteConsoleViewModel {
 
     private IElevatorClient client;
-    private IAutomaticModeStrategy automaticModeStrategy;
+    private DispatchLoop dispatchLoop;
+    private volatile boolean isAutomaticMode = true;
 
     private ListProperty<Elevator> elevatorListProperty;
     private ObjectProperty<Mode> modeProperty = new SimpleObjectProperty<>(Mode.AUTOMATIC);
     private BooleanProperty isConnectedProperty = new SimpleBooleanProperty(true);
 
     public RemoteConsoleViewModel(IElevatorClient client, IAutomaticModeStrategy automaticModeStrategy) {
+        this(client, new DispatchLoop(automaticModeStrategy));
+    }
+
+    public RemoteConsoleViewModel(IElevatorClient client, DispatchLoop dispatchLoop) {
         this.client = client;
-        this.automaticModeStrategy = automaticModeStrategy;
+        this.dispatchLoop = dispatchLoop;
+
+        // mirrored for the observer thread, which triggers the dispatcher without going through the FX thread
+        modeProperty.addListener((observable, oldMode, mode) -> this.isAutomaticMode = mode == Mode.AUTOMATIC);
 
         var elevators = this.client.getElevators();
         elevatorListProperty = new SimpleListProperty<>(FXCollections.observableList(elevators));
@@ -59,10 +67,6 @@ public class RemoteConsoleViewModel implements IRemoteConsoleViewModel {
                     this.updateElevator(elevatorStatus);
                     this.updateElevatorFloors(elevatorStatus);
                     this.updateElevatorFloorButtons(elevatorStatus);
-
-                    if (this.modeProperty.get() == Mode.AUTOMATIC) {
-                        CompletableFuture.runAsync(() -> this.automaticModeStrategy.execute(elevatorListProperty.get()));
-                    }
                 } else {
                     isConnectedProperty.set(false);
                 }
@@ -70,6 +74,115 @@ public class RemoteConsoleViewModel implements IRemoteConsoleViewModel {
         }
     }
 
+    @Override
+    public void updateDelta(ElevatorStatusDelta elevatorStatusDelta) {
+        // the delta is reused once this call returns, so the FX thread works on a copy holding its own snapshot reference
+        var delta = elevatorStatusDelta.copy();
+        var snapshot = elevatorStatusDelta.getSnapshot().retain();
+
+        // one dispatcher pass per change set, passes still running coalesce later triggers
+        if (isAutomaticMode && snapshot.isConnected()) {
+            this.dispatchLoop.trigger(snapshot);
+        }
+
+        Platform.runLater(() -> {
+            try {
+                this.applyDelta(delta, snapshot);
+            } finally {
+                snapshot.release();
+            }
+        });
+    }
+
+    private void applyDelta(ElevatorStatusDelta elevatorStatusDelta, BuildingSnapshot snapshot) {
+        var elevators = elevatorListProperty.get();
+
+        this.isConnectedProperty.set(snapshot.isConnected());
+
+        if (!snapshot.isConnected()) {
+            return;
+        }
+
+        for (int index = 0; index < elevators.size() && index < snapshot.getNumberOfElevators(); index++) {
+            var elevator = elevators.get(index);
+
+            this.updateChangedElevatorFields(elevatorStatusDelta, index, elevator);
+            this.updateChangedElevatorFloors(elevatorStatusDelta, index, elevator);
+            this.updateChangedElevatorFloorButtons(elevatorStatusDelta, index, elevator);
+        }
+    }
+
+    private void updateChangedElevatorFields(ElevatorStatusDelta elevatorStatusDelta, int index, Elevator elevator) {
+        var snapshot = elevatorStatusDelta.getSnapshot();
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.TARGETED_FLOOR)) {
+            var targetedFloor = ElevatorStatusAdapter.findElevatorFloor(elevator, snapshot.getTargetedFloor(index));
+
+            if (targetedFloor != null) {
+                elevator.setTargetedElevatorFloor(targetedFloor);
+            }
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.CURRENT_FLOOR)) {
+            elevator.setCurrentElevatorFloor(ElevatorStatusAdapter.findElevatorFloor(elevator, snapshot.getCurrentFloor(index)));
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.DOOR_STATUS)) {
+            elevator.setDoorStatus(snapshot.getDoorStatus(index));
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.VELOCITY)) {
+            elevator.setVelocity(snapshot.getVelocity(index));
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.PAYLOAD)) {
+            elevator.setPayload(snapshot.getPayload(index));
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.DIRECTION)) {
+            elevator.setDirection(snapshot.getDirection(index));
+        }
+
+        if (elevatorStatusDelta.hasChanged(index, StatusField.MAXIMUM_PAYLOAD) && snapshot.getMaximumPayload(index) > 0) {
+            elevator.setMaximumPayload(snapshot.getMaximumPayload(index));
+        }
+    }
+
+    private void updateChangedElevatorFloors(ElevatorStatusDelta elevatorStatusDelta, int index, Elevator elevator) {
+        var snapshot = elevatorStatusDelta.getSnapshot();
+
+        for (var elevatorFloor : elevator.getElevatorFloors()) {
+            var floorNumber = elevatorFloor.getFloor().getFloorNumber();
+
+            if (elevatorStatusDelta.isUpRequestChanged(floorNumber)) {
+                elevatorFloor.setUpRequest(snapshot.isUpRequested(floorNumber));
+            }
+
+            if (elevatorStatusDelta.isDownRequestChanged(floorNumber)) {
+                elevatorFloor.setDownRequest(snapshot.isDownRequested(floorNumber));
+            }
+
+            if (elevatorStatusDelta.isServicedFloorChanged(index, floorNumber)) {
+                elevatorFloor.setServiceEnabled(snapshot.isServiced(index, floorNumber));
+            }
+        }
+    }
+
+    private void updateChangedElevatorFloorButtons(ElevatorStatusDelta elevatorStatusDelta, int index, Elevator elevator) {
+        if (!elevatorStatusDelta.hasChanged(index, StatusField.BUTTONS)) {
+            return;
+        }
+
+        var snapshot = elevatorStatusDelta.getSnapshot();
+        final var elevatorFloorButtons = elevator.getElevatorFloorButtons();
+
+        for (int buttonNumber = 0; buttonNumber < elevatorFloorButtons.length; buttonNumber++) {
+            if (elevatorStatusDelta.isButtonChanged(index, buttonNumber)) {
+                elevatorFloorButtons[buttonNumber].setHasBeenPressed(snapshot.isButtonPressed(index, buttonNumber));
+            }
+        }
+    }
+
     private void updateElevator(ElevatorStatus elevatorStatus) {
         final var elevator = elevatorStatus.getElevator();
         elevatorStatus.getTargetedFloor().ifPresent(elevator::setTargetedElevatorFloor);
@@ -79,6 +192,10 @@ public class RemoteConsoleViewModel implements IRemoteConsoleViewModel {
         elevator.setVelocity(elevatorStatus.getVelocity());
         elevator.setPayload(elevatorStatus.getPayload());
         elevator.setDirection(elevatorStatus.getDirection());
+
+        if (elevatorStatus.getMaximumPayload() > 0) {
+            elevator.setMaximumPayload(elevatorStatus.getMaximumPayload());
+        }
     }
 
     private void updateElevatorFloors(ElevatorStatus elevatorStatus) {
@@ -0,0 +1,55 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+
+class SnapshotObserverLane extends ObserverLane<BuildingSnapshot> {
+
+    private final ElevatorStatusObserver observer;
+    private final List<Elevator> elevators;
+
+    private BuildingSnapshot pendingSnapshot;
+    private BuildingSnapshot takenSnapshot;
+
+    SnapshotObserverLane(ElevatorStatusObserver observer, List<Elevator> elevators, Executor executor) {
+        super(executor);
+        this.observer = observer;
+        this.elevators = elevators;
+    }
+
+    @Override
+    Object getObserver() {
+        return observer;
+    }
+
+    @Override
+    void storePending(BuildingSnapshot snapshot, boolean hasPending) {
+        // latest wins, a stale snapshot is never delivered
+        if (hasPending) {
+            pendingSnapshot.release();
+        }
+
+        pendingSnapshot = snapshot.retain();
+    }
+
+    @Override
+    void takePending() {
+        takenSnapshot = pendingSnapshot;
+        pendingSnapshot = null;
+    }
+
+    @Override
+    void deliverTaken() {
+        var snapshot = takenSnapshot;
+        takenSnapshot = null;
+
+        try {
+            observer.update(ElevatorStatusAdapter.toElevatorStatuses(elevators, snapshot));
+        } finally {
+            snapshot.release();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.FloorBits;
+
+// estimates in seconds when a car can pick up a hall call, a car serves its queued stops in its committed direction
+// first and only turns around once there are none left ahead of it
+public class ArrivalTimeEstimator {
+
+    public static final double DEFAULT_FLOOR_TRAVEL_TIME = 1.5;
+    public static final double DEFAULT_STOP_TIME = 6.0;
+
+    private final double floorTravelTime;
+    private final double stopTime;
+
+    public ArrivalTimeEstimator() {
+        this(DEFAULT_FLOOR_TRAVEL_TIME, DEFAULT_STOP_TIME);
+    }
+
+    public ArrivalTimeEstimator(double floorTravelTime, double stopTime) {
+        if (floorTravelTime <= 0) {
+            throw new IllegalArgumentException(String.format("Floor travel time must be positive but was: %f", floorTravelTime));
+        }
+
+        if (stopTime < 0) {
+            throw new IllegalArgumentException(String.format("Stop time must not be negative but was: %f", stopTime));
+        }
+
+        this.floorTravelTime = floorTravelTime;
+        this.stopTime = stopTime;
+    }
+
+    public double getFloorTravelTime() {
+        return floorTravelTime;
+    }
+
+    public double getStopTime() {
+        return stopTime;
+    }
+
+    // stops holds one bit per floor the car still has to serve, its car calls and the hall calls assigned to it
+    public double estimate(BuildingSnapshot snapshot, int elevator, Direction direction, long[] stops, int floorNumber, Direction callDirection) {
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var effectiveStopTime = stopTime * (1 + getLoadFactor(snapshot, elevator));
+        var time = snapshot.getDoorStatus(elevator) == DoorStatus.OPEN ? effectiveStopTime / 2 : 0;
+
+        if (direction == Direction.UNCOMMITED) {
+            return time + Math.abs(floorNumber - currentFloor) * floorTravelTime;
+        }
+
+        var isAhead = direction == Direction.UP ? floorNumber >= currentFloor : floorNumber <= currentFloor;
+        var extreme = findExtremeStop(stops, currentFloor, direction);
+
+        // a call ahead is picked up on the way if the passenger travels our way or nothing lies beyond it
+        if (isAhead && (callDirection == direction || callDirection == Direction.UNCOMMITED || !isBeyond(extreme, floorNumber, direction))) {
+            return time + Math.abs(floorNumber - currentFloor) * floorTravelTime
+                    + countStops(stops, currentFloor, floorNumber) * effectiveStopTime;
+        }
+
+        // otherwise the car serves everything ahead, turns around at its extreme stop and comes back
+        var stopsOnWay = countStops(stops, currentFloor, extreme) + countStops(stops, extreme, floorNumber)
+                + (extreme != currentFloor ? 1 : 0);
+
+        return time + (Math.abs(extreme - currentFloor) + Math.abs(extreme - floorNumber)) * floorTravelTime
+                + stopsOnWay * effectiveStopTime;
+    }
+
+    // stops strictly between two floors, in either order
+    public int countStops(long[] stops, int fromFloor, int toFloor) {
+        if (fromFloor == toFloor) {
+            return 0;
+        }
+
+        var lowerFloor = Math.min(fromFloor, toFloor) + 1;
+        var upperFloor = Math.max(fromFloor, toFloor) - 1;
+        var count = 0;
+
+        for (int floor = FloorBits.nextSetBit(stops, lowerFloor); floor != -1 && floor <= upperFloor; floor = FloorBits.nextSetBit(stops, floor + 1)) {
+            count++;
+        }
+
+        return count;
+    }
+
+    // the farthest stop in the given direction, the current floor if there is none
+    public int findExtremeStop(long[] stops, int currentFloor, Direction direction) {
+        var extreme = currentFloor;
+
+        if (direction == Direction.UP) {
+            for (int floor = FloorBits.nextSetBit(stops, currentFloor + 1); floor != -1; floor = FloorBits.nextSetBit(stops, floor + 1)) {
+                extreme = floor;
+            }
+        } else if (direction == Direction.DOWN) {
+            var floor = FloorBits.nextSetBit(stops, 0);
+
+            if (floor != -1 && floor < currentFloor) {
+                extreme = floor;
+            }
+        }
+
+        return extreme;
+    }
+
+    private boolean isBeyond(int extreme, int floorNumber, Direction direction) {
+        return direction == Direction.UP ? extreme > floorNumber : extreme < floorNumber;
+    }
+
+    // boarding and alighting take longer the fuller the car is
+    private double getLoadFactor(BuildingSnapshot snapshot, int elevator) {
+        var maximumPayload = snapshot.getMaximumPayload(elevator);
+
+        if (maximumPayload <= 0) {
+            return 0;
+        }
+
+        return Math.min(1, Math.max(0, snapshot.getPayload(elevator) / maximumPayload));
+    }
+}
@@ -4,184 +4,301 @@ import at.fhhagenberg.sqelevator.domain.*;
 import at.fhhagenberg.sqelevator.data.IElevatorClient;
 
 import java.rmi.RemoteException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class AutomaticElevatorMode implements IAutomaticModeStrategy {
 
     private static final Logger LOGGER = Logger.getLogger("AutomaticElevatorMode");
 
+    private static final long STUCK_THRESHOLD = 300;
+    private static final long RECOVERY_SETTLE_DELAY = 300;
+
     private List<Elevator> elevators;
+    private BuildingSnapshot snapshot;
     private IElevatorClient client;
-    private List<Integer> outsideRequests;
-    private List<Integer>[] insideRequests;
+    private RequestStore requests;
     private Integer[] currentTargets;
     private boolean isFullyInitialized = false;
-    private long[] systemMilliSecSinceLastMoved;
-    private Integer[] lastKnownPosition;
+    private StuckElevatorRecovery stuckElevatorRecovery;
+    private TargetCommandChannel commands;
+    private FloorAssignmentTable assignments;
     private OutsideRequestManager outsideRequestManager;
     private InsideRequestManager insideRequestManager;
     private RequestHelper helper;
+    private final CarLoadEstimator loads = new CarLoadEstimator();
+    private AtomicLong lastExecutedClockTick = new AtomicLong(-1);
+    private DispatchMetrics metrics = new DispatchMetrics();
+    private long passRpcCalls;
 
     public AutomaticElevatorMode(IElevatorClient client) {
         this.setClient(client);
     }
 
-    private boolean isElevatorAvailable(Elevator elevator) {
-        return elevator.getCurrentElevatorFloor() == elevator.getTargetedElevatorFloor() && elevator.getDoorStatus() == DoorStatus.OPEN;
-    }
-
+    // decisions read the polled snapshot only, the simulator is only called to set targets
     @Override
-    public void execute(List<Elevator> elevators) {
-        this.elevators = elevators;
-        isFullyInitialized = this.helper.areAllElevatorsInitialized(isFullyInitialized, elevators);
+    public void execute(BuildingSnapshot snapshot) {
+        // nothing can have changed in the simulator as long as its clock did not advance
+        if (lastExecutedClockTick.getAndSet(snapshot.getClockTick()) == snapshot.getClockTick()) {
+            metrics.recordSkippedPass();
+            return;
+        }
+
+        this.snapshot = snapshot;
+        this.elevators = client.getElevators();
+        isFullyInitialized = this.helper.areAllElevatorsInitialized(isFullyInitialized, snapshot);
 
         if (isFullyInitialized) {
+            var passStart = System.currentTimeMillis();
+            passRpcCalls = 0;
+
             try {
                 initialize();
+                commands.acknowledge(snapshot);
+
+                var haveRequestsChanged = this.requests.update(snapshot);
+                var haveTargetsBeenFreed = this.freeUpTargets();
 
-                this.freeUpTargetsAndWorkaroundForStuckElevators();
+                if (haveRequestsChanged) {
+                    this.cancelClearedRequests();
+                }
+
+                // with the same calls and targets as before the routine would only repeat its last decisions
+                if (haveRequestsChanged || haveTargetsBeenFreed || hasUnassignedHallCalls()) {
+                    startElevatorRoutine();
+                }
 
-                this.outsideRequests = this.outsideRequestManager.getOutsideRequestsFromClient();
-                this.insideRequests = this.insideRequestManager.getInsideRequestsFromClient(elevators);
-                startElevatorRoutine();
+                passRpcCalls = commands.flush(elevators);
+                watchForStuckElevators();
             } catch (RemoteException e) {
                 LOGGER.log(Level.SEVERE, e.getLocalizedMessage());
             }
+
+            metrics.recordPass(passRpcCalls, System.currentTimeMillis() - passStart);
         }
     }
 
+    @Override
+    public DispatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public StuckElevatorRecovery getStuckElevatorRecovery() {
+        return stuckElevatorRecovery;
+    }
+
+    void setStuckElevatorRecovery(StuckElevatorRecovery stuckElevatorRecovery) {
+        this.stuckElevatorRecovery = stuckElevatorRecovery;
+    }
+
+    public TargetCommandChannel getTargetCommandChannel() {
+        return commands;
+    }
+
+    void setTargetCommandChannel(TargetCommandChannel commands) {
+        this.commands = commands;
+    }
+
+    private boolean freeUpTargets() {
+        var haveTargetsBeenFreed = false;
 
-    private void freeUpTargetsAndWorkaroundForStuckElevators() throws RemoteException {
         for (int i = 0; i < elevators.size(); i++) {
-            int currentFloorNumber = client.getCurrentFloor(elevators.get(i)).getFloor().getFloorNumber();
-            this.workaroundForStuckElevators(currentFloorNumber, i);
+            int currentFloorNumber = snapshot.getCurrentFloor(i);
 
             if (currentTargets[i] != null
                     && currentFloorNumber == currentTargets[i]
-                    && client.getElevatorDoorStatus(elevators.get(i)) == DoorStatus.OPEN) {
+                    && snapshot.getDoorStatus(i) == DoorStatus.OPEN) {
                 currentTargets[i] = null;
+                assignments.arrive(i, currentFloorNumber);
+                haveTargetsBeenFreed = true;
+            }
+        }
+
+        return haveTargetsBeenFreed;
+    }
+
+    // only calls cleared since the last pass can withdraw an assignment, a floor served otherwise is released
+    private void cancelClearedRequests() {
+        for (int floorNumber = requests.nextClearedHallCall(0); floorNumber != -1; floorNumber = requests.nextClearedHallCall(floorNumber + 1)) {
+            cancelIfWithdrawn(floorNumber);
+        }
+
+        for (int i = 0; i < elevators.size(); i++) {
+            for (int floorNumber = requests.nextClearedCarCall(i, 0); floorNumber != -1; floorNumber = requests.nextClearedCarCall(i, floorNumber + 1)) {
+                if (assignments.getAssignedElevator(floorNumber) == i) {
+                    cancelIfWithdrawn(floorNumber);
+                }
             }
+        }
+    }
+
+    private void cancelIfWithdrawn(int floorNumber) {
+        var elevator = assignments.getAssignedElevator(floorNumber);
+
+        if (elevator != FloorAssignmentTable.UNASSIGNED
+                && !Integer.valueOf(floorNumber).equals(currentTargets[elevator])
+                && !requests.hasHallCall(floorNumber, assignments.getServiceDirection(elevator))
+                && !requests.hasCarCall(elevator, floorNumber)) {
+            assignments.cancel(floorNumber);
+        }
+    }
 
-            if (client.getElevatorDoorStatus(elevators.get(i)) == DoorStatus.OPEN) {
-                insideRequests[i] = insideRequests[i].stream().filter(r -> r == currentFloorNumber)
-                        .collect(Collectors.toList());
+    private boolean hasUnassignedHallCalls() {
+        for (int floorNumber = requests.nextHallCall(0); floorNumber != -1; floorNumber = requests.nextHallCall(floorNumber + 1)) {
+            if (!assignments.isAssigned(floorNumber)) {
+                return true;
             }
         }
+
+        return false;
+    }
+
+    public FloorAssignmentTable getAssignments() {
+        return assignments;
     }
 
     @Override
     public void setClient(IElevatorClient client) {
         this.client = client;
-        this.helper = new RequestHelper(client);
-        this.outsideRequestManager = new OutsideRequestManager(client, helper);
-        this.insideRequestManager = new InsideRequestManager(client, helper);
-    }
-
-    private void workaroundForStuckElevators(int currentFloorNumber, int i) throws RemoteException {
-        if (lastKnownPosition[i] != currentFloorNumber) {
-            lastKnownPosition[i] = currentFloorNumber;
-            systemMilliSecSinceLastMoved[i] = System.currentTimeMillis();
+        this.helper = new RequestHelper();
+        this.assignments = null;
+        this.requests = null;
+        this.commands = null;
+
+        if (this.stuckElevatorRecovery != null) {
+            this.stuckElevatorRecovery.stop();
+            this.stuckElevatorRecovery = null;
         }
 
-        long notMovedTime = System.currentTimeMillis() - systemMilliSecSinceLastMoved[i];
-        if (notMovedTime > 300) {
-            client.setTarget(elevators.get(i), currentFloorNumber);
-            try {
-                Thread.sleep(300);
-                if (currentTargets[i] != null) {
-                    client.setTarget(elevators.get(i), currentTargets[i]);
-                    Thread.sleep(300);
-                }
-            } catch (InterruptedException e) {
-                LOGGER.log(Level.SEVERE, e.getLocalizedMessage());
-                Thread.currentThread().interrupt();
-            }
+        this.outsideRequestManager = new OutsideRequestManager(helper);
+        this.insideRequestManager = new InsideRequestManager(helper);
+    }
+
+    // recovery runs on its own scheduler, the pass only reports where every car is and where it should go
+    private void watchForStuckElevators() {
+        for (int i = 0; i < elevators.size(); i++) {
+            stuckElevatorRecovery.observe(i, snapshot.getCurrentFloor(i), currentTargets[i]);
         }
     }
 
-    private void initialize() throws RemoteException {
-        if (client != null && insideRequests == null) {
-            this.insideRequests = this.insideRequestManager.initialize();
+    private void initialize() {
+        if (currentTargets == null) {
+            currentTargets = new Integer[elevators.size()];
+        }
 
-            if (currentTargets == null) {
-                currentTargets = new Integer[insideRequests.length];
-            }
+        if (requests == null) {
+            requests = new RequestStore(snapshot.getNumberOfElevators(), snapshot.getNumberOfFloors());
+        }
 
-            if (lastKnownPosition == null) {
-                lastKnownPosition = new Integer[insideRequests.length];
-                systemMilliSecSinceLastMoved = new long[insideRequests.length];
-            }
+        if (assignments == null) {
+            assignments = new FloorAssignmentTable(elevators.size(), snapshot.getNumberOfFloors());
+        }
 
-            for (int i = 0; i < client.getElevators().size(); i++) {
-                if (lastKnownPosition[i] == null) {
-                    lastKnownPosition[i] = client.getCurrentFloor(elevators.get(i)).getFloor().getFloorNumber();
-                    systemMilliSecSinceLastMoved[i] = System.currentTimeMillis();
-                }
-            }
+        if (commands == null) {
+            commands = new TargetCommandChannel(client);
         }
 
-        if (outsideRequests == null) {
-            outsideRequests = new ArrayList();
+        if (stuckElevatorRecovery == null) {
+            stuckElevatorRecovery = new StuckElevatorRecovery(commands, elevators, STUCK_THRESHOLD, RECOVERY_SETTLE_DELAY);
         }
     }
     private void startElevatorRoutine() throws RemoteException {
         if (client != null && elevators != null && !elevators.isEmpty()) {
             for (int i = 0; i < elevators.size(); i++) {
-                if (!insideRequests[i].isEmpty()) {
-                    targetElevatorToNextInsideRequest(i, elevators.get(i));
+                if (requests.hasCarCalls(i)) {
+                    targetElevatorToNextInsideRequest(i);
                 }
             }
 
-            if (!outsideRequests.isEmpty()) {
+            if (requests.hasHallCalls()) {
                 targetNearestElevatorToOutsideRequest();
             }
         }
     }
 
+    // up and down calls of a floor are separate requests, a car sent for one of them only serves that direction
     private void targetNearestElevatorToOutsideRequest() throws RemoteException {
-        for (Integer outsideRequest : outsideRequests) {
-            Elevator elevator = this.helper.checkElevatorAlreadyAddressed(outsideRequest, elevators);
-            if (elevator == null) {
-                List<Elevator> availableElevators = this.helper.findAvailableElevators();
+        for (int outsideRequest = requests.nextUpHallCall(0); outsideRequest != -1; outsideRequest = requests.nextUpHallCall(outsideRequest + 1)) {
+            targetNearestElevatorToOutsideRequest(outsideRequest, Direction.UP);
+        }
 
-                if (availableElevators != null && !availableElevators.isEmpty()) {
-                    elevator = this.outsideRequestManager.findClosestElevator(availableElevators, outsideRequest, elevators);
+        for (int outsideRequest = requests.nextDownHallCall(0); outsideRequest != -1; outsideRequest = requests.nextDownHallCall(outsideRequest + 1)) {
+            targetNearestElevatorToOutsideRequest(outsideRequest, Direction.DOWN);
+        }
+    }
 
-                    if (elevator != null) {
-                        var maybeElevatorFloor = client.getFloorByNumber(elevator, outsideRequest);
+    private void targetNearestElevatorToOutsideRequest(int outsideRequest, Direction direction) throws RemoteException {
+        if (!assignments.isAssigned(outsideRequest, direction)) {
+            List<Elevator> availableElevators = this.helper.findAvailableElevators(elevators, snapshot);
+            // a car sent for the other direction earlier in this pass has not started moving yet
+            availableElevators.removeIf(e -> assignments.getAssignedFloor(elevators.indexOf(e)) != FloorAssignmentTable.UNASSIGNED);
 
-                        if(maybeElevatorFloor.isPresent()) {
-                            client.setTarget(elevator, maybeElevatorFloor.get().getFloor());
-                        }
+            if (!availableElevators.isEmpty()) {
+                var elevator = this.outsideRequestManager.findClosestElevator(availableElevators, outsideRequest, elevators, snapshot);
+
+                if (elevator != null && !loads.canTakeHallCall(snapshot, elevators.indexOf(elevator))) {
+                    metrics.recordRejectedStop();
+                    availableElevators.removeIf(e -> !loads.canTakeHallCall(snapshot, elevators.indexOf(e)));
+                    elevator = this.outsideRequestManager.findClosestElevator(availableElevators, outsideRequest, elevators, snapshot);
+                }
+
+                if (elevator != null) {
+                    var maybeElevatorFloor = client.getFloorByNumber(elevator, outsideRequest);
+
+                    if(maybeElevatorFloor.isPresent()) {
+                        commands.setTarget(elevators.indexOf(elevator), maybeElevatorFloor.get().getFloor().getFloorNumber());
+                        assignments.assign(outsideRequest, elevators.indexOf(elevator), direction);
                     }
                 }
             }
         }
-
     }
 
-    private void targetElevatorToNextInsideRequest(int index, Elevator elevator) throws RemoteException {
+    private void targetElevatorToNextInsideRequest(int index) {
         Integer nearestFloor = currentTargets[index];
-        int currentFloor = this.client.getCurrentFloor(elevator).getFloor().getFloorNumber();
+        int currentFloor = snapshot.getCurrentFloor(index);
 
         if (nearestFloor == null) {
-            nearestFloor = this.insideRequestManager.findNearestInsideRequest(index, elevator, insideRequests);
+            nearestFloor = this.insideRequestManager.findNearestInsideRequest(index, requests, snapshot);
             currentTargets[index] = nearestFloor;
         }
 
         nearestFloor = insideRequestManager.findNearestInsideRequestToCurrentRequest(
-                index, nearestFloor, currentFloor, insideRequests, elevators);
-        nearestFloor = outsideRequestManager.findNearestIntermediateOutsideRequest(
-                nearestFloor, currentFloor, outsideRequests, elevators);
+                index, nearestFloor, currentFloor, requests, assignments, snapshot);
+
+        // a nearly full car keeps going to its own stops instead of stopping for hall calls on the way
+        var withHallStop = outsideRequestManager.findNearestIntermediateOutsideRequest(
+                nearestFloor, currentFloor, requests, assignments, snapshot);
+
+        if (loads.canTakeHallCall(snapshot, index)) {
+            nearestFloor = withHallStop;
+        } else if (withHallStop != null && !withHallStop.equals(nearestFloor)) {
+            metrics.recordRejectedStop();
+        }
 
         if (nearestFloor != null) {
             currentTargets[index] = nearestFloor;
-            client.setTarget(elevator, currentFloor);
-            client.setTarget(elevator, nearestFloor);
+            commands.setTarget(index, nearestFloor);
+            assignments.assign(nearestFloor, index, departingDirection(index, currentFloor, nearestFloor));
         }
     }
+
+    // a car keeps going the way it came as long as it has car calls further on
+    private Direction departingDirection(int index, int currentFloor, int nearestFloor) {
+        var travelDirection = helper.calculateDirection(currentFloor, nearestFloor);
+        var hasCallsAbove = requests.nextCarCall(index, nearestFloor + 1) != -1;
+        var hasCallsBelow = requests.nextCarCall(index, 0) != -1 && requests.nextCarCall(index, 0) < nearestFloor;
+
+        if (travelDirection == Direction.UP && hasCallsAbove || travelDirection == Direction.DOWN && hasCallsBelow) {
+            return travelDirection;
+        }
+
+        if (hasCallsAbove) {
+            return Direction.UP;
+        }
+
+        return hasCallsBelow ? Direction.DOWN : Direction.UNCOMMITED;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+// estimates how many passengers still fit into a car from its payload, the maximum payload is the capacity of the car
+// times the same average passenger weight the client uses to derive it
+public class CarLoadEstimator {
+
+    // share of the capacity that has to be free for a car to take new hall calls, at least one place
+    public static final double DEFAULT_MINIMUM_FREE_SHARE = 0.2;
+
+    // returned when a car reports no maximum payload, such a car is never considered full
+    public static final int UNKNOWN_CAPACITY = Integer.MAX_VALUE;
+
+    private final double passengerWeight;
+    private final double minimumFreeShare;
+
+    public CarLoadEstimator() {
+        this(Elevator.AVERAGE_PASSENGER_WEIGHT, DEFAULT_MINIMUM_FREE_SHARE);
+    }
+
+    public CarLoadEstimator(double passengerWeight, double minimumFreeShare) {
+        if (passengerWeight <= 0) {
+            throw new IllegalArgumentException(String.format("Passenger weight must be positive but was: %f", passengerWeight));
+        }
+
+        if (minimumFreeShare < 0 || minimumFreeShare >= 1) {
+            throw new IllegalArgumentException(String.format("Minimum free share must be between 0 and 1 but was: %f", minimumFreeShare));
+        }
+
+        this.passengerWeight = passengerWeight;
+        this.minimumFreeShare = minimumFreeShare;
+    }
+
+    public double getMinimumFreeShare() {
+        return minimumFreeShare;
+    }
+
+    public int getCapacity(BuildingSnapshot snapshot, int elevator) {
+        var maximumPayload = snapshot.getMaximumPayload(elevator);
+
+        if (maximumPayload <= 0) {
+            return UNKNOWN_CAPACITY;
+        }
+
+        return (int) Math.round(maximumPayload / passengerWeight);
+    }
+
+    public int getRemainingCapacity(BuildingSnapshot snapshot, int elevator) {
+        var maximumPayload = snapshot.getMaximumPayload(elevator);
+
+        if (maximumPayload <= 0) {
+            return UNKNOWN_CAPACITY;
+        }
+
+        return (int) Math.max(0, Math.floor((maximumPayload - snapshot.getPayload(elevator)) / passengerWeight + 0.001));
+    }
+
+    // a nearly full car gets no new hall calls
+    public boolean canTakeHallCall(BuildingSnapshot snapshot, int elevator) {
+        var capacity = getCapacity(snapshot, elevator);
+
+        if (capacity == UNKNOWN_CAPACITY) {
+            return true;
+        }
+
+        return getRemainingCapacity(snapshot, elevator) >= Math.max(1, Math.ceil(capacity * minimumFreeShare));
+    }
+}
@@ -0,0 +1,53 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+
+import java.util.Arrays;
+
+// remembers per car everything its hall call costs depend on, a car whose state is unchanged since the last update
+// still has the costs it had then
+class CarStateTracker {
+
+    private static final int NONE = -1;
+
+    private final int[] floors;
+    private final DoorStatus[] doorStatuses;
+    private final double[] payloads;
+    private final double[] maximumPayloads;
+    private final Direction[] directions;
+    private final long[][] stops;
+
+    CarStateTracker(int numberOfElevators, int wordsPerElevator) {
+        this.floors = new int[numberOfElevators];
+        this.doorStatuses = new DoorStatus[numberOfElevators];
+        this.payloads = new double[numberOfElevators];
+        this.maximumPayloads = new double[numberOfElevators];
+        this.directions = new Direction[numberOfElevators];
+        this.stops = new long[numberOfElevators][wordsPerElevator];
+
+        Arrays.fill(floors, NONE);
+    }
+
+    // remembers the state of the car and returns whether it changed, a car that was never remembered counts as changed
+    boolean update(BuildingSnapshot snapshot, int elevator, Direction direction, long[] carStops) {
+        var hasChanged = floors[elevator] != snapshot.getCurrentFloor(elevator)
+                || doorStatuses[elevator] != snapshot.getDoorStatus(elevator)
+                || payloads[elevator] != snapshot.getPayload(elevator)
+                || maximumPayloads[elevator] != snapshot.getMaximumPayload(elevator)
+                || directions[elevator] != direction
+                || !Arrays.equals(stops[elevator], carStops);
+
+        if (hasChanged) {
+            floors[elevator] = snapshot.getCurrentFloor(elevator);
+            doorStatuses[elevator] = snapshot.getDoorStatus(elevator);
+            payloads[elevator] = snapshot.getPayload(elevator);
+            maximumPayloads[elevator] = snapshot.getMaximumPayload(elevator);
+            directions[elevator] = direction;
+            System.arraycopy(carStops, 0, stops[elevator], 0, carStops.length);
+        }
+
+        return hasChanged;
+    }
+}
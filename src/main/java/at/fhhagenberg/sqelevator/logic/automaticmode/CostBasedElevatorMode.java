@@ -0,0 +1,655 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import at.fhhagenberg.sqelevator.domain.FloorBits;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// group dispatch: every hall call goes to the car with the lowest estimated cost, i.e. its arrival time plus the delay
+// it causes for the stops that car already has, and is moved to another car while that saves noticeably more. with an
+// assignment solver all pending calls are assigned as one batch instead, the time budget of the solver bounds the
+// whole pass and the batch gets the best plan the solver found until then
+public class CostBasedElevatorMode implements IAutomaticModeStrategy {
+
+    private static final Logger LOGGER = Logger.getLogger("CostBasedElevatorMode");
+
+    private static final int NONE = -1;
+    private static final long STUCK_THRESHOLD = 300;
+    private static final long RECOVERY_SETTLE_DELAY = 300;
+
+    // seconds a different car has to save before an assigned call is moved, keeps calls from flapping between cars
+    private static final double REASSIGNMENT_THRESHOLD = 4.0;
+
+    // cost of a call for a nearly full car in the batch, high enough that the solver only picks it without other choice
+    private static final double FULL_CAR_COST = 1_000_000;
+
+    private final ArrivalTimeEstimator estimator;
+    private HallCallAssignmentSolver solver;
+    private IdleCarParking parking;
+    private final RequestHelper helper = new RequestHelper();
+    private final AtomicLong lastExecutedClockTick = new AtomicLong(-1);
+    private final DispatchMetrics metrics = new DispatchMetrics();
+    private final CarLoadEstimator loads = new CarLoadEstimator();
+
+    private IElevatorClient client;
+    private List<Elevator> elevators;
+    private BuildingSnapshot snapshot;
+    private boolean isFullyInitialized = false;
+    private StuckElevatorRecovery stuckElevatorRecovery;
+    private TargetCommandChannel commands;
+
+    private RequestStore requests;
+    private int[] upAssignments;
+    private int[] downAssignments;
+    private long[][] stops;
+    private Direction[] directions;
+    private CarStateTracker carStates;
+    private boolean[] changedCars;
+    private int changedCarCount;
+
+    private int[] batchFloors;
+    private Direction[] batchDirections;
+    private int[] batchPreviousElevators;
+    private int[] batchAssignment;
+    private double[] batchCosts = new double[0];
+    private int[] idleElevators;
+    private int[] parkingFloors;
+
+    private long passRpcCalls;
+    private long reassignmentCount;
+    private long batchAssignmentCount;
+    private long greedyFallbackCount;
+    private long scoredPairCount;
+
+    public CostBasedElevatorMode(IElevatorClient client) {
+        this(client, new ArrivalTimeEstimator());
+    }
+
+    public CostBasedElevatorMode(IElevatorClient client, ArrivalTimeEstimator estimator) {
+        if (estimator == null) {
+            throw new IllegalArgumentException("Arrival time estimator must not be null!");
+        }
+
+        this.estimator = estimator;
+        this.setClient(client);
+    }
+
+    public CostBasedElevatorMode(IElevatorClient client, ArrivalTimeEstimator estimator, HallCallAssignmentSolver solver) {
+        this(client, estimator);
+
+        if (solver == null) {
+            throw new IllegalArgumentException("Assignment solver must not be null!");
+        }
+
+        this.solver = solver;
+    }
+
+    @Override
+    public void execute(BuildingSnapshot snapshot) {
+        if (lastExecutedClockTick.getAndSet(snapshot.getClockTick()) == snapshot.getClockTick()) {
+            metrics.recordSkippedPass();
+            return;
+        }
+
+        this.snapshot = snapshot;
+        this.elevators = client.getElevators();
+        isFullyInitialized = helper.areAllElevatorsInitialized(isFullyInitialized, snapshot);
+
+        if (!isFullyInitialized) {
+            return;
+        }
+
+        var passStart = System.currentTimeMillis();
+        var deadline = solver == null ? 0 : solver.getDeadline();
+        passRpcCalls = 0;
+
+        initialize();
+        commands.acknowledge(snapshot);
+        requests.update(snapshot);
+
+        if (parking != null) {
+            parking.recordDemand(requests);
+        }
+
+        releaseServedCalls();
+        rebuildStops();
+        findChangedCars();
+
+        if (solver == null || !assignBatch(deadline)) {
+            assignHallCalls(requests.nextUpHallCall(0), Direction.UP, upAssignments);
+            assignHallCalls(requests.nextDownHallCall(0), Direction.DOWN, downAssignments);
+        }
+
+        commandTargets();
+
+        try {
+            passRpcCalls += commands.flush(elevators);
+        } catch (RemoteException e) {
+            LOGGER.log(Level.SEVERE, e.getLocalizedMessage());
+        }
+
+        watchForStuckElevators();
+
+        if (solver != null && solver.isExpired(deadline)) {
+            metrics.recordBudgetOverrun();
+        }
+
+        metrics.recordPass(passRpcCalls, System.currentTimeMillis() - passStart);
+    }
+
+    @Override
+    public void setClient(IElevatorClient client) {
+        this.client = client;
+        this.requests = null;
+        this.isFullyInitialized = false;
+
+        // a channel shared with other strategies stays as long as they all send to the same client
+        if (this.commands != null && this.commands.getClient() != client) {
+            this.commands = null;
+        }
+
+        if (this.stuckElevatorRecovery != null) {
+            this.stuckElevatorRecovery.stop();
+            this.stuckElevatorRecovery = null;
+        }
+    }
+
+    @Override
+    public DispatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public long getReassignmentCount() {
+        return reassignmentCount;
+    }
+
+    // passes whose hall calls were assigned by the solver
+    public long getBatchAssignmentCount() {
+        return batchAssignmentCount;
+    }
+
+    // batch passes that committed a greedy or locally improved plan because the solver ran out of time
+    public long getGreedyFallbackCount() {
+        return greedyFallbackCount;
+    }
+
+    // call and car pairs the greedy assignment estimated a cost for
+    long getScoredPairCount() {
+        return scoredPairCount;
+    }
+
+    // the car a hall call is assigned to, -1 if it is not assigned
+    public int getAssignedElevator(int floorNumber, Direction direction) {
+        if (requests == null) {
+            return NONE;
+        }
+
+        return direction == Direction.UP ? upAssignments[floorNumber] : downAssignments[floorNumber];
+    }
+
+    public IdleCarParking getIdleCarParking() {
+        return parking;
+    }
+
+    // idle cars stay where they stopped without a parking policy
+    public void setIdleCarParking(IdleCarParking parking) {
+        this.parking = parking;
+    }
+
+    public StuckElevatorRecovery getStuckElevatorRecovery() {
+        return stuckElevatorRecovery;
+    }
+
+    void setStuckElevatorRecovery(StuckElevatorRecovery stuckElevatorRecovery) {
+        this.stuckElevatorRecovery = stuckElevatorRecovery;
+    }
+
+    public TargetCommandChannel getTargetCommandChannel() {
+        return commands;
+    }
+
+    // strategies that take turns on one client share its channel, so neither resends what the other already sent
+    public void setTargetCommandChannel(TargetCommandChannel commands) {
+        this.commands = commands;
+    }
+
+    private void initialize() {
+        if (requests == null) {
+            var numberOfElevators = snapshot.getNumberOfElevators();
+            var numberOfFloors = snapshot.getNumberOfFloors();
+
+            requests = new RequestStore(numberOfElevators, numberOfFloors);
+            upAssignments = new int[numberOfFloors];
+            downAssignments = new int[numberOfFloors];
+            stops = new long[numberOfElevators][FloorBits.words(numberOfFloors)];
+            directions = new Direction[numberOfElevators];
+            carStates = new CarStateTracker(numberOfElevators, FloorBits.words(numberOfFloors));
+            changedCars = new boolean[numberOfElevators];
+            batchFloors = new int[2 * numberOfFloors];
+            batchDirections = new Direction[2 * numberOfFloors];
+            batchPreviousElevators = new int[2 * numberOfFloors];
+            batchAssignment = new int[2 * numberOfFloors];
+            idleElevators = new int[numberOfElevators];
+            parkingFloors = new int[numberOfElevators];
+
+            Arrays.fill(upAssignments, NONE);
+            Arrays.fill(downAssignments, NONE);
+            Arrays.fill(directions, Direction.UNCOMMITED);
+        }
+
+        if (commands == null) {
+            commands = new TargetCommandChannel(client);
+        }
+
+        if (stuckElevatorRecovery == null) {
+            stuckElevatorRecovery = new StuckElevatorRecovery(commands, elevators, STUCK_THRESHOLD, RECOVERY_SETTLE_DELAY);
+        }
+    }
+
+    // a cleared call is gone, an open door at the floor of an assigned call serves it
+    private void releaseServedCalls() {
+        for (int floorNumber = requests.nextClearedHallCall(0); floorNumber != -1; floorNumber = requests.nextClearedHallCall(floorNumber + 1)) {
+            if (!requests.isUpHallCall(floorNumber)) {
+                upAssignments[floorNumber] = NONE;
+            }
+
+            if (!requests.isDownHallCall(floorNumber)) {
+                downAssignments[floorNumber] = NONE;
+            }
+        }
+
+        for (int i = 0; i < stops.length; i++) {
+            if (snapshot.getDirection(i) != Direction.UNCOMMITED) {
+                directions[i] = snapshot.getDirection(i);
+            }
+
+            if (snapshot.getDoorStatus(i) == DoorStatus.OPEN) {
+                var currentFloor = snapshot.getCurrentFloor(i);
+
+                if (upAssignments[currentFloor] == i) {
+                    upAssignments[currentFloor] = NONE;
+                }
+
+                if (downAssignments[currentFloor] == i) {
+                    downAssignments[currentFloor] = NONE;
+                }
+            }
+        }
+    }
+
+    private void rebuildStops() {
+        for (int i = 0; i < stops.length; i++) {
+            for (int word = 0; word < stops[i].length; word++) {
+                stops[i][word] = requests.getCarCallWord(i, word);
+            }
+        }
+
+        for (int floorNumber = 0; floorNumber < upAssignments.length; floorNumber++) {
+            if (upAssignments[floorNumber] != NONE) {
+                FloorBits.set(stops[upAssignments[floorNumber]], floorNumber);
+            }
+
+            if (downAssignments[floorNumber] != NONE) {
+                FloorBits.set(stops[downAssignments[floorNumber]], floorNumber);
+            }
+        }
+
+        for (int i = 0; i < stops.length; i++) {
+            directions[i] = getCommittedDirection(i);
+        }
+    }
+
+    private void findChangedCars() {
+        changedCarCount = 0;
+
+        for (int i = 0; i < stops.length; i++) {
+            changedCars[i] = carStates.update(snapshot, i, directions[i], stops[i]);
+
+            if (changedCars[i]) {
+                changedCarCount++;
+            }
+        }
+    }
+
+    private void markChanged(int elevator) {
+        if (!changedCars[elevator]) {
+            changedCars[elevator] = true;
+            changedCarCount++;
+        }
+    }
+
+    // new and unassigned calls are scored against every car, an assigned call only against the cars whose costs
+    // changed since the last pass because the others already lost to its car then
+    private void assignHallCalls(int firstFloor, Direction callDirection, int[] assignments) {
+        for (int floorNumber = firstFloor; floorNumber != -1;
+             floorNumber = callDirection == Direction.UP ? requests.nextUpHallCall(floorNumber + 1) : requests.nextDownHallCall(floorNumber + 1)) {
+            var assignedElevator = assignments[floorNumber];
+            var bestElevator = NONE;
+            var bestCost = Double.MAX_VALUE;
+            var assignedCost = Double.MAX_VALUE;
+            var bestFullCarCost = Double.MAX_VALUE;
+
+            if (assignedElevator != NONE && !loads.canTakeHallCall(snapshot, assignedElevator)) {
+                unassign(assignments, floorNumber, assignedElevator);
+                assignedElevator = NONE;
+            }
+
+            var isFullScoring = assignedElevator == NONE || changedCars[assignedElevator];
+
+            if (!isFullScoring && changedCarCount == 0) {
+                continue;
+            }
+
+            for (int i = 0; i < stops.length; i++) {
+                if (!isFullScoring && i != assignedElevator && !changedCars[i]) {
+                    continue;
+                }
+
+                var cost = estimateCost(i, floorNumber, callDirection);
+                scoredPairCount++;
+
+                if (!loads.canTakeHallCall(snapshot, i)) {
+                    bestFullCarCost = Math.min(bestFullCarCost, cost);
+                    continue;
+                }
+
+                if (i == assignedElevator) {
+                    assignedCost = cost;
+                }
+
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestElevator = i;
+                }
+            }
+
+            if (isFullScoring && bestFullCarCost < bestCost) {
+                metrics.recordRejectedStop();
+            }
+
+            if (bestElevator == NONE) {
+                continue;
+            }
+
+            if (assignedElevator == NONE) {
+                assign(assignments, floorNumber, bestElevator);
+            } else if (bestElevator != assignedElevator && assignedCost - bestCost > REASSIGNMENT_THRESHOLD
+                    && assignedCost > estimator.getFloorTravelTime()) {
+                unassign(assignments, floorNumber, assignedElevator);
+                assign(assignments, floorNumber, bestElevator);
+                reassignmentCount++;
+            }
+        }
+    }
+
+    // assigns all pending calls at once, a car can take several calls and every further call it takes costs one stop
+    // more, calls a car is about to serve stay with it and the current car of a call gets the reassignment bonus
+    private boolean assignBatch(long deadline) {
+        var count = 0;
+
+        for (int floorNumber = requests.nextUpHallCall(0); floorNumber != -1; floorNumber = requests.nextUpHallCall(floorNumber + 1)) {
+            count = addToBatch(count, floorNumber, Direction.UP, upAssignments);
+        }
+
+        for (int floorNumber = requests.nextDownHallCall(0); floorNumber != -1; floorNumber = requests.nextDownHallCall(floorNumber + 1)) {
+            count = addToBatch(count, floorNumber, Direction.DOWN, downAssignments);
+        }
+
+        if (count < 2) {
+            return false;
+        }
+
+        var numberOfElevators = stops.length;
+        var columns = numberOfElevators * ((count + numberOfElevators - 1) / numberOfElevators);
+        var savedDirections = directions.clone();
+
+        for (int call = 0; call < count; call++) {
+            getAssignments(batchDirections[call])[batchFloors[call]] = NONE;
+        }
+
+        rebuildStops();
+
+        if (batchCosts.length < count * columns) {
+            batchCosts = new double[count * columns];
+        }
+
+        for (int call = 0; call < count; call++) {
+            var bestCost = Double.MAX_VALUE;
+            var bestFullCarCost = Double.MAX_VALUE;
+
+            for (int i = 0; i < numberOfElevators; i++) {
+                var cost = estimateCost(i, batchFloors[call], batchDirections[call]);
+
+                if (!loads.canTakeHallCall(snapshot, i)) {
+                    bestFullCarCost = Math.min(bestFullCarCost, cost);
+                    cost = FULL_CAR_COST;
+                } else {
+                    bestCost = Math.min(bestCost, cost);
+
+                    if (i == batchPreviousElevators[call]) {
+                        cost -= REASSIGNMENT_THRESHOLD;
+                    }
+                }
+
+                for (int column = i; column < columns; column += numberOfElevators) {
+                    batchCosts[call * columns + column] = cost + (column / numberOfElevators) * estimator.getStopTime();
+                }
+            }
+
+            if (bestFullCarCost < bestCost) {
+                metrics.recordRejectedStop();
+            }
+        }
+
+        System.arraycopy(savedDirections, 0, directions, 0, directions.length);
+        var isOptimal = solver.solve(batchCosts, count, columns, batchAssignment, deadline);
+
+        for (int call = 0; call < count; call++) {
+            var elevator = batchAssignment[call] % numberOfElevators;
+
+            // with every car nearly full a call stays unassigned until one has room again
+            if (!loads.canTakeHallCall(snapshot, elevator)) {
+                elevator = NONE;
+            }
+
+            getAssignments(batchDirections[call])[batchFloors[call]] = elevator;
+
+            if (batchPreviousElevators[call] != NONE && elevator != NONE && elevator != batchPreviousElevators[call]) {
+                reassignmentCount++;
+            }
+        }
+
+        rebuildStops();
+        batchAssignmentCount++;
+        metrics.recordPlanImprovement(solver.getLastGreedyCost() - solver.getLastCost());
+
+        if (!isOptimal) {
+            greedyFallbackCount++;
+        }
+
+        return true;
+    }
+
+    private int addToBatch(int count, int floorNumber, Direction callDirection, int[] assignments) {
+        var assignedElevator = assignments[floorNumber];
+
+        if (assignedElevator != NONE && loads.canTakeHallCall(snapshot, assignedElevator)
+                && estimateCost(assignedElevator, floorNumber, callDirection) <= estimator.getFloorTravelTime()) {
+            return count;
+        }
+
+        batchFloors[count] = floorNumber;
+        batchDirections[count] = callDirection;
+        batchPreviousElevators[count] = assignedElevator;
+
+        return count + 1;
+    }
+
+    private int[] getAssignments(Direction callDirection) {
+        return callDirection == Direction.UP ? upAssignments : downAssignments;
+    }
+
+    // arrival time of the call plus one stop time for every stop of the car that is served later because of it
+    private double estimateCost(int elevator, int floorNumber, Direction callDirection) {
+        var arrivalTime = estimator.estimate(snapshot, elevator, directions[elevator], stops[elevator], floorNumber, callDirection);
+        var direction = directions[elevator];
+
+        if (direction == Direction.UNCOMMITED || FloorBits.isSet(stops[elevator], floorNumber)) {
+            return arrivalTime;
+        }
+
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var extreme = estimator.findExtremeStop(stops[elevator], currentFloor, direction);
+        var isOnWay = direction == Direction.UP
+                ? floorNumber >= currentFloor && floorNumber < extreme
+                : floorNumber <= currentFloor && floorNumber > extreme;
+
+        if (!isOnWay) {
+            return arrivalTime;
+        }
+
+        return arrivalTime + (estimator.countStops(stops[elevator], floorNumber, extreme) + 1) * estimator.getStopTime();
+    }
+
+    private void assign(int[] assignments, int floorNumber, int elevator) {
+        assignments[floorNumber] = elevator;
+        FloorBits.set(stops[elevator], floorNumber);
+        markChanged(elevator);
+    }
+
+    private void unassign(int[] assignments, int floorNumber, int elevator) {
+        assignments[floorNumber] = NONE;
+
+        var isStillStop = requests.hasCarCall(elevator, floorNumber)
+                || upAssignments[floorNumber] == elevator || downAssignments[floorNumber] == elevator;
+
+        if (!isStillStop) {
+            FloorBits.clear(stops[elevator], floorNumber);
+            markChanged(elevator);
+        }
+    }
+
+    // the car keeps its last travel direction while it has stops ahead, otherwise it heads for the nearest stop
+    private Direction getCommittedDirection(int elevator) {
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var direction = directions[elevator];
+
+        if (direction == Direction.UP && FloorBits.nextSetBit(stops[elevator], currentFloor + 1) != -1) {
+            return Direction.UP;
+        }
+
+        if (direction == Direction.DOWN && hasStopBelow(elevator, currentFloor)) {
+            return Direction.DOWN;
+        }
+
+        var nextStop = findNearestStop(elevator, currentFloor);
+
+        if (nextStop == NONE || nextStop == currentFloor) {
+            return Direction.UNCOMMITED;
+        }
+
+        return nextStop > currentFloor ? Direction.UP : Direction.DOWN;
+    }
+
+    // the channel sends a target at the end of the pass and only if the car does not have it already
+    private void commandTargets() {
+        var idleCount = 0;
+
+        for (int i = 0; i < stops.length; i++) {
+            var nextStop = findNextStop(i);
+
+            if (nextStop != NONE) {
+                commandTargets(i, nextStop);
+            } else if (FloorBits.isEmpty(stops[i]) && snapshot.getDoorStatus(i) != DoorStatus.OPEN) {
+                idleElevators[idleCount++] = i;
+            }
+        }
+
+        if (parking != null && parking.assign(snapshot, idleElevators, idleCount, parkingFloors)) {
+            for (int car = 0; car < idleCount; car++) {
+                var elevator = idleElevators[car];
+
+                if (parkingFloors[car] != snapshot.getCurrentFloor(elevator)) {
+                    commandTargets(elevator, parkingFloors[car]);
+                }
+            }
+        }
+    }
+
+    // a nudged car settles on its current floor until the recovery sends it back to its target
+    private void commandTargets(int elevator, int floorNumber) {
+        if (stuckElevatorRecovery.getState(elevator) != RecoveryState.NUDGED) {
+            commands.setTarget(elevator, floorNumber);
+        }
+    }
+
+    // the nearest stop ahead in the committed direction, the current floor only while the door is closed
+    private int findNextStop(int elevator) {
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var isDoorOpen = snapshot.getDoorStatus(elevator) == DoorStatus.OPEN;
+
+        switch (directions[elevator]) {
+            case UP:
+                return FloorBits.nextSetBit(stops[elevator], currentFloor + 1);
+            case DOWN:
+                return findNearestStopBelow(elevator, currentFloor);
+            default:
+                if (isDoorOpen && FloorBits.isSet(stops[elevator], currentFloor)) {
+                    return NONE;
+                }
+
+                return findNearestStop(elevator, currentFloor);
+        }
+    }
+
+    private int findNearestStop(int elevator, int currentFloor) {
+        if (FloorBits.isSet(stops[elevator], currentFloor)) {
+            return currentFloor;
+        }
+
+        var above = FloorBits.nextSetBit(stops[elevator], currentFloor + 1);
+        var below = findNearestStopBelow(elevator, currentFloor);
+
+        if (above == -1) {
+            return below;
+        }
+
+        if (below == NONE || above - currentFloor <= currentFloor - below) {
+            return above;
+        }
+
+        return below;
+    }
+
+    private int findNearestStopBelow(int elevator, int currentFloor) {
+        var nearest = NONE;
+
+        for (int floor = FloorBits.nextSetBit(stops[elevator], 0); floor != -1 && floor < currentFloor; floor = FloorBits.nextSetBit(stops[elevator], floor + 1)) {
+            nearest = floor;
+        }
+
+        return nearest;
+    }
+
+    private boolean hasStopBelow(int elevator, int currentFloor) {
+        var lowest = FloorBits.nextSetBit(stops[elevator], 0);
+
+        return lowest != -1 && lowest < currentFloor;
+    }
+
+    private void watchForStuckElevators() {
+        for (int i = 0; i < stops.length; i++) {
+            var target = commands.getSentTarget(i);
+            stuckElevatorRecovery.observe(i, snapshot.getCurrentFloor(i), target == NONE ? null : target);
+        }
+    }
+}
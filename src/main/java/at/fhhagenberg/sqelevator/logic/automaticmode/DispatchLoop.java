@@ -0,0 +1,135 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// runs the strategy on one dedicated thread, snapshots triggered while a pass runs are coalesced into the newest one
+public class DispatchLoop {
+
+    private static final Logger LOGGER = Logger.getLogger("DispatchLoop");
+
+    private final IAutomaticModeStrategy automaticModeStrategy;
+
+    private Thread dispatchThread;
+    private boolean isStopped;
+    private BuildingSnapshot pendingSnapshot;
+    private long pendingSince;
+
+    private long triggerCount;
+    private long coalescedTriggerCount;
+    private long passCount;
+    private long lastPassLatency;
+    private long maximumPassLatency;
+
+    public DispatchLoop(IAutomaticModeStrategy automaticModeStrategy) {
+        if (automaticModeStrategy == null) {
+            throw new IllegalArgumentException("Automatic mode strategy must not be null!");
+        }
+
+        this.automaticModeStrategy = automaticModeStrategy;
+    }
+
+    // never blocks, the snapshot is retained until the pass that uses it or a newer trigger releases it
+    public synchronized void trigger(BuildingSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Snapshot must not be null!");
+        }
+
+        if (isStopped) {
+            return;
+        }
+
+        triggerCount++;
+
+        if (pendingSnapshot != null) {
+            pendingSnapshot.release();
+            coalescedTriggerCount++;
+        } else {
+            pendingSince = System.currentTimeMillis();
+        }
+
+        pendingSnapshot = snapshot.retain();
+
+        if (dispatchThread == null) {
+            dispatchThread = new Thread(this::dispatch, "elevator-dispatcher");
+            dispatchThread.setDaemon(true);
+            dispatchThread.start();
+        }
+
+        notifyAll();
+    }
+
+    public synchronized void stop() {
+        isStopped = true;
+
+        if (dispatchThread != null) {
+            dispatchThread.interrupt();
+        }
+
+        if (pendingSnapshot != null) {
+            pendingSnapshot.release();
+            pendingSnapshot = null;
+        }
+    }
+
+    public synchronized long getTriggerCount() {
+        return triggerCount;
+    }
+
+    public synchronized long getCoalescedTriggerCount() {
+        return coalescedTriggerCount;
+    }
+
+    public synchronized long getPassCount() {
+        return passCount;
+    }
+
+    // milliseconds from the first coalesced trigger until its pass completed
+    public synchronized long getLastPassLatency() {
+        return lastPassLatency;
+    }
+
+    public synchronized long getMaximumPassLatency() {
+        return maximumPassLatency;
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            BuildingSnapshot snapshot;
+            long triggeredAt;
+
+            synchronized (this) {
+                while (pendingSnapshot == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+
+                snapshot = pendingSnapshot;
+                triggeredAt = pendingSince;
+                pendingSnapshot = null;
+            }
+
+            try {
+                automaticModeStrategy.execute(snapshot);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, e.getLocalizedMessage(), e);
+            } finally {
+                snapshot.release();
+            }
+
+            recordPass(System.currentTimeMillis() - triggeredAt);
+        }
+    }
+
+    private synchronized void recordPass(long passLatency) {
+        passCount++;
+        lastPassLatency = passLatency;
+        maximumPassLatency = Math.max(maximumPassLatency, passLatency);
+    }
+}
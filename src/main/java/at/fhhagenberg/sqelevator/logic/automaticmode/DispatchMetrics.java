@@ -0,0 +1,77 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+public class DispatchMetrics {
+
+    private final AtomicLong passCount = new AtomicLong();
+    private final AtomicLong skippedPassCount = new AtomicLong();
+    private final AtomicLong rpcCalls = new AtomicLong();
+    private final AtomicLong rejectedStopCount = new AtomicLong();
+    private final AtomicLong budgetOverrunCount = new AtomicLong();
+    private final DoubleAdder planImprovement = new DoubleAdder();
+
+    private volatile long lastPassRpcCalls;
+    private volatile long lastPassDuration;
+
+    void recordPass(long rpcCalls, long passDuration) {
+        this.passCount.incrementAndGet();
+        this.rpcCalls.addAndGet(rpcCalls);
+        this.lastPassRpcCalls = rpcCalls;
+        this.lastPassDuration = passDuration;
+    }
+
+    void recordSkippedPass() {
+        this.skippedPassCount.incrementAndGet();
+    }
+
+    void recordRejectedStop() {
+        this.rejectedStopCount.incrementAndGet();
+    }
+
+    void recordBudgetOverrun() {
+        this.budgetOverrunCount.incrementAndGet();
+    }
+
+    void recordPlanImprovement(double improvement) {
+        this.planImprovement.add(improvement);
+    }
+
+    public long getPassCount() {
+        return passCount.get();
+    }
+
+    // passes skipped because the simulator clock did not advance
+    public long getSkippedPassCount() {
+        return skippedPassCount.get();
+    }
+
+    // hall calls the best car was passed over for because it was nearly full
+    public long getRejectedStopCount() {
+        return rejectedStopCount.get();
+    }
+
+    // passes that took longer than the time budget of the dispatcher
+    public long getBudgetOverrunCount() {
+        return budgetOverrunCount.get();
+    }
+
+    // estimated seconds the committed plans save over the greedy plans they were improved from
+    public double getPlanImprovement() {
+        return planImprovement.sum();
+    }
+
+    public long getRpcCalls() {
+        return rpcCalls.get();
+    }
+
+    // the dispatcher only reads snapshots, so every call counted here is a setTarget write
+    public long getLastPassRpcCalls() {
+        return lastPassRpcCalls;
+    }
+
+    public long getLastPassDuration() {
+        return lastPassDuration;
+    }
+}
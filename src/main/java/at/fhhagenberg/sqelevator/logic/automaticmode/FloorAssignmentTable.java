@@ -0,0 +1,122 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.Direction;
+
+import java.util.Arrays;
+
+// authoritative floor -> assigned elevator index table kept by the dispatcher, every car has at most one assigned floor
+// and leaves it in its service direction, an uncommited service direction serves both hall calls of the floor
+public class FloorAssignmentTable {
+
+    public static final int UNASSIGNED = -1;
+
+    private final int[] assignedElevators;
+    private final int[] assignedFloors;
+    private final Direction[] serviceDirections;
+
+    public FloorAssignmentTable(int numberOfElevators, int numberOfFloors) {
+        if (numberOfElevators < 0) {
+            throw new IllegalArgumentException(String.format("Number of elevators must not be negative but was: %d", numberOfElevators));
+        }
+
+        if (numberOfFloors < 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must not be negative but was: %d", numberOfFloors));
+        }
+
+        this.assignedElevators = new int[numberOfFloors];
+        this.assignedFloors = new int[numberOfElevators];
+        this.serviceDirections = new Direction[numberOfElevators];
+
+        Arrays.fill(assignedElevators, UNASSIGNED);
+        Arrays.fill(assignedFloors, UNASSIGNED);
+        Arrays.fill(serviceDirections, Direction.UNCOMMITED);
+    }
+
+    public int getNumberOfFloors() {
+        return assignedElevators.length;
+    }
+
+    public boolean isAssigned(int floorNumber) {
+        return getAssignedElevator(floorNumber) != UNASSIGNED;
+    }
+
+    // the hall call in the given direction is only taken care of if the assigned car leaves in that direction
+    public boolean isAssigned(int floorNumber, Direction direction) {
+        var elevator = getAssignedElevator(floorNumber);
+
+        return elevator != UNASSIGNED
+                && (direction == Direction.UNCOMMITED || serviceDirections[elevator] == Direction.UNCOMMITED || serviceDirections[elevator] == direction);
+    }
+
+    public int getAssignedElevator(int floorNumber) {
+        if (floorNumber < 0 || floorNumber >= assignedElevators.length) {
+            return UNASSIGNED;
+        }
+
+        return assignedElevators[floorNumber];
+    }
+
+    public int getAssignedFloor(int elevator) {
+        return assignedFloors[elevator];
+    }
+
+    public Direction getServiceDirection(int elevator) {
+        return serviceDirections[elevator];
+    }
+
+    public void assign(int floorNumber, int elevator) {
+        assign(floorNumber, elevator, Direction.UNCOMMITED);
+    }
+
+    // a new target replaces the previous assignment of the car
+    public void assign(int floorNumber, int elevator, Direction serviceDirection) {
+        checkFloorNumber(floorNumber);
+
+        var previousFloor = assignedFloors[elevator];
+
+        if (previousFloor != UNASSIGNED && assignedElevators[previousFloor] == elevator) {
+            assignedElevators[previousFloor] = UNASSIGNED;
+        }
+
+        var previousElevator = assignedElevators[floorNumber];
+
+        if (previousElevator != UNASSIGNED) {
+            assignedFloors[previousElevator] = UNASSIGNED;
+        }
+
+        assignedElevators[floorNumber] = elevator;
+        assignedFloors[elevator] = floorNumber;
+        serviceDirections[elevator] = serviceDirection;
+    }
+
+    // only releases the floor if the arriving car is the one it was assigned to
+    public void arrive(int elevator, int floorNumber) {
+        if (assignedFloors[elevator] == floorNumber) {
+            assignedElevators[floorNumber] = UNASSIGNED;
+            assignedFloors[elevator] = UNASSIGNED;
+            serviceDirections[elevator] = Direction.UNCOMMITED;
+        }
+    }
+
+    public void cancel(int floorNumber) {
+        var elevator = getAssignedElevator(floorNumber);
+
+        if (elevator != UNASSIGNED) {
+            assignedElevators[floorNumber] = UNASSIGNED;
+            assignedFloors[elevator] = UNASSIGNED;
+            serviceDirections[elevator] = Direction.UNCOMMITED;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(assignedElevators, UNASSIGNED);
+        Arrays.fill(assignedFloors, UNASSIGNED);
+        Arrays.fill(serviceDirections, Direction.UNCOMMITED);
+    }
+
+    private void checkFloorNumber(int floorNumber) {
+        if (floorNumber < 0 || floorNumber >= assignedElevators.length) {
+            throw new IllegalArgumentException(String.format("Floor number must be between 0 and %d but was: %d", assignedElevators.length - 1, floorNumber));
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+// splits the floors above the lobby into contiguous zones, every zone is served by its own group of cars and every car
+// serves the lobby and its zone only. the zone boundaries follow the calls seen since the last rezoning so every car
+// of a zone gets about the same share of the calls, the cars are told through setServicesFloors to skip all other floors
+public class FloorZoning {
+
+    public static final int LOBBY = 0;
+
+    // passes between two rezonings, with a pass every 100ms about once a minute
+    public static final long DEFAULT_REZONING_PERIOD = 600;
+    public static final double DEFAULT_RETENTION = 0.999;
+
+    // calls every floor is assumed to have, without any calls seen the zones are of equal height
+    private static final double PRIOR_DEMAND = 1.0;
+
+    private final int numberOfZones;
+    private final long rezoningPeriod;
+    private final double retention;
+
+    private int numberOfFloors;
+    private int numberOfElevators;
+    private int zones;
+    private double[] demand;
+    private int[] zoneStarts;
+    private int[] carZones;
+    private boolean[][] writtenServices;
+    private boolean[][] services;
+    private long passesSinceRezoning;
+    private long rezoningCount;
+
+    public FloorZoning(int numberOfZones) {
+        this(numberOfZones, DEFAULT_REZONING_PERIOD, DEFAULT_RETENTION);
+    }
+
+    public FloorZoning(int numberOfZones, long rezoningPeriod, double retention) {
+        if (numberOfZones <= 0) {
+            throw new IllegalArgumentException(String.format("Number of zones must be positive but was: %d", numberOfZones));
+        }
+
+        if (rezoningPeriod <= 0) {
+            throw new IllegalArgumentException(String.format("Rezoning period must be positive but was: %d", rezoningPeriod));
+        }
+
+        if (retention <= 0 || retention > 1) {
+            throw new IllegalArgumentException(String.format("Retention must be between 0 and 1 but was: %f", retention));
+        }
+
+        this.numberOfZones = numberOfZones;
+        this.rezoningPeriod = rezoningPeriod;
+        this.retention = retention;
+    }
+
+    // zones actually used, never more than there are cars or floors above the lobby
+    public int getNumberOfZones() {
+        return zones;
+    }
+
+    public int getZone(int elevator) {
+        return carZones == null ? 0 : carZones[elevator];
+    }
+
+    public int getZoneStart(int zone) {
+        return zoneStarts[zone];
+    }
+
+    // last floor of the zone, inclusive
+    public int getZoneEnd(int zone) {
+        return zoneStarts[zone + 1] - 1;
+    }
+
+    public long getRezoningCount() {
+        return rezoningCount;
+    }
+
+    // every car serves every floor until the first zoning
+    public boolean isServiced(int elevator, int floorNumber) {
+        return services == null || services[elevator][floorNumber];
+    }
+
+    // counts the calls pressed since the last update of the request store and rezones once the period is over, returns
+    // true if the zones changed
+    public boolean update(RequestStore requests) {
+        var isFirstZoning = services == null || numberOfFloors != requests.getNumberOfFloors()
+                || numberOfElevators != requests.getNumberOfElevators();
+
+        if (isFirstZoning) {
+            initialize(requests.getNumberOfElevators(), requests.getNumberOfFloors());
+        }
+
+        recordDemand(requests);
+
+        if (!isFirstZoning && ++passesSinceRezoning < rezoningPeriod) {
+            return false;
+        }
+
+        passesSinceRezoning = 0;
+        return rezone();
+    }
+
+    // writes the floors whose service differs from what the car was last told or, before the first write, from the
+    // snapshot and returns the number of writes
+    public int apply(IElevatorClient client, List<Elevator> elevators, BuildingSnapshot snapshot) throws RemoteException {
+        if (services == null) {
+            return 0;
+        }
+
+        var writes = 0;
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            if (writtenServices[i] == null) {
+                writtenServices[i] = new boolean[numberOfFloors];
+
+                for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                    writtenServices[i][floorNumber] = snapshot.isServiced(i, floorNumber);
+                }
+            }
+
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                if (writtenServices[i][floorNumber] != services[i][floorNumber]) {
+                    client.setServicesFloors(elevators.get(i), floorNumber, services[i][floorNumber]);
+                    writtenServices[i][floorNumber] = services[i][floorNumber];
+                    writes++;
+                }
+            }
+        }
+
+        return writes;
+    }
+
+    // gives every car all floors back, the zones are rebuilt from scratch on the next update
+    public int release(IElevatorClient client, List<Elevator> elevators) throws RemoteException {
+        if (services == null) {
+            return 0;
+        }
+
+        var writes = 0;
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                if (writtenServices[i] != null && !writtenServices[i][floorNumber]) {
+                    client.setServicesFloors(elevators.get(i), floorNumber, true);
+                    writes++;
+                }
+            }
+        }
+
+        services = null;
+        return writes;
+    }
+
+    private void initialize(int numberOfElevators, int numberOfFloors) {
+        this.numberOfElevators = numberOfElevators;
+        this.numberOfFloors = numberOfFloors;
+        this.zones = Math.max(1, Math.min(numberOfZones, Math.min(numberOfElevators, numberOfFloors - 1)));
+        this.demand = new double[numberOfFloors];
+        this.zoneStarts = new int[zones + 1];
+        this.carZones = new int[numberOfElevators];
+        this.writtenServices = new boolean[numberOfElevators][];
+        this.services = new boolean[numberOfElevators][numberOfFloors];
+        this.passesSinceRezoning = 0;
+
+        // contiguous groups of cars, the first zones get the extra car if they do not divide evenly
+        for (int i = 0; i < numberOfElevators; i++) {
+            carZones[i] = i * zones / numberOfElevators;
+        }
+    }
+
+    private void recordDemand(RequestStore requests) {
+        for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+            demand[floorNumber] *= retention;
+        }
+
+        for (int floorNumber = requests.nextPressedHallCall(0); floorNumber != -1; floorNumber = requests.nextPressedHallCall(floorNumber + 1)) {
+            demand[floorNumber]++;
+        }
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            for (int floorNumber = requests.nextPressedCarCall(i, 0); floorNumber != -1; floorNumber = requests.nextPressedCarCall(i, floorNumber + 1)) {
+                demand[floorNumber]++;
+            }
+        }
+    }
+
+    // every zone closes once it holds its cars' share of the demand above the lobby, leaving at least one floor for
+    // each zone after it
+    private boolean rezone() {
+        var totalDemand = 0.0;
+
+        for (int floorNumber = LOBBY + 1; floorNumber < numberOfFloors; floorNumber++) {
+            totalDemand += demand[floorNumber] + PRIOR_DEMAND;
+        }
+
+        var hasChanged = zoneStarts[zones] != numberOfFloors;
+        var zone = 0;
+        var cumulativeDemand = 0.0;
+
+        zoneStarts[0] = LOBBY + 1;
+
+        for (int floorNumber = LOBBY + 1; floorNumber < numberOfFloors && zone < zones - 1; floorNumber++) {
+            cumulativeDemand += demand[floorNumber] + PRIOR_DEMAND;
+
+            var floorsLeft = numberOfFloors - 1 - floorNumber;
+            var isShareReached = cumulativeDemand >= totalDemand * carsInZones(zone + 1) / numberOfElevators;
+
+            if (isShareReached || floorsLeft == zones - 1 - zone) {
+                zone++;
+                hasChanged |= zoneStarts[zone] != floorNumber + 1;
+                zoneStarts[zone] = floorNumber + 1;
+            }
+        }
+
+        zoneStarts[zones] = numberOfFloors;
+
+        if (hasChanged) {
+            rezoningCount++;
+            assignServices();
+        }
+
+        return hasChanged;
+    }
+
+    // cars of the lowest zoneCount zones
+    private int carsInZones(int zoneCount) {
+        var cars = 0;
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            if (carZones[i] < zoneCount) {
+                cars++;
+            }
+        }
+
+        return cars;
+    }
+
+    private void assignServices() {
+        for (int i = 0; i < numberOfElevators; i++) {
+            var zone = carZones[i];
+
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                services[i][floorNumber] = floorNumber == LOBBY || (floorNumber >= zoneStarts[zone] && floorNumber < zoneStarts[zone + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+// minimum cost assignment of rows to distinct columns (hungarian method with potentials), the rows are added one at
+// a time so a solve that runs past its time budget can give up between them. the anytime solve starts from a greedy
+// plan and improves it until the deadline, so it always has a complete plan to hand back
+public class HallCallAssignmentSolver {
+
+    public static final long DEFAULT_TIME_BUDGET = 2_000_000;
+
+    // smallest saving a local move has to make, keeps rounding noise from moving rows back and forth
+    private static final double EPSILON = 1e-9;
+
+    private final long timeBudget;
+    private final LongSupplier nanoTime;
+
+    private double[] rowPotentials = new double[0];
+    private double[] columnPotentials = new double[0];
+    private double[] minimumSlack = new double[0];
+    private int[] columnRows = new int[0];
+    private int[] previousColumns = new int[0];
+    private boolean[] isColumnUsed = new boolean[0];
+    private boolean[] isColumnTaken = new boolean[0];
+    private int[] exactAssignment = new int[0];
+
+    private long solvedCount;
+    private long overBudgetCount;
+    private double lastGreedyCost;
+    private double lastCost;
+
+    public HallCallAssignmentSolver() {
+        this(DEFAULT_TIME_BUDGET);
+    }
+
+    // timeBudget in nanoseconds
+    public HallCallAssignmentSolver(long timeBudget) {
+        this(timeBudget, System::nanoTime);
+    }
+
+    HallCallAssignmentSolver(long timeBudget, LongSupplier nanoTime) {
+        if (timeBudget <= 0) {
+            throw new IllegalArgumentException(String.format("Time budget must be positive but was: %d", timeBudget));
+        }
+
+        if (nanoTime == null) {
+            throw new IllegalArgumentException("Time source must not be null!");
+        }
+
+        this.timeBudget = timeBudget;
+        this.nanoTime = nanoTime;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public long getSolvedCount() {
+        return solvedCount;
+    }
+
+    public long getOverBudgetCount() {
+        return overBudgetCount;
+    }
+
+    // cost of the greedy plan the last anytime solve started from
+    public double getLastGreedyCost() {
+        return lastGreedyCost;
+    }
+
+    // cost of the plan the last anytime solve handed back
+    public double getLastCost() {
+        return lastCost;
+    }
+
+    // deadline of a solve or pass that starts now
+    public long getDeadline() {
+        return nanoTime.getAsLong() + timeBudget;
+    }
+
+    public boolean isExpired(long deadline) {
+        return nanoTime.getAsLong() - deadline > 0;
+    }
+
+    // costs is a row major rows x columns matrix with rows <= columns, on success assignment[row] holds the column of
+    // every row, false if the time budget ran out and assignment holds no result
+    public boolean solve(double[] costs, int rows, int columns, int[] assignment) {
+        checkDimensions(costs, rows, columns, assignment);
+        ensureCapacity(rows, columns);
+
+        return solveExactly(costs, rows, columns, assignment, getDeadline());
+    }
+
+    // anytime solve: every row takes its cheapest free column, the plan is improved by moving rows to cheaper free
+    // columns and by swapping the columns of two rows and replaced by the optimum if that is found before the
+    // deadline. assignment always holds a complete plan afterwards, returns true if it is the optimum
+    public boolean solve(double[] costs, int rows, int columns, int[] assignment, long deadline) {
+        checkDimensions(costs, rows, columns, assignment);
+        ensureCapacity(rows, columns);
+
+        assignGreedily(costs, rows, columns, assignment);
+        lastGreedyCost = getCost(costs, rows, columns, assignment);
+        improveLocally(costs, rows, columns, assignment, deadline);
+
+        var isOptimal = solveExactly(costs, rows, columns, exactAssignment, deadline);
+
+        if (isOptimal) {
+            System.arraycopy(exactAssignment, 0, assignment, 0, rows);
+        }
+
+        lastCost = getCost(costs, rows, columns, assignment);
+        return isOptimal;
+    }
+
+    private void checkDimensions(double[] costs, int rows, int columns, int[] assignment) {
+        if (rows > columns) {
+            throw new IllegalArgumentException(String.format("Rows must not exceed columns but were: %d > %d", rows, columns));
+        }
+
+        if (costs.length < rows * columns || assignment.length < rows) {
+            throw new IllegalArgumentException("Cost matrix or assignment is too small!");
+        }
+    }
+
+    private void assignGreedily(double[] costs, int rows, int columns, int[] assignment) {
+        Arrays.fill(isColumnTaken, 0, columns, false);
+
+        for (int row = 0; row < rows; row++) {
+            var bestColumn = -1;
+
+            for (int column = 0; column < columns; column++) {
+                if (!isColumnTaken[column] && (bestColumn == -1 || costs[row * columns + column] < costs[row * columns + bestColumn])) {
+                    bestColumn = column;
+                }
+            }
+
+            assignment[row] = bestColumn;
+            isColumnTaken[bestColumn] = true;
+        }
+    }
+
+    // every move lowers the cost, so the search ends on its own once no move is left
+    private void improveLocally(double[] costs, int rows, int columns, int[] assignment, long deadline) {
+        var hasImproved = true;
+
+        while (hasImproved) {
+            hasImproved = false;
+
+            for (int row = 0; row < rows; row++) {
+                if (isExpired(deadline)) {
+                    return;
+                }
+
+                var column = assignment[row];
+
+                for (int candidate = 0; candidate < columns; candidate++) {
+                    if (!isColumnTaken[candidate] && costs[row * columns + candidate] < costs[row * columns + column] - EPSILON) {
+                        isColumnTaken[column] = false;
+                        isColumnTaken[candidate] = true;
+                        column = candidate;
+                        hasImproved = true;
+                    }
+                }
+
+                for (int other = row + 1; other < rows; other++) {
+                    var otherColumn = assignment[other];
+                    var saving = costs[row * columns + column] + costs[other * columns + otherColumn]
+                            - costs[row * columns + otherColumn] - costs[other * columns + column];
+
+                    if (saving > EPSILON) {
+                        assignment[other] = column;
+                        column = otherColumn;
+                        hasImproved = true;
+                    }
+                }
+
+                assignment[row] = column;
+            }
+        }
+    }
+
+    private double getCost(double[] costs, int rows, int columns, int[] assignment) {
+        var cost = 0.0;
+
+        for (int row = 0; row < rows; row++) {
+            cost += costs[row * columns + assignment[row]];
+        }
+
+        return cost;
+    }
+
+    private boolean solveExactly(double[] costs, int rows, int columns, int[] assignment, long deadline) {
+        // index 0 is a virtual column/row, real rows and columns are 1 based
+        Arrays.fill(rowPotentials, 0, rows + 1, 0);
+        Arrays.fill(columnPotentials, 0, columns + 1, 0);
+        Arrays.fill(columnRows, 0, columns + 1, 0);
+
+        for (int row = 1; row <= rows; row++) {
+            if (isExpired(deadline)) {
+                overBudgetCount++;
+                return false;
+            }
+
+            addRow(costs, row, columns);
+        }
+
+        for (int column = 1; column <= columns; column++) {
+            if (columnRows[column] != 0) {
+                assignment[columnRows[column] - 1] = column - 1;
+            }
+        }
+
+        solvedCount++;
+        return true;
+    }
+
+    // finds the shortest augmenting path from the new row and flips the assignment along it
+    private void addRow(double[] costs, int row, int columns) {
+        columnRows[0] = row;
+        var column = 0;
+
+        Arrays.fill(minimumSlack, 0, columns + 1, Double.POSITIVE_INFINITY);
+        Arrays.fill(isColumnUsed, 0, columns + 1, false);
+
+        do {
+            isColumnUsed[column] = true;
+            var currentRow = columnRows[column];
+            var delta = Double.POSITIVE_INFINITY;
+            var nextColumn = 0;
+
+            for (int candidate = 1; candidate <= columns; candidate++) {
+                if (!isColumnUsed[candidate]) {
+                    var slack = costs[(currentRow - 1) * columns + candidate - 1] - rowPotentials[currentRow] - columnPotentials[candidate];
+
+                    if (slack < minimumSlack[candidate]) {
+                        minimumSlack[candidate] = slack;
+                        previousColumns[candidate] = column;
+                    }
+
+                    if (minimumSlack[candidate] < delta) {
+                        delta = minimumSlack[candidate];
+                        nextColumn = candidate;
+                    }
+                }
+            }
+
+            for (int candidate = 0; candidate <= columns; candidate++) {
+                if (isColumnUsed[candidate]) {
+                    rowPotentials[columnRows[candidate]] += delta;
+                    columnPotentials[candidate] -= delta;
+                } else {
+                    minimumSlack[candidate] -= delta;
+                }
+            }
+
+            column = nextColumn;
+        } while (columnRows[column] != 0);
+
+        do {
+            var previousColumn = previousColumns[column];
+            columnRows[column] = columnRows[previousColumn];
+            column = previousColumn;
+        } while (column != 0);
+    }
+
+    private void ensureCapacity(int rows, int columns) {
+        if (rowPotentials.length < rows + 1) {
+            rowPotentials = new double[rows + 1];
+        }
+
+        if (columnPotentials.length < columns + 1) {
+            columnPotentials = new double[columns + 1];
+            minimumSlack = new double[columns + 1];
+            columnRows = new int[columns + 1];
+            previousColumns = new int[columns + 1];
+            isColumnUsed = new boolean[columns + 1];
+            isColumnTaken = new boolean[columns];
+        }
+
+        if (exactAssignment.length < rows) {
+            exactAssignment = new int[rows];
+        }
+    }
+}
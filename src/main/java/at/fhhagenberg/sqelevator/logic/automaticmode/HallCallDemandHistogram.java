@@ -0,0 +1,136 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.Direction;
+
+import java.util.Arrays;
+
+// how often hall calls were pressed per floor and direction, bucketed by time of day, every bucket is weighted down
+// when its time of day comes round again so older days count less than the last one
+public class HallCallDemandHistogram {
+
+    public static final int DEFAULT_NUMBER_OF_BUCKETS = 96;
+    public static final long DEFAULT_BUCKET_LENGTH = 15 * 60 * 1000L;
+    public static final double DEFAULT_DECAY = 0.5;
+
+    private static final long NONE = -1;
+
+    private final int numberOfFloors;
+    private final int numberOfBuckets;
+    private final long bucketLength;
+    private final double decay;
+
+    // bucket-major, every bucket owns numberOfFloors counts
+    private final double[] upCounts;
+    private final double[] downCounts;
+    private final double[] totals;
+    private final long[] bucketPeriods;
+
+    public HallCallDemandHistogram(int numberOfFloors) {
+        this(numberOfFloors, DEFAULT_NUMBER_OF_BUCKETS, DEFAULT_BUCKET_LENGTH, DEFAULT_DECAY);
+    }
+
+    // bucketLength in milliseconds, the buckets together should cover a day
+    public HallCallDemandHistogram(int numberOfFloors, int numberOfBuckets, long bucketLength, double decay) {
+        if (numberOfFloors <= 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must be positive but was: %d", numberOfFloors));
+        }
+
+        if (numberOfBuckets <= 0) {
+            throw new IllegalArgumentException(String.format("Number of buckets must be positive but was: %d", numberOfBuckets));
+        }
+
+        if (bucketLength <= 0) {
+            throw new IllegalArgumentException(String.format("Bucket length must be positive but was: %d", bucketLength));
+        }
+
+        if (decay < 0 || decay > 1) {
+            throw new IllegalArgumentException(String.format("Decay must be between 0 and 1 but was: %f", decay));
+        }
+
+        this.numberOfFloors = numberOfFloors;
+        this.numberOfBuckets = numberOfBuckets;
+        this.bucketLength = bucketLength;
+        this.decay = decay;
+        this.upCounts = new double[numberOfBuckets * numberOfFloors];
+        this.downCounts = new double[numberOfBuckets * numberOfFloors];
+        this.totals = new double[numberOfBuckets];
+        this.bucketPeriods = new long[numberOfBuckets];
+
+        Arrays.fill(bucketPeriods, NONE);
+    }
+
+    public int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    public int getBucket(long time) {
+        return (int) Math.floorMod(time / bucketLength, (long) numberOfBuckets);
+    }
+
+    // counts the hall calls pressed since the last update of the request store
+    public void record(long time, RequestStore requests) {
+        for (int floorNumber = requests.nextPressedHallCall(0); floorNumber != -1; floorNumber = requests.nextPressedHallCall(floorNumber + 1)) {
+            if (requests.isUpHallCallPressed(floorNumber)) {
+                record(time, floorNumber, Direction.UP);
+            }
+
+            if (requests.isDownHallCallPressed(floorNumber)) {
+                record(time, floorNumber, Direction.DOWN);
+            }
+        }
+    }
+
+    public void record(long time, int floorNumber, Direction direction) {
+        if (floorNumber < 0 || floorNumber >= numberOfFloors) {
+            throw new IllegalArgumentException(String.format("Floor must be between 0 and %d but was: %d", numberOfFloors - 1, floorNumber));
+        }
+
+        var bucket = enterBucket(time);
+        var index = bucket * numberOfFloors + floorNumber;
+
+        if (direction == Direction.DOWN) {
+            downCounts[index]++;
+        } else {
+            upCounts[index]++;
+        }
+
+        totals[bucket]++;
+    }
+
+    public double getUpDemand(long time, int floorNumber) {
+        return upCounts[getBucket(time) * numberOfFloors + floorNumber];
+    }
+
+    public double getDownDemand(long time, int floorNumber) {
+        return downCounts[getBucket(time) * numberOfFloors + floorNumber];
+    }
+
+    public double getDemand(long time, int floorNumber) {
+        return getUpDemand(time, floorNumber) + getDownDemand(time, floorNumber);
+    }
+
+    public double getTotalDemand(long time) {
+        return totals[getBucket(time)];
+    }
+
+    // the first call of a new day in a bucket weights down what the bucket learned on earlier days
+    private int enterBucket(long time) {
+        var bucket = getBucket(time);
+        var period = Math.floorDiv(time, bucketLength * numberOfBuckets);
+
+        if (bucketPeriods[bucket] != period) {
+            if (bucketPeriods[bucket] != NONE) {
+                for (int index = bucket * numberOfFloors; index < (bucket + 1) * numberOfFloors; index++) {
+                    upCounts[index] *= decay;
+                    downCounts[index] *= decay;
+                }
+
+                totals[bucket] *= decay;
+            }
+
+            bucketPeriods[bucket] = period;
+        }
+
+        return bucket;
+    }
+}
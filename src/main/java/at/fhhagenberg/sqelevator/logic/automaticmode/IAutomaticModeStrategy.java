@@ -1,11 +1,12 @@
 package at.fhhagenberg.sqelevator.logic.automaticmode;
 
 import at.fhhagenberg.sqelevator.data.IElevatorClient;
-import at.fhhagenberg.sqelevator.domain.Elevator;
-
-import java.util.List;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
 
 public interface IAutomaticModeStrategy {
-    void execute (List<Elevator> elevators);
+    void execute (BuildingSnapshot snapshot);
+
     void setClient (IElevatorClient client);
+
+    DispatchMetrics getMetrics();
 }
@@ -0,0 +1,127 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+// sends idle cars to the floors that produced the most hall calls at this time of day, busier floors get more cars
+// in proportion to their demand and the cars keep their order along the shaft so none of them crosses another
+public class IdleCarParking {
+
+    // hall calls a time of day needs to have seen before cars are parked by it
+    public static final double DEFAULT_MINIMUM_DEMAND = 10;
+
+    private final int numberOfBuckets;
+    private final long bucketLength;
+    private final double minimumDemand;
+    private final LongSupplier clock;
+
+    private HallCallDemandHistogram demand;
+    private int[] parkedCars = new int[0];
+    private int[] chosenFloors = new int[0];
+    private int[] sortedCars = new int[0];
+
+    public IdleCarParking() {
+        this(HallCallDemandHistogram.DEFAULT_NUMBER_OF_BUCKETS, HallCallDemandHistogram.DEFAULT_BUCKET_LENGTH,
+                DEFAULT_MINIMUM_DEMAND, () -> toLocalTime(System.currentTimeMillis(), ZoneId.systemDefault()));
+    }
+
+    // clock supplies milliseconds that keep counting across days, the histogram takes the time of day from them to pick
+    // the bucket and the day to weight down what the bucket learned on earlier days
+    IdleCarParking(int numberOfBuckets, long bucketLength, double minimumDemand, LongSupplier clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock must not be null!");
+        }
+
+        this.numberOfBuckets = numberOfBuckets;
+        this.bucketLength = bucketLength;
+        this.minimumDemand = minimumDemand;
+        this.clock = clock;
+    }
+
+    // milliseconds since the epoch shifted by the offset of the zone, so days start at local midnight
+    static long toLocalTime(long epochMillis, ZoneId zone) {
+        return epochMillis + zone.getRules().getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds() * 1000L;
+    }
+
+    public HallCallDemandHistogram getDemand() {
+        return demand;
+    }
+
+    public void recordDemand(RequestStore requests) {
+        if (demand == null || demand.getNumberOfFloors() != requests.getNumberOfFloors()) {
+            demand = new HallCallDemandHistogram(requests.getNumberOfFloors(), numberOfBuckets, bucketLength, HallCallDemandHistogram.DEFAULT_DECAY);
+        }
+
+        demand.record(clock.getAsLong(), requests);
+    }
+
+    // fills parkingFloors[k] with the floor idle car idleElevators[k] should wait at and returns false if there is not
+    // enough demand at this time of day to go by
+    public boolean assign(BuildingSnapshot snapshot, int[] idleElevators, int count, int[] parkingFloors) {
+        var time = clock.getAsLong();
+
+        if (count == 0 || demand == null || demand.getTotalDemand(time) < minimumDemand) {
+            return false;
+        }
+
+        var numberOfFloors = demand.getNumberOfFloors();
+        ensureCapacity(numberOfFloors, count);
+        Arrays.fill(parkedCars, 0, numberOfFloors, 0);
+
+        // highest average demand per car first, a floor with twice the calls gets a second car before a quieter floor
+        for (int car = 0; car < count; car++) {
+            var bestFloor = 0;
+            var bestShare = -1.0;
+
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                var share = demand.getDemand(time, floorNumber) / (1 + parkedCars[floorNumber]);
+
+                if (share > bestShare) {
+                    bestShare = share;
+                    bestFloor = floorNumber;
+                }
+            }
+
+            parkedCars[bestFloor]++;
+        }
+
+        for (int floorNumber = 0, car = 0; floorNumber < numberOfFloors; floorNumber++) {
+            for (int parked = 0; parked < parkedCars[floorNumber]; parked++) {
+                chosenFloors[car++] = floorNumber;
+            }
+        }
+
+        // the lowest car takes the lowest floor and so on, which keeps the total travel minimal
+        for (int car = 0; car < count; car++) {
+            var position = car;
+
+            while (position > 0 && snapshot.getCurrentFloor(idleElevators[sortedCars[position - 1]]) > snapshot.getCurrentFloor(idleElevators[car])) {
+                sortedCars[position] = sortedCars[position - 1];
+                position--;
+            }
+
+            sortedCars[position] = car;
+        }
+
+        for (int position = 0; position < count; position++) {
+            parkingFloors[sortedCars[position]] = chosenFloors[position];
+        }
+
+        return true;
+    }
+
+    private void ensureCapacity(int numberOfFloors, int count) {
+        if (parkedCars.length < numberOfFloors) {
+            parkedCars = new int[numberOfFloors];
+        }
+
+        if (chosenFloors.length < count) {
+            chosenFloors = new int[count];
+            sortedCars = new int[count];
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// collective control: every car sweeps in its travel direction while it has stops ahead and only then turns around,
+// hall calls are picked up by a car passing them in their direction, by the nearest idle car or at the end of a sweep
+public class LookElevatorMode implements IAutomaticModeStrategy {
+
+    private static final Logger LOGGER = Logger.getLogger("LookElevatorMode");
+
+    private static final int NONE = StopPlan.NONE;
+    private static final long STUCK_THRESHOLD = 300;
+    private static final long RECOVERY_SETTLE_DELAY = 300;
+
+    private final RequestHelper helper = new RequestHelper();
+    private final AtomicLong lastExecutedClockTick = new AtomicLong(-1);
+    private final DispatchMetrics metrics = new DispatchMetrics();
+    private final CarLoadEstimator loads = new CarLoadEstimator();
+
+    private IElevatorClient client;
+    private List<Elevator> elevators;
+    private BuildingSnapshot snapshot;
+    private boolean isFullyInitialized = false;
+    private StuckElevatorRecovery stuckElevatorRecovery;
+    private TargetCommandChannel commands;
+    private FloorZoning zoning;
+
+    private RequestStore requests;
+    private StopPlan[] plans;
+    private Direction[] directions;
+    private int[] upClaims;
+    private int[] downClaims;
+    private long[] upVisitedZones;
+    private long[] downVisitedZones;
+
+    private long passRpcCalls;
+
+    public LookElevatorMode(IElevatorClient client) {
+        this.setClient(client);
+    }
+
+    @Override
+    public void execute(BuildingSnapshot snapshot) {
+        if (lastExecutedClockTick.getAndSet(snapshot.getClockTick()) == snapshot.getClockTick()) {
+            metrics.recordSkippedPass();
+            return;
+        }
+
+        this.snapshot = snapshot;
+        this.elevators = client.getElevators();
+        isFullyInitialized = helper.areAllElevatorsInitialized(isFullyInitialized, snapshot);
+
+        if (!isFullyInitialized) {
+            return;
+        }
+
+        var passStart = System.currentTimeMillis();
+        passRpcCalls = 0;
+
+        initialize();
+        commands.acknowledge(snapshot);
+        requests.update(snapshot);
+
+        if (zoning != null) {
+            zoning.update(requests);
+        }
+
+        releaseServedCalls();
+        rebuildPlans();
+        claimHallCalls(Direction.UP, upClaims);
+        claimHallCalls(Direction.DOWN, downClaims);
+        commandTargets();
+
+        try {
+            if (zoning != null) {
+                passRpcCalls += zoning.apply(client, elevators, snapshot);
+            }
+
+            passRpcCalls += commands.flush(elevators);
+        } catch (RemoteException e) {
+            LOGGER.log(Level.SEVERE, e.getLocalizedMessage());
+        }
+
+        watchForStuckElevators();
+        metrics.recordPass(passRpcCalls, System.currentTimeMillis() - passStart);
+    }
+
+    // the cars get all floors back before the client is replaced, e.g. when another strategy takes over
+    @Override
+    public void setClient(IElevatorClient client) {
+        if (this.zoning != null && this.elevators != null) {
+            try {
+                this.zoning.release(this.client, this.elevators);
+            } catch (RemoteException e) {
+                LOGGER.log(Level.SEVERE, e.getLocalizedMessage());
+            }
+        }
+
+        this.client = client;
+        this.requests = null;
+        this.isFullyInitialized = false;
+
+        // a channel shared with other strategies stays as long as they all send to the same client
+        if (this.commands != null && this.commands.getClient() != client) {
+            this.commands = null;
+        }
+
+        if (this.stuckElevatorRecovery != null) {
+            this.stuckElevatorRecovery.stop();
+            this.stuckElevatorRecovery = null;
+        }
+    }
+
+    @Override
+    public DispatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    public StopPlan getStopPlan(int elevator) {
+        return plans == null ? null : plans[elevator];
+    }
+
+    public Direction getDirection(int elevator) {
+        return directions == null ? Direction.UNCOMMITED : directions[elevator];
+    }
+
+    // the car that will pick up a hall call, -1 if no car has taken it yet
+    public int getClaimingElevator(int floorNumber, Direction direction) {
+        if (requests == null) {
+            return NONE;
+        }
+
+        return direction == Direction.UP ? upClaims[floorNumber] : downClaims[floorNumber];
+    }
+
+    public FloorZoning getFloorZoning() {
+        return zoning;
+    }
+
+    // without zoning every car serves every floor
+    public void setFloorZoning(FloorZoning zoning) {
+        this.zoning = zoning;
+    }
+
+    public StuckElevatorRecovery getStuckElevatorRecovery() {
+        return stuckElevatorRecovery;
+    }
+
+    void setStuckElevatorRecovery(StuckElevatorRecovery stuckElevatorRecovery) {
+        this.stuckElevatorRecovery = stuckElevatorRecovery;
+    }
+
+    public TargetCommandChannel getTargetCommandChannel() {
+        return commands;
+    }
+
+    // strategies that take turns on one client share its channel, so neither resends what the other already sent
+    public void setTargetCommandChannel(TargetCommandChannel commands) {
+        this.commands = commands;
+    }
+
+    private void initialize() {
+        if (requests == null) {
+            var numberOfElevators = snapshot.getNumberOfElevators();
+            var numberOfFloors = snapshot.getNumberOfFloors();
+
+            requests = new RequestStore(numberOfElevators, numberOfFloors);
+            plans = new StopPlan[numberOfElevators];
+            directions = new Direction[numberOfElevators];
+            upClaims = new int[numberOfFloors];
+            downClaims = new int[numberOfFloors];
+            upVisitedZones = new long[numberOfFloors];
+            downVisitedZones = new long[numberOfFloors];
+
+            for (int i = 0; i < numberOfElevators; i++) {
+                plans[i] = new StopPlan(numberOfFloors);
+            }
+
+            Arrays.fill(directions, Direction.UNCOMMITED);
+            Arrays.fill(upClaims, NONE);
+            Arrays.fill(downClaims, NONE);
+        }
+
+        if (commands == null) {
+            commands = new TargetCommandChannel(client);
+        }
+
+        if (stuckElevatorRecovery == null) {
+            stuckElevatorRecovery = new StuckElevatorRecovery(commands, elevators, STUCK_THRESHOLD, RECOVERY_SETTLE_DELAY);
+        }
+    }
+
+    // a car with its door open has served its claims at that floor, a call still pressed afterwards is claimed again,
+    // with zoning by a car of a zone that has not been there yet. a car that filled up since it claimed a call leaves it
+    // to another car
+    private void releaseServedCalls() {
+        for (int floorNumber = requests.nextClearedHallCall(0); floorNumber != -1; floorNumber = requests.nextClearedHallCall(floorNumber + 1)) {
+            if (!requests.isUpHallCall(floorNumber)) {
+                upClaims[floorNumber] = NONE;
+                upVisitedZones[floorNumber] = 0;
+            }
+
+            if (!requests.isDownHallCall(floorNumber)) {
+                downClaims[floorNumber] = NONE;
+                downVisitedZones[floorNumber] = 0;
+            }
+        }
+
+        for (int i = 0; i < plans.length; i++) {
+            if (snapshot.getDoorStatus(i) == DoorStatus.OPEN) {
+                var currentFloor = snapshot.getCurrentFloor(i);
+
+                if (upClaims[currentFloor] == i) {
+                    upClaims[currentFloor] = NONE;
+                    upVisitedZones[currentFloor] |= zoneBit(i);
+                }
+
+                if (downClaims[currentFloor] == i) {
+                    downClaims[currentFloor] = NONE;
+                    downVisitedZones[currentFloor] |= zoneBit(i);
+                }
+            }
+
+            if (!loads.canTakeHallCall(snapshot, i)) {
+                releaseClaims(i);
+            }
+        }
+
+        if (zoning != null) {
+            releaseUnservicedClaims();
+        }
+    }
+
+    private void releaseClaims(int elevator) {
+        for (int floorNumber = 0; floorNumber < upClaims.length; floorNumber++) {
+            if (upClaims[floorNumber] == elevator) {
+                upClaims[floorNumber] = NONE;
+                metrics.recordRejectedStop();
+            }
+
+            if (downClaims[floorNumber] == elevator) {
+                downClaims[floorNumber] = NONE;
+                metrics.recordRejectedStop();
+            }
+        }
+    }
+
+    // a call that left the zone of its car after rezoning is claimed again by a car of its new zone
+    private void releaseUnservicedClaims() {
+        for (int floorNumber = 0; floorNumber < upClaims.length; floorNumber++) {
+            if (upClaims[floorNumber] != NONE && !zoning.isServiced(upClaims[floorNumber], floorNumber)) {
+                upClaims[floorNumber] = NONE;
+            }
+
+            if (downClaims[floorNumber] != NONE && !zoning.isServiced(downClaims[floorNumber], floorNumber)) {
+                downClaims[floorNumber] = NONE;
+            }
+        }
+    }
+
+    private void rebuildPlans() {
+        for (int i = 0; i < plans.length; i++) {
+            plans[i].resetToCarCalls(requests, i);
+        }
+
+        for (int floorNumber = 0; floorNumber < upClaims.length; floorNumber++) {
+            if (upClaims[floorNumber] != NONE) {
+                plans[upClaims[floorNumber]].add(floorNumber);
+            }
+
+            if (downClaims[floorNumber] != NONE) {
+                plans[downClaims[floorNumber]].add(floorNumber);
+            }
+        }
+
+        for (int i = 0; i < plans.length; i++) {
+            updateDirection(i);
+        }
+    }
+
+    // keeps the sweep going while there are stops ahead, otherwise heads for the nearest stop or stays idle
+    private void updateDirection(int elevator) {
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var plan = plans[elevator];
+
+        if (directions[elevator] != Direction.UNCOMMITED && plan.nextStop(currentFloor, directions[elevator]) != NONE) {
+            return;
+        }
+
+        var nearest = plan.nearest(currentFloor);
+
+        if (nearest == NONE || nearest == currentFloor) {
+            directions[elevator] = Direction.UNCOMMITED;
+        } else {
+            directions[elevator] = nearest > currentFloor ? Direction.UP : Direction.DOWN;
+        }
+    }
+
+    private void claimHallCalls(Direction callDirection, int[] claims) {
+        var visitedZones = callDirection == Direction.UP ? upVisitedZones : downVisitedZones;
+
+        for (int floorNumber = nextHallCall(0, callDirection); floorNumber != -1; floorNumber = nextHallCall(floorNumber + 1, callDirection)) {
+            if (claims[floorNumber] != NONE) {
+                continue;
+            }
+
+            // every zone serving the floor has been there and the call is still pressed, so the next round starts
+            if (zoning != null && (visitedZones[floorNumber] & servingZones(floorNumber)) == servingZones(floorNumber)) {
+                visitedZones[floorNumber] = 0;
+            }
+
+            var claimingElevator = NONE;
+            var shortestDistance = Integer.MAX_VALUE;
+            var shortestFullCarDistance = Integer.MAX_VALUE;
+
+            for (int i = 0; i < plans.length; i++) {
+                if (!canClaim(i, floorNumber, callDirection) || (visitedZones[floorNumber] & zoneBit(i)) != 0) {
+                    continue;
+                }
+
+                var distance = Math.abs(floorNumber - snapshot.getCurrentFloor(i));
+
+                if (!loads.canTakeHallCall(snapshot, i)) {
+                    shortestFullCarDistance = Math.min(shortestFullCarDistance, distance);
+                } else if (distance < shortestDistance) {
+                    shortestDistance = distance;
+                    claimingElevator = i;
+                }
+            }
+
+            if (shortestFullCarDistance < shortestDistance) {
+                metrics.recordRejectedStop();
+            }
+
+            if (claimingElevator != NONE) {
+                claims[floorNumber] = claimingElevator;
+                plans[claimingElevator].add(floorNumber);
+                updateDirection(claimingElevator);
+            }
+        }
+    }
+
+    // idle cars take any call, a moving car takes calls ahead in its direction and calls beyond its last stop, where
+    // it turns around anyway. with zoning only calls in the zone of the car
+    private boolean canClaim(int elevator, int floorNumber, Direction callDirection) {
+        if (zoning != null && !zoning.isServiced(elevator, floorNumber)) {
+            return false;
+        }
+
+        var direction = directions[elevator];
+
+        if (direction == Direction.UNCOMMITED) {
+            return true;
+        }
+
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+        var isAhead = direction == Direction.UP ? floorNumber > currentFloor : floorNumber < currentFloor;
+
+        if (!isAhead) {
+            return false;
+        }
+
+        if (callDirection == direction) {
+            return true;
+        }
+
+        var farthest = plans[elevator].farthest(currentFloor, direction);
+
+        return direction == Direction.UP ? floorNumber >= farthest : floorNumber <= farthest;
+    }
+
+    // without zoning all cars are in the same zone, which never counts as visited
+    private long zoneBit(int elevator) {
+        return zoning == null ? 0 : 1L << zoning.getZone(elevator);
+    }
+
+    private long servingZones(int floorNumber) {
+        var zones = 0L;
+
+        for (int i = 0; i < plans.length; i++) {
+            if (zoning.isServiced(i, floorNumber)) {
+                zones |= zoneBit(i);
+            }
+        }
+
+        return zones;
+    }
+
+    private int nextHallCall(int floorNumber, Direction callDirection) {
+        return callDirection == Direction.UP ? requests.nextUpHallCall(floorNumber) : requests.nextDownHallCall(floorNumber);
+    }
+
+    // the channel sends a target at the end of the pass and only if the car does not have it already, a nudged car
+    // settles on its current floor until the recovery sends it back to its target
+    private void commandTargets() {
+        for (int i = 0; i < plans.length; i++) {
+            var nextStop = findNextStop(i);
+
+            if (nextStop != NONE && stuckElevatorRecovery.getState(i) != RecoveryState.NUDGED) {
+                commands.setTarget(i, nextStop);
+            }
+        }
+    }
+
+    private int findNextStop(int elevator) {
+        var currentFloor = snapshot.getCurrentFloor(elevator);
+
+        if (directions[elevator] == Direction.UNCOMMITED && snapshot.getDoorStatus(elevator) == DoorStatus.OPEN
+                && plans[elevator].contains(currentFloor)) {
+            return NONE;
+        }
+
+        return plans[elevator].nextStop(currentFloor, directions[elevator]);
+    }
+
+    private void watchForStuckElevators() {
+        for (int i = 0; i < plans.length; i++) {
+            var target = commands.getSentTarget(i);
+            stuckElevatorRecovery.observe(i, snapshot.getCurrentFloor(i), target == NONE ? null : target);
+        }
+    }
+}
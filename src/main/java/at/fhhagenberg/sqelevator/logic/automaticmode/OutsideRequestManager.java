@@ -1,41 +1,36 @@
 package at.fhhagenberg.sqelevator.logic.automaticmode;
 
-import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
 import at.fhhagenberg.sqelevator.domain.Direction;
 import at.fhhagenberg.sqelevator.domain.Elevator;
 
-import java.rmi.RemoteException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 public class OutsideRequestManager {
-    IElevatorClient client;
     RequestHelper helper;
 
-    public OutsideRequestManager(IElevatorClient client, RequestHelper helper) {
-        this.client = client;
+    public OutsideRequestManager(RequestHelper helper) {
         this.helper = helper;
     }
 
     public Integer findNearestIntermediateOutsideRequest(
             Integer nearestFloor, int currentFloor,
-            List<Integer> outsideRequests, List<Elevator> elevators)
-            throws RemoteException {
+            RequestStore requests, FloorAssignmentTable assignments,
+            BuildingSnapshot snapshot) {
         int dist;
         if (nearestFloor != null) {
             dist = Math.abs(nearestFloor - currentFloor);
         } else {
-            dist = client.getFloorNum();
+            dist = snapshot.getNumberOfFloors();
         }
 
-        for (Integer outsideRequest : outsideRequests) {
+        for (int outsideRequest = requests.nextHallCall(0); outsideRequest != -1; outsideRequest = requests.nextHallCall(outsideRequest + 1)) {
             int offset = Math.abs(outsideRequest - currentFloor);
 
 
-            if ((nearestFloor == null ||
-                    isOutsideRequestOnWay(currentFloor, nearestFloor, outsideRequest) && offset < dist) &&
-                    helper.checkElevatorAlreadyAddressed(outsideRequest, elevators) == null)
+            if (nearestFloor == null ? !assignments.isAssigned(outsideRequest) :
+                    offset < dist && isOutsideRequestOnWay(currentFloor, nearestFloor, outsideRequest, requests, assignments))
             {
                 dist = offset;
                 nearestFloor = outsideRequest;
@@ -45,28 +40,18 @@ public class OutsideRequestManager {
         return nearestFloor;
     }
 
-    public List<Integer> getOutsideRequestsFromClient() throws RemoteException {
-        List<Integer> requests = new ArrayList<>();
-
-        for (int i = 0; i < this.client.getFloorNum(); i++) {
-            if (client.getFloorButtonDown(i) || client.getFloorButtonUp(i)) {
-                requests = addOutsideRequestIfNew(i, requests);
-            }
-        }
-
-        return requests;
-    }
-
     public Elevator findClosestElevator(
-            List<Elevator> availableElevators, Integer outsideRequest, List<Elevator> elevators)
-            throws RemoteException {
+            List<Elevator> availableElevators, Integer outsideRequest, List<Elevator> elevators,
+            BuildingSnapshot snapshot) {
         Elevator elevator = null;
         Optional<Integer> distanceOptional = elevators.stream().map(e -> e.getElevatorFloors().size()).max(Integer::compare);
         if (distanceOptional.isPresent()) {
             int distance = distanceOptional.get();
             for (Elevator availableElevator : availableElevators) {
-                if (availableElevator.getCurrentElevatorFloor() != null) {
-                    int offset = Math.abs(client.getCurrentFloor(availableElevator).getFloor().getFloorNumber() - outsideRequest);
+                var index = elevators.indexOf(availableElevator);
+
+                if (index >= 0 && index < snapshot.getNumberOfElevators()) {
+                    int offset = Math.abs(snapshot.getCurrentFloor(index) - outsideRequest);
                     if (offset < distance) {
                         distance = offset;
                         elevator = availableElevator;
@@ -77,24 +62,12 @@ public class OutsideRequestManager {
         return elevator;
     }
 
-    private boolean isOutsideRequestOnWay(int currentFloor, int nearestFloor, int outsideRequest) throws RemoteException {
+    // only passengers travelling the way of the car are picked up on the way, calls in the other direction stay with other cars
+    private boolean isOutsideRequestOnWay(int currentFloor, int nearestFloor, int outsideRequest,
+                                          RequestStore requests, FloorAssignmentTable assignments) {
         Direction currentDirection = helper.calculateDirection(currentFloor, nearestFloor);
         return currentDirection.equals(helper.calculateDirection(currentFloor, outsideRequest)) &&
-                isCurrentDirectionAndFloorButtonDirectionEqual(currentDirection, nearestFloor);
-    }
-
-    private boolean isCurrentDirectionAndFloorButtonDirectionEqual(Direction currentDirection,
-                                                                   int floorNumber) throws RemoteException {
-        return (currentDirection == Direction.UP && client.getFloorButtonUp(floorNumber)) ||
-                (currentDirection == Direction.DOWN && client.getFloorButtonDown(floorNumber));
-    }
-
-
-    private List<Integer> addOutsideRequestIfNew(int floor, List<Integer> outsideRequests) {
-        if (!outsideRequests.contains(floor)) {
-            outsideRequests.add(floor);
-        }
-
-        return outsideRequests;
+                requests.hasHallCall(outsideRequest, currentDirection) &&
+                !assignments.isAssigned(outsideRequest, currentDirection);
     }
 }
@@ -0,0 +1,19 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+public enum RecoveryState {
+    IDLE("idle"),
+    WATCHING("watching"),
+    NUDGED("nudged"),
+    RETARGETED("retargeted");
+
+    private String state;
+
+    private RecoveryState(String state) {
+        this.state = state;
+    }
+
+    @Override
+    public String toString() {
+        return this.state;
+    }
+}
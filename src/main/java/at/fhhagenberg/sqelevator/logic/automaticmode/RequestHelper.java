@@ -1,44 +1,13 @@
 package at.fhhagenberg.sqelevator.logic.automaticmode;
 
-import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
 import at.fhhagenberg.sqelevator.domain.Direction;
 import at.fhhagenberg.sqelevator.domain.Elevator;
 
-import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.List;
 
 public class RequestHelper {
-    IElevatorClient client;
-
-    public RequestHelper(IElevatorClient client) {
-        this.client = client;
-    }
-
-    public Elevator checkElevatorAlreadyAddressed(Integer toFloor, List<Elevator> elevators) throws RemoteException {
-        if (elevators != null) {
-            // check if there is an elevator available whose target floor is already set on our target floor
-            for (Elevator elevator : elevators) {
-                if (Direction.UNCOMMITED == elevator.directionProperty().get() && null != elevator.getCurrentElevatorFloor() &&
-                        client.getCurrentFloor(elevator).getFloor().getFloorNumber() == toFloor) {
-                    return elevator;
-                }
-            }
-
-            // check if there is an elevator already on the way to this floor
-            for (Elevator elevator : elevators) {
-                if (!(Direction.UNCOMMITED == elevator.directionProperty().get())) {
-                    var targetedFloor = client.getTargetedFloor(elevator).orElse(null);
-
-                    if (targetedFloor != null && targetedFloor.getFloor().getFloorNumber() == toFloor) {
-                        return elevator;
-                    }
-                }
-            }
-        }
-
-        return null;
-    }
 
     public Direction calculateDirection(int currentFloor, int nearestFloor) {
         if (currentFloor < nearestFloor) {
@@ -48,23 +17,35 @@ public class RequestHelper {
         }
     }
 
-    public List<Elevator> findAvailableElevators() throws RemoteException {
-        List<Elevator> elevators = new ArrayList<>();
+    public List<Elevator> findAvailableElevators(List<Elevator> elevators, BuildingSnapshot snapshot) {
+        List<Elevator> availableElevators = new ArrayList<>();
+        var numberOfElevators = Math.min(elevators.size(), snapshot.getNumberOfElevators());
 
-        for (int i = 0; i < elevators.size(); i++) {
-            if (client.getDirection(elevators.get(i)) == Direction.UNCOMMITED) {
-                elevators.add(elevators.get(i));
+        for (int i = 0; i < numberOfElevators; i++) {
+            if (snapshot.getDirection(i) == Direction.UNCOMMITED) {
+                availableElevators.add(elevators.get(i));
             }
         }
 
-        return elevators;
+        return availableElevators;
     }
 
-    public boolean areAllElevatorsInitialized(boolean isFullyInitialized, List<Elevator> elevators) {
+    // elevators are known once every one of them was polled while connected
+    public boolean areAllElevatorsInitialized(boolean isFullyInitialized, BuildingSnapshot snapshot) {
         if (isFullyInitialized) {
             return true;
         }
 
-        return elevators.stream().noneMatch(e -> e.getCurrentElevatorFloor() == null);
+        if (!snapshot.isConnected()) {
+            return false;
+        }
+
+        for (int i = 0; i < snapshot.getNumberOfElevators(); i++) {
+            if (!snapshot.isPolled(i)) {
+                return false;
+            }
+        }
+
+        return true;
     }
 }
@@ -0,0 +1,219 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.FloorBits;
+
+// pending car and hall calls as bitsets, update keeps the xor against the previous tick so
+// newly pressed and cleared calls can be iterated without allocating
+public class RequestStore {
+
+    private static final int WORD_SIZE = Long.SIZE;
+
+    private final int numberOfElevators;
+    private final int numberOfFloors;
+    private final int wordsPerElevator;
+
+    // elevator-major like the snapshot, every elevator owns wordsPerElevator words
+    private final long[] carCalls;
+    private final long[] changedCarCalls;
+    private final long[] upHallCalls;
+    private final long[] changedUpHallCalls;
+    private final long[] downHallCalls;
+    private final long[] changedDownHallCalls;
+
+    public RequestStore(int numberOfElevators, int numberOfFloors) {
+        if (numberOfElevators < 0) {
+            throw new IllegalArgumentException(String.format("Number of elevators must not be negative but was: %d", numberOfElevators));
+        }
+
+        if (numberOfFloors < 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must not be negative but was: %d", numberOfFloors));
+        }
+
+        this.numberOfElevators = numberOfElevators;
+        this.numberOfFloors = numberOfFloors;
+        this.wordsPerElevator = FloorBits.words(numberOfFloors);
+
+        this.carCalls = new long[numberOfElevators * wordsPerElevator];
+        this.changedCarCalls = new long[numberOfElevators * wordsPerElevator];
+        this.upHallCalls = FloorBits.create(numberOfFloors);
+        this.changedUpHallCalls = FloorBits.create(numberOfFloors);
+        this.downHallCalls = FloorBits.create(numberOfFloors);
+        this.changedDownHallCalls = FloorBits.create(numberOfFloors);
+    }
+
+    public int getNumberOfElevators() {
+        return numberOfElevators;
+    }
+
+    public int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    // takes over the calls of the snapshot and returns whether any call was pressed or cleared since the last update
+    public boolean update(BuildingSnapshot snapshot) {
+        if (snapshot.getNumberOfElevators() != numberOfElevators || snapshot.getNumberOfFloors() != numberOfFloors) {
+            throw new IllegalArgumentException(String.format("Snapshot of %d elevators and %d floors does not match %d elevators and %d floors",
+                    snapshot.getNumberOfElevators(), snapshot.getNumberOfFloors(), numberOfElevators, numberOfFloors));
+        }
+
+        var hasChanged = false;
+
+        for (int elevator = 0; elevator < numberOfElevators; elevator++) {
+            for (int word = 0; word < wordsPerElevator; word++) {
+                hasChanged |= updateWord(carCalls, changedCarCalls, elevator * wordsPerElevator + word, snapshot.getButtonWord(elevator, word));
+            }
+        }
+
+        for (int word = 0; word < upHallCalls.length; word++) {
+            hasChanged |= updateWord(upHallCalls, changedUpHallCalls, word, snapshot.getUpRequestWord(word));
+            hasChanged |= updateWord(downHallCalls, changedDownHallCalls, word, snapshot.getDownRequestWord(word));
+        }
+
+        return hasChanged;
+    }
+
+    public boolean hasCarCall(int elevator, int floorNumber) {
+        return isFloorBitSet(carCalls, elevator, floorNumber);
+    }
+
+    public long getCarCallWord(int elevator, int word) {
+        return carCalls[elevator * wordsPerElevator + word];
+    }
+
+    public boolean hasCarCalls(int elevator) {
+        return nextCarCall(elevator, 0) != -1;
+    }
+
+    // returns -1 if there is no car call at or above fromFloor
+    public int nextCarCall(int elevator, int fromFloor) {
+        return nextFloorBit(carCalls, null, elevator, fromFloor, false);
+    }
+
+    public int nextPressedCarCall(int elevator, int fromFloor) {
+        return nextFloorBit(carCalls, changedCarCalls, elevator, fromFloor, false);
+    }
+
+    public int nextClearedCarCall(int elevator, int fromFloor) {
+        return nextFloorBit(carCalls, changedCarCalls, elevator, fromFloor, true);
+    }
+
+    public boolean isUpHallCall(int floorNumber) {
+        return FloorBits.isSet(upHallCalls, floorNumber);
+    }
+
+    public boolean isDownHallCall(int floorNumber) {
+        return FloorBits.isSet(downHallCalls, floorNumber);
+    }
+
+    public boolean hasHallCall(int floorNumber) {
+        return isUpHallCall(floorNumber) || isDownHallCall(floorNumber);
+    }
+
+    // an uncommited direction matches a call in either direction
+    public boolean hasHallCall(int floorNumber, Direction direction) {
+        switch (direction) {
+            case UP:
+                return isUpHallCall(floorNumber);
+            case DOWN:
+                return isDownHallCall(floorNumber);
+            default:
+                return hasHallCall(floorNumber);
+        }
+    }
+
+    public boolean hasHallCalls() {
+        return !FloorBits.isEmpty(upHallCalls) || !FloorBits.isEmpty(downHallCalls);
+    }
+
+    // returns -1 if there is no hall call in either direction at or above fromFloor
+    public int nextHallCall(int fromFloor) {
+        return nextBit(upHallCalls, downHallCalls, null, null, fromFloor, false);
+    }
+
+    public int nextUpHallCall(int fromFloor) {
+        return FloorBits.nextSetBit(upHallCalls, fromFloor);
+    }
+
+    public int nextDownHallCall(int fromFloor) {
+        return FloorBits.nextSetBit(downHallCalls, fromFloor);
+    }
+
+    // pressed since the last update
+    public boolean isUpHallCallPressed(int floorNumber) {
+        return isUpHallCall(floorNumber) && FloorBits.isSet(changedUpHallCalls, floorNumber);
+    }
+
+    public boolean isDownHallCallPressed(int floorNumber) {
+        return isDownHallCall(floorNumber) && FloorBits.isSet(changedDownHallCalls, floorNumber);
+    }
+
+    public int nextPressedHallCall(int fromFloor) {
+        return nextBit(upHallCalls, downHallCalls, changedUpHallCalls, changedDownHallCalls, fromFloor, false);
+    }
+
+    public int nextClearedHallCall(int fromFloor) {
+        return nextBit(upHallCalls, downHallCalls, changedUpHallCalls, changedDownHallCalls, fromFloor, true);
+    }
+
+    private boolean updateWord(long[] calls, long[] changedCalls, int word, long currentCalls) {
+        changedCalls[word] = calls[word] ^ currentCalls;
+        calls[word] = currentCalls;
+
+        return changedCalls[word] != 0;
+    }
+
+    private int nextFloorBit(long[] calls, long[] changedCalls, int elevator, int fromFloor, boolean isCleared) {
+        var fromIndex = Math.max(0, fromFloor);
+
+        for (int word = fromIndex / WORD_SIZE; word < wordsPerElevator; word++) {
+            var index = elevator * wordsPerElevator + word;
+            var bits = select(calls[index], changedCalls == null ? 0 : changedCalls[index], changedCalls != null, isCleared);
+
+            if (word == fromIndex / WORD_SIZE) {
+                bits &= -1L << fromIndex;
+            }
+
+            if (bits != 0) {
+                return word * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+            }
+        }
+
+        return -1;
+    }
+
+    private int nextBit(long[] upCalls, long[] downCalls, long[] changedUpCalls, long[] changedDownCalls, int fromFloor, boolean isCleared) {
+        var fromIndex = Math.max(0, fromFloor);
+        var isChangeOnly = changedUpCalls != null;
+
+        for (int word = fromIndex / WORD_SIZE; word < upCalls.length; word++) {
+            var bits = select(upCalls[word], isChangeOnly ? changedUpCalls[word] : 0, isChangeOnly, isCleared)
+                    | select(downCalls[word], isChangeOnly ? changedDownCalls[word] : 0, isChangeOnly, isCleared);
+
+            if (word == fromIndex / WORD_SIZE) {
+                bits &= -1L << fromIndex;
+            }
+
+            if (bits != 0) {
+                return word * WORD_SIZE + Long.numberOfTrailingZeros(bits);
+            }
+        }
+
+        return -1;
+    }
+
+    // changed bits that are set now were pressed, changed bits that are not set anymore were cleared
+    private long select(long calls, long changedCalls, boolean isChangeOnly, boolean isCleared) {
+        if (!isChangeOnly) {
+            return calls;
+        }
+
+        return isCleared ? changedCalls & ~calls : changedCalls & calls;
+    }
+
+    private boolean isFloorBitSet(long[] bits, int elevator, int floorNumber) {
+        return floorNumber >= 0 && floorNumber < numberOfFloors
+                && FloorBits.isSet(bits, elevator * wordsPerElevator * WORD_SIZE + floorNumber);
+    }
+}
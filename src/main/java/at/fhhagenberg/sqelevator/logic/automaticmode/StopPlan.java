@@ -0,0 +1,144 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.FloorBits;
+
+import java.util.Arrays;
+
+// the floors one car still has to stop at, kept as a bitset so the stops come out sorted by floor in either direction
+public class StopPlan {
+
+    public static final int NONE = -1;
+
+    private final int numberOfFloors;
+    private final long[] stops;
+
+    public StopPlan(int numberOfFloors) {
+        if (numberOfFloors <= 0) {
+            throw new IllegalArgumentException(String.format("Number of floors must be positive but was: %d", numberOfFloors));
+        }
+
+        this.numberOfFloors = numberOfFloors;
+        this.stops = FloorBits.create(numberOfFloors);
+    }
+
+    public int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    public boolean contains(int floorNumber) {
+        return floorNumber >= 0 && floorNumber < numberOfFloors && FloorBits.isSet(stops, floorNumber);
+    }
+
+    public void add(int floorNumber) {
+        checkFloor(floorNumber);
+        FloorBits.set(stops, floorNumber);
+    }
+
+    public void remove(int floorNumber) {
+        checkFloor(floorNumber);
+        FloorBits.clear(stops, floorNumber);
+    }
+
+    public boolean isEmpty() {
+        return FloorBits.isEmpty(stops);
+    }
+
+    public void clear() {
+        Arrays.fill(stops, 0);
+    }
+
+    // replaces the plan with the pressed car call buttons of the given car
+    public void resetToCarCalls(RequestStore requests, int elevator) {
+        for (int word = 0; word < stops.length; word++) {
+            stops[word] = requests.getCarCallWord(elevator, word);
+        }
+    }
+
+    public int size() {
+        var size = 0;
+
+        for (var word : stops) {
+            size += Long.bitCount(word);
+        }
+
+        return size;
+    }
+
+    // the closest stop strictly above the floor, NONE if there is none
+    public int nextAbove(int floorNumber) {
+        return FloorBits.nextSetBit(stops, floorNumber + 1);
+    }
+
+    // the closest stop strictly below the floor, NONE if there is none
+    public int nextBelow(int floorNumber) {
+        var highest = Math.min(floorNumber, numberOfFloors) - 1;
+
+        for (int word = highest >> 6; word >= 0; word--) {
+            var bits = stops[word];
+
+            if (word == highest >> 6) {
+                var shift = 63 - (highest & 63);
+                bits = (bits << shift) >>> shift;
+            }
+
+            if (bits != 0) {
+                return word * Long.SIZE + 63 - Long.numberOfLeadingZeros(bits);
+            }
+        }
+
+        return NONE;
+    }
+
+    public int nextStop(int floorNumber, Direction direction) {
+        switch (direction) {
+            case UP:
+                return nextAbove(floorNumber);
+            case DOWN:
+                return nextBelow(floorNumber);
+            default:
+                return nearest(floorNumber);
+        }
+    }
+
+    // the stop closest to the floor including the floor itself, the upper one on a tie
+    public int nearest(int floorNumber) {
+        if (contains(floorNumber)) {
+            return floorNumber;
+        }
+
+        var above = nextAbove(floorNumber);
+        var below = nextBelow(floorNumber);
+
+        if (above == NONE) {
+            return below;
+        }
+
+        if (below == NONE || above - floorNumber <= floorNumber - below) {
+            return above;
+        }
+
+        return below;
+    }
+
+    // the last stop of a sweep from the floor in the given direction, the floor itself if there is none
+    public int farthest(int floorNumber, Direction direction) {
+        if (direction == Direction.UP) {
+            var highest = nextBelow(numberOfFloors);
+            return highest > floorNumber ? highest : floorNumber;
+        }
+
+        if (direction == Direction.DOWN) {
+            var lowest = FloorBits.nextSetBit(stops, 0);
+            return lowest != NONE && lowest < floorNumber ? lowest : floorNumber;
+        }
+
+        return floorNumber;
+    }
+
+    private void checkFloor(int floorNumber) {
+        if (floorNumber < 0 || floorNumber >= numberOfFloors) {
+            throw new IllegalArgumentException(String.format("Floor must be between 0 and %d but was: %d", numberOfFloors - 1, floorNumber));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// per elevator state machine: watching -> nudged to its current floor -> retargeted -> watching,
+// every step runs on the scheduler so a stuck car never holds up a dispatch pass. targets go through the channel of
+// the dispatcher and are sent right away, a stuck car may not trigger another pass that would flush them
+public class StuckElevatorRecovery {
+
+    private static final Logger LOGGER = Logger.getLogger("StuckElevatorRecovery");
+
+    private final TargetCommandChannel commands;
+    private final List<Elevator> elevators;
+    private final long stuckThreshold;
+    private final long settleDelay;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+
+    private final RecoveryState[] states;
+    private final int[] lastKnownFloors;
+    private final Integer[] targets;
+    private final long[] lastMovedTimes;
+    private final long[] generations;
+    private final long[] recoveryCounts;
+    private final AtomicLong rpcCalls = new AtomicLong();
+
+    public StuckElevatorRecovery(TargetCommandChannel commands, List<Elevator> elevators, long stuckThreshold, long settleDelay) {
+        this(commands, elevators, stuckThreshold, settleDelay, Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "elevator-stuck-recovery");
+            thread.setDaemon(true);
+            return thread;
+        }), System::currentTimeMillis);
+    }
+
+    StuckElevatorRecovery(TargetCommandChannel commands, List<Elevator> elevators, long stuckThreshold, long settleDelay,
+                          ScheduledExecutorService scheduler, LongSupplier clock) {
+        if (commands == null) {
+            throw new IllegalArgumentException("Target command channel must not be null!");
+        }
+
+        if (stuckThreshold <= 0) {
+            throw new IllegalArgumentException(String.format("Stuck threshold must be positive but was: %d", stuckThreshold));
+        }
+
+        if (settleDelay < 0) {
+            throw new IllegalArgumentException(String.format("Settle delay must not be negative but was: %d", settleDelay));
+        }
+
+        this.commands = commands;
+        this.elevators = elevators;
+        this.stuckThreshold = stuckThreshold;
+        this.settleDelay = settleDelay;
+        this.scheduler = scheduler;
+        this.clock = clock;
+
+        this.states = new RecoveryState[elevators.size()];
+        this.lastKnownFloors = new int[elevators.size()];
+        this.targets = new Integer[elevators.size()];
+        this.lastMovedTimes = new long[elevators.size()];
+        this.generations = new long[elevators.size()];
+        this.recoveryCounts = new long[elevators.size()];
+
+        Arrays.fill(states, RecoveryState.IDLE);
+        Arrays.fill(lastKnownFloors, -1);
+    }
+
+    // called once per dispatch pass, only cars with a target they have not reached yet are watched
+    public synchronized void observe(int index, int currentFloor, Integer target) {
+        var now = clock.getAsLong();
+        var hasMoved = lastKnownFloors[index] != currentFloor;
+        var isIdle = target == null || target == currentFloor;
+
+        lastKnownFloors[index] = currentFloor;
+        targets[index] = target;
+
+        if (hasMoved) {
+            lastMovedTimes[index] = now;
+        }
+
+        if (isIdle) {
+            if (states[index] == RecoveryState.WATCHING) {
+                transitionTo(index, RecoveryState.IDLE);
+            }
+
+            return;
+        }
+
+        // a recovery in progress finishes on its own, movement while watching only pushes the deadline
+        if (states[index] == RecoveryState.IDLE || (hasMoved && states[index] == RecoveryState.WATCHING)) {
+            transitionTo(index, RecoveryState.WATCHING);
+            schedule(index, lastMovedTimes[index] + stuckThreshold - now, this::checkStuck);
+        }
+    }
+
+    public synchronized RecoveryState getState(int index) {
+        return states[index];
+    }
+
+    public synchronized long getRecoveryCount(int index) {
+        return recoveryCounts[index];
+    }
+
+    public long getRpcCalls() {
+        return rpcCalls.get();
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void checkStuck(int index, long generation) {
+        int nudgeFloor;
+
+        synchronized (this) {
+            if (generations[index] != generation) {
+                return;
+            }
+
+            if (clock.getAsLong() - lastMovedTimes[index] < stuckThreshold) {
+                schedule(index, lastMovedTimes[index] + stuckThreshold - clock.getAsLong(), this::checkStuck);
+                return;
+            }
+
+            nudgeFloor = lastKnownFloors[index];
+            transitionTo(index, RecoveryState.NUDGED);
+            schedule(index, settleDelay, this::retarget);
+        }
+
+        setTarget(index, nudgeFloor);
+    }
+
+    private void retarget(int index, long generation) {
+        Integer target;
+
+        synchronized (this) {
+            if (generations[index] != generation) {
+                return;
+            }
+
+            target = targets[index];
+            recoveryCounts[index]++;
+            transitionTo(index, RecoveryState.RETARGETED);
+            schedule(index, settleDelay, this::settle);
+        }
+
+        if (target != null) {
+            setTarget(index, target);
+        }
+    }
+
+    private synchronized void settle(int index, long generation) {
+        if (generations[index] != generation) {
+            return;
+        }
+
+        lastMovedTimes[index] = clock.getAsLong();
+        transitionTo(index, RecoveryState.IDLE);
+    }
+
+    private void transitionTo(int index, RecoveryState state) {
+        states[index] = state;
+        generations[index]++;
+    }
+
+    // steps of an earlier generation are outdated by a later transition and do nothing
+    private void schedule(int index, long delay, RecoveryStep step) {
+        var generation = generations[index];
+
+        scheduler.schedule(() -> step.run(index, generation), Math.max(0, delay), TimeUnit.MILLISECONDS);
+    }
+
+    private void setTarget(int index, int floorNumber) {
+        try {
+            commands.setTarget(index, floorNumber);
+
+            if (commands.flush(elevators, index)) {
+                rpcCalls.incrementAndGet();
+            }
+        } catch (RemoteException e) {
+            LOGGER.log(Level.WARNING, e.getLocalizedMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecoveryStep {
+        void run(int index, long generation);
+    }
+}
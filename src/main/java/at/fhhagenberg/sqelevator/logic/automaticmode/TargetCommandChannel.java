@@ -0,0 +1,193 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// sits in front of setTarget: targets are staged during a pass and only the last one per car is sent on flush, a
+// target the car already has is not sent again and a car retargeted within the coalescing window keeps its staged
+// target until the window is over. the strategies of one client share a channel and the stuck elevator recovery sends
+// through it from its own thread
+public class TargetCommandChannel {
+
+    // one polling interval, a car retargeted in consecutive polls gets every target, only faster retargets are held
+    public static final long DEFAULT_COALESCING_WINDOW = 100;
+
+    private static final int NONE = -1;
+
+    private final IElevatorClient client;
+    private final long coalescingWindow;
+    private final LongSupplier clock;
+
+    private int[] stagedTargets = new int[0];
+    private int[] sentTargets = new int[0];
+    private int[] acknowledgedTargets = new int[0];
+    private long[] lastSentTimes = new long[0];
+
+    private long sentCount;
+    private long elidedCount;
+    private long coalescedCount;
+
+    public TargetCommandChannel(IElevatorClient client) {
+        this(client, DEFAULT_COALESCING_WINDOW);
+    }
+
+    // coalescingWindow in milliseconds
+    public TargetCommandChannel(IElevatorClient client, long coalescingWindow) {
+        this(client, coalescingWindow, System::currentTimeMillis);
+    }
+
+    TargetCommandChannel(IElevatorClient client, long coalescingWindow, LongSupplier clock) {
+        if (client == null) {
+            throw new IllegalArgumentException("Client must not be null!");
+        }
+
+        if (coalescingWindow < 0) {
+            throw new IllegalArgumentException(String.format("Coalescing window must not be negative but was: %d", coalescingWindow));
+        }
+
+        this.client = client;
+        this.coalescingWindow = coalescingWindow;
+        this.clock = clock;
+    }
+
+    public IElevatorClient getClient() {
+        return client;
+    }
+
+    public long getCoalescingWindow() {
+        return coalescingWindow;
+    }
+
+    public synchronized long getSentCount() {
+        return sentCount;
+    }
+
+    // targets not sent because the car already had them
+    public synchronized long getElidedCount() {
+        return elidedCount;
+    }
+
+    // targets replaced by a later target for the same car before they were sent
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    // the last target sent to a car, -1 if nothing was sent or the target is done or was changed since
+    public synchronized int getSentTarget(int elevator) {
+        return elevator < sentTargets.length ? sentTargets[elevator] : NONE;
+    }
+
+    public synchronized boolean hasStagedTarget(int elevator) {
+        return elevator < stagedTargets.length && stagedTargets[elevator] != NONE;
+    }
+
+    public synchronized void setTarget(int elevator, int floorNumber) {
+        ensureCapacity(elevator + 1);
+
+        if (stagedTargets[elevator] != NONE && stagedTargets[elevator] != floorNumber) {
+            coalescedCount++;
+        }
+
+        stagedTargets[elevator] = floorNumber;
+    }
+
+    // a sent target is acknowledged once the simulator reports it and done once the car opens its door there, a target
+    // that is done or was changed by someone else, e.g. in manual mode, is sent again when asked for
+    public synchronized void acknowledge(BuildingSnapshot snapshot) {
+        ensureCapacity(snapshot.getNumberOfElevators());
+
+        for (int i = 0; i < snapshot.getNumberOfElevators(); i++) {
+            if (sentTargets[i] == NONE) {
+                continue;
+            }
+
+            var targetedFloor = snapshot.getTargetedFloor(i);
+
+            if (snapshot.getCurrentFloor(i) == sentTargets[i] && snapshot.getDoorStatus(i) == DoorStatus.OPEN) {
+                sentTargets[i] = NONE;
+                acknowledgedTargets[i] = NONE;
+            } else if (targetedFloor == sentTargets[i]) {
+                acknowledgedTargets[i] = targetedFloor;
+            } else if (acknowledgedTargets[i] == sentTargets[i]) {
+                sentTargets[i] = NONE;
+                acknowledgedTargets[i] = NONE;
+            }
+        }
+    }
+
+    // sends the staged targets that are due and returns how many were sent
+    public synchronized int flush(List<Elevator> elevators) throws RemoteException {
+        var now = clock.getAsLong();
+        var sent = 0;
+
+        for (int i = 0; i < stagedTargets.length && i < elevators.size(); i++) {
+            if (send(elevators.get(i), i, now)) {
+                sent++;
+            }
+        }
+
+        return sent;
+    }
+
+    // sends the staged target of one car if it is due, returns true if it was sent
+    public synchronized boolean flush(List<Elevator> elevators, int elevator) throws RemoteException {
+        return elevator < stagedTargets.length && send(elevators.get(elevator), elevator, clock.getAsLong());
+    }
+
+    private boolean send(Elevator elevator, int i, long now) throws RemoteException {
+        var target = stagedTargets[i];
+
+        if (target == NONE) {
+            return false;
+        }
+
+        if (target == sentTargets[i]) {
+            elidedCount++;
+            stagedTargets[i] = NONE;
+            return false;
+        }
+
+        if (sentTargets[i] != NONE && now - lastSentTimes[i] < coalescingWindow) {
+            return false;
+        }
+
+        stagedTargets[i] = NONE;
+        sentTargets[i] = NONE;
+
+        client.setTarget(elevator, target);
+
+        sentTargets[i] = target;
+        acknowledgedTargets[i] = NONE;
+        lastSentTimes[i] = now;
+        sentCount++;
+        return true;
+    }
+
+    public synchronized void reset() {
+        Arrays.fill(stagedTargets, NONE);
+        Arrays.fill(sentTargets, NONE);
+        Arrays.fill(acknowledgedTargets, NONE);
+    }
+
+    private void ensureCapacity(int numberOfElevators) {
+        if (stagedTargets.length < numberOfElevators) {
+            var previousLength = stagedTargets.length;
+
+            stagedTargets = Arrays.copyOf(stagedTargets, numberOfElevators);
+            sentTargets = Arrays.copyOf(sentTargets, numberOfElevators);
+            acknowledgedTargets = Arrays.copyOf(acknowledgedTargets, numberOfElevators);
+            lastSentTimes = Arrays.copyOf(lastSentTimes, numberOfElevators);
+
+            Arrays.fill(stagedTargets, previousLength, numberOfElevators, NONE);
+            Arrays.fill(sentTargets, previousLength, numberOfElevators, NONE);
+            Arrays.fill(acknowledgedTargets, previousLength, numberOfElevators, NONE);
+        }
+    }
+}
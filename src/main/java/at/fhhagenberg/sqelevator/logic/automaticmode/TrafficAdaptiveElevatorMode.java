@@ -0,0 +1,107 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+// runs the strategy that fits the current traffic mode, the switch happens within a pass on the dispatch thread so
+// the new strategy already dispatches the snapshot that triggered it. the strategy given up is reset through setClient
+// so that it starts from the current calls when its traffic mode comes back
+public class TrafficAdaptiveElevatorMode implements IAutomaticModeStrategy {
+
+    private static final Logger LOGGER = Logger.getLogger("TrafficAdaptiveElevatorMode");
+
+    private final TrafficClassifier classifier;
+    private final IAutomaticModeStrategy defaultStrategy;
+    private final Map<TrafficMode, IAutomaticModeStrategy> strategies = new EnumMap<>(TrafficMode.class);
+
+    private IElevatorClient client;
+    private IAutomaticModeStrategy activeStrategy;
+    private long lastObservedClockTick = -1;
+
+    // the default strategy runs in every traffic mode without a strategy of its own
+    public TrafficAdaptiveElevatorMode(IElevatorClient client, TrafficClassifier classifier, IAutomaticModeStrategy defaultStrategy) {
+        if (classifier == null) {
+            throw new IllegalArgumentException("Traffic classifier must not be null!");
+        }
+
+        if (defaultStrategy == null) {
+            throw new IllegalArgumentException("Default strategy must not be null!");
+        }
+
+        this.client = client;
+        this.classifier = classifier;
+        this.defaultStrategy = defaultStrategy;
+        this.activeStrategy = defaultStrategy;
+    }
+
+    public void setStrategy(TrafficMode trafficMode, IAutomaticModeStrategy strategy) {
+        if (trafficMode == null) {
+            throw new IllegalArgumentException("Traffic mode must not be null!");
+        }
+
+        if (strategy == null) {
+            throw new IllegalArgumentException("Strategy must not be null!");
+        }
+
+        strategies.put(trafficMode, strategy);
+    }
+
+    public IAutomaticModeStrategy getStrategy(TrafficMode trafficMode) {
+        return strategies.getOrDefault(trafficMode, defaultStrategy);
+    }
+
+    public IAutomaticModeStrategy getActiveStrategy() {
+        return activeStrategy;
+    }
+
+    public TrafficClassifier getClassifier() {
+        return classifier;
+    }
+
+    @Override
+    public void execute(BuildingSnapshot snapshot) {
+        if (snapshot.getClockTick() != lastObservedClockTick) {
+            lastObservedClockTick = snapshot.getClockTick();
+
+            var previousMode = classifier.getMode();
+
+            if (classifier.observe(snapshot)) {
+                switchStrategy(previousMode, getStrategy(classifier.getMode()));
+            }
+        }
+
+        activeStrategy.execute(snapshot);
+    }
+
+    @Override
+    public void setClient(IElevatorClient client) {
+        this.client = client;
+        this.activeStrategy.setClient(client);
+    }
+
+    // the metrics of the active strategy, every strategy only counts the passes it ran
+    @Override
+    public DispatchMetrics getMetrics() {
+        return activeStrategy.getMetrics();
+    }
+
+    // a mode that maps to the active strategy changes nothing, the strategy keeps its state
+    private void switchStrategy(TrafficMode previousMode, IAutomaticModeStrategy strategy) {
+        if (strategy == activeStrategy) {
+            return;
+        }
+
+        LOGGER.log(Level.INFO, "Traffic mode {0} -> {1}, seen for {2} ticks with {3}, strategy {4} -> {5}", new Object[]{
+                previousMode, classifier.getMode(), classifier.getConfirmationTicks(), classifier.describe(),
+                activeStrategy.getClass().getSimpleName(), strategy.getClass().getSimpleName()});
+
+        activeStrategy.setClient(client);
+        strategy.setClient(client);
+        activeStrategy = strategy;
+    }
+}
@@ -0,0 +1,206 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+
+// tells the traffic mode from the calls pressed in the recent past: the share of up hall calls pressed at the lobby
+// (incoming) and the share of car calls to the lobby (outgoing). a mode is entered above its enter share, left only
+// below its lower exit share and a new mode has to be seen for a number of clock ticks before it is switched to. a pass
+// only runs when the snapshot changed, so the simulator clock and not the number of passes tells how much time went by
+public class TrafficClassifier {
+
+    public static final int LOBBY = 0;
+
+    // weight a call keeps per clock tick, calls fade out over a few hundred ticks
+    public static final double DEFAULT_RETENTION = 0.99;
+    public static final int DEFAULT_CONFIRMATION_TICKS = 20;
+
+    // below this many recent calls there is too little traffic to tell and it counts as inter-floor
+    private static final double MINIMUM_CALLS = 5;
+
+    private static final double PEAK_ENTER_SHARE = 0.5;
+    private static final double PEAK_EXIT_SHARE = 0.35;
+    private static final double LUNCH_ENTER_SHARE = 0.3;
+    private static final double LUNCH_EXIT_SHARE = 0.2;
+
+    private final double retention;
+    private final int confirmationTicks;
+
+    private RequestStore requests;
+    private double hallCalls;
+    private double incomingCalls;
+    private double carCalls;
+    private double outgoingCalls;
+
+    private TrafficMode mode = TrafficMode.INTER_FLOOR;
+    private TrafficMode candidate;
+    private long candidateSince;
+    private int confirmations;
+    private long lastClockTick = -1;
+    private long switchCount;
+
+    public TrafficClassifier() {
+        this(DEFAULT_RETENTION, DEFAULT_CONFIRMATION_TICKS);
+    }
+
+    public TrafficClassifier(double retention, int confirmationTicks) {
+        if (retention <= 0 || retention >= 1) {
+            throw new IllegalArgumentException(String.format("Retention must be between 0 and 1 but was: %f", retention));
+        }
+
+        if (confirmationTicks <= 0) {
+            throw new IllegalArgumentException(String.format("Confirmation ticks must be positive but was: %d", confirmationTicks));
+        }
+
+        this.retention = retention;
+        this.confirmationTicks = confirmationTicks;
+    }
+
+    public TrafficMode getMode() {
+        return mode;
+    }
+
+    // the mode the traffic currently looks like if it differs from the active one, null otherwise
+    public TrafficMode getCandidate() {
+        return candidate;
+    }
+
+    public int getConfirmationTicks() {
+        return confirmationTicks;
+    }
+
+    // clock ticks the candidate has been seen for, the tick it was first seen at included
+    public int getConfirmations() {
+        return confirmations;
+    }
+
+    public long getSwitchCount() {
+        return switchCount;
+    }
+
+    public double getIncomingShare() {
+        return hallCalls == 0 ? 0 : incomingCalls / hallCalls;
+    }
+
+    public double getOutgoingShare() {
+        return carCalls == 0 ? 0 : outgoingCalls / carCalls;
+    }
+
+    // returns true if the mode changed with this snapshot
+    public boolean observe(BuildingSnapshot snapshot) {
+        if (requests == null || requests.getNumberOfElevators() != snapshot.getNumberOfElevators()
+                || requests.getNumberOfFloors() != snapshot.getNumberOfFloors()) {
+            requests = new RequestStore(snapshot.getNumberOfElevators(), snapshot.getNumberOfFloors());
+        }
+
+        var clockTick = snapshot.getClockTick();
+        var elapsedTicks = 0L;
+
+        // the first snapshot and one of a simulator that started its clock over have nothing to measure against
+        if (lastClockTick >= 0 && clockTick >= lastClockTick) {
+            elapsedTicks = clockTick - lastClockTick;
+        } else {
+            candidate = null;
+        }
+
+        lastClockTick = clockTick;
+        requests.update(snapshot);
+        countPressedCalls(Math.pow(retention, elapsedTicks));
+
+        var observed = classify();
+
+        if (observed == mode) {
+            candidate = null;
+            confirmations = 0;
+            return false;
+        }
+
+        if (observed != candidate) {
+            candidate = observed;
+            candidateSince = clockTick;
+        }
+
+        confirmations = (int) Math.min(Integer.MAX_VALUE, clockTick - candidateSince + 1);
+
+        if (confirmations < confirmationTicks) {
+            return false;
+        }
+
+        mode = observed;
+        candidate = null;
+        confirmations = 0;
+        switchCount++;
+        return true;
+    }
+
+    // the shares the mode was told from and how far a candidate got towards replacing it
+    public String describe() {
+        var description = String.format("incoming share: %.2f, outgoing share: %.2f, recent calls: %.1f",
+                getIncomingShare(), getOutgoingShare(), hallCalls + carCalls);
+
+        if (candidate == null) {
+            return description;
+        }
+
+        return String.format("%s, candidate %s for %d of %d ticks", description, candidate, confirmations, confirmationTicks);
+    }
+
+    private void countPressedCalls(double decay) {
+        hallCalls *= decay;
+        incomingCalls *= decay;
+        carCalls *= decay;
+        outgoingCalls *= decay;
+
+        for (int floorNumber = requests.nextPressedHallCall(0); floorNumber != -1; floorNumber = requests.nextPressedHallCall(floorNumber + 1)) {
+            if (requests.isUpHallCallPressed(floorNumber)) {
+                hallCalls++;
+
+                if (floorNumber == LOBBY) {
+                    incomingCalls++;
+                }
+            }
+
+            if (requests.isDownHallCallPressed(floorNumber)) {
+                hallCalls++;
+            }
+        }
+
+        for (int i = 0; i < requests.getNumberOfElevators(); i++) {
+            for (int floorNumber = requests.nextPressedCarCall(i, 0); floorNumber != -1; floorNumber = requests.nextPressedCarCall(i, floorNumber + 1)) {
+                carCalls++;
+
+                if (floorNumber == LOBBY) {
+                    outgoingCalls++;
+                }
+            }
+        }
+    }
+
+    // the active mode is held to the lower exit share, every other mode has to reach its enter share
+    private TrafficMode classify() {
+        if (hallCalls + carCalls < MINIMUM_CALLS) {
+            return TrafficMode.INTER_FLOOR;
+        }
+
+        var incomingShare = getIncomingShare();
+        var outgoingShare = getOutgoingShare();
+
+        if (incomingShare >= share(TrafficMode.LUNCH, LUNCH_ENTER_SHARE, LUNCH_EXIT_SHARE)
+                && outgoingShare >= share(TrafficMode.LUNCH, LUNCH_ENTER_SHARE, LUNCH_EXIT_SHARE)) {
+            return TrafficMode.LUNCH;
+        }
+
+        if (incomingShare >= share(TrafficMode.UP_PEAK, PEAK_ENTER_SHARE, PEAK_EXIT_SHARE)) {
+            return TrafficMode.UP_PEAK;
+        }
+
+        if (outgoingShare >= share(TrafficMode.DOWN_PEAK, PEAK_ENTER_SHARE, PEAK_EXIT_SHARE)) {
+            return TrafficMode.DOWN_PEAK;
+        }
+
+        return TrafficMode.INTER_FLOOR;
+    }
+
+    private double share(TrafficMode trafficMode, double enterShare, double exitShare) {
+        return mode == trafficMode ? exitShare : enterShare;
+    }
+}
@@ -0,0 +1,22 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+public enum TrafficMode {
+    // most passengers arrive at the lobby and go up
+    UP_PEAK("up peak"),
+    // most passengers leave the building through the lobby
+    DOWN_PEAK("down peak"),
+    // heavy lobby traffic in both directions
+    LUNCH("lunch"),
+    INTER_FLOOR("inter floor");
+
+    private String trafficMode;
+
+    private TrafficMode(String trafficMode) {
+        this.trafficMode = trafficMode;
+    }
+
+    @Override
+    public String toString() {
+        return this.trafficMode;
+    }
+}
@@ -63,6 +63,22 @@ class ElevatorClientTest {
         assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.setTarget(elevator, null));
     }
 
+    @Test
+    void testSetServicesFloors() throws RemoteException {
+        final var elevator = mock(Elevator.class);
+
+        when(elevator.getElevatorNumber()).thenReturn(0);
+
+        this.elevatorClient.setServicesFloors(elevator, 3, false);
+
+        verify(client).setServicesFloors(0, 3, false);
+    }
+
+    @Test
+    void testSetServicesFloors_ElevatorIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.setServicesFloors(null, 3, false));
+    }
+
     @Test
     void testGetElevators() {
         var elevators = this.elevatorClient.getElevators();
@@ -226,6 +242,23 @@ class ElevatorClientTest {
         assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.getCurrentWeightLoad(null));
     }
 
+    @Test
+    void testGetMaximumPayload() throws RemoteException {
+        final int elevatorNumber = 0;
+        final var elevator = getMockElevator(elevatorNumber);
+
+        when(client.getElevatorCapacity(elevatorNumber)).thenReturn(10);
+
+        var maximumPayload = this.elevatorClient.getMaximumPayload(elevator);
+
+        assertEquals(800.0, maximumPayload);
+    }
+
+    @Test
+    void testGetMaximumPayload_ElevatorIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.getMaximumPayload(null));
+    }
+
     @Test
     void testGetDirection_ElevatorDirectionUp() throws RemoteException {
         final int elevatorNumber = 0;
@@ -386,6 +419,64 @@ class ElevatorClientTest {
         assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.isServiceEnabled(elevator, null));
     }
 
+    @Test
+    void testGetClockTick() throws RemoteException {
+        when(client.getClockTick()).thenReturn(1234L);
+
+        assertEquals(1234L, this.elevatorClient.getClockTick());
+    }
+
+    @Test
+    void testGetCurrentFloorNumber() throws RemoteException {
+        when(client.getElevatorFloor(0)).thenReturn(3);
+
+        assertEquals(3, this.elevatorClient.getCurrentFloorNumber(0));
+    }
+
+    @Test
+    void testGetTargetedFloorNumber() throws RemoteException {
+        when(client.getTarget(0)).thenReturn(4);
+
+        assertEquals(4, this.elevatorClient.getTargetedFloorNumber(0));
+    }
+
+    @Test
+    void testGetElevatorDoorStatus_ByNumber() throws RemoteException {
+        when(client.getElevatorDoorStatus(0)).thenReturn(2);
+
+        assertEquals(DoorStatus.CLOSED, this.elevatorClient.getElevatorDoorStatus(0));
+    }
+
+    @Test
+    void testGetDirection_ByNumber() throws RemoteException {
+        when(client.getCommittedDirection(0)).thenReturn(1);
+
+        assertEquals(Direction.DOWN, this.elevatorClient.getDirection(0));
+    }
+
+    @Test
+    void testGetCurrentVelocityAndWeightLoad_ByNumber() throws RemoteException {
+        when(client.getElevatorSpeed(0)).thenReturn(3);
+        when(client.getElevatorWeight(0)).thenReturn(240);
+
+        assertEquals(3.0, this.elevatorClient.getCurrentVelocity(0));
+        assertEquals(240.0, this.elevatorClient.getCurrentWeightLoad(0));
+    }
+
+    @Test
+    void testIsElevatorButtonPressed() throws RemoteException {
+        when(client.getElevatorButton(0, 2)).thenReturn(true);
+
+        assertTrue(this.elevatorClient.isElevatorButtonPressed(0, 2));
+    }
+
+    @Test
+    void testIsServiceEnabled_ByNumber() throws RemoteException {
+        when(client.getServicesFloors(0, 2)).thenReturn(true);
+
+        assertTrue(this.elevatorClient.isServiceEnabled(0, 2));
+    }
+
     private Elevator getMockElevator(int elevatorNumber) {
         var elevator = mock(Elevator.class);
         var floors = IntStream.range(0, 5)
@@ -413,4 +504,36 @@ class ElevatorClientTest {
 
         return floor;
     }
+
+    @Test
+    void testReconnect_SameBuilding() throws RemoteException {
+        var reconnectedClient = mock(IElevator.class);
+        var elevator = this.elevatorClient.getElevators().get(0);
+
+        when(reconnectedClient.getElevatorNum()).thenReturn(1);
+        when(reconnectedClient.getFloorNum()).thenReturn(5);
+        when(reconnectedClient.getElevatorCapacity(0)).thenReturn(10);
+        when(reconnectedClient.getClockTick()).thenReturn(42L);
+
+        assertTrue(this.elevatorClient.reconnect(reconnectedClient));
+        assertSame(elevator, this.elevatorClient.getElevators().get(0));
+        assertEquals(800.0, elevator.getMaximumPayload());
+        assertEquals(42L, this.elevatorClient.getClockTick());
+    }
+
+    @Test
+    void testReconnect_DifferentBuilding() throws RemoteException {
+        var reconnectedClient = mock(IElevator.class);
+
+        when(reconnectedClient.getElevatorNum()).thenReturn(1);
+        when(reconnectedClient.getFloorNum()).thenReturn(7);
+
+        assertFalse(this.elevatorClient.reconnect(reconnectedClient));
+        verify(reconnectedClient, never()).getClockTick();
+    }
+
+    @Test
+    void testReconnect_Null() {
+        assertThrows(IllegalArgumentException.class, () -> this.elevatorClient.reconnect(null));
+    }
 }
@@ -0,0 +1,44 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildingSnapshotPoolTest {
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new BuildingSnapshotPool(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BuildingSnapshotPool(0, -1));
+    }
+
+    @Test
+    void testAcquire() {
+        var pool = new BuildingSnapshotPool(2, 5);
+
+        var snapshot = pool.acquire();
+
+        assertEquals(2, snapshot.getNumberOfElevators());
+        assertEquals(5, snapshot.getNumberOfFloors());
+        assertEquals(1, snapshot.getReferenceCount());
+        assertEquals(1, pool.getCreatedCount());
+    }
+
+    @Test
+    void testRelease_SnapshotIsRecycled() {
+        var pool = new BuildingSnapshotPool(1, 1);
+
+        var snapshot = pool.acquire();
+        snapshot.retain();
+        snapshot.release();
+
+        assertEquals(0, pool.getAvailableCount());
+
+        snapshot.release();
+
+        assertEquals(1, pool.getAvailableCount());
+        assertSame(snapshot, pool.acquire());
+        assertEquals(1, snapshot.getReferenceCount());
+        assertEquals(1, pool.getCreatedCount());
+    }
+}
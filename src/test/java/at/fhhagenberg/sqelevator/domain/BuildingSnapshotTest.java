@@ -0,0 +1,155 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BuildingSnapshotTest {
+
+    @Test
+    void testConstructor() {
+        var snapshot = new BuildingSnapshot(2, 70);
+
+        assertEquals(2, snapshot.getNumberOfElevators());
+        assertEquals(70, snapshot.getNumberOfFloors());
+        assertEquals(2, snapshot.getWordsPerElevator());
+        assertTrue(snapshot.isConnected());
+        assertFalse(snapshot.isPolled(0));
+        assertEquals(Direction.UNCOMMITED, snapshot.getDirection(1));
+        assertEquals(DoorStatus.CLOSED, snapshot.getDoorStatus(1));
+        assertFalse(snapshot.hasHallCalls());
+    }
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new BuildingSnapshot(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BuildingSnapshot(0, -1));
+    }
+
+    @Test
+    void testElevatorFields() {
+        var snapshot = new BuildingSnapshot(2, 3);
+
+        snapshot.setPolled(1, true);
+        snapshot.setTorn(1, true);
+        snapshot.setClockTick(1, 42L);
+        snapshot.setCurrentFloor(1, 2);
+        snapshot.setTargetedFloor(1, 0);
+        snapshot.setDirection(1, Direction.DOWN);
+        snapshot.setDoorStatus(1, DoorStatus.OPEN);
+        snapshot.setVelocity(1, 1.5);
+        snapshot.setPayload(1, 160.0);
+        snapshot.setMaximumPayload(1, 800.0);
+
+        assertTrue(snapshot.isPolled(1));
+        assertTrue(snapshot.isTorn(1));
+        assertEquals(42L, snapshot.getClockTick(1));
+        assertEquals(2, snapshot.getCurrentFloor(1));
+        assertEquals(0, snapshot.getTargetedFloor(1));
+        assertEquals(Direction.DOWN, snapshot.getDirection(1));
+        assertEquals(DoorStatus.OPEN, snapshot.getDoorStatus(1));
+        assertEquals(1.5, snapshot.getVelocity(1));
+        assertEquals(160.0, snapshot.getPayload(1));
+        assertEquals(800.0, snapshot.getMaximumPayload(1));
+        assertFalse(snapshot.isPolled(0));
+    }
+
+    @Test
+    void testButtons_SeparatedPerElevator() {
+        var snapshot = new BuildingSnapshot(2, 70);
+
+        snapshot.setButtonPressed(1, 65, true);
+
+        assertTrue(snapshot.isButtonPressed(1, 65));
+        assertFalse(snapshot.isButtonPressed(0, 65));
+        assertFalse(snapshot.isButtonPressed(1, 70));
+        assertTrue(snapshot.hasPressedButtons(1));
+        assertFalse(snapshot.hasPressedButtons(0));
+        assertEquals(2L, snapshot.getButtonWord(1, 1));
+    }
+
+    @Test
+    void testServicedFloorsAndHallCalls() {
+        var snapshot = new BuildingSnapshot(1, 3);
+
+        snapshot.setServiced(0, 2, true);
+        snapshot.setUpRequested(0, true);
+        snapshot.setDownRequested(2, true);
+
+        assertTrue(snapshot.isServiced(0, 2));
+        assertFalse(snapshot.isServiced(0, 1));
+        assertTrue(snapshot.isUpRequested(0));
+        assertTrue(snapshot.isDownRequested(2));
+        assertTrue(snapshot.hasHallCalls());
+        assertEquals(1L, snapshot.getUpRequestWord(0));
+        assertEquals(4L, snapshot.getDownRequestWord(0));
+    }
+
+    @Test
+    void testCopy() {
+        var snapshot = new BuildingSnapshot(1, 3);
+
+        snapshot.setClockTick(9L);
+        snapshot.setConnected(false);
+        snapshot.setPolled(0, true);
+        snapshot.setVelocity(0, 2.0);
+        snapshot.setButtonPressed(0, 1, true);
+        snapshot.setServiced(0, 2, true);
+        snapshot.setMaximumPayload(0, 800.0);
+        snapshot.setUpRequested(1, true);
+
+        var copy = snapshot.copy();
+
+        assertNotSame(snapshot, copy);
+        assertEquals(9L, copy.getClockTick());
+        assertFalse(copy.isConnected());
+        assertTrue(copy.isPolled(0));
+        assertEquals(2.0, copy.getVelocity(0));
+        assertTrue(copy.isButtonPressed(0, 1));
+        assertTrue(copy.isServiced(0, 2));
+        assertEquals(800.0, copy.getMaximumPayload(0));
+        assertTrue(copy.isUpRequested(1));
+    }
+
+    @Test
+    void testCopyButtonsFrom_OnlyGivenElevator() {
+        var source = new BuildingSnapshot(2, 3);
+        source.setButtonPressed(0, 1, true);
+        source.setButtonPressed(1, 2, true);
+
+        var snapshot = new BuildingSnapshot(2, 3);
+        snapshot.copyButtonsFrom(source, 1);
+
+        assertFalse(snapshot.isButtonPressed(0, 1));
+        assertTrue(snapshot.isButtonPressed(1, 2));
+    }
+
+    @Test
+    void testCopyFrom_DifferentShape() {
+        var snapshot = new BuildingSnapshot(1, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> snapshot.copyFrom(new BuildingSnapshot(2, 3)));
+    }
+
+    @Test
+    void testRetainRelease() {
+        var snapshot = new BuildingSnapshot(1, 1);
+
+        assertSame(snapshot, snapshot.retain());
+        assertEquals(2, snapshot.getReferenceCount());
+
+        snapshot.release();
+        snapshot.release();
+
+        assertEquals(0, snapshot.getReferenceCount());
+        assertThrows(IllegalStateException.class, snapshot::retain);
+    }
+
+    @Test
+    void testRelease_AlreadyReleased() {
+        var snapshot = new BuildingSnapshot(1, 1);
+        snapshot.release();
+
+        assertThrows(IllegalStateException.class, snapshot::release);
+    }
+}
@@ -0,0 +1,118 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElevatorStatusDeltaTest {
+
+    @Test
+    void testConstructor_Empty() {
+        var delta = new ElevatorStatusDelta(2, 3);
+
+        assertTrue(delta.isEmpty());
+        assertEquals(2, delta.getNumberOfElevators());
+        assertFalse(delta.hasChanged(0));
+        assertFalse(delta.haveHallCallsChanged());
+    }
+
+    @Test
+    void testMarkChanged() {
+        var delta = new ElevatorStatusDelta(1, 0);
+
+        delta.markChanged(0, StatusField.VELOCITY);
+
+        assertFalse(delta.isEmpty());
+        assertTrue(delta.hasChanged(0));
+        assertTrue(delta.hasChanged(0, StatusField.VELOCITY));
+        assertFalse(delta.hasChanged(0, StatusField.PAYLOAD));
+    }
+
+    @Test
+    void testMarkButtonsChanged() {
+        var delta = new ElevatorStatusDelta(2, 3);
+
+        delta.markButtonsChanged(1, 0, 0b100);
+
+        assertTrue(delta.hasChanged(1, StatusField.BUTTONS));
+        assertTrue(delta.isButtonChanged(1, 2));
+        assertFalse(delta.isButtonChanged(1, 1));
+        assertFalse(delta.isButtonChanged(0, 2));
+    }
+
+    @Test
+    void testMarkButtonsChanged_NoChangedBits() {
+        var delta = new ElevatorStatusDelta(1, 3);
+
+        delta.markButtonsChanged(0, 0, 0);
+
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    void testMarkHallCallsChanged() {
+        var delta = new ElevatorStatusDelta(0, 3);
+
+        delta.markUpRequestsChanged(0, 0b010);
+        delta.markDownRequestsChanged(0, 0b100);
+
+        assertFalse(delta.isEmpty());
+        assertTrue(delta.haveHallCallsChanged());
+        assertTrue(delta.isUpRequestChanged(1));
+        assertFalse(delta.isUpRequestChanged(2));
+        assertTrue(delta.isDownRequestChanged(2));
+    }
+
+    @Test
+    void testClear() {
+        var delta = new ElevatorStatusDelta(1, 3);
+
+        delta.setSnapshot(new BuildingSnapshot(1, 3));
+        delta.markAllChanged(0);
+        delta.clear();
+
+        assertTrue(delta.isEmpty());
+        assertNull(delta.getSnapshot());
+    }
+
+    @Test
+    void testCopy() {
+        var snapshot = new BuildingSnapshot(1, 3);
+        var delta = new ElevatorStatusDelta(1, 3);
+
+        delta.setSnapshot(snapshot);
+        delta.markServicedFloorsChanged(0, 0, 0b1);
+
+        var copy = delta.copy();
+        delta.clear();
+
+        assertSame(snapshot, copy.getSnapshot());
+        assertTrue(copy.isServicedFloorChanged(0, 0));
+        assertTrue(copy.hasChanged(0, StatusField.SERVICED_FLOORS));
+    }
+
+    @Test
+    void testMergeFrom() {
+        var delta = new ElevatorStatusDelta(2, 3);
+        var other = new ElevatorStatusDelta(2, 3);
+
+        delta.markChanged(0, StatusField.VELOCITY);
+        other.markChanged(1, StatusField.PAYLOAD);
+        other.markButtonsChanged(0, 0, 0b100L);
+        other.markUpRequestsChanged(0, 0b10L);
+
+        delta.mergeFrom(other);
+
+        assertTrue(delta.hasChanged(0, StatusField.VELOCITY));
+        assertTrue(delta.hasChanged(1, StatusField.PAYLOAD));
+        assertTrue(delta.isButtonChanged(0, 2));
+        assertTrue(delta.isUpRequestChanged(1));
+    }
+
+    @Test
+    void testMergeFrom_DifferentBuilding() {
+        var delta = new ElevatorStatusDelta(2, 3);
+
+        assertThrows(IllegalArgumentException.class, () -> delta.mergeFrom(new ElevatorStatusDelta(1, 3)));
+    }
+}
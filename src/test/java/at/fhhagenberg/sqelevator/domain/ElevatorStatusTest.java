@@ -171,4 +171,54 @@ class ElevatorStatusTest {
 
         assertEquals(DoorStatus.OPEN, elevatorStatusBuilder.get().getDoorStatus());
     }
+
+    @Test
+    void testSetHallCallStatus() {
+        var elevator = mock(Elevator.class);
+        var elevatorStatusBuilder = ElevatorStatus.build(elevator);
+
+        assertNotNull(elevatorStatusBuilder.get().getHallCallStatus());
+        assertEquals(0, elevatorStatusBuilder.get().getHallCallStatus().getNumberOfFloors());
+
+        var hallCallStatus = HallCallStatus.build(2).upRequested(1, true).get();
+        elevatorStatusBuilder.hallCallStatus(hallCallStatus);
+
+        assertEquals(hallCallStatus, elevatorStatusBuilder.get().getHallCallStatus());
+    }
+
+    @Test
+    void testSetMaximumPayload() {
+        var elevator = mock(Elevator.class);
+        var elevatorStatusBuilder = ElevatorStatus.build(elevator);
+
+        assertEquals(0.0, elevatorStatusBuilder.get().getMaximumPayload());
+
+        elevatorStatusBuilder.maximumPayload(800.0);
+
+        assertEquals(800.0, elevatorStatusBuilder.get().getMaximumPayload());
+    }
+
+    @Test
+    void testSetClockTick() {
+        var elevator = mock(Elevator.class);
+        var elevatorStatusBuilder = ElevatorStatus.build(elevator);
+
+        assertEquals(0L, elevatorStatusBuilder.get().getClockTick());
+
+        elevatorStatusBuilder.clockTick(42L);
+
+        assertEquals(42L, elevatorStatusBuilder.get().getClockTick());
+    }
+
+    @Test
+    void testSetTorn() {
+        var elevator = mock(Elevator.class);
+        var elevatorStatusBuilder = ElevatorStatus.build(elevator);
+
+        assertFalse(elevatorStatusBuilder.get().isTorn());
+
+        elevatorStatusBuilder.torn(true);
+
+        assertTrue(elevatorStatusBuilder.get().isTorn());
+    }
 }
@@ -0,0 +1,57 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloorBitsTest {
+
+    @Test
+    void testCreate() {
+        assertEquals(0, FloorBits.create(0).length);
+        assertEquals(1, FloorBits.create(64).length);
+        assertEquals(2, FloorBits.create(65).length);
+    }
+
+    @Test
+    void testSetAndClear() {
+        var bits = FloorBits.create(100);
+
+        FloorBits.set(bits, 3);
+        FloorBits.set(bits, 70, true);
+
+        assertTrue(FloorBits.isSet(bits, 3));
+        assertTrue(FloorBits.isSet(bits, 70));
+        assertFalse(FloorBits.isSet(bits, 4));
+
+        FloorBits.clear(bits, 3);
+        FloorBits.set(bits, 70, false);
+
+        assertFalse(FloorBits.isSet(bits, 3));
+        assertFalse(FloorBits.isSet(bits, 70));
+        assertTrue(FloorBits.isEmpty(bits));
+    }
+
+    @Test
+    void testIsSet_OutOfRange() {
+        var bits = FloorBits.create(10);
+
+        assertFalse(FloorBits.isSet(bits, -1));
+        assertFalse(FloorBits.isSet(bits, 64));
+    }
+
+    @Test
+    void testNextSetBit() {
+        var bits = FloorBits.create(130);
+
+        FloorBits.set(bits, 1);
+        FloorBits.set(bits, 64);
+        FloorBits.set(bits, 129);
+
+        assertEquals(1, FloorBits.nextSetBit(bits, 0));
+        assertEquals(64, FloorBits.nextSetBit(bits, 2));
+        assertEquals(129, FloorBits.nextSetBit(bits, 65));
+        assertEquals(-1, FloorBits.nextSetBit(bits, 130));
+        assertEquals(-1, FloorBits.nextSetBit(FloorBits.create(0), 0));
+    }
+}
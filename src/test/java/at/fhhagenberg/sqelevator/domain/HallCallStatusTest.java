@@ -0,0 +1,62 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HallCallStatusTest {
+
+    @Test
+    void testBuild() {
+        var hallCallStatusBuilder = HallCallStatus.build(3);
+
+        assertNotNull(hallCallStatusBuilder);
+
+        var hallCallStatus = hallCallStatusBuilder.get();
+
+        assertEquals(3, hallCallStatus.getNumberOfFloors());
+
+        for (int floorNumber = 0; floorNumber < 3; floorNumber++) {
+            assertFalse(hallCallStatus.isUpRequested(floorNumber));
+            assertFalse(hallCallStatus.isDownRequested(floorNumber));
+        }
+    }
+
+    @Test
+    void testBuild_NegativeNumberOfFloors() {
+        assertThrows(IllegalArgumentException.class, () -> HallCallStatus.build(-1));
+    }
+
+    @Test
+    void testSetUpRequested() {
+        var hallCallStatusBuilder = HallCallStatus.build(3);
+
+        hallCallStatusBuilder.upRequested(1, true);
+
+        assertTrue(hallCallStatusBuilder.get().isUpRequested(1));
+        assertFalse(hallCallStatusBuilder.get().isDownRequested(1));
+    }
+
+    @Test
+    void testSetDownRequested() {
+        var hallCallStatusBuilder = HallCallStatus.build(3);
+
+        hallCallStatusBuilder.downRequested(2, true);
+
+        assertTrue(hallCallStatusBuilder.get().isDownRequested(2));
+        assertFalse(hallCallStatusBuilder.get().isUpRequested(2));
+    }
+
+    @Test
+    void testIsRequested_FloorOutOfRange() {
+        var hallCallStatus = HallCallStatus.build(1)
+                .upRequested(0, true)
+                .downRequested(0, true)
+                .get();
+
+        assertFalse(hallCallStatus.isUpRequested(-1));
+        assertFalse(hallCallStatus.isUpRequested(1));
+        assertFalse(hallCallStatus.isDownRequested(-1));
+        assertFalse(hallCallStatus.isDownRequested(1));
+    }
+}
@@ -0,0 +1,22 @@
+package at.fhhagenberg.sqelevator.domain;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatusFieldTest {
+
+    @Test
+    public void testCurrentFloor() {
+        StatusField field = StatusField.CURRENT_FLOOR;
+        assertEquals("current floor", field.toString());
+        assertEquals(2, field.mask());
+    }
+
+    @Test
+    public void testServicedFloors() {
+        StatusField field = StatusField.SERVICED_FLOORS;
+        assertEquals("serviced floors", field.toString());
+        assertEquals(1 << 9, field.mask());
+    }
+}
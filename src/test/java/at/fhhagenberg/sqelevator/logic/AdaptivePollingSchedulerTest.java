@@ -0,0 +1,96 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptivePollingSchedulerTest {
+
+    @Test
+    void testConstructor_InvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePollingScheduler(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptivePollingScheduler(100, 50));
+    }
+
+    @Test
+    void testNextInterval_IdleBacksOffToMaximum() {
+        var scheduler = new AdaptivePollingScheduler(20, 200, () -> 0L);
+
+        assertEquals(40, scheduler.nextInterval(0, 0, 0, 10, false));
+        assertEquals(80, scheduler.nextInterval(0, 0, 0, 10, false));
+        assertEquals(160, scheduler.nextInterval(0, 0, 0, 10, false));
+        assertEquals(200, scheduler.nextInterval(0, 0, 0, 10, false));
+        assertEquals(200, scheduler.nextInterval(0, 0, 0, 10, false));
+        assertEquals(200, scheduler.getEffectiveInterval());
+        assertEquals(20, scheduler.getMinimumInterval());
+        assertEquals(200, scheduler.getMaximumInterval());
+    }
+
+    @Test
+    void testNextInterval_ActiveFollowsTickRate() {
+        var now = new long[] { 0 };
+        var scheduler = new AdaptivePollingScheduler(20, 1000, () -> now[0]);
+
+        scheduler.nextInterval(0, 0, 0, 0, false);
+        scheduler.nextInterval(0, 0, 0, 0, false);
+
+        now[0] = 500;
+        var nextInterval = scheduler.nextInterval(10, 0, 0, 0, true);
+
+        assertEquals(50, nextInterval);
+        assertEquals(20.0, scheduler.getTickRate());
+        assertEquals(50, scheduler.getEffectiveInterval());
+    }
+
+    @Test
+    void testNextInterval_ActiveWithUnknownTickRateUsesMinimum() {
+        var scheduler = new AdaptivePollingScheduler(20, 1000, () -> 0L);
+
+        scheduler.nextInterval(0, 0, 0, 0, false);
+        scheduler.nextInterval(0, 0, 0, 0, false);
+
+        assertEquals(20, scheduler.nextInterval(0, 0, 0, 0, true));
+        assertEquals(0.0, scheduler.getTickRate());
+    }
+
+    @Test
+    void testNextInterval_SubtractsCycleDuration() {
+        var now = new long[] { 0 };
+        var scheduler = new AdaptivePollingScheduler(20, 1000, () -> now[0]);
+
+        scheduler.nextInterval(0, 0, 0, 0, true);
+
+        now[0] = 100;
+
+        assertEquals(70, scheduler.nextInterval(1, 30, 30, 10, true));
+        assertEquals(3.0, scheduler.getRpcLatency());
+    }
+
+    @Test
+    void testNextInterval_SlowRpcsBoundTheInterval() {
+        var now = new long[] { 0 };
+        var scheduler = new AdaptivePollingScheduler(20, 1000, () -> now[0]);
+
+        scheduler.nextInterval(0, 0, 0, 0, true);
+
+        now[0] = 50;
+
+        assertEquals(0, scheduler.nextInterval(1, 400, 400, 100, true));
+        assertEquals(400, scheduler.getEffectiveInterval());
+    }
+
+    @Test
+    void testNextInterval_ParallelRpcsMeasurePerCallLatency() {
+        var now = new long[] { 0 };
+        var scheduler = new AdaptivePollingScheduler(20, 1000, () -> now[0]);
+
+        scheduler.nextInterval(0, 0, 0, 0, true);
+
+        now[0] = 20;
+
+        // four cars polled in parallel, the cycle takes a quarter of the time its remote calls add up to
+        assertEquals(0, scheduler.nextInterval(1, 40, 160, 40, true));
+        assertEquals(4.0, scheduler.getRpcLatency());
+        assertEquals(40, scheduler.getEffectiveInterval());
+    }
+}
@@ -0,0 +1,120 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.data.IElevatorConnector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sqelevator.IElevator;
+
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConnectionSupervisorTest {
+
+    private IElevatorClient client;
+    private IElevatorConnector connector;
+    private IElevatorStatusPollingService pollingService;
+    private ScheduledExecutorService reconnectExecutor;
+    private long now;
+    private List<ConnectionStateTransition> transitions;
+    private ConnectionSupervisor connectionSupervisor;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.connector = mock(IElevatorConnector.class);
+        this.pollingService = mock(IElevatorStatusPollingService.class);
+        this.reconnectExecutor = mock(ScheduledExecutorService.class);
+        this.transitions = new ArrayList<>();
+        this.connectionSupervisor = new ConnectionSupervisor(client, connector, pollingService,
+                new ReconnectBackoff(100, 1000, () -> 1.0), reconnectExecutor, () -> now);
+        this.connectionSupervisor.addObserver(transitions::add);
+    }
+
+    @Test
+    void testConstructor_Null() {
+        var reconnectBackoff = new ReconnectBackoff(100, 1000);
+
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionSupervisor(null, connector, pollingService, reconnectBackoff));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionSupervisor(client, null, pollingService, reconnectBackoff));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionSupervisor(client, connector, null, reconnectBackoff));
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionSupervisor(client, connector, pollingService, null));
+    }
+
+    @Test
+    void testConnectionLost_ReconnectScheduled() {
+        now = 1000;
+        connectionSupervisor.connectionLost(new RemoteException("Lost"));
+
+        verify(reconnectExecutor).schedule(any(Runnable.class), eq(100L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(ConnectionState.DISCONNECTED, connectionSupervisor.getState());
+        assertEquals(1, transitions.size());
+        assertEquals(ConnectionState.CONNECTED, transitions.get(0).getPreviousState());
+        assertEquals(1000, transitions.get(0).getPreviousStateDuration());
+    }
+
+    @Test
+    void testConnectionLost_IgnoredWhileReconnecting() {
+        connectionSupervisor.connectionLost(new RemoteException("Lost"));
+        connectionSupervisor.connectionLost(new RemoteException("Lost again"));
+
+        verify(reconnectExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void testReconnect_BacksOffUntilSimulatorIsBack() throws Exception {
+        var elevator = mock(IElevator.class);
+
+        when(connector.connect()).thenThrow(new NotBoundException()).thenReturn(elevator);
+        when(client.reconnect(elevator)).thenReturn(true);
+
+        connectionSupervisor.connectionLost(new RemoteException("Lost"));
+        now = 100;
+        runScheduledReconnect(100L);
+        now = 300;
+        runScheduledReconnect(200L);
+
+        assertEquals(ConnectionState.CONNECTED, connectionSupervisor.getState());
+        assertEquals(2, connectionSupervisor.getReconnectAttempts());
+        assertEquals(300, connectionSupervisor.getLastDowntime());
+        assertEquals(ConnectionState.RECONNECTING, transitions.get(2).getPreviousState());
+        assertEquals(200, transitions.get(2).getPreviousStateDuration());
+        verify(pollingService).startPollingService();
+    }
+
+    @Test
+    void testReconnect_DifferentBuildingFails() throws Exception {
+        var elevator = mock(IElevator.class);
+
+        when(connector.connect()).thenReturn(elevator);
+        when(client.reconnect(elevator)).thenReturn(false);
+
+        connectionSupervisor.connectionLost(new RemoteException("Lost"));
+        runScheduledReconnect(100L);
+
+        assertEquals(ConnectionState.FAILED, connectionSupervisor.getState());
+        verify(reconnectExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any());
+        verifyNoInteractions(pollingService);
+    }
+
+    private void runScheduledReconnect(long delay) {
+        var reconnect = ArgumentCaptor.forClass(Runnable.class);
+
+        verify(reconnectExecutor).schedule(reconnect.capture(), eq(delay), eq(TimeUnit.MILLISECONDS));
+        reconnect.getValue().run();
+    }
+}
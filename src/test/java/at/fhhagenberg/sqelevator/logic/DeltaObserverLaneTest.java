@@ -0,0 +1,77 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeltaObserverLaneTest {
+
+    @Test
+    void testOffer_ConflatedDeltasAreMerged() {
+        var observer = mock(ElevatorStatusDeltaObserver.class);
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var lane = new DeltaObserverLane(observer, 1, 2, pendingDeliveries::add);
+        var firstSnapshot = new BuildingSnapshot(1, 2);
+        var secondSnapshot = new BuildingSnapshot(1, 2);
+
+        lane.offer(createDelta(StatusField.VELOCITY, firstSnapshot));
+        lane.offer(createDelta(StatusField.PAYLOAD, secondSnapshot));
+
+        assertEquals(1, firstSnapshot.getReferenceCount());
+        assertEquals(2, secondSnapshot.getReferenceCount());
+
+        doAnswer(invocationOnMock -> {
+            var elevatorStatusDelta = (ElevatorStatusDelta) invocationOnMock.getArgument(0);
+
+            assertTrue(elevatorStatusDelta.hasChanged(0, StatusField.VELOCITY));
+            assertTrue(elevatorStatusDelta.hasChanged(0, StatusField.PAYLOAD));
+            assertSame(secondSnapshot, elevatorStatusDelta.getSnapshot());
+
+            return null;
+        }).when(observer).updateDelta(any());
+
+        pendingDeliveries.get(0).run();
+
+        verify(observer).updateDelta(any());
+        assertEquals(1, secondSnapshot.getReferenceCount());
+        assertEquals(1, lane.getMetrics().getDroppedCount());
+    }
+
+    @Test
+    void testOffer_DeliveredDeltaIsNotMergedAgain() {
+        var observer = mock(ElevatorStatusDeltaObserver.class);
+        var lane = new DeltaObserverLane(observer, 1, 2, Runnable::run);
+
+        lane.offer(createDelta(StatusField.VELOCITY, new BuildingSnapshot(1, 2)));
+
+        doAnswer(invocationOnMock -> {
+            var elevatorStatusDelta = (ElevatorStatusDelta) invocationOnMock.getArgument(0);
+
+            assertFalse(elevatorStatusDelta.hasChanged(0, StatusField.VELOCITY));
+            assertTrue(elevatorStatusDelta.hasChanged(0, StatusField.PAYLOAD));
+
+            return null;
+        }).when(observer).updateDelta(any());
+
+        lane.offer(createDelta(StatusField.PAYLOAD, new BuildingSnapshot(1, 2)));
+
+        assertEquals(2, lane.getMetrics().getDeliveredCount());
+        assertEquals(0, lane.getMetrics().getDroppedCount());
+    }
+
+    private ElevatorStatusDelta createDelta(StatusField field, BuildingSnapshot snapshot) {
+        var delta = new ElevatorStatusDelta(1, 2);
+        delta.markChanged(0, field);
+        delta.setSnapshot(snapshot);
+
+        return delta;
+    }
+}
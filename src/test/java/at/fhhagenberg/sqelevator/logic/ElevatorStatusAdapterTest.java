@@ -0,0 +1,88 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElevatorStatusAdapterTest {
+
+    @Test
+    void testToElevatorStatuses() {
+        var elevator = createElevator();
+        var snapshot = new BuildingSnapshot(1, 2);
+
+        snapshot.setPolled(0, true);
+        snapshot.setClockTick(0, 5L);
+        snapshot.setVelocity(0, 1.5);
+        snapshot.setCurrentFloor(0, 1);
+        snapshot.setTargetedFloor(0, 0);
+        snapshot.setDirection(0, Direction.DOWN);
+        snapshot.setButtonPressed(0, 0, true);
+        snapshot.setServiced(0, 1, true);
+        snapshot.setUpRequested(0, true);
+
+        var elevatorStatuses = ElevatorStatusAdapter.toElevatorStatuses(List.of(elevator), snapshot);
+
+        assertEquals(1, elevatorStatuses.size());
+
+        var elevatorStatus = elevatorStatuses.get(0);
+
+        assertSame(elevator, elevatorStatus.getElevator());
+        assertEquals(5L, elevatorStatus.getClockTick());
+        assertEquals(1.5, elevatorStatus.getVelocity());
+        assertEquals(1, elevatorStatus.getCurrentFloor().getFloor().getFloorNumber());
+        assertEquals(0, elevatorStatus.getTargetedFloor().get().getFloor().getFloorNumber());
+        assertEquals(Direction.DOWN, elevatorStatus.getDirection());
+        assertArrayEquals(new boolean[] { true, false }, elevatorStatus.getElevatorButtonStatuses());
+        assertTrue(elevatorStatus.getHallCallStatus().isUpRequested(0));
+
+        // floor statuses follow the order of the elevator's floors, which is top floor first
+        var floorStatuses = elevatorStatus.getElevatorFloorStatuses();
+
+        assertTrue(floorStatuses[0].isServiced());
+        assertFalse(floorStatuses[0].isUpRequested());
+        assertFalse(floorStatuses[1].isServiced());
+        assertTrue(floorStatuses[1].isUpRequested());
+    }
+
+    @Test
+    void testToElevatorStatuses_SkipsMissedElevators() {
+        var snapshot = new BuildingSnapshot(2, 2);
+        snapshot.setPolled(1, true);
+
+        var secondElevator = createElevator();
+        var elevatorStatuses = ElevatorStatusAdapter.toElevatorStatuses(List.of(createElevator(), secondElevator), snapshot);
+
+        assertEquals(1, elevatorStatuses.size());
+        assertSame(secondElevator, elevatorStatuses.get(0).getElevator());
+    }
+
+    @Test
+    void testToElevatorStatuses_NotConnected() {
+        var snapshot = new BuildingSnapshot(1, 2);
+        snapshot.setConnected(false);
+
+        var elevatorStatuses = ElevatorStatusAdapter.toElevatorStatuses(List.of(createElevator()), snapshot);
+
+        assertEquals(1, elevatorStatuses.size());
+        assertFalse(elevatorStatuses.get(0).isConnected());
+    }
+
+    @Test
+    void testFindElevatorFloor() {
+        var elevator = createElevator();
+
+        assertEquals(1, ElevatorStatusAdapter.findElevatorFloor(elevator, 1).getFloor().getFloorNumber());
+        assertNull(ElevatorStatusAdapter.findElevatorFloor(elevator, 5));
+    }
+
+    private Elevator createElevator() {
+        var elevator = new Elevator();
+        elevator.setElevatorFloors(List.of(new ElevatorFloor(new Floor(1)), new ElevatorFloor(new Floor(0))));
+
+        return elevator;
+    }
+}
@@ -0,0 +1,138 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.*;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElevatorStatusDifferTest {
+
+    @Test
+    void testDiff_FirstSnapshotIsFullyChanged() {
+        var snapshot = new BuildingSnapshot(1, 2);
+        snapshot.setUpRequested(1, true);
+
+        var delta = new ElevatorStatusDelta(1, 2);
+        new ElevatorStatusDiffer().diff(null, snapshot, delta);
+
+        for (var field : StatusField.values()) {
+            assertTrue(delta.hasChanged(0, field));
+        }
+
+        assertTrue(delta.isButtonChanged(0, 0));
+        assertTrue(delta.isButtonChanged(0, 1));
+        assertTrue(delta.isUpRequestChanged(1));
+        assertFalse(delta.isUpRequestChanged(0));
+        assertSame(snapshot, delta.getSnapshot());
+    }
+
+    @Test
+    void testDiff_UnchangedSnapshotIsEmpty() {
+        var previous = new BuildingSnapshot(1, 2);
+        previous.setCurrentFloor(0, 1);
+        previous.setDoorStatus(0, DoorStatus.OPEN);
+        previous.setButtonPressed(0, 1, true);
+
+        var delta = new ElevatorStatusDelta(1, 2);
+        new ElevatorStatusDiffer().diff(previous, previous.copy(), delta);
+
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    void testDiff_ChangedFields() {
+        var previous = new BuildingSnapshot(1, 3);
+        var current = previous.copy();
+
+        current.setCurrentFloor(0, 1);
+        current.setTargetedFloor(0, 2);
+        current.setDirection(0, Direction.UP);
+        current.setVelocity(0, 2.5);
+
+        var delta = new ElevatorStatusDelta(1, 3);
+        new ElevatorStatusDiffer().diff(previous, current, delta);
+
+        assertTrue(delta.hasChanged(0, StatusField.CURRENT_FLOOR));
+        assertTrue(delta.hasChanged(0, StatusField.TARGETED_FLOOR));
+        assertTrue(delta.hasChanged(0, StatusField.DIRECTION));
+        assertTrue(delta.hasChanged(0, StatusField.VELOCITY));
+        assertFalse(delta.hasChanged(0, StatusField.PAYLOAD));
+        assertFalse(delta.hasChanged(0, StatusField.DOOR_STATUS));
+        assertFalse(delta.hasChanged(0, StatusField.CONNECTION));
+    }
+
+    @Test
+    void testDiff_ChangedButtons() {
+        var previous = new BuildingSnapshot(1, 3);
+        previous.setButtonPressed(0, 1, true);
+
+        var current = new BuildingSnapshot(1, 3);
+        current.setButtonPressed(0, 2, true);
+
+        var delta = new ElevatorStatusDelta(1, 3);
+        new ElevatorStatusDiffer().diff(previous, current, delta);
+
+        assertTrue(delta.hasChanged(0, StatusField.BUTTONS));
+        assertFalse(delta.isButtonChanged(0, 0));
+        assertTrue(delta.isButtonChanged(0, 1));
+        assertTrue(delta.isButtonChanged(0, 2));
+    }
+
+    @Test
+    void testDiff_ChangedHallCalls() {
+        var previous = new BuildingSnapshot(1, 3);
+        previous.setUpRequested(0, true);
+
+        var current = previous.copy();
+        current.setDownRequested(2, true);
+
+        var delta = new ElevatorStatusDelta(1, 3);
+        new ElevatorStatusDiffer().diff(previous, current, delta);
+
+        assertFalse(delta.hasChanged(0));
+        assertTrue(delta.haveHallCallsChanged());
+        assertFalse(delta.isUpRequestChanged(0));
+        assertTrue(delta.isDownRequestChanged(2));
+    }
+
+    @Test
+    void testDiff_ChangedServicedFloors() {
+        var previous = new BuildingSnapshot(1, 1);
+        previous.setServiced(0, 0, true);
+
+        var delta = new ElevatorStatusDelta(1, 1);
+        new ElevatorStatusDiffer().diff(previous, new BuildingSnapshot(1, 1), delta);
+
+        assertTrue(delta.hasChanged(0, StatusField.SERVICED_FLOORS));
+        assertTrue(delta.isServicedFloorChanged(0, 0));
+    }
+
+    @Test
+    void testDiff_ConnectionLost() {
+        var previous = new BuildingSnapshot(2, 0);
+        var current = previous.copy();
+        current.setConnected(false);
+
+        var delta = new ElevatorStatusDelta(2, 0);
+        new ElevatorStatusDiffer().diff(previous, current, delta);
+
+        assertTrue(delta.hasChanged(0, StatusField.CONNECTION));
+        assertTrue(delta.hasChanged(1, StatusField.CONNECTION));
+    }
+
+    @Test
+    void testDiff_ClearsPreviousDelta() {
+        var previous = new BuildingSnapshot(1, 0);
+        var current = previous.copy();
+        current.setPayload(0, 80.0);
+
+        var delta = new ElevatorStatusDelta(1, 0);
+        var elevatorStatusDiffer = new ElevatorStatusDiffer();
+
+        elevatorStatusDiffer.diff(previous, current, delta);
+        assertFalse(delta.isEmpty());
+
+        elevatorStatusDiffer.diff(current, current.copy(), delta);
+        assertTrue(delta.isEmpty());
+    }
+}
@@ -8,13 +8,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.rmi.RemoteException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
 
 @ExtendWith(MockitoExtension.class)
 public class ElevatorStatusPollingServiceTest {
@@ -37,7 +43,9 @@ public class ElevatorStatusPollingServiceTest {
         elevatorStatusPollingService.addObserver(elevatorStatusObserver);
         elevatorStatusPollingService.startPollingService();
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -46,13 +54,10 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getCurrentVelocity(elevator)).thenReturn(5.0);
+        when(elevatorClient.getCurrentVelocity(0)).thenReturn(5.0);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -65,7 +70,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -74,13 +84,10 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getCurrentWeightLoad(elevator)).thenReturn(10000.0);
+        when(elevatorClient.getCurrentWeightLoad(0)).thenReturn(10000.0);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -93,7 +100,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -102,13 +114,11 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getElevatorFloorButtonsStatus(elevator)).thenReturn(new boolean[] { true, false, false });
+        when(elevator.getElevatorFloors()).thenReturn(List.of(new ElevatorFloor(new Floor(2)), new ElevatorFloor(new Floor(1)), new ElevatorFloor(new Floor(0))));
+        when(elevatorClient.isElevatorButtonPressed(anyInt(), anyInt())).thenAnswer(invocationOnMock -> (int) invocationOnMock.getArgument(1) == 0);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -125,7 +135,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -139,13 +154,11 @@ public class ElevatorStatusPollingServiceTest {
         targetedFloor.setDownRequest(true);
         targetedFloor.setServiceEnabled(true);
 
-        when(elevatorClient.getTargetedFloor(elevator)).thenReturn(Optional.of(targetedFloor));
+        when(elevator.getElevatorFloors()).thenReturn(List.of(targetedFloor));
+        when(elevatorClient.getTargetedFloorNumber(0)).thenReturn(1);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -166,7 +179,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -175,13 +193,10 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getTargetedFloor(elevator)).thenReturn(Optional.empty());
+        when(elevatorClient.getTargetedFloorNumber(0)).thenReturn(5);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -195,7 +210,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -209,13 +229,11 @@ public class ElevatorStatusPollingServiceTest {
         targetedFloor.setDownRequest(true);
         targetedFloor.setServiceEnabled(true);
 
-        when(elevatorClient.getCurrentFloor(elevator)).thenReturn(targetedFloor);
+        when(elevator.getElevatorFloors()).thenReturn(List.of(targetedFloor));
+        when(elevatorClient.getCurrentFloorNumber(0)).thenReturn(1);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -232,7 +250,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -250,9 +273,6 @@ public class ElevatorStatusPollingServiceTest {
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -272,7 +292,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -281,13 +306,10 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getDirection(elevator)).thenReturn(Direction.DOWN);
+        when(elevatorClient.getDirection(0)).thenReturn(Direction.DOWN);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -300,7 +322,12 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
     }
 
     @Test
@@ -309,13 +336,10 @@ public class ElevatorStatusPollingServiceTest {
         var elevator = mock(Elevator.class);
         var pollingTime = 100L;
 
-        when(elevatorClient.getElevatorDoorStatus(elevator)).thenReturn(DoorStatus.OPEN);
+        when(elevatorClient.getElevatorDoorStatus(0)).thenReturn(DoorStatus.OPEN);
 
         var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), pollingTime);
 
-        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
-        elevatorStatusPollingService.startPollingService();
-
         doAnswer(invocationOnMock -> {
             var elevatorStatuses = (List<ElevatorStatus>) invocationOnMock.getArgument(0);
 
@@ -328,6 +352,625 @@ public class ElevatorStatusPollingServiceTest {
             return null;
         }).when(elevatorStatusObserver).update(anyList());
 
-        verify(elevatorStatusObserver, timeout(10000)).update(anyList());
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+
+        elevatorStatusPollingService.stopPollingService();
+    }
+
+    @Test
+    void testPollCycle_ParallelPollsEveryElevator() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var firstElevator = mock(Elevator.class);
+        var secondElevator = mock(Elevator.class);
+
+        when(secondElevator.getElevatorNumber()).thenReturn(1);
+        when(elevatorClient.getCurrentVelocity(0)).thenReturn(1.0);
+        when(elevatorClient.getCurrentVelocity(1)).thenReturn(2.0);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(firstElevator, secondElevator), 100L, 2, 1000L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        assertTrue(snapshot.isPolled(0));
+        assertTrue(snapshot.isPolled(1));
+        assertEquals(1.0, snapshot.getVelocity(0));
+        assertEquals(2.0, snapshot.getVelocity(1));
+        assertEquals(0, elevatorStatusPollingService.getMetrics().getLastMissedDeadlineCount());
+        assertEquals(1, elevatorStatusPollingService.getMetrics().getCycleCount());
+
+        elevatorStatusPollingService.close();
+    }
+
+    @Test
+    void testPollCycle_ParallelAddsUpRpcDurations() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var firstElevator = mock(Elevator.class);
+        var secondElevator = mock(Elevator.class);
+
+        when(secondElevator.getElevatorNumber()).thenReturn(1);
+        when(elevatorClient.getCurrentVelocity(anyInt())).thenAnswer(invocationOnMock -> {
+            Thread.sleep(100);
+            return 0.0;
+        });
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(firstElevator, secondElevator), 100L, 2, 1000L);
+
+        elevatorStatusPollingService.pollCycle();
+
+        // both polls overlap, their remote calls still add up to more than a single poll took
+        assertTrue(elevatorStatusPollingService.getMetrics().getLastCycleRpcDuration() > 100L);
+
+        elevatorStatusPollingService.close();
+    }
+
+    @Test
+    void testPollCycle_ParallelReportsMissedDeadline() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var fastElevator = mock(Elevator.class);
+        var slowElevator = mock(Elevator.class);
+
+        when(slowElevator.getElevatorNumber()).thenReturn(1);
+        when(elevatorClient.getCurrentVelocity(0)).thenReturn(0.0);
+        when(elevatorClient.getCurrentVelocity(1)).thenAnswer(invocationOnMock -> {
+            Thread.sleep(2000);
+            return 0.0;
+        });
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(fastElevator, slowElevator), 100L, 2, 200L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        assertTrue(snapshot.isPolled(0));
+        assertFalse(snapshot.isPolled(1));
+        assertEquals(1, elevatorStatusPollingService.getMetrics().getLastMissedDeadlineCount());
+        assertEquals(1, elevatorStatusPollingService.getMetrics().getMissedDeadlineCount());
+
+        elevatorStatusPollingService.close();
+    }
+
+    @Test
+    void testPollCycle_ParallelCancelledPollDoesNotWriteSnapshot() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var fastElevator = mock(Elevator.class);
+        var slowElevator = mock(Elevator.class);
+        var isPollFinished = new CountDownLatch(1);
+
+        when(slowElevator.getElevatorNumber()).thenReturn(1);
+        when(elevatorClient.getCurrentVelocity(0)).thenReturn(1.0);
+        when(elevatorClient.getCurrentVelocity(1)).thenAnswer(invocationOnMock -> {
+            // like a remote call in progress the answer ignores the interrupt of the cancellation
+            var pollEnd = System.currentTimeMillis() + 500;
+
+            while (System.currentTimeMillis() < pollEnd) {
+                Thread.onSpinWait();
+            }
+
+            return 9.0;
+        });
+        lenient().when(elevatorClient.getTargetedFloorNumber(1)).thenAnswer(invocationOnMock -> {
+            isPollFinished.countDown();
+            return 0;
+        });
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(fastElevator, slowElevator), 100L, 2, 200L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        assertTrue(isPollFinished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+
+        assertFalse(snapshot.isPolled(1));
+        assertEquals(1.0, snapshot.getVelocity(0));
+        assertEquals(0.0, snapshot.getVelocity(1));
+
+        elevatorStatusPollingService.close();
+    }
+
+    @Test
+    void testStopPollingService_CanBeStartedAgain() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 10L, 2, 1000L);
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+
+        elevatorStatusPollingService.startPollingService();
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+        elevatorStatusPollingService.stopPollingService();
+
+        // the polling threads and the publisher survive a stop
+        assertTrue(elevatorStatusPollingService.pollCycle().isPolled(0));
+        assertFalse(((SubmissionPublisher<BuildingSnapshot>) elevatorStatusPollingService.getSnapshotPublisher()).isClosed());
+
+        clearInvocations(elevatorStatusObserver);
+        elevatorStatusPollingService.startPollingService();
+        verify(elevatorStatusObserver, timeout(10000).atLeastOnce()).update(anyList());
+        elevatorStatusPollingService.stopPollingService();
+        elevatorStatusPollingService.close();
+
+        assertTrue(((SubmissionPublisher<BuildingSnapshot>) elevatorStatusPollingService.getSnapshotPublisher()).isClosed());
+    }
+
+    @Test
+    void testPollCycle_ParallelPropagatesRemoteException() throws RemoteException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+
+        when(elevatorClient.getCurrentVelocity(0)).thenThrow(new RemoteException());
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L, 2, 1000L);
+
+        assertThrows(RemoteException.class, elevatorStatusPollingService::pollCycle);
+
+        elevatorStatusPollingService.close();
+    }
+
+    @Test
+    void testConstructor_InvalidParallelConfiguration() {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevators = List.of(mock(Elevator.class));
+
+        assertThrows(IllegalArgumentException.class, () -> new ElevatorStatusPollingService(elevatorClient, elevators, 100L, 0, 100L));
+        assertThrows(IllegalArgumentException.class, () -> new ElevatorStatusPollingService(elevatorClient, elevators, 100L, 2, 0L));
+    }
+
+    @Test
+    void testPollCycle_HallCallsPolledOncePerCycle() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var floors = List.of(new ElevatorFloor(new Floor(1)), new ElevatorFloor(new Floor(0)));
+        var firstElevator = mock(Elevator.class);
+        var secondElevator = mock(Elevator.class);
+        var thirdElevator = mock(Elevator.class);
+
+        when(firstElevator.getElevatorFloors()).thenReturn(floors);
+        when(secondElevator.getElevatorFloors()).thenReturn(floors);
+        when(thirdElevator.getElevatorFloors()).thenReturn(floors);
+        when(elevatorClient.getFloorButtonUp(0)).thenReturn(true);
+        when(elevatorClient.getFloorButtonUp(1)).thenReturn(false);
+        when(elevatorClient.getFloorButtonDown(0)).thenReturn(false);
+        when(elevatorClient.getFloorButtonDown(1)).thenReturn(true);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(firstElevator, secondElevator, thirdElevator), 100L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        verify(elevatorClient, times(1)).getFloorButtonUp(0);
+        verify(elevatorClient, times(1)).getFloorButtonUp(1);
+        verify(elevatorClient, times(1)).getFloorButtonDown(0);
+        verify(elevatorClient, times(1)).getFloorButtonDown(1);
+        verify(elevatorClient, never()).hasFloorBeenRequestedUp(any(Floor.class));
+        verify(elevatorClient, never()).hasFloorBeenRequestedDown(any(Floor.class));
+
+        assertTrue(snapshot.isUpRequested(0));
+        assertFalse(snapshot.isDownRequested(0));
+        assertFalse(snapshot.isUpRequested(1));
+        assertTrue(snapshot.isDownRequested(1));
+    }
+
+    @Test
+    void testPollCycle_TieredSchedule() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+
+        when(elevator.getElevatorFloors()).thenReturn(List.of(new ElevatorFloor(new Floor(1)), new ElevatorFloor(new Floor(0))));
+        when(elevatorClient.isElevatorButtonPressed(anyInt(), anyInt())).thenAnswer(invocationOnMock -> (int) invocationOnMock.getArgument(1) == 0);
+        when(elevatorClient.getMaximumPayload(0)).thenReturn(800.0);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L);
+        elevatorStatusPollingService.setPollingSchedule(new PollingSchedule(2, 3));
+
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        elevatorStatusPollingService.pollCycle();
+
+        assertEquals(8, metrics.getLastCycleRpcCalls(PollingTier.HOT));
+        assertEquals(6, metrics.getLastCycleRpcCalls(PollingTier.MEDIUM));
+        assertEquals(3, metrics.getLastCycleRpcCalls(PollingTier.STATIC));
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        assertEquals(8, metrics.getLastCycleRpcCalls(PollingTier.HOT));
+        assertEquals(0, metrics.getLastCycleRpcCalls(PollingTier.MEDIUM));
+        assertEquals(0, metrics.getLastCycleRpcCalls(PollingTier.STATIC));
+        assertTrue(snapshot.isButtonPressed(0, 0));
+        assertFalse(snapshot.isButtonPressed(0, 1));
+        assertEquals(800.0, snapshot.getMaximumPayload(0));
+
+        elevatorStatusPollingService.pollCycle();
+
+        verify(elevatorClient, times(3)).getCurrentVelocity(0);
+        verify(elevatorClient, times(4)).isElevatorButtonPressed(anyInt(), anyInt());
+        verify(elevatorClient, times(1)).getMaximumPayload(0);
+        verify(elevatorClient, times(2)).isServiceEnabled(anyInt(), anyInt());
+        verify(elevatorClient, times(2)).getFloorButtonUp(0);
+
+        assertEquals(24, metrics.getRpcCalls(PollingTier.HOT));
+        assertEquals(12, metrics.getRpcCalls(PollingTier.MEDIUM));
+        assertEquals(3, metrics.getRpcCalls(PollingTier.STATIC));
+    }
+
+    @Test
+    void testPollCycle_StaticTierRefreshedOnDemand() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+
+        when(elevator.getElevatorFloors()).thenReturn(List.of(new ElevatorFloor(new Floor(0))));
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L);
+        elevatorStatusPollingService.setPollingSchedule(new PollingSchedule(10, 10));
+
+        elevatorStatusPollingService.pollCycle();
+        elevatorStatusPollingService.pollCycle();
+
+        verify(elevatorClient, times(1)).getMaximumPayload(0);
+
+        elevatorStatusPollingService.getPollingSchedule().requestRefresh(PollingTier.STATIC);
+        elevatorStatusPollingService.pollCycle();
+
+        verify(elevatorClient, times(2)).getMaximumPayload(0);
+        verify(elevatorClient, times(1)).isElevatorButtonPressed(0, 0);
+    }
+
+    @Test
+    void testSetPollingSchedule_Null() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(), 100L);
+
+        assertThrows(IllegalArgumentException.class, () -> elevatorStatusPollingService.setPollingSchedule(null));
+    }
+
+    @Test
+    void testPollCycle_ClockTickUnchanged() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+
+        when(elevatorClient.getClockTick()).thenReturn(7L);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+
+        assertEquals(7L, snapshot.getClockTick());
+        assertEquals(7L, snapshot.getClockTick(0));
+        assertFalse(snapshot.isTorn(0));
+        assertEquals(0, elevatorStatusPollingService.getMetrics().getInconsistentCycleCount());
+        verify(elevatorClient, times(2)).getClockTick();
+        verify(elevatorClient, times(1)).getCurrentVelocity(0);
+    }
+
+    @Test
+    void testPollCycle_ClockTickAdvancedRetriesElevator() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+
+        when(elevatorClient.getClockTick()).thenReturn(1L, 2L, 2L, 2L);
+        when(elevatorClient.getCurrentVelocity(0)).thenReturn(1.0, 2.0);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        assertTrue(snapshot.isPolled(0));
+        assertEquals(2L, snapshot.getClockTick(0));
+        assertEquals(2.0, snapshot.getVelocity(0));
+        assertFalse(snapshot.isTorn(0));
+        assertEquals(1, metrics.getInconsistentCycleCount());
+        assertEquals(0, metrics.getTornElevatorCount());
+    }
+
+    @Test
+    void testPollCycle_ClockTickAlwaysAdvancingTagsTorn() throws RemoteException, InterruptedException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var elevator = mock(Elevator.class);
+        var clockTick = new long[] { 0 };
+
+        when(elevatorClient.getClockTick()).thenAnswer(invocationOnMock -> ++clockTick[0]);
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(elevator), 100L);
+        elevatorStatusPollingService.setMaximumConsistencyRetries(1);
+
+        var snapshot = elevatorStatusPollingService.pollCycle();
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        assertTrue(snapshot.isTorn(0));
+        assertEquals(clockTick[0], snapshot.getClockTick(0));
+        assertEquals(1, metrics.getLastTornElevatorCount());
+        assertEquals(1, metrics.getTornElevatorCount());
+        verify(elevatorClient, times(3)).getCurrentVelocity(0);
+    }
+
+    @Test
+    void testSetMaximumConsistencyRetries_Negative() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(), 100L);
+
+        assertThrows(IllegalArgumentException.class, () -> elevatorStatusPollingService.setMaximumConsistencyRetries(-1));
+    }
+
+    @Test
+    void testNextPollingInterval_FixedInterval() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(), 100L);
+
+        assertEquals(100L, elevatorStatusPollingService.nextPollingInterval(new BuildingSnapshot(0, 0)));
+        assertEquals(100L, elevatorStatusPollingService.getMetrics().getEffectivePollingInterval());
+    }
+
+    @Test
+    void testNextPollingInterval_AdaptiveTightensWhileActive() {
+        var elevator = mock(Elevator.class);
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(elevator), 100L);
+        elevatorStatusPollingService.setAdaptivePollingScheduler(new AdaptivePollingScheduler(20, 400));
+
+        var idleSnapshot = new BuildingSnapshot(1, 2);
+        idleSnapshot.setPolled(0, true);
+
+        var movingSnapshot = new BuildingSnapshot(1, 2);
+        movingSnapshot.setPolled(0, true);
+        movingSnapshot.setDirection(0, Direction.UP);
+        movingSnapshot.setVelocity(0, 3.0);
+
+        var hallCallSnapshot = new BuildingSnapshot(1, 2);
+        hallCallSnapshot.setPolled(0, true);
+        hallCallSnapshot.setDownRequested(1, true);
+
+        elevatorStatusPollingService.nextPollingInterval(idleSnapshot);
+        elevatorStatusPollingService.nextPollingInterval(idleSnapshot);
+
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        assertEquals(80L, metrics.getEffectivePollingInterval());
+        assertEquals(20L, metrics.getMinimumPollingInterval());
+        assertEquals(400L, metrics.getMaximumPollingInterval());
+
+        elevatorStatusPollingService.nextPollingInterval(movingSnapshot);
+
+        assertEquals(20L, metrics.getEffectivePollingInterval());
+
+        elevatorStatusPollingService.nextPollingInterval(idleSnapshot);
+        elevatorStatusPollingService.nextPollingInterval(hallCallSnapshot);
+
+        assertEquals(20L, metrics.getEffectivePollingInterval());
+    }
+
+    @Test
+    void testNextPollingInterval_ParkedCarWithCommittedDirectionIsIdle() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setAdaptivePollingScheduler(new AdaptivePollingScheduler(20, 400));
+
+        var parkedSnapshot = new BuildingSnapshot(1, 2);
+        parkedSnapshot.setPolled(0, true);
+        parkedSnapshot.setDirection(0, Direction.UP);
+        parkedSnapshot.setDoorStatus(0, DoorStatus.CLOSED);
+
+        elevatorStatusPollingService.nextPollingInterval(parkedSnapshot);
+        elevatorStatusPollingService.nextPollingInterval(parkedSnapshot);
+
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        assertEquals(80L, metrics.getEffectivePollingInterval());
+
+        var openingSnapshot = new BuildingSnapshot(1, 2);
+        openingSnapshot.setPolled(0, true);
+        openingSnapshot.setDirection(0, Direction.UP);
+        openingSnapshot.setDoorStatus(0, DoorStatus.OPEN);
+
+        elevatorStatusPollingService.nextPollingInterval(openingSnapshot);
+
+        assertEquals(20L, metrics.getEffectivePollingInterval());
+    }
+
+    @Test
+    void testNotifyAll_DeltaObserverSkipsIdleCycles() {
+        var deltaObserver = mock(ElevatorStatusDeltaObserver.class);
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.addDeltaObserver(deltaObserver);
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 0.0));
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 0.0));
+        elevatorStatusPollingService.notifyAll(createSnapshot(2.0, 0.0));
+
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        verify(deltaObserver, times(2)).updateDelta(any());
+        assertEquals(2, metrics.getPublishedDeltaCount());
+        assertEquals(1, metrics.getIdleCycleCount());
+    }
+
+    @Test
+    void testNotifyAll_DeltaObserverReceivesChangedFields() {
+        var deltaObserver = mock(ElevatorStatusDeltaObserver.class);
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.addDeltaObserver(deltaObserver);
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 0.0));
+
+        doAnswer(invocationOnMock -> {
+            var elevatorStatusDelta = (ElevatorStatusDelta) invocationOnMock.getArgument(0);
+
+            assertTrue(elevatorStatusDelta.hasChanged(0, StatusField.PAYLOAD));
+            assertFalse(elevatorStatusDelta.hasChanged(0, StatusField.VELOCITY));
+            assertEquals(80.0, elevatorStatusDelta.getSnapshot().getPayload(0));
+
+            return null;
+        }).when(deltaObserver).updateDelta(any());
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 80.0));
+
+        verify(deltaObserver, times(2)).updateDelta(any());
+    }
+
+    @Test
+    void testNotifyAll_ObserverReceivesPolledElevatorsOnly() {
+        var firstElevator = mock(Elevator.class);
+        var secondElevator = mock(Elevator.class);
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(firstElevator, secondElevator), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+
+        var snapshot = new BuildingSnapshot(2, 0);
+        snapshot.setPolled(1, true);
+
+        elevatorStatusPollingService.notifyAll(snapshot);
+
+        verify(elevatorStatusObserver).update(argThat(elevatorStatuses ->
+                elevatorStatuses.size() == 1 && elevatorStatuses.get(0).getElevator() == secondElevator));
+    }
+
+    @Test
+    void testNotifyAll_BusyObserverIsConflated() {
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(pendingDeliveries::add);
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 0.0));
+        elevatorStatusPollingService.notifyAll(createSnapshot(2.0, 0.0));
+        elevatorStatusPollingService.notifyAll(createSnapshot(3.0, 0.0));
+
+        assertEquals(1, pendingDeliveries.size());
+
+        pendingDeliveries.get(0).run();
+
+        var observerMetrics = elevatorStatusPollingService.getObserverMetrics(elevatorStatusObserver);
+
+        verify(elevatorStatusObserver).update(argThat(elevatorStatuses -> elevatorStatuses.get(0).getVelocity() == 3.0));
+        assertEquals(3, observerMetrics.getOfferedCount());
+        assertEquals(1, observerMetrics.getDeliveredCount());
+        assertEquals(2, observerMetrics.getDroppedCount());
+    }
+
+    @Test
+    void testNotifyAll_FailingObserverDoesNotReachPoller() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.addObserver(elevatorStatusObserver);
+
+        doThrow(new IllegalStateException("Observer failed")).when(elevatorStatusObserver).update(anyList());
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(1.0, 0.0));
+
+        assertEquals(1, elevatorStatusPollingService.getObserverMetrics(elevatorStatusObserver).getFailedCount());
+    }
+
+    @Test
+    void testGetObserverMetrics_UnknownObserver() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+
+        assertThrows(IllegalArgumentException.class, () -> elevatorStatusPollingService.getObserverMetrics(elevatorStatusObserver));
+    }
+
+    @Test
+    void testGetSnapshotPublisher_SubscriberReceivesCopy() {
+        var receivedSnapshots = new ArrayList<BuildingSnapshot>();
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.getSnapshotPublisher().subscribe(new CollectingSubscriber(receivedSnapshots, Long.MAX_VALUE));
+
+        var snapshot = createSnapshot(2.0, 0.0);
+        elevatorStatusPollingService.notifyAll(snapshot);
+
+        assertEquals(1, receivedSnapshots.size());
+        assertNotSame(snapshot, receivedSnapshots.get(0));
+        assertEquals(2.0, receivedSnapshots.get(0).getVelocity(0));
+        assertEquals(1, elevatorStatusPollingService.getMetrics().getPublishedSnapshotCount());
+    }
+
+    @Test
+    void testGetSnapshotPublisher_NothingPublishedWithoutSubscribers() {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+
+        elevatorStatusPollingService.notifyAll(createSnapshot(2.0, 0.0));
+
+        assertEquals(0, elevatorStatusPollingService.getMetrics().getPublishedSnapshotCount());
+    }
+
+    @Test
+    void testGetSnapshotPublisher_SubscriberWithoutDemandMissesSnapshots() {
+        var receivedSnapshots = new ArrayList<BuildingSnapshot>();
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+        elevatorStatusPollingService.setObserverExecutor(Runnable::run);
+        elevatorStatusPollingService.getSnapshotPublisher().subscribe(new CollectingSubscriber(receivedSnapshots, 1));
+
+        for (int cycle = 0; cycle < 100; cycle++) {
+            elevatorStatusPollingService.notifyAll(createSnapshot(cycle, 0.0));
+        }
+
+        var metrics = elevatorStatusPollingService.getMetrics();
+
+        assertEquals(1, receivedSnapshots.size());
+        assertEquals(100, metrics.getPublishedSnapshotCount());
+        assertTrue(metrics.getDroppedSnapshotCount() > 0);
+    }
+
+    @Test
+    void testStartPollingService_ConnectionLossStopsPolling() throws RemoteException {
+        var elevatorClient = mock(IElevatorClient.class);
+        var connectionLossObserver = mock(ConnectionLossObserver.class);
+
+        when(elevatorClient.getClockTick()).thenThrow(new RemoteException("Lost"));
+
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(elevatorClient, List.of(mock(Elevator.class)), 10L);
+        elevatorStatusPollingService.setConnectionLossObserver(connectionLossObserver);
+        elevatorStatusPollingService.startPollingService();
+
+        verify(connectionLossObserver, timeout(10000)).connectionLost(any());
+        verify(connectionLossObserver, after(100).times(1)).connectionLost(any());
+        verify(elevatorClient, times(1)).getClockTick();
+
+        elevatorStatusPollingService.stopPollingService();
+    }
+
+    @Test
+    void testPollCycle_SnapshotBuffersAreReused() throws RemoteException, InterruptedException {
+        var elevatorStatusPollingService = new ElevatorStatusPollingService(mock(IElevatorClient.class), List.of(mock(Elevator.class)), 100L);
+
+        var firstSnapshot = elevatorStatusPollingService.pollCycle();
+        var secondSnapshot = elevatorStatusPollingService.pollCycle();
+        var thirdSnapshot = elevatorStatusPollingService.pollCycle();
+
+        assertNotSame(firstSnapshot, secondSnapshot);
+        assertSame(firstSnapshot, thirdSnapshot);
+    }
+
+    private BuildingSnapshot createSnapshot(double velocity, double payload) {
+        var snapshot = new BuildingSnapshot(1, 0);
+        snapshot.setPolled(0, true);
+        snapshot.setVelocity(0, velocity);
+        snapshot.setPayload(0, payload);
+
+        return snapshot;
+    }
+
+    private static class CollectingSubscriber implements Flow.Subscriber<BuildingSnapshot> {
+
+        private final List<BuildingSnapshot> receivedSnapshots;
+        private final long demand;
+
+        CollectingSubscriber(List<BuildingSnapshot> receivedSnapshots, long demand) {
+            this.receivedSnapshots = receivedSnapshots;
+            this.demand = demand;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(demand);
+        }
+
+        @Override
+        public void onNext(BuildingSnapshot snapshot) {
+            receivedSnapshots.add(snapshot);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
     }
 }
@@ -0,0 +1,60 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PollingScheduleTest {
+
+    @Test
+    void testEveryCycle() {
+        var pollingSchedule = PollingSchedule.everyCycle();
+
+        for (var tier : PollingTier.values()) {
+            assertEquals(1, pollingSchedule.getPeriod(tier));
+            assertTrue(pollingSchedule.isDue(tier, 0));
+            assertTrue(pollingSchedule.isDue(tier, 1));
+        }
+    }
+
+    @Test
+    void testIsDue_Periods() {
+        var pollingSchedule = new PollingSchedule(2, 5);
+
+        assertEquals(1, pollingSchedule.getPeriod(PollingTier.HOT));
+        assertEquals(2, pollingSchedule.getPeriod(PollingTier.MEDIUM));
+        assertEquals(5, pollingSchedule.getPeriod(PollingTier.STATIC));
+
+        assertTrue(pollingSchedule.isDue(PollingTier.MEDIUM, 0));
+        assertFalse(pollingSchedule.isDue(PollingTier.MEDIUM, 1));
+        assertTrue(pollingSchedule.isDue(PollingTier.MEDIUM, 2));
+
+        assertTrue(pollingSchedule.isDue(PollingTier.STATIC, 0));
+        assertFalse(pollingSchedule.isDue(PollingTier.STATIC, 4));
+        assertTrue(pollingSchedule.isDue(PollingTier.STATIC, 5));
+    }
+
+    @Test
+    void testIsDue_RefreshRequestedOnce() {
+        var pollingSchedule = new PollingSchedule(2, 5);
+
+        pollingSchedule.requestRefresh(PollingTier.STATIC);
+
+        assertTrue(pollingSchedule.isDue(PollingTier.STATIC, 3));
+        assertFalse(pollingSchedule.isDue(PollingTier.STATIC, 3));
+        assertFalse(pollingSchedule.isDue(PollingTier.MEDIUM, 3));
+    }
+
+    @Test
+    void testConstructor_InvalidPeriods() {
+        assertThrows(IllegalArgumentException.class, () -> new PollingSchedule(0, 5));
+        assertThrows(IllegalArgumentException.class, () -> new PollingSchedule(2, -1));
+    }
+
+    @Test
+    void testTierToString() {
+        assertEquals("hot", PollingTier.HOT.toString());
+        assertEquals("medium", PollingTier.MEDIUM.toString());
+        assertEquals("static", PollingTier.STATIC.toString());
+    }
+}
@@ -0,0 +1,55 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReconnectBackoffTest {
+
+    @Test
+    void testConstructor_InvalidDelays() {
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectBackoff(0, 100));
+        assertThrows(IllegalArgumentException.class, () -> new ReconnectBackoff(100, 50));
+    }
+
+    @Test
+    void testNextDelay_DoublesUpToMaximum() {
+        var reconnectBackoff = new ReconnectBackoff(100, 500, () -> 1.0);
+
+        assertEquals(100, reconnectBackoff.nextDelay());
+        assertEquals(200, reconnectBackoff.nextDelay());
+        assertEquals(400, reconnectBackoff.nextDelay());
+        assertEquals(500, reconnectBackoff.nextDelay());
+        assertEquals(500, reconnectBackoff.nextDelay());
+        assertEquals(5, reconnectBackoff.getAttempt());
+    }
+
+    @Test
+    void testNextDelay_JitterKeepsUpperHalf() {
+        var reconnectBackoff = new ReconnectBackoff(100, 1000, () -> 0.0);
+
+        reconnectBackoff.nextDelay();
+        reconnectBackoff.nextDelay();
+
+        assertEquals(200, reconnectBackoff.nextDelay());
+    }
+
+    @Test
+    void testNextDelay_NeverBelowMinimum() {
+        var reconnectBackoff = new ReconnectBackoff(100, 1000, () -> 0.0);
+
+        assertEquals(100, reconnectBackoff.nextDelay());
+    }
+
+    @Test
+    void testReset() {
+        var reconnectBackoff = new ReconnectBackoff(100, 1000, () -> 1.0);
+
+        reconnectBackoff.nextDelay();
+        reconnectBackoff.nextDelay();
+        reconnectBackoff.reset();
+
+        assertEquals(0, reconnectBackoff.getAttempt());
+        assertEquals(100, reconnectBackoff.nextDelay());
+    }
+}
@@ -202,6 +202,32 @@ class RemoteConsoleViewModelTest {
         assertEquals(150.0, viewModel.getElevatorListProperty().get(0).getPayload());
     }
 
+    @Test
+    void testUpdate_SetMaximumPayload() throws InterruptedException {
+        // workaround for Platform.runLater(...) in view model
+        var panel = new JFXPanel();
+
+        var elevatorClient = mock(IElevatorClient.class);
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+
+        var elevator = new Elevator();
+        elevator.setElevatorNumber(1);
+        elevator.setMaximumPayload(800.0);
+
+        when(elevatorClient.getElevators()).thenReturn(List.of(elevator));
+
+        var viewModel = new RemoteConsoleViewModel(elevatorClient, automaticModeStrategy);
+
+        var elevatorStatus = ElevatorStatus.build(elevator)
+                .maximumPayload(960.0)
+                .get();
+
+        viewModel.update(List.of(elevatorStatus));
+        waitForRunLater();
+
+        assertEquals(960.0, viewModel.getElevatorListProperty().get(0).getMaximumPayload());
+    }
+
     @Test
     void testUpdate_SetButtonStatuses() throws InterruptedException {
         // workaround for Platform.runLater(...) in view model
@@ -460,6 +486,97 @@ class RemoteConsoleViewModelTest {
         assertEquals(DoorStatus.CLOSED, viewModel.getElevatorListProperty().get(0).getDoorStatus());
     }
 
+    @Test
+    void testUpdateDelta_SetsOnlyChangedFields() throws InterruptedException {
+        // workaround for Platform.runLater(...) in view model
+        var panel = new JFXPanel();
+
+        var elevatorClient = mock(IElevatorClient.class);
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+
+        var elevator = new Elevator();
+        elevator.setElevatorNumber(0);
+        elevator.setVelocity(0.0);
+        elevator.setPayload(10.0);
+
+        when(elevatorClient.getElevators()).thenReturn(List.of(elevator));
+
+        var viewModel = new RemoteConsoleViewModel(elevatorClient, automaticModeStrategy);
+        viewModel.getModeProperty().set(Mode.MANUAL);
+
+        var snapshot = new BuildingSnapshot(1, 0);
+        snapshot.setVelocity(0, 5.0);
+        snapshot.setPayload(0, 150.0);
+
+        var elevatorStatusDelta = new ElevatorStatusDelta(1, 0);
+        elevatorStatusDelta.setSnapshot(snapshot);
+        elevatorStatusDelta.markChanged(0, StatusField.VELOCITY);
+
+        viewModel.updateDelta(elevatorStatusDelta);
+        waitForRunLater();
+
+        assertEquals(5.0, viewModel.getElevatorListProperty().get(0).getVelocity());
+        assertEquals(10.0, viewModel.getElevatorListProperty().get(0).getPayload());
+    }
+
+    @Test
+    void testUpdateDelta_SetsChangedHallCalls() throws InterruptedException {
+        // workaround for Platform.runLater(...) in view model
+        var panel = new JFXPanel();
+
+        var elevatorClient = mock(IElevatorClient.class);
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+
+        var elevatorFloor = new ElevatorFloor(new Floor(1));
+        var elevator = new Elevator();
+        elevator.setElevatorFloors(List.of(elevatorFloor));
+
+        when(elevatorClient.getElevators()).thenReturn(List.of(elevator));
+
+        var viewModel = new RemoteConsoleViewModel(elevatorClient, automaticModeStrategy);
+        viewModel.getModeProperty().set(Mode.MANUAL);
+
+        var snapshot = new BuildingSnapshot(1, 2);
+        snapshot.setUpRequested(1, true);
+        snapshot.setDownRequested(1, true);
+
+        var elevatorStatusDelta = new ElevatorStatusDelta(1, 2);
+        elevatorStatusDelta.setSnapshot(snapshot);
+        elevatorStatusDelta.markUpRequestsChanged(0, 0b10);
+
+        viewModel.updateDelta(elevatorStatusDelta);
+        waitForRunLater();
+
+        assertTrue(elevatorFloor.getUpRequest().get());
+        assertFalse(elevatorFloor.getDownRequest().get());
+    }
+
+    @Test
+    void testUpdateDelta_NotConnected() throws InterruptedException {
+        // workaround for Platform.runLater(...) in view model
+        var panel = new JFXPanel();
+
+        var elevatorClient = mock(IElevatorClient.class);
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+
+        when(elevatorClient.getElevators()).thenReturn(List.of(new Elevator()));
+
+        var viewModel = new RemoteConsoleViewModel(elevatorClient, automaticModeStrategy);
+
+        var snapshot = new BuildingSnapshot(1, 0);
+        snapshot.setConnected(false);
+
+        var elevatorStatusDelta = new ElevatorStatusDelta(1, 0);
+        elevatorStatusDelta.setSnapshot(snapshot);
+        elevatorStatusDelta.markChanged(0, StatusField.CONNECTION);
+
+        viewModel.updateDelta(elevatorStatusDelta);
+        waitForRunLater();
+
+        assertFalse(viewModel.getIsConnectedProperty().get());
+        verifyNoInteractions(automaticModeStrategy);
+    }
+
     private void waitForRunLater() throws InterruptedException {
         CountDownLatch countDownLatch = new CountDownLatch(1);
         Platform.runLater(countDownLatch::countDown);
@@ -0,0 +1,104 @@
+package at.fhhagenberg.sqelevator.logic;
+
+import at.fhhagenberg.sqelevator.domain.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SnapshotObserverLaneTest {
+
+    @Test
+    void testOffer_DeliveredOnExecutor() {
+        var observer = mock(ElevatorStatusObserver.class);
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var lane = new SnapshotObserverLane(observer, List.of(mock(Elevator.class)), pendingDeliveries::add);
+        var snapshot = createSnapshot(1.0);
+
+        lane.offer(snapshot);
+
+        verifyNoInteractions(observer);
+        assertEquals(2, snapshot.getReferenceCount());
+
+        pendingDeliveries.get(0).run();
+
+        verify(observer).update(anyList());
+        assertEquals(1, snapshot.getReferenceCount());
+        assertEquals(1, lane.getMetrics().getDeliveredCount());
+    }
+
+    @Test
+    void testOffer_LatestSnapshotWins() {
+        var observer = mock(ElevatorStatusObserver.class);
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var lane = new SnapshotObserverLane(observer, List.of(mock(Elevator.class)), pendingDeliveries::add);
+        var staleSnapshot = createSnapshot(1.0);
+
+        lane.offer(staleSnapshot);
+        lane.offer(createSnapshot(2.0));
+
+        assertEquals(1, pendingDeliveries.size());
+        assertEquals(1, staleSnapshot.getReferenceCount());
+
+        pendingDeliveries.get(0).run();
+
+        verify(observer).update(argThat(elevatorStatuses -> elevatorStatuses.get(0).getVelocity() == 2.0));
+        assertEquals(2, lane.getMetrics().getOfferedCount());
+        assertEquals(1, lane.getMetrics().getDroppedCount());
+    }
+
+    @Test
+    void testOffer_FailingObserverReleasesSnapshot() {
+        var observer = mock(ElevatorStatusObserver.class);
+        var lane = new SnapshotObserverLane(observer, List.of(mock(Elevator.class)), Runnable::run);
+        var snapshot = createSnapshot(1.0);
+
+        doThrow(new IllegalStateException("Observer failed")).when(observer).update(anyList());
+
+        lane.offer(snapshot);
+        lane.offer(snapshot);
+
+        assertEquals(1, snapshot.getReferenceCount());
+        assertEquals(2, lane.getMetrics().getFailedCount());
+    }
+
+    @Test
+    void testOffer_ObserverErrorDoesNotStopLane() {
+        var observer = mock(ElevatorStatusObserver.class);
+        var pendingDeliveries = new ArrayList<Runnable>();
+        var lane = new SnapshotObserverLane(observer, List.of(mock(Elevator.class)), pendingDeliveries::add);
+        var snapshot = createSnapshot(1.0);
+
+        doThrow(new AssertionError("Observer failed")).doNothing().when(observer).update(anyList());
+
+        lane.offer(snapshot);
+        assertThrows(AssertionError.class, () -> pendingDeliveries.get(0).run());
+
+        lane.offer(snapshot);
+
+        assertEquals(2, pendingDeliveries.size());
+
+        pendingDeliveries.get(1).run();
+
+        verify(observer, times(2)).update(anyList());
+        assertEquals(1, snapshot.getReferenceCount());
+        assertEquals(1, lane.getMetrics().getFailedCount());
+        assertEquals(1, lane.getMetrics().getDeliveredCount());
+    }
+
+    private BuildingSnapshot createSnapshot(double velocity) {
+        var snapshot = new BuildingSnapshot(1, 0);
+        snapshot.setPolled(0, true);
+        snapshot.setVelocity(0, velocity);
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,116 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.FloorBits;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrivalTimeEstimatorTest {
+
+    private static final double DELTA = 0.0001;
+
+    private final ArrivalTimeEstimator estimator = new ArrivalTimeEstimator(1.0, 5.0);
+
+    @Test
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrivalTimeEstimator(0, 5.0));
+        assertThrows(IllegalArgumentException.class, () -> new ArrivalTimeEstimator(1.0, -1.0));
+    }
+
+    @Test
+    void testEstimate_IdleCar() {
+        var snapshot = snapshot(4);
+
+        assertEquals(3.0, estimator.estimate(snapshot, 0, Direction.UNCOMMITED, stops(), 7, Direction.DOWN), DELTA);
+        assertEquals(4.0, estimator.estimate(snapshot, 0, Direction.UNCOMMITED, stops(), 0, Direction.UP), DELTA);
+    }
+
+    @Test
+    void testEstimate_OpenDoorAddsHalfAStop() {
+        var snapshot = snapshot(4);
+        snapshot.setDoorStatus(0, DoorStatus.OPEN);
+
+        assertEquals(4.5, estimator.estimate(snapshot, 0, Direction.UNCOMMITED, stops(), 2, Direction.UP), DELTA);
+    }
+
+    @Test
+    void testEstimate_OnTheWay() {
+        var snapshot = snapshot(2);
+
+        // one stop at 4 lies between the car and the call at 6
+        assertEquals(9.0, estimator.estimate(snapshot, 0, Direction.UP, stops(4, 8), 6, Direction.UP), DELTA);
+    }
+
+    @Test
+    void testEstimate_OppositeDirectionTurnsAroundAtExtremeStop() {
+        var snapshot = snapshot(2);
+
+        // up to 8 with a stop at 4 and 8, back down to 6
+        assertEquals(18.0, estimator.estimate(snapshot, 0, Direction.UP, stops(4, 8), 6, Direction.DOWN), DELTA);
+    }
+
+    @Test
+    void testEstimate_CallBehindCar() {
+        var snapshot = snapshot(5);
+
+        // up to 7 and its stop there, then back down to 1
+        assertEquals(13.0, estimator.estimate(snapshot, 0, Direction.UP, stops(7), 1, Direction.UP), DELTA);
+    }
+
+    @Test
+    void testEstimate_CallBeyondLastStop() {
+        var snapshot = snapshot(2);
+
+        // nothing lies beyond the call, so the car picks it up after its stop at 4
+        assertEquals(9.0, estimator.estimate(snapshot, 0, Direction.UP, stops(4), 6, Direction.DOWN), DELTA);
+    }
+
+    @Test
+    void testEstimate_LoadSlowsDownStops() {
+        var snapshot = snapshot(2);
+        snapshot.setMaximumPayload(0, 800);
+        snapshot.setPayload(0, 400);
+
+        assertEquals(11.5, estimator.estimate(snapshot, 0, Direction.UP, stops(4, 8), 6, Direction.UP), DELTA);
+    }
+
+    @Test
+    void testCountStops() {
+        var stops = stops(1, 3, 5, 70);
+
+        assertEquals(2, estimator.countStops(stops, 0, 5));
+        assertEquals(2, estimator.countStops(stops, 5, 0));
+        assertEquals(0, estimator.countStops(stops, 3, 3));
+        assertEquals(1, estimator.countStops(stops, 6, 71));
+    }
+
+    @Test
+    void testFindExtremeStop() {
+        var stops = stops(1, 3, 70);
+
+        assertEquals(70, estimator.findExtremeStop(stops, 3, Direction.UP));
+        assertEquals(1, estimator.findExtremeStop(stops, 3, Direction.DOWN));
+        assertEquals(1, estimator.findExtremeStop(stops, 1, Direction.DOWN));
+        assertEquals(3, estimator.findExtremeStop(stops, 3, Direction.UNCOMMITED));
+    }
+
+    private static BuildingSnapshot snapshot(int currentFloor) {
+        var snapshot = new BuildingSnapshot(1, 80);
+        snapshot.setCurrentFloor(0, currentFloor);
+
+        return snapshot;
+    }
+
+    private static long[] stops(int... floors) {
+        var stops = FloorBits.create(80);
+
+        for (var floor : floors) {
+            FloorBits.set(stops, floor);
+        }
+
+        return stops;
+    }
+}
@@ -0,0 +1,234 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import at.fhhagenberg.sqelevator.domain.ElevatorFloor;
+import at.fhhagenberg.sqelevator.domain.Floor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AutomaticElevatorModeTest {
+
+    @Test
+    void testExecute_OnlyTargetsAreWritten() throws RemoteException {
+        var client = mock(IElevatorClient.class);
+        var elevator = new Elevator();
+
+        when(client.getElevators()).thenReturn(List.of(elevator));
+
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+        var snapshot = createSnapshot(1L);
+        snapshot.setButtonPressed(0, 3, true);
+
+        automaticElevatorMode.execute(snapshot);
+
+        var metrics = automaticElevatorMode.getMetrics();
+
+        verify(client).setTarget(elevator, 3);
+        verify(client, atLeastOnce()).getElevators();
+        verifyNoMoreInteractions(client);
+        assertEquals(1, metrics.getPassCount());
+        assertEquals(1, metrics.getLastPassRpcCalls());
+        assertEquals(1, metrics.getRpcCalls());
+        assertEquals(0, automaticElevatorMode.getTargetCommandChannel().getCoalescedCount());
+        verify(stuckElevatorRecovery).observe(0, 0, 3);
+        assertEquals(0, automaticElevatorMode.getAssignments().getAssignedElevator(3));
+    }
+
+    @Test
+    void testExecute_ArrivalMovesAssignmentToNextTarget() {
+        var client = mock(IElevatorClient.class);
+
+        when(client.getElevators()).thenReturn(List.of(new Elevator()));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = createSnapshot(1L);
+        snapshot.setButtonPressed(0, 3, true);
+
+        automaticElevatorMode.execute(snapshot);
+
+        var arrived = createSnapshot(2L);
+        arrived.setCurrentFloor(0, 3);
+        arrived.setDoorStatus(0, DoorStatus.OPEN);
+        arrived.setButtonPressed(0, 4, true);
+
+        automaticElevatorMode.execute(arrived);
+
+        assertFalse(automaticElevatorMode.getAssignments().isAssigned(3));
+        assertEquals(4, automaticElevatorMode.getAssignments().getAssignedFloor(0));
+    }
+
+    @Test
+    void testExecute_UnchangedRequestsAreNotDispatchedAgain() throws RemoteException {
+        var client = mock(IElevatorClient.class);
+        var elevator = new Elevator();
+
+        when(client.getElevators()).thenReturn(List.of(elevator));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = createSnapshot(1L);
+        snapshot.setButtonPressed(0, 3, true);
+
+        automaticElevatorMode.execute(snapshot);
+
+        var moving = createSnapshot(2L);
+        moving.setCurrentFloor(0, 1);
+        moving.setButtonPressed(0, 3, true);
+
+        automaticElevatorMode.execute(moving);
+
+        verify(client, times(1)).setTarget(any(Elevator.class), anyInt());
+        assertEquals(2, automaticElevatorMode.getMetrics().getPassCount());
+        assertEquals(0, automaticElevatorMode.getMetrics().getLastPassRpcCalls());
+    }
+
+    @Test
+    void testExecute_UpAndDownCallsAreServedBySeparateCars() throws RemoteException {
+        var client = mock(IElevatorClient.class);
+        var first = new Elevator();
+        var second = new Elevator();
+        var floors = new ArrayList<ElevatorFloor>();
+
+        for (int floorNumber = 0; floorNumber < 5; floorNumber++) {
+            floors.add(new ElevatorFloor(new Floor(floorNumber)));
+        }
+
+        first.setElevatorFloors(floors);
+        second.setElevatorFloors(floors);
+
+        when(client.getElevators()).thenReturn(List.of(first, second));
+        when(client.getFloorByNumber(any(Elevator.class), anyInt()))
+                .thenAnswer(invocation -> Optional.of(new ElevatorFloor(new Floor(invocation.getArgument(1)))));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = new BuildingSnapshot(2, 5);
+        snapshot.setClockTick(1L);
+        snapshot.setPolled(0, true);
+        snapshot.setPolled(1, true);
+        snapshot.setUpRequested(3, true);
+        snapshot.setDownRequested(3, true);
+
+        automaticElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(first, 3);
+        verify(client).setTarget(second, 3);
+        assertEquals(Direction.UP, automaticElevatorMode.getAssignments().getServiceDirection(0));
+        assertEquals(Direction.DOWN, automaticElevatorMode.getAssignments().getServiceDirection(1));
+    }
+
+    @Test
+    void testExecute_FullCarIsNotSentToHallCall() throws RemoteException {
+        var client = mock(IElevatorClient.class);
+        var first = new Elevator();
+        var second = new Elevator();
+        var floors = new ArrayList<ElevatorFloor>();
+
+        for (int floorNumber = 0; floorNumber < 5; floorNumber++) {
+            floors.add(new ElevatorFloor(new Floor(floorNumber)));
+        }
+
+        first.setElevatorFloors(floors);
+        second.setElevatorFloors(floors);
+
+        when(client.getElevators()).thenReturn(List.of(first, second));
+        when(client.getFloorByNumber(any(Elevator.class), anyInt()))
+                .thenAnswer(invocation -> Optional.of(new ElevatorFloor(new Floor(invocation.getArgument(1)))));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = new BuildingSnapshot(2, 5);
+        snapshot.setClockTick(1L);
+        snapshot.setPolled(0, true);
+        snapshot.setPolled(1, true);
+        snapshot.setCurrentFloor(0, 2);
+        snapshot.setMaximumPayload(0, 800);
+        snapshot.setPayload(0, 800);
+        snapshot.setUpRequested(3, true);
+
+        automaticElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(second, 3);
+        verify(client, never()).setTarget(eq(first), anyInt());
+        assertEquals(1, automaticElevatorMode.getMetrics().getRejectedStopCount());
+    }
+
+    @Test
+    void testSetClient_StopsStuckElevatorRecovery() {
+        var client = mock(IElevatorClient.class);
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        automaticElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        automaticElevatorMode.setClient(client);
+
+        verify(stuckElevatorRecovery).stop();
+        assertNull(automaticElevatorMode.getStuckElevatorRecovery());
+    }
+
+    @Test
+    void testExecute_SameClockTickIsSkipped() throws RemoteException {
+        var client = mock(IElevatorClient.class);
+
+        when(client.getElevators()).thenReturn(List.of(new Elevator()));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+
+        automaticElevatorMode.execute(createSnapshot(5L));
+        automaticElevatorMode.execute(createSnapshot(5L));
+
+        var metrics = automaticElevatorMode.getMetrics();
+
+        assertEquals(1, metrics.getPassCount());
+        assertEquals(1, metrics.getSkippedPassCount());
+        assertEquals(0, metrics.getRpcCalls());
+        verify(client, never()).setTarget(any(Elevator.class), anyInt());
+    }
+
+    @Test
+    void testExecute_NotInitializedWhileDisconnected() {
+        var client = mock(IElevatorClient.class);
+
+        when(client.getElevators()).thenReturn(List.of(new Elevator()));
+
+        var automaticElevatorMode = new AutomaticElevatorMode(client);
+        var snapshot = createSnapshot(1L);
+        snapshot.setConnected(false);
+
+        automaticElevatorMode.execute(snapshot);
+
+        assertEquals(0, automaticElevatorMode.getMetrics().getPassCount());
+    }
+
+    private BuildingSnapshot createSnapshot(long clockTick) {
+        var snapshot = new BuildingSnapshot(1, 5);
+        snapshot.setClockTick(clockTick);
+        snapshot.setPolled(0, true);
+        snapshot.setCurrentFloor(0, 0);
+        snapshot.setTargetedFloor(0, 0);
+        snapshot.setDirection(0, Direction.UNCOMMITED);
+        snapshot.setDoorStatus(0, DoorStatus.CLOSED);
+
+        return snapshot;
+    }
+}
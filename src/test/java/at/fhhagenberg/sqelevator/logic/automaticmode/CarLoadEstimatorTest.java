@@ -0,0 +1,64 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CarLoadEstimatorTest {
+
+    private final CarLoadEstimator loads = new CarLoadEstimator();
+
+    @Test
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new CarLoadEstimator(0, 0.2));
+        assertThrows(IllegalArgumentException.class, () -> new CarLoadEstimator(80, -0.1));
+        assertThrows(IllegalArgumentException.class, () -> new CarLoadEstimator(80, 1));
+    }
+
+    @Test
+    void testGetRemainingCapacity() {
+        var snapshot = snapshot(800, 250);
+
+        assertEquals(10, loads.getCapacity(snapshot, 0));
+        assertEquals(6, loads.getRemainingCapacity(snapshot, 0));
+    }
+
+    @Test
+    void testGetRemainingCapacity_Overloaded() {
+        var snapshot = snapshot(800, 900);
+
+        assertEquals(0, loads.getRemainingCapacity(snapshot, 0));
+        assertFalse(loads.canTakeHallCall(snapshot, 0));
+    }
+
+    @Test
+    void testGetRemainingCapacity_UnknownMaximumPayload() {
+        var snapshot = snapshot(0, 500);
+
+        assertEquals(CarLoadEstimator.UNKNOWN_CAPACITY, loads.getCapacity(snapshot, 0));
+        assertEquals(CarLoadEstimator.UNKNOWN_CAPACITY, loads.getRemainingCapacity(snapshot, 0));
+        assertTrue(loads.canTakeHallCall(snapshot, 0));
+    }
+
+    @Test
+    void testCanTakeHallCall() {
+        // ten places, two of them have to be free
+        assertTrue(loads.canTakeHallCall(snapshot(800, 640), 0));
+        assertFalse(loads.canTakeHallCall(snapshot(800, 641), 0));
+    }
+
+    @Test
+    void testCanTakeHallCall_SmallCarNeedsOnePlace() {
+        assertTrue(loads.canTakeHallCall(snapshot(240, 160), 0));
+        assertFalse(loads.canTakeHallCall(snapshot(240, 240), 0));
+    }
+
+    private BuildingSnapshot snapshot(double maximumPayload, double payload) {
+        var snapshot = new BuildingSnapshot(1, 5);
+        snapshot.setMaximumPayload(0, maximumPayload);
+        snapshot.setPayload(0, payload);
+
+        return snapshot;
+    }
+}
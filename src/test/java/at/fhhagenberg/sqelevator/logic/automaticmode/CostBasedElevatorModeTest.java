@@ -0,0 +1,318 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CostBasedElevatorModeTest {
+
+    private IElevatorClient client;
+    private Elevator first;
+    private Elevator second;
+    private CostBasedElevatorMode costBasedElevatorMode;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.first = new Elevator();
+        this.second = new Elevator();
+
+        lenient().when(client.getElevators()).thenReturn(List.of(first, second));
+
+        this.costBasedElevatorMode = new CostBasedElevatorMode(client, new ArrivalTimeEstimator(1.0, 5.0));
+        this.costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        this.costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(client, 0));
+    }
+
+    @Test
+    void testConstructor_NullEstimator() {
+        assertThrows(IllegalArgumentException.class, () -> new CostBasedElevatorMode(client, null));
+    }
+
+    @Test
+    void testExecute_HallCallGoesToCheapestCar() throws RemoteException {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(6, true);
+
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(second, 6);
+        verify(client, never()).setTarget(eq(first), anyInt());
+        assertEquals(1, costBasedElevatorMode.getAssignedElevator(6, Direction.UP));
+        assertEquals(-1, costBasedElevatorMode.getAssignedElevator(6, Direction.DOWN));
+    }
+
+    @Test
+    void testExecute_BusyCarIsAvoided() throws RemoteException {
+        // the first car is closer but carries passengers up to the top floor first
+        var snapshot = createSnapshot(1L, 3, 9);
+        snapshot.setDirection(0, Direction.UP);
+        snapshot.setButtonPressed(0, 11, true);
+        snapshot.setDownRequested(5, true);
+
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(first, 11);
+        verify(client).setTarget(second, 5);
+        assertEquals(1, costBasedElevatorMode.getAssignedElevator(5, Direction.DOWN));
+    }
+
+    @Test
+    void testConstructor_NullSolver() {
+        assertThrows(IllegalArgumentException.class, () -> new CostBasedElevatorMode(client, new ArrivalTimeEstimator(), null));
+    }
+
+    @Test
+    void testExecute_BatchAssignmentSplitsCalls() throws RemoteException {
+        // greedily the second car would take both calls because it is closest to each of them
+        var batchElevatorMode = new CostBasedElevatorMode(client, new ArrivalTimeEstimator(1.0, 5.0), new HallCallAssignmentSolver(10, () -> 0));
+        batchElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = createSnapshot(1L, 0, 5);
+        snapshot.setUpRequested(4, true);
+        snapshot.setUpRequested(6, true);
+
+        batchElevatorMode.execute(snapshot);
+
+        assertEquals(0, batchElevatorMode.getAssignedElevator(4, Direction.UP));
+        assertEquals(1, batchElevatorMode.getAssignedElevator(6, Direction.UP));
+        assertEquals(1, batchElevatorMode.getBatchAssignmentCount());
+        verify(client).setTarget(first, 4);
+        verify(client).setTarget(second, 6);
+    }
+
+    @Test
+    void testExecute_OverBudgetCommitsGreedyPlan() throws RemoteException {
+        // every clock read is past the deadline, the closer second car keeps the first call and the first car the other
+        var time = new AtomicLong();
+        var solver = new HallCallAssignmentSolver(10, () -> time.getAndAdd(100));
+        var batchElevatorMode = new CostBasedElevatorMode(client, new ArrivalTimeEstimator(1.0, 5.0), solver);
+        batchElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = createSnapshot(1L, 0, 5);
+        snapshot.setUpRequested(4, true);
+        snapshot.setUpRequested(6, true);
+
+        batchElevatorMode.execute(snapshot);
+
+        assertEquals(1, batchElevatorMode.getAssignedElevator(4, Direction.UP));
+        assertEquals(0, batchElevatorMode.getAssignedElevator(6, Direction.UP));
+        assertEquals(1, batchElevatorMode.getBatchAssignmentCount());
+        assertEquals(1, batchElevatorMode.getGreedyFallbackCount());
+        assertEquals(0, batchElevatorMode.getMetrics().getPlanImprovement());
+        assertEquals(1, batchElevatorMode.getMetrics().getBudgetOverrunCount());
+    }
+
+    @Test
+    void testExecute_SolvedPlanRecordsImprovement() throws RemoteException {
+        // the clock stands still, so the pass can never run past its budget
+        var batchElevatorMode = new CostBasedElevatorMode(client, new ArrivalTimeEstimator(1.0, 5.0), new HallCallAssignmentSolver(10, () -> 0));
+        batchElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        var snapshot = createSnapshot(1L, 0, 5);
+        snapshot.setUpRequested(4, true);
+        snapshot.setUpRequested(6, true);
+
+        batchElevatorMode.execute(snapshot);
+
+        assertEquals(0, batchElevatorMode.getGreedyFallbackCount());
+        assertTrue(batchElevatorMode.getMetrics().getPlanImprovement() > 0);
+        assertEquals(0, batchElevatorMode.getMetrics().getBudgetOverrunCount());
+    }
+
+    @Test
+    void testExecute_UnchangedCarsAreNotScoredAgain() {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(6, true);
+
+        costBasedElevatorMode.execute(snapshot);
+        assertEquals(2, costBasedElevatorMode.getScoredPairCount());
+
+        // the second car took the call as a stop, so the call is scored once more against both cars
+        snapshot.setClockTick(2L);
+        costBasedElevatorMode.execute(snapshot);
+        assertEquals(4, costBasedElevatorMode.getScoredPairCount());
+
+        snapshot.setClockTick(3L);
+        costBasedElevatorMode.execute(snapshot);
+        assertEquals(4, costBasedElevatorMode.getScoredPairCount());
+
+        // only the moved first car is compared against the car that has the call
+        snapshot.setClockTick(4L);
+        snapshot.setCurrentFloor(0, 1);
+        costBasedElevatorMode.execute(snapshot);
+        assertEquals(6, costBasedElevatorMode.getScoredPairCount());
+        assertEquals(1, costBasedElevatorMode.getAssignedElevator(6, Direction.UP));
+    }
+
+    @Test
+    void testExecute_FullCarGetsNoHallCall() throws RemoteException {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setMaximumPayload(1, 800);
+        snapshot.setPayload(1, 720);
+        snapshot.setUpRequested(6, true);
+
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(first, 6);
+        assertEquals(0, costBasedElevatorMode.getAssignedElevator(6, Direction.UP));
+        assertEquals(1, costBasedElevatorMode.getMetrics().getRejectedStopCount());
+    }
+
+    @Test
+    void testExecute_CarThatFillsUpLosesItsHallCall() {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(6, true);
+        costBasedElevatorMode.execute(snapshot);
+
+        var filled = createSnapshot(2L, 0, 7);
+        filled.setMaximumPayload(1, 800);
+        filled.setPayload(1, 800);
+        filled.setUpRequested(6, true);
+        costBasedElevatorMode.execute(filled);
+
+        assertEquals(0, costBasedElevatorMode.getAssignedElevator(6, Direction.UP));
+    }
+
+    @Test
+    void testExecute_UnchangedNextStopIsNotSentAgain() throws RemoteException {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(6, true);
+        costBasedElevatorMode.execute(snapshot);
+
+        var moving = createSnapshot(2L, 0, 7);
+        moving.setDirection(1, Direction.DOWN);
+        moving.setUpRequested(6, true);
+        costBasedElevatorMode.execute(moving);
+
+        verify(client, times(1)).setTarget(any(Elevator.class), anyInt());
+        assertEquals(0, costBasedElevatorMode.getMetrics().getLastPassRpcCalls());
+        assertEquals(2, costBasedElevatorMode.getMetrics().getPassCount());
+    }
+
+    @Test
+    void testExecute_OpenDoorServesCall() throws RemoteException {
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(6, true);
+        costBasedElevatorMode.execute(snapshot);
+
+        var arrived = createSnapshot(2L, 0, 6);
+        arrived.setDoorStatus(1, DoorStatus.OPEN);
+        costBasedElevatorMode.execute(arrived);
+
+        assertEquals(-1, costBasedElevatorMode.getAssignedElevator(6, Direction.UP));
+    }
+
+    @Test
+    void testExecute_IdleCarIsParkedAtBusyFloor() throws RemoteException {
+        costBasedElevatorMode.setIdleCarParking(new IdleCarParking(4, 1000, 1, () -> 0));
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(10, true);
+
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(second, 10);
+        verify(client).setTarget(first, 10);
+        assertEquals(1, costBasedElevatorMode.getIdleCarParking().getDemand().getUpDemand(0, 10));
+    }
+
+    @Test
+    void testExecute_IdleCarStaysWithoutEnoughDemand() throws RemoteException {
+        costBasedElevatorMode.setIdleCarParking(new IdleCarParking(4, 1000, 2, () -> 0));
+        var snapshot = createSnapshot(1L, 0, 8);
+        snapshot.setUpRequested(10, true);
+
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client).setTarget(second, 10);
+        verify(client, never()).setTarget(eq(first), anyInt());
+    }
+
+    @Test
+    void testExecute_SameClockTickIsSkipped() {
+        costBasedElevatorMode.execute(createSnapshot(5L, 0, 0));
+        costBasedElevatorMode.execute(createSnapshot(5L, 0, 0));
+
+        assertEquals(1, costBasedElevatorMode.getMetrics().getPassCount());
+        assertEquals(1, costBasedElevatorMode.getMetrics().getSkippedPassCount());
+    }
+
+    @Test
+    void testExecute_SharedChannelDoesNotResendTarget() throws RemoteException {
+        var commands = costBasedElevatorMode.getTargetCommandChannel();
+        commands.setTarget(0, 10);
+        commands.flush(List.of(first, second));
+
+        var snapshot = createSnapshot(1L, 0, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        costBasedElevatorMode.execute(snapshot);
+
+        // another strategy on the same client already sent the car there
+        verify(client, times(1)).setTarget(first, 10);
+        assertEquals(0, costBasedElevatorMode.getMetrics().getRpcCalls());
+        assertEquals(1, commands.getElidedCount());
+    }
+
+    @Test
+    void testExecute_NudgedCarIsNotRetargeted() throws RemoteException {
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        when(stuckElevatorRecovery.getState(anyInt())).thenReturn(RecoveryState.NUDGED);
+        costBasedElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        var snapshot = createSnapshot(1L, 0, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        costBasedElevatorMode.execute(snapshot);
+
+        verify(client, never()).setTarget(any(Elevator.class), anyInt());
+        assertFalse(costBasedElevatorMode.getTargetCommandChannel().hasStagedTarget(0));
+    }
+
+    @Test
+    void testSetClient_KeepsChannelOfSameClient() {
+        var commands = costBasedElevatorMode.getTargetCommandChannel();
+
+        costBasedElevatorMode.setClient(client);
+
+        assertSame(commands, costBasedElevatorMode.getTargetCommandChannel());
+
+        costBasedElevatorMode.setClient(mock(IElevatorClient.class));
+
+        assertNull(costBasedElevatorMode.getTargetCommandChannel());
+    }
+
+    @Test
+    void testSetClient_StopsStuckElevatorRecovery() {
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        costBasedElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        costBasedElevatorMode.setClient(client);
+
+        verify(stuckElevatorRecovery).stop();
+        assertNull(costBasedElevatorMode.getStuckElevatorRecovery());
+    }
+
+    private BuildingSnapshot createSnapshot(long clockTick, int firstFloor, int secondFloor) {
+        var snapshot = new BuildingSnapshot(2, 12);
+        snapshot.setClockTick(clockTick);
+        snapshot.setPolled(0, true);
+        snapshot.setPolled(1, true);
+        snapshot.setCurrentFloor(0, firstFloor);
+        snapshot.setCurrentFloor(1, secondFloor);
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,107 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DispatchLoopTest {
+
+    @Test
+    void testConstructor_Null() {
+        assertThrows(IllegalArgumentException.class, () -> new DispatchLoop(null));
+    }
+
+    @Test
+    void testTrigger_Null() {
+        var dispatchLoop = new DispatchLoop(mock(IAutomaticModeStrategy.class));
+
+        assertThrows(IllegalArgumentException.class, () -> dispatchLoop.trigger(null));
+    }
+
+    @Test
+    void testTrigger_PassRunsOnDispatcherThread() {
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+        var dispatchLoop = new DispatchLoop(automaticModeStrategy);
+        var snapshot = new BuildingSnapshot(1, 1);
+
+        doAnswer(invocationOnMock -> {
+            assertEquals("elevator-dispatcher", Thread.currentThread().getName());
+            return null;
+        }).when(automaticModeStrategy).execute(snapshot);
+
+        dispatchLoop.trigger(snapshot);
+
+        verify(automaticModeStrategy, timeout(10000)).execute(snapshot);
+        awaitPasses(dispatchLoop, 1);
+        assertEquals(1, snapshot.getReferenceCount());
+
+        dispatchLoop.stop();
+    }
+
+    @Test
+    void testTrigger_TriggersDuringPassAreCoalesced() throws InterruptedException {
+        var automaticModeStrategy = mock(IAutomaticModeStrategy.class);
+        var dispatchLoop = new DispatchLoop(automaticModeStrategy);
+        var passStarted = new CountDownLatch(1);
+        var passReleased = new CountDownLatch(1);
+        var firstSnapshot = new BuildingSnapshot(1, 1);
+        var skippedSnapshot = new BuildingSnapshot(1, 1);
+        var latestSnapshot = new BuildingSnapshot(1, 1);
+
+        doAnswer(invocationOnMock -> {
+            passStarted.countDown();
+            passReleased.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(automaticModeStrategy).execute(firstSnapshot);
+
+        dispatchLoop.trigger(firstSnapshot);
+        assertTrue(passStarted.await(10, TimeUnit.SECONDS));
+
+        dispatchLoop.trigger(skippedSnapshot);
+        dispatchLoop.trigger(latestSnapshot);
+        passReleased.countDown();
+
+        verify(automaticModeStrategy, timeout(10000)).execute(latestSnapshot);
+        awaitPasses(dispatchLoop, 2);
+
+        verify(automaticModeStrategy, never()).execute(skippedSnapshot);
+        verify(automaticModeStrategy, times(2)).execute(any());
+        assertEquals(3, dispatchLoop.getTriggerCount());
+        assertEquals(1, dispatchLoop.getCoalescedTriggerCount());
+        assertEquals(1, skippedSnapshot.getReferenceCount());
+        assertTrue(dispatchLoop.getMaximumPassLatency() >= dispatchLoop.getLastPassLatency());
+
+        dispatchLoop.stop();
+    }
+
+    @Test
+    void testTrigger_IgnoredAfterStop() {
+        var dispatchLoop = new DispatchLoop(mock(IAutomaticModeStrategy.class));
+        var snapshot = new BuildingSnapshot(1, 1);
+
+        dispatchLoop.stop();
+        dispatchLoop.trigger(snapshot);
+
+        assertEquals(0, dispatchLoop.getTriggerCount());
+        assertEquals(1, snapshot.getReferenceCount());
+    }
+
+    private void awaitPasses(DispatchLoop dispatchLoop, long passCount) {
+        var deadline = System.currentTimeMillis() + 10000;
+
+        while (dispatchLoop.getPassCount() < passCount && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertEquals(passCount, dispatchLoop.getPassCount());
+    }
+}
@@ -0,0 +1,121 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.Direction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FloorAssignmentTableTest {
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new FloorAssignmentTable(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new FloorAssignmentTable(2, -1));
+    }
+
+    @Test
+    void testAssign() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assignments.assign(3, 1);
+
+        assertTrue(assignments.isAssigned(3));
+        assertEquals(1, assignments.getAssignedElevator(3));
+        assertEquals(3, assignments.getAssignedFloor(1));
+        assertEquals(FloorAssignmentTable.UNASSIGNED, assignments.getAssignedFloor(0));
+    }
+
+    @Test
+    void testAssign_ReplacesPreviousFloorOfElevator() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assignments.assign(3, 1);
+        assignments.assign(4, 1);
+
+        assertFalse(assignments.isAssigned(3));
+        assertEquals(4, assignments.getAssignedFloor(1));
+    }
+
+    @Test
+    void testAssign_TakesFloorFromOtherElevator() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assignments.assign(3, 1);
+        assignments.assign(3, 0);
+
+        assertEquals(0, assignments.getAssignedElevator(3));
+        assertEquals(FloorAssignmentTable.UNASSIGNED, assignments.getAssignedFloor(1));
+    }
+
+    @Test
+    void testAssign_ServiceDirection() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assignments.assign(3, 1, Direction.UP);
+
+        assertTrue(assignments.isAssigned(3));
+        assertTrue(assignments.isAssigned(3, Direction.UP));
+        assertTrue(assignments.isAssigned(3, Direction.UNCOMMITED));
+        assertFalse(assignments.isAssigned(3, Direction.DOWN));
+        assertEquals(Direction.UP, assignments.getServiceDirection(1));
+
+        assignments.assign(3, 1);
+
+        assertTrue(assignments.isAssigned(3, Direction.DOWN));
+        assertEquals(Direction.UNCOMMITED, assignments.getServiceDirection(1));
+    }
+
+    @Test
+    void testAssign_InvalidFloor() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> assignments.assign(5, 0));
+        assertThrows(IllegalArgumentException.class, () -> assignments.assign(-1, 0));
+    }
+
+    @Test
+    void testArrive() {
+        var assignments = new FloorAssignmentTable(2, 5);
+        assignments.assign(3, 1);
+
+        assignments.arrive(0, 3);
+        assertTrue(assignments.isAssigned(3));
+
+        assignments.arrive(1, 3);
+        assertFalse(assignments.isAssigned(3));
+        assertEquals(FloorAssignmentTable.UNASSIGNED, assignments.getAssignedFloor(1));
+        assertEquals(Direction.UNCOMMITED, assignments.getServiceDirection(1));
+    }
+
+    @Test
+    void testCancel() {
+        var assignments = new FloorAssignmentTable(2, 5);
+        assignments.assign(2, 0);
+
+        assignments.cancel(2);
+        assignments.cancel(4);
+
+        assertFalse(assignments.isAssigned(2));
+        assertEquals(FloorAssignmentTable.UNASSIGNED, assignments.getAssignedFloor(0));
+    }
+
+    @Test
+    void testIsAssigned_OutOfRange() {
+        var assignments = new FloorAssignmentTable(2, 5);
+
+        assertFalse(assignments.isAssigned(-1));
+        assertFalse(assignments.isAssigned(7));
+    }
+
+    @Test
+    void testClear() {
+        var assignments = new FloorAssignmentTable(2, 5);
+        assignments.assign(1, 0);
+        assignments.assign(2, 1);
+
+        assignments.clear();
+
+        assertFalse(assignments.isAssigned(1));
+        assertFalse(assignments.isAssigned(2));
+    }
+}
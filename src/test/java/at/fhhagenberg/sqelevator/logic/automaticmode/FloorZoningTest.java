@@ -0,0 +1,151 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FloorZoningTest {
+
+    private IElevatorClient client;
+    private List<Elevator> elevators;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.elevators = List.of(new Elevator(), new Elevator(), new Elevator(), new Elevator());
+    }
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new FloorZoning(0));
+        assertThrows(IllegalArgumentException.class, () -> new FloorZoning(2, 0, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> new FloorZoning(2, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FloorZoning(2, 10, 1.5));
+    }
+
+    @Test
+    void testIsServiced_EveryFloorBeforeFirstZoning() {
+        var zoning = new FloorZoning(2);
+
+        assertTrue(zoning.isServiced(0, 9));
+        assertTrue(zoning.isServiced(3, 1));
+    }
+
+    @Test
+    void testUpdate_EqualZonesWithoutDemand() {
+        var zoning = new FloorZoning(2, 10, 0.999);
+
+        assertTrue(zoning.update(new RequestStore(4, 13)));
+
+        assertEquals(2, zoning.getNumberOfZones());
+        assertEquals(1, zoning.getZoneStart(0));
+        assertEquals(6, zoning.getZoneEnd(0));
+        assertEquals(7, zoning.getZoneStart(1));
+        assertEquals(12, zoning.getZoneEnd(1));
+        assertEquals(0, zoning.getZone(1));
+        assertEquals(1, zoning.getZone(2));
+        assertTrue(zoning.isServiced(0, 0));
+        assertTrue(zoning.isServiced(3, 0));
+        assertTrue(zoning.isServiced(1, 6));
+        assertFalse(zoning.isServiced(1, 7));
+        assertTrue(zoning.isServiced(2, 7));
+        assertFalse(zoning.isServiced(2, 6));
+    }
+
+    @Test
+    void testUpdate_ZonesCappedByCars() {
+        var zoning = new FloorZoning(5, 10, 0.999);
+
+        zoning.update(new RequestStore(2, 13));
+
+        assertEquals(2, zoning.getNumberOfZones());
+    }
+
+    @Test
+    void testUpdate_BoundariesFollowDemandAfterPeriod() {
+        var zoning = new FloorZoning(2, 3, 1);
+        var requests = new RequestStore(4, 13);
+        zoning.update(requests);
+
+        // the upper floors are busy, so the lower zone grows
+        for (int pass = 0; pass < 3; pass++) {
+            var snapshot = new BuildingSnapshot(4, 13);
+
+            if (pass % 2 == 0) {
+                for (int floorNumber = 9; floorNumber < 13; floorNumber++) {
+                    snapshot.setDownRequested(floorNumber, true);
+                }
+            }
+
+            requests.update(snapshot);
+            assertEquals(pass == 2, zoning.update(requests));
+        }
+
+        assertEquals(9, zoning.getZoneEnd(0));
+        assertEquals(10, zoning.getZoneStart(1));
+        assertEquals(2, zoning.getRezoningCount());
+    }
+
+    @Test
+    void testApply_WritesDifferencesOnce() throws RemoteException {
+        var zoning = new FloorZoning(2, 10, 0.999);
+        var snapshot = createSnapshot();
+        snapshot.setServiced(0, 8, false);
+        zoning.update(new RequestStore(4, 13));
+
+        // the first car already skips floor 8, the other five floors of the upper zone are written
+        assertEquals(5 + 6 + 6 + 6, zoning.apply(client, elevators, snapshot));
+        assertEquals(0, zoning.apply(client, elevators, snapshot));
+
+        verify(client, never()).setServicesFloors(elevators.get(0), 8, false);
+        verify(client).setServicesFloors(elevators.get(2), 1, false);
+        verify(client, never()).setServicesFloors(any(Elevator.class), anyInt(), eq(true));
+    }
+
+    @Test
+    void testApply_BeforeFirstZoning() throws RemoteException {
+        assertEquals(0, new FloorZoning(2).apply(client, elevators, createSnapshot()));
+
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void testRelease_GivesAllFloorsBack() throws RemoteException {
+        var zoning = new FloorZoning(2, 10, 0.999);
+        zoning.update(new RequestStore(4, 13));
+        zoning.apply(client, elevators, createSnapshot());
+
+        assertEquals(24, zoning.release(client, elevators));
+
+        verify(client).setServicesFloors(elevators.get(0), 12, true);
+        verify(client).setServicesFloors(elevators.get(3), 1, true);
+        assertTrue(zoning.isServiced(0, 12));
+        assertEquals(0, zoning.release(client, elevators));
+    }
+
+    private static BuildingSnapshot createSnapshot() {
+        var snapshot = new BuildingSnapshot(4, 13);
+
+        for (int i = 0; i < 4; i++) {
+            for (int floorNumber = 0; floorNumber < 13; floorNumber++) {
+                snapshot.setServiced(i, floorNumber, true);
+            }
+        }
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,177 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HallCallAssignmentSolverTest {
+
+    // the clock stands still, so every solve finishes within its budget however long it takes
+    private final HallCallAssignmentSolver solver = new HallCallAssignmentSolver(10, () -> 0);
+
+    @Test
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new HallCallAssignmentSolver(0));
+        assertThrows(IllegalArgumentException.class, () -> new HallCallAssignmentSolver(1000, null));
+    }
+
+    @Test
+    void testSolve_FindsGlobalMinimum() {
+        // greedy row by row would take column 0 for the first row and end up with 1 + 7 + 9
+        var costs = new double[]{
+                1, 2, 9,
+                2, 7, 9,
+                9, 3, 4
+        };
+        var assignment = new int[3];
+
+        assertTrue(solver.solve(costs, 3, 3, assignment));
+
+        assertArrayEquals(new int[]{1, 0, 2}, assignment);
+        assertEquals(1, solver.getSolvedCount());
+    }
+
+    @Test
+    void testSolve_MoreColumnsThanRows() {
+        var costs = new double[]{
+                5, 1, 8, 4,
+                6, 2, 3, 7
+        };
+        var assignment = new int[2];
+
+        assertTrue(solver.solve(costs, 2, 4, assignment));
+
+        assertArrayEquals(new int[]{1, 2}, assignment);
+    }
+
+    @Test
+    void testSolve_NegativeCosts() {
+        var costs = new double[]{
+                -4, 0,
+                -3, 2
+        };
+        var assignment = new int[2];
+
+        assertTrue(solver.solve(costs, 2, 2, assignment));
+
+        assertArrayEquals(new int[]{1, 0}, assignment);
+    }
+
+    @Test
+    void testSolve_ReusesBuffersForLargerProblems() {
+        var assignment = new int[4];
+
+        assertTrue(solver.solve(new double[]{3, 1}, 1, 2, assignment));
+        assertEquals(1, assignment[0]);
+
+        var costs = new double[16];
+
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 4; column++) {
+                costs[row * 4 + column] = row == 3 - column ? 0 : 10;
+            }
+        }
+
+        assertTrue(solver.solve(costs, 4, 4, assignment));
+        assertArrayEquals(new int[]{3, 2, 1, 0}, assignment);
+    }
+
+    @Test
+    void testSolve_OverBudget() {
+        var time = new AtomicLong();
+        var budgetedSolver = new HallCallAssignmentSolver(10, () -> time.getAndAdd(6));
+
+        assertFalse(budgetedSolver.solve(new double[]{1, 2, 3, 4, 5, 6, 7, 8, 9}, 3, 3, new int[3]));
+
+        assertEquals(0, budgetedSolver.getSolvedCount());
+        assertEquals(1, budgetedSolver.getOverBudgetCount());
+    }
+
+    @Test
+    void testSolveBeforeDeadline_Optimal() {
+        var costs = new double[]{
+                1, 2, 9,
+                2, 7, 9,
+                9, 3, 4
+        };
+        var assignment = new int[3];
+
+        assertTrue(solver.solve(costs, 3, 3, assignment, solver.getDeadline()));
+
+        assertArrayEquals(new int[]{1, 0, 2}, assignment);
+        assertEquals(12, solver.getLastGreedyCost());
+        assertEquals(8, solver.getLastCost());
+    }
+
+    @Test
+    void testSolveBeforeDeadline_ExpiredKeepsGreedyPlan() {
+        var time = new AtomicLong(100);
+        var budgetedSolver = new HallCallAssignmentSolver(10, time::get);
+        var assignment = new int[3];
+
+        assertFalse(budgetedSolver.solve(new double[]{1, 2, 9, 2, 7, 9, 9, 3, 4}, 3, 3, assignment, 50));
+
+        assertArrayEquals(new int[]{0, 1, 2}, assignment);
+        assertEquals(12, budgetedSolver.getLastCost());
+        assertEquals(1, budgetedSolver.getOverBudgetCount());
+    }
+
+    @Test
+    void testSolveBeforeDeadline_LocalSearchImprovesGreedyPlan() {
+        // one tick per clock read: the local search reads it six times, the exact solve runs out on its second row
+        var time = new AtomicLong();
+        var budgetedSolver = new HallCallAssignmentSolver(7, time::incrementAndGet);
+        var assignment = new int[3];
+
+        assertFalse(budgetedSolver.solve(new double[]{1, 2, 9, 2, 7, 9, 9, 3, 4}, 3, 3, assignment, 7));
+
+        assertArrayEquals(new int[]{1, 0, 2}, assignment);
+        assertEquals(12, budgetedSolver.getLastGreedyCost());
+        assertEquals(8, budgetedSolver.getLastCost());
+        assertEquals(0, budgetedSolver.getSolvedCount());
+    }
+
+    @Test
+    void testSolveBeforeDeadline_ExpiresBetweenRows() {
+        // the clock passes the deadline after the local search handled the first row, the exact solve never starts
+        var time = new AtomicLong();
+        var budgetedSolver = new HallCallAssignmentSolver(10, time::incrementAndGet);
+        var assignment = new int[3];
+
+        assertFalse(budgetedSolver.solve(new double[]{1, 2, 9, 2, 7, 9, 9, 3, 4}, 3, 3, assignment, 1));
+
+        assertArrayEquals(new int[]{1, 0, 2}, assignment);
+        assertEquals(12, budgetedSolver.getLastGreedyCost());
+        assertEquals(8, budgetedSolver.getLastCost());
+        assertEquals(1, budgetedSolver.getOverBudgetCount());
+        assertEquals(3, time.get());
+    }
+
+    @Test
+    void testSolveBeforeDeadline_MovesToCheaperFreeColumn() {
+        // after swapping with the second row the first row moves on to the free column, the exact solve runs out again
+        var costs = new double[]{
+                1, 3, 2.5,
+                2, 9, 9
+        };
+        var time = new AtomicLong();
+        var budgetedSolver = new HallCallAssignmentSolver(7, time::incrementAndGet);
+        var assignment = new int[2];
+
+        assertFalse(budgetedSolver.solve(costs, 2, 3, assignment, 7));
+
+        assertArrayEquals(new int[]{2, 0}, assignment);
+        assertEquals(10, budgetedSolver.getLastGreedyCost());
+        assertEquals(4.5, budgetedSolver.getLastCost());
+    }
+
+    @Test
+    void testSolve_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[6], 3, 2, new int[3]));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[3], 2, 2, new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[4], 2, 2, new int[1]));
+        assertThrows(IllegalArgumentException.class, () -> solver.solve(new double[6], 3, 2, new int[3], solver.getDeadline()));
+    }
+}
@@ -0,0 +1,82 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HallCallDemandHistogramTest {
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new HallCallDemandHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> new HallCallDemandHistogram(5, 0, 1000, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new HallCallDemandHistogram(5, 4, 0, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new HallCallDemandHistogram(5, 4, 1000, 1.5));
+    }
+
+    @Test
+    void testGetBucket() {
+        var histogram = new HallCallDemandHistogram(5, 4, 1000, 0.5);
+
+        assertEquals(0, histogram.getBucket(999));
+        assertEquals(1, histogram.getBucket(1000));
+        assertEquals(3, histogram.getBucket(3999));
+        assertEquals(0, histogram.getBucket(4000));
+    }
+
+    @Test
+    void testRecord_CountsByBucketAndDirection() {
+        var histogram = new HallCallDemandHistogram(5, 4, 1000, 0.5);
+
+        histogram.record(0, 2, Direction.UP);
+        histogram.record(500, 2, Direction.DOWN);
+        histogram.record(1500, 2, Direction.UP);
+
+        assertEquals(1, histogram.getUpDemand(0, 2));
+        assertEquals(1, histogram.getDownDemand(0, 2));
+        assertEquals(2, histogram.getDemand(0, 2));
+        assertEquals(2, histogram.getTotalDemand(0));
+        assertEquals(1, histogram.getTotalDemand(1000));
+        assertEquals(0, histogram.getDemand(0, 3));
+    }
+
+    @Test
+    void testRecord_InvalidFloor() {
+        var histogram = new HallCallDemandHistogram(5);
+
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(0, 5, Direction.UP));
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(0, -1, Direction.DOWN));
+    }
+
+    @Test
+    void testRecord_NextDayDecaysBucket() {
+        var histogram = new HallCallDemandHistogram(5, 4, 1000, 0.5);
+        histogram.record(0, 1, Direction.UP);
+        histogram.record(100, 1, Direction.UP);
+
+        histogram.record(4000, 1, Direction.UP);
+
+        assertEquals(2, histogram.getUpDemand(4000, 1));
+        assertEquals(2, histogram.getTotalDemand(0));
+    }
+
+    @Test
+    void testRecord_OnlyNewlyPressedCalls() {
+        var histogram = new HallCallDemandHistogram(5, 4, 1000, 0.5);
+        var requests = new RequestStore(1, 5);
+        var snapshot = new BuildingSnapshot(1, 5);
+        snapshot.setUpRequested(0, true);
+        snapshot.setDownRequested(4, true);
+
+        requests.update(snapshot);
+        histogram.record(0, requests);
+        requests.update(snapshot.copy());
+        histogram.record(0, requests);
+
+        assertEquals(1, histogram.getUpDemand(0, 0));
+        assertEquals(1, histogram.getDownDemand(0, 4));
+        assertEquals(2, histogram.getTotalDemand(0));
+    }
+}
@@ -0,0 +1,115 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdleCarParkingTest {
+
+    @Test
+    void testConstructor_NullClock() {
+        assertThrows(IllegalArgumentException.class, () -> new IdleCarParking(4, 1000, 1, null));
+    }
+
+    @Test
+    void testAssign_WithoutDemand() {
+        var parking = new IdleCarParking(4, 1000, 1, () -> 0);
+
+        assertFalse(parking.assign(createSnapshot(0, 0, 0), new int[]{0, 1, 2}, 3, new int[3]));
+        assertNull(parking.getDemand());
+    }
+
+    @Test
+    void testAssign_BelowMinimumDemand() {
+        var parking = new IdleCarParking(4, 1000, 3, () -> 0);
+        recordDemand(parking, 0, 2);
+
+        assertFalse(parking.assign(createSnapshot(0, 0, 0), new int[]{0, 1, 2}, 3, new int[3]));
+    }
+
+    @Test
+    void testAssign_CarsFollowDemand() {
+        var parking = new IdleCarParking(4, 1000, 1, () -> 0);
+        recordDemand(parking, 0, 3);
+        recordDemand(parking, 8, 2);
+        var parkingFloors = new int[3];
+
+        assertTrue(parking.assign(createSnapshot(9, 5, 1), new int[]{0, 1, 2}, 3, parkingFloors));
+
+        // the lobby has half again the calls of floor 8 and gets two cars, the highest car takes the upper floor
+        assertArrayEquals(new int[]{8, 0, 0}, parkingFloors);
+    }
+
+    @Test
+    void testAssign_OnlyIdleCars() {
+        var parking = new IdleCarParking(4, 1000, 1, () -> 0);
+        recordDemand(parking, 6, 1);
+        var parkingFloors = new int[1];
+
+        assertTrue(parking.assign(createSnapshot(0, 2, 4), new int[]{1}, 1, parkingFloors));
+
+        assertEquals(6, parkingFloors[0]);
+    }
+
+    @Test
+    void testAssign_DemandOfAnotherTimeOfDay() {
+        var time = new long[]{0};
+        var parking = new IdleCarParking(4, 1000, 1, () -> time[0]);
+        recordDemand(parking, 6, 3);
+
+        time[0] = 1000;
+
+        assertFalse(parking.assign(createSnapshot(0, 2, 4), new int[]{0}, 1, new int[1]));
+    }
+
+    @Test
+    void testToLocalTime_BucketOfLocalTimeOfDay() {
+        var zone = ZoneId.of("Europe/Vienna");
+        var histogram = new HallCallDemandHistogram(10);
+
+        // 07:00 UTC is 08:00 in Vienna in winter and 09:00 in summer
+        assertEquals(32, histogram.getBucket(IdleCarParking.toLocalTime(Instant.parse("2024-01-15T07:00:00Z").toEpochMilli(), zone)));
+        assertEquals(36, histogram.getBucket(IdleCarParking.toLocalTime(Instant.parse("2024-07-15T07:00:00Z").toEpochMilli(), zone)));
+    }
+
+    @Test
+    void testRecordDemand_LocalClockWeightsDownEarlierDays() {
+        var zone = ZoneId.of("Europe/Vienna");
+        var time = new long[]{Instant.parse("2024-01-15T07:00:00Z").toEpochMilli()};
+        var parking = new IdleCarParking(HallCallDemandHistogram.DEFAULT_NUMBER_OF_BUCKETS, HallCallDemandHistogram.DEFAULT_BUCKET_LENGTH,
+                IdleCarParking.DEFAULT_MINIMUM_DEMAND, () -> IdleCarParking.toLocalTime(time[0], zone));
+        recordDemand(parking, 6, 4);
+
+        // the same time of day on the next day ages the calls of the first day
+        time[0] = Instant.parse("2024-01-16T07:00:00Z").toEpochMilli();
+        recordDemand(parking, 6, 1);
+
+        var localTime = IdleCarParking.toLocalTime(time[0], zone);
+        assertEquals(4 * HallCallDemandHistogram.DEFAULT_DECAY + 1, parking.getDemand().getTotalDemand(localTime));
+    }
+
+    private static void recordDemand(IdleCarParking parking, int floorNumber, int calls) {
+        for (int call = 0; call < calls; call++) {
+            var requests = new RequestStore(3, 10);
+            var snapshot = new BuildingSnapshot(3, 10);
+            snapshot.setUpRequested(floorNumber, true);
+            requests.update(snapshot);
+
+            parking.recordDemand(requests);
+        }
+    }
+
+    private static BuildingSnapshot createSnapshot(int firstFloor, int secondFloor, int thirdFloor) {
+        var snapshot = new BuildingSnapshot(3, 10);
+        snapshot.setCurrentFloor(0, firstFloor);
+        snapshot.setCurrentFloor(1, secondFloor);
+        snapshot.setCurrentFloor(2, thirdFloor);
+
+        return snapshot;
+    }
+}
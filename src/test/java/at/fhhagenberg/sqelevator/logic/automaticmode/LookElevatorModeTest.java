@@ -0,0 +1,298 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.rmi.RemoteException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class LookElevatorModeTest {
+
+    private IElevatorClient client;
+    private Elevator first;
+    private Elevator second;
+    private LookElevatorMode lookElevatorMode;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.first = new Elevator();
+        this.second = new Elevator();
+
+        lenient().when(client.getElevators()).thenReturn(List.of(first, second));
+
+        this.lookElevatorMode = new LookElevatorMode(client);
+        this.lookElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        this.lookElevatorMode.setTargetCommandChannel(new TargetCommandChannel(client, 0));
+    }
+
+    @Test
+    void testExecute_SweepsUpBeforeTurningAround() throws RemoteException {
+        var snapshot = createSnapshot(1L, 5, 0);
+        snapshot.setButtonPressed(0, 7, true);
+        snapshot.setButtonPressed(0, 9, true);
+        snapshot.setButtonPressed(0, 4, true);
+        lookElevatorMode.execute(snapshot);
+
+        var moving = createSnapshot(2L, 6, 0);
+        moving.setButtonPressed(0, 7, true);
+        moving.setButtonPressed(0, 9, true);
+        moving.setButtonPressed(0, 4, true);
+        moving.setButtonPressed(0, 5, true);
+        lookElevatorMode.execute(moving);
+
+        // the nearest stop decides the first direction, after that floor 5 behind the car has to wait
+        verify(client).setTarget(first, 4);
+        assertEquals(Direction.DOWN, lookElevatorMode.getDirection(0));
+        assertEquals(4, lookElevatorMode.getStopPlan(0).nextStop(5, Direction.DOWN));
+    }
+
+    @Test
+    void testExecute_KeepsDirectionWhileStopsAhead() throws RemoteException {
+        var snapshot = createSnapshot(1L, 3, 0);
+        snapshot.setButtonPressed(0, 4, true);
+        snapshot.setButtonPressed(0, 9, true);
+        lookElevatorMode.execute(snapshot);
+
+        var arrived = createSnapshot(2L, 4, 0);
+        arrived.setDoorStatus(0, DoorStatus.OPEN);
+        arrived.setButtonPressed(0, 9, true);
+        arrived.setButtonPressed(0, 3, true);
+        lookElevatorMode.execute(arrived);
+
+        verify(client).setTarget(first, 4);
+        verify(client).setTarget(first, 9);
+        assertEquals(Direction.UP, lookElevatorMode.getDirection(0));
+    }
+
+    @Test
+    void testExecute_PassingCarPicksUpHallCallInItsDirection() throws RemoteException {
+        var snapshot = createSnapshot(1L, 2, 3);
+        snapshot.setButtonPressed(0, 10, true);
+        snapshot.setButtonPressed(1, 0, true);
+        lookElevatorMode.execute(snapshot);
+
+        var withCall = createSnapshot(2L, 3, 2);
+        withCall.setButtonPressed(0, 10, true);
+        withCall.setButtonPressed(1, 0, true);
+        withCall.setUpRequested(6, true);
+        lookElevatorMode.execute(withCall);
+
+        assertEquals(0, lookElevatorMode.getClaimingElevator(6, Direction.UP));
+        verify(client).setTarget(first, 10);
+        verify(client).setTarget(first, 6);
+    }
+
+    @Test
+    void testExecute_CallBehindMovingCarWaitsForIdleCar() {
+        var snapshot = createSnapshot(1L, 5, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        snapshot.setButtonPressed(1, 0, true);
+        snapshot.setDoorStatus(1, DoorStatus.OPEN);
+        lookElevatorMode.execute(snapshot);
+
+        var withCall = createSnapshot(2L, 6, 0);
+        withCall.setButtonPressed(0, 10, true);
+        withCall.setButtonPressed(1, 0, true);
+        withCall.setDoorStatus(1, DoorStatus.OPEN);
+        withCall.setUpRequested(4, true);
+        lookElevatorMode.execute(withCall);
+
+        assertEquals(1, lookElevatorMode.getClaimingElevator(4, Direction.UP));
+    }
+
+    @Test
+    void testExecute_OppositeCallBeyondLastStopEndsSweep() {
+        var snapshot = createSnapshot(1L, 2, 8);
+        snapshot.setButtonPressed(0, 6, true);
+        snapshot.setButtonPressed(1, 0, true);
+        lookElevatorMode.execute(snapshot);
+
+        var withCalls = createSnapshot(2L, 3, 7);
+        withCalls.setButtonPressed(0, 6, true);
+        withCalls.setButtonPressed(1, 0, true);
+        withCalls.setDownRequested(9, true);
+        withCalls.setDownRequested(5, true);
+        lookElevatorMode.execute(withCalls);
+
+        // the second car passes 5 on its way down, the first one turns around at 9 after serving 6
+        assertEquals(0, lookElevatorMode.getClaimingElevator(9, Direction.DOWN));
+        assertEquals(1, lookElevatorMode.getClaimingElevator(5, Direction.DOWN));
+    }
+
+    @Test
+    void testExecute_FullCarPassesHallCall() {
+        var snapshot = createSnapshot(1L, 2, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        lookElevatorMode.execute(snapshot);
+
+        var withCall = createSnapshot(2L, 3, 0);
+        withCall.setMaximumPayload(0, 800);
+        withCall.setPayload(0, 750);
+        withCall.setButtonPressed(0, 10, true);
+        withCall.setUpRequested(6, true);
+        lookElevatorMode.execute(withCall);
+
+        assertEquals(1, lookElevatorMode.getClaimingElevator(6, Direction.UP));
+        assertEquals(1, lookElevatorMode.getMetrics().getRejectedStopCount());
+    }
+
+    @Test
+    void testExecute_UnchangedNextStopIsNotSentAgain() throws RemoteException {
+        var snapshot = createSnapshot(1L, 0, 0);
+        snapshot.setButtonPressed(0, 8, true);
+        lookElevatorMode.execute(snapshot);
+
+        var moving = createSnapshot(2L, 1, 0);
+        moving.setButtonPressed(0, 8, true);
+        lookElevatorMode.execute(moving);
+
+        verify(client, times(1)).setTarget(any(Elevator.class), anyInt());
+        assertEquals(0, lookElevatorMode.getMetrics().getLastPassRpcCalls());
+    }
+
+    @Test
+    void testExecute_OpenDoorReleasesClaim() {
+        var snapshot = createSnapshot(1L, 0, 9);
+        snapshot.setUpRequested(3, true);
+        lookElevatorMode.execute(snapshot);
+
+        var arrived = createSnapshot(2L, 3, 9);
+        arrived.setDoorStatus(0, DoorStatus.OPEN);
+        lookElevatorMode.execute(arrived);
+
+        assertEquals(-1, lookElevatorMode.getClaimingElevator(3, Direction.UP));
+        assertEquals(Direction.UNCOMMITED, lookElevatorMode.getDirection(0));
+    }
+
+    @Test
+    void testExecute_ZoningRestrictsHallCallsToTheirZone() throws RemoteException {
+        lookElevatorMode.setFloorZoning(new FloorZoning(2, 1000, 0.999));
+        var snapshot = createServicedSnapshot(1L, 10, 0);
+        snapshot.setUpRequested(3, true);
+
+        lookElevatorMode.execute(snapshot);
+
+        // the second car is closer, but floor 3 is in the zone of the first car
+        assertEquals(0, lookElevatorMode.getClaimingElevator(3, Direction.UP));
+        verify(client).setTarget(first, 3);
+        verify(client).setServicesFloors(first, 7, false);
+        verify(client).setServicesFloors(second, 3, false);
+        verify(client, never()).setServicesFloors(any(Elevator.class), eq(0), anyBoolean());
+    }
+
+    @Test
+    void testExecute_ZoningWritesServicesOnce() throws RemoteException {
+        lookElevatorMode.setFloorZoning(new FloorZoning(2, 1000, 0.999));
+        lookElevatorMode.execute(createServicedSnapshot(1L, 0, 0));
+        lookElevatorMode.execute(createServicedSnapshot(2L, 0, 0));
+
+        // five floors of the upper zone for the first car, six of the lower zone for the second
+        verify(client, times(11)).setServicesFloors(any(Elevator.class), anyInt(), eq(false));
+        assertEquals(0, lookElevatorMode.getMetrics().getLastPassRpcCalls());
+    }
+
+    @Test
+    void testExecute_LobbyCallStillPressedGoesToAnotherZone() {
+        lookElevatorMode.setFloorZoning(new FloorZoning(2, 1000, 0.999));
+        var snapshot = createServicedSnapshot(1L, 2, 9);
+        snapshot.setUpRequested(0, true);
+        lookElevatorMode.execute(snapshot);
+
+        assertEquals(0, lookElevatorMode.getClaimingElevator(0, Direction.UP));
+
+        var arrived = createServicedSnapshot(2L, 0, 9);
+        arrived.setDoorStatus(0, DoorStatus.OPEN);
+        arrived.setUpRequested(0, true);
+        lookElevatorMode.execute(arrived);
+
+        assertEquals(1, lookElevatorMode.getClaimingElevator(0, Direction.UP));
+    }
+
+    @Test
+    void testSetClient_ReleasesZoning() throws RemoteException {
+        lookElevatorMode.setFloorZoning(new FloorZoning(2, 1000, 0.999));
+        lookElevatorMode.execute(createServicedSnapshot(1L, 0, 0));
+
+        lookElevatorMode.setClient(client);
+
+        verify(client, times(11)).setServicesFloors(any(Elevator.class), anyInt(), eq(true));
+        assertTrue(lookElevatorMode.getFloorZoning().isServiced(0, 9));
+    }
+
+    @Test
+    void testExecute_NudgedCarIsNotRetargeted() throws RemoteException {
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        when(stuckElevatorRecovery.getState(anyInt())).thenReturn(RecoveryState.NUDGED);
+        lookElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        var snapshot = createSnapshot(1L, 0, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        lookElevatorMode.execute(snapshot);
+
+        verify(client, never()).setTarget(any(Elevator.class), anyInt());
+    }
+
+    @Test
+    void testExecute_TargetIsWatchedOnceSent() {
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        lookElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        var snapshot = createSnapshot(1L, 2, 0);
+        snapshot.setButtonPressed(0, 10, true);
+        lookElevatorMode.execute(snapshot);
+
+        verify(stuckElevatorRecovery).observe(0, 2, 10);
+        verify(stuckElevatorRecovery).observe(1, 0, null);
+        assertEquals(10, lookElevatorMode.getTargetCommandChannel().getSentTarget(0));
+    }
+
+    @Test
+    void testSetClient_StopsStuckElevatorRecovery() {
+        var stuckElevatorRecovery = mock(StuckElevatorRecovery.class);
+        lookElevatorMode.setStuckElevatorRecovery(stuckElevatorRecovery);
+
+        lookElevatorMode.setClient(client);
+
+        verify(stuckElevatorRecovery).stop();
+        assertNull(lookElevatorMode.getStuckElevatorRecovery());
+        assertNull(lookElevatorMode.getStopPlan(0));
+    }
+
+    private BuildingSnapshot createServicedSnapshot(long clockTick, int firstFloor, int secondFloor) {
+        var snapshot = createSnapshot(clockTick, firstFloor, secondFloor);
+
+        for (int floorNumber = 0; floorNumber < 12; floorNumber++) {
+            snapshot.setServiced(0, floorNumber, true);
+            snapshot.setServiced(1, floorNumber, true);
+        }
+
+        return snapshot;
+    }
+
+    private BuildingSnapshot createSnapshot(long clockTick, int firstFloor, int secondFloor) {
+        var snapshot = new BuildingSnapshot(2, 12);
+        snapshot.setClockTick(clockTick);
+        snapshot.setPolled(0, true);
+        snapshot.setPolled(1, true);
+        snapshot.setCurrentFloor(0, firstFloor);
+        snapshot.setCurrentFloor(1, secondFloor);
+
+        return snapshot;
+    }
+}
@@ -1,6 +1,6 @@
 package at.fhhagenberg.sqelevator.logic.automaticmode;
 
-import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
 import at.fhhagenberg.sqelevator.domain.Direction;
 import at.fhhagenberg.sqelevator.domain.Elevator;
 import at.fhhagenberg.sqelevator.domain.ElevatorFloor;
@@ -15,77 +15,57 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
-import java.lang.reflect.Array;
-import java.rmi.RemoteException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 public class OutsideRequestManagerTest {
 
-    @Mock
-    private IElevatorClient client;
     @Mock
     private RequestHelper helper;
 
 
-    @ParameterizedTest
-    @MethodSource("outSideRequestsFromClientSource")
-    public void testOutSideRequestsFromClient(int numberFloors, boolean up, boolean down, int[] expected) throws RemoteException {
-        var outSideRequ = new OutsideRequestManager(client, helper);
-        doAnswer(invocationOnMock -> {
-            return up;
-        }).when(client).getFloorButtonDown(any(Integer.class));
-        doAnswer(invocationOnMock -> {
-            return down;
-        }).when(client).getFloorButtonDown(any(Integer.class));
-        doAnswer(invocationOnMock -> {
-            return numberFloors;
-        }).when(client).getFloorNum();
-
-        assertEquals(expected.length, outSideRequ.getOutsideRequestsFromClient().size());
-    }
-
-    private static Stream<Arguments> outSideRequestsFromClientSource() {
-        return Stream.of(
-                Arguments.of(3, true, false, new int[] {}),
-                Arguments.of(4, true, true, new int[] {0, 1, 2, 3}),
-                Arguments.of(1, true, false, new int[] {}),
-                Arguments.of(2, false, true, new int[] {0, 1}),
-                Arguments.of(3, false, false, new int[] {}),
-                Arguments.of(4, true, true, new int[] { 0, 1, 2, 3}),
-                Arguments.of(8, true, false, new int[] {}),
-                Arguments.of(5, false, true,  new int[] { 0, 1, 2, 3, 4})
-        );
-    }
-
     @Test
-    public void testFindClosestElevator() throws RemoteException {
-        var outsideReqMg = new OutsideRequestManager(client, helper);
-        doAnswer(invocationOnMock -> {
-            return new ElevatorFloor(new Floor(0));
-        }).when(client).getCurrentFloor(any(Elevator.class));
+    public void testFindClosestElevator() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 5);
+
+        var elevators = elevators(1, Direction.UNCOMMITED);
 
         assertEquals(null, outsideReqMg.findClosestElevator(
                 elevators(1, Direction.DOWN),
                 1,
-                elevators(1, Direction.UNCOMMITED)
+                elevators,
+                snapshot
         ));
 
         assertEquals(null, outsideReqMg.findClosestElevator(
-                elevators(1, Direction.UNCOMMITED),
+                elevators.subList(0, 1),
                 2,
-                elevators(5, Direction.DOWN)
+                elevators,
+                snapshot
         ));
+    }
+
+    @Test
+    public void testFindClosestElevator_NearestAvailableElevator() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 5);
+        var elevators = elevatorsWithFloors(3, 5);
 
+        snapshot.setCurrentFloor(0, 4);
+        snapshot.setCurrentFloor(1, 0);
+        snapshot.setCurrentFloor(2, 1);
+
+        assertSame(elevators.get(2), outsideReqMg.findClosestElevator(elevators, 1, elevators, snapshot));
+        assertSame(elevators.get(0), outsideReqMg.findClosestElevator(elevators.subList(0, 1), 1, elevators, snapshot));
     }
 
     private static List<Elevator> elevators(int floor, Direction direction) {
@@ -105,25 +85,101 @@ public class OutsideRequestManagerTest {
         return list;
     }
 
+    private static List<Elevator> elevatorsWithFloors(int numberOfElevators, int numberOfFloors) {
+        var floors = new ArrayList<ElevatorFloor>();
+
+        for (int floor = 0; floor < numberOfFloors; floor++) {
+            floors.add(new ElevatorFloor(new Floor(floor)));
+        }
+
+        var list = new ArrayList<Elevator>();
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            var elevator = new Elevator();
+            elevator.setElevatorNumber(i);
+            elevator.setElevatorFloors(floors);
+            list.add(elevator);
+        }
+
+        return list;
+    }
+
     @ParameterizedTest
     @MethodSource("findNearestIntermediateOutsideRequesSourcet")
     public void testFindNearestIntermediateOutsideRequest(Integer nearestFloor, int currentFloor,
-                                                          List<Integer> outsideRequests, List<Elevator> elevators, int expected) throws RemoteException {
-        var outsideReqMg = new OutsideRequestManager(client, helper);
-        doAnswer(invocationOnMock -> {
-            return 23;
-        }).when(client).getFloorNum();
+                                                          boolean isUp, int[] hallCalls, int expected) {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 23);
+        var assignments = new FloorAssignmentTable(3, 23);
 
         doCallRealMethod().when(helper).calculateDirection(any(Integer.class), any(Integer.class));
-        assertEquals(expected, outsideReqMg.findNearestIntermediateOutsideRequest(nearestFloor, currentFloor, outsideRequests, elevators));
+        assertEquals(expected, outsideReqMg.findNearestIntermediateOutsideRequest(nearestFloor, currentFloor, hallCalls(isUp, hallCalls), assignments, snapshot));
+    }
+
+    @Test
+    public void testFindNearestIntermediateOutsideRequest_AssignedFloorIsSkipped() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 23);
+        var assignments = new FloorAssignmentTable(3, 23);
+        assignments.assign(1, 2);
+
+        assertEquals(2, outsideReqMg.findNearestIntermediateOutsideRequest(null, 5, hallCalls(true, 1, 2), assignments, snapshot));
     }
 
     private static Stream<Arguments> findNearestIntermediateOutsideRequesSourcet() {
         return Stream.of(
-                Arguments.of(3, 1, Arrays.asList(1,2,3), elevators(2, Direction.DOWN), 3),
-                Arguments.of(5, 2, Arrays.asList(1,2,3, 4, 5), elevators(3, Direction.UP), 5),
-                Arguments.of(3, 3, Arrays.asList(1,2), elevators(2, Direction.DOWN), 3),
-                Arguments.of(null, 5, Arrays.asList(1,2,3, 4, 6), elevators(6, Direction.DOWN), 1)
+                Arguments.of(3, 1, false, new int[] {1, 2, 3}, 3),
+                Arguments.of(5, 2, false, new int[] {1, 2, 3, 4, 5}, 5),
+                Arguments.of(3, 3, false, new int[] {1, 2}, 3),
+                Arguments.of(null, 5, true, new int[] {1, 2, 3, 4, 6}, 1)
         );
     }
+
+    @Test
+    public void testFindNearestIntermediateOutsideRequest_RequestOnWay() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 23);
+        var assignments = new FloorAssignmentTable(3, 23);
+
+        doCallRealMethod().when(helper).calculateDirection(any(Integer.class), any(Integer.class));
+        assertEquals(3, outsideReqMg.findNearestIntermediateOutsideRequest(5, 1, hallCalls(true, 3, 5), assignments, snapshot));
+    }
+
+    @Test
+    public void testFindNearestIntermediateOutsideRequest_OppositeDirectionIsSkipped() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 23);
+        var assignments = new FloorAssignmentTable(3, 23);
+
+        doCallRealMethod().when(helper).calculateDirection(any(Integer.class), any(Integer.class));
+        assertEquals(5, outsideReqMg.findNearestIntermediateOutsideRequest(5, 1, hallCalls(false, 3), assignments, snapshot));
+    }
+
+    @Test
+    public void testFindNearestIntermediateOutsideRequest_CallServedByOtherCarIsSkipped() {
+        var outsideReqMg = new OutsideRequestManager(helper);
+        var snapshot = new BuildingSnapshot(3, 23);
+        var assignments = new FloorAssignmentTable(3, 23);
+        assignments.assign(3, 2, Direction.UP);
+
+        doCallRealMethod().when(helper).calculateDirection(any(Integer.class), any(Integer.class));
+        assertEquals(5, outsideReqMg.findNearestIntermediateOutsideRequest(5, 1, hallCalls(true, 3), assignments, snapshot));
+    }
+
+    private static RequestStore hallCalls(boolean isUp, int... floors) {
+        var snapshot = new BuildingSnapshot(3, 23);
+
+        for (var floor : floors) {
+            if (isUp) {
+                snapshot.setUpRequested(floor, true);
+            } else {
+                snapshot.setDownRequested(floor, true);
+            }
+        }
+
+        var requests = new RequestStore(3, 23);
+        requests.update(snapshot);
+
+        return requests;
+    }
 }
@@ -0,0 +1,165 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestStoreTest {
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestStore(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new RequestStore(2, -1));
+    }
+
+    @Test
+    void testUpdate_DifferentBuilding() {
+        var requests = new RequestStore(2, 5);
+
+        assertThrows(IllegalArgumentException.class, () -> requests.update(new BuildingSnapshot(2, 6)));
+        assertThrows(IllegalArgumentException.class, () -> requests.update(new BuildingSnapshot(3, 5)));
+    }
+
+    @Test
+    void testUpdate_CarCalls() {
+        var requests = new RequestStore(2, 70);
+        var snapshot = new BuildingSnapshot(2, 70);
+        snapshot.setButtonPressed(0, 3, true);
+        snapshot.setButtonPressed(0, 65, true);
+        snapshot.setButtonPressed(1, 1, true);
+
+        assertTrue(requests.update(snapshot));
+
+        assertTrue(requests.hasCarCall(0, 3));
+        assertTrue(requests.hasCarCall(0, 65));
+        assertFalse(requests.hasCarCall(0, 1));
+        assertFalse(requests.hasCarCall(0, 70));
+        assertTrue(requests.hasCarCalls(1));
+        assertEquals(3, requests.nextCarCall(0, 0));
+        assertEquals(65, requests.nextCarCall(0, 4));
+        assertEquals(-1, requests.nextCarCall(0, 66));
+        assertEquals(1, requests.nextCarCall(1, -2));
+    }
+
+    @Test
+    void testUpdate_UnchangedCalls() {
+        var requests = new RequestStore(1, 5);
+        var snapshot = new BuildingSnapshot(1, 5);
+        snapshot.setButtonPressed(0, 2, true);
+        snapshot.setDownRequested(4, true);
+
+        assertTrue(requests.update(snapshot));
+        assertFalse(requests.update(snapshot.copy()));
+
+        assertEquals(-1, requests.nextPressedCarCall(0, 0));
+        assertEquals(-1, requests.nextPressedHallCall(0));
+        assertEquals(2, requests.nextCarCall(0, 0));
+        assertEquals(4, requests.nextHallCall(0));
+    }
+
+    @Test
+    void testUpdate_PressedAndClearedCalls() {
+        var requests = new RequestStore(1, 5);
+        var previous = new BuildingSnapshot(1, 5);
+        previous.setButtonPressed(0, 1, true);
+        previous.setUpRequested(2, true);
+        requests.update(previous);
+
+        var current = new BuildingSnapshot(1, 5);
+        current.setButtonPressed(0, 3, true);
+        current.setDownRequested(4, true);
+
+        assertTrue(requests.update(current));
+
+        assertEquals(3, requests.nextPressedCarCall(0, 0));
+        assertEquals(-1, requests.nextPressedCarCall(0, 4));
+        assertEquals(1, requests.nextClearedCarCall(0, 0));
+        assertEquals(-1, requests.nextClearedCarCall(0, 2));
+        assertEquals(4, requests.nextPressedHallCall(0));
+        assertEquals(2, requests.nextClearedHallCall(0));
+        assertEquals(-1, requests.nextClearedHallCall(3));
+    }
+
+    @Test
+    void testUpdate_PressedHallCallDirections() {
+        var requests = new RequestStore(1, 5);
+        var previous = new BuildingSnapshot(1, 5);
+        previous.setUpRequested(1, true);
+        requests.update(previous);
+
+        var current = new BuildingSnapshot(1, 5);
+        current.setUpRequested(1, true);
+        current.setDownRequested(1, true);
+        current.setUpRequested(3, true);
+        requests.update(current);
+
+        assertFalse(requests.isUpHallCallPressed(1));
+        assertTrue(requests.isDownHallCallPressed(1));
+        assertTrue(requests.isUpHallCallPressed(3));
+        assertFalse(requests.isDownHallCallPressed(3));
+    }
+
+    @Test
+    void testUpdate_HallCallDirections() {
+        var requests = new RequestStore(1, 5);
+        var snapshot = new BuildingSnapshot(1, 5);
+        snapshot.setUpRequested(1, true);
+        snapshot.setDownRequested(3, true);
+        snapshot.setUpRequested(4, true);
+
+        requests.update(snapshot);
+
+        assertEquals(1, requests.nextUpHallCall(0));
+        assertEquals(4, requests.nextUpHallCall(2));
+        assertEquals(3, requests.nextDownHallCall(0));
+        assertEquals(-1, requests.nextDownHallCall(4));
+        assertTrue(requests.hasHallCall(1, Direction.UP));
+        assertFalse(requests.hasHallCall(1, Direction.DOWN));
+        assertTrue(requests.hasHallCall(3, Direction.UNCOMMITED));
+        assertFalse(requests.hasHallCall(2, Direction.UNCOMMITED));
+    }
+
+    @ParameterizedTest
+    @MethodSource("hallCallsSource")
+    void testUpdate_HallCalls(int numberOfFloors, boolean up, boolean down, int expected) {
+        var requests = new RequestStore(1, numberOfFloors);
+        var snapshot = new BuildingSnapshot(1, numberOfFloors);
+
+        for (int floor = 0; floor < numberOfFloors; floor++) {
+            snapshot.setUpRequested(floor, up);
+            snapshot.setDownRequested(floor, down);
+        }
+
+        requests.update(snapshot);
+
+        var count = 0;
+
+        for (int floor = requests.nextHallCall(0); floor != -1; floor = requests.nextHallCall(floor + 1)) {
+            assertEquals(up, requests.isUpHallCall(floor));
+            assertEquals(down, requests.isDownHallCall(floor));
+            count++;
+        }
+
+        assertEquals(expected, count);
+        assertEquals(expected > 0, requests.hasHallCalls());
+    }
+
+    private static Stream<Arguments> hallCallsSource() {
+        return Stream.of(
+                Arguments.of(3, true, false, 3),
+                Arguments.of(4, true, true, 4),
+                Arguments.of(1, true, false, 1),
+                Arguments.of(2, false, true, 2),
+                Arguments.of(3, false, false, 0),
+                Arguments.of(8, false, false, 0),
+                Arguments.of(130, false, true, 130)
+        );
+    }
+}
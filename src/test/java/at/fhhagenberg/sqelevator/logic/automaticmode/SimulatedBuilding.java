@@ -0,0 +1,425 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import at.fhhagenberg.sqelevator.domain.ElevatorFloor;
+import at.fhhagenberg.sqelevator.domain.Floor;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+// tick based stand-in for the simulator: cars move one floor per tick, keep their doors open for a few ticks and
+// passengers only board cars that leave in their direction and serve their destination, so wasted stops and reversals
+// show up as waiting time. a passenger no car takes all the way changes cars at the lobby
+class SimulatedBuilding {
+
+    private static final int LOBBY = 0;
+    private static final int DOOR_OPEN_TICKS = 2;
+
+    private final int numberOfFloors;
+    private final Random random;
+    private final List<Elevator> elevators = new ArrayList<>();
+    private final List<Car> cars = new ArrayList<>();
+    private final List<Passenger> waitingPassengers = new ArrayList<>();
+    private final IElevatorClient client;
+
+    private long tick;
+    private long servedPassengers;
+    private long totalWait;
+    private long maximumWait;
+    private long setTargetCalls;
+    private long fullCarStops;
+    private int capacity = Integer.MAX_VALUE;
+    private boolean isLoadReported;
+
+    SimulatedBuilding(int numberOfElevators, int numberOfFloors, long seed) throws RemoteException {
+        this.numberOfFloors = numberOfFloors;
+        this.random = new Random(seed);
+        this.client = mock(IElevatorClient.class);
+
+        for (int i = 0; i < numberOfElevators; i++) {
+            var elevator = new Elevator();
+            var elevatorFloors = new ArrayList<ElevatorFloor>();
+
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                elevatorFloors.add(new ElevatorFloor(new Floor(floorNumber)));
+            }
+
+            elevator.setElevatorNumber(i);
+            elevator.setElevatorFloors(elevatorFloors);
+            elevators.add(elevator);
+            cars.add(new Car(numberOfFloors));
+        }
+
+        lenient().when(client.getElevators()).thenReturn(elevators);
+        lenient().when(client.getFloorByNumber(any(Elevator.class), anyInt())).thenAnswer(invocation -> {
+            Elevator elevator = invocation.getArgument(0);
+            int floorNumber = invocation.getArgument(1);
+
+            return Optional.of(elevator.getElevatorFloors().get(floorNumber));
+        });
+        lenient().doAnswer(invocation -> {
+            Elevator elevator = invocation.getArgument(0);
+            setTargetCalls++;
+            cars.get(elevator.getElevatorNumber()).setTarget(invocation.getArgument(1));
+            return null;
+        }).when(client).setTarget(any(Elevator.class), anyInt());
+        lenient().doAnswer(invocation -> {
+            Elevator elevator = invocation.getArgument(0);
+            int floorNumber = invocation.getArgument(1);
+            cars.get(elevator.getElevatorNumber()).services[floorNumber] = invocation.getArgument(2);
+            return null;
+        }).when(client).setServicesFloors(any(Elevator.class), anyInt(), anyBoolean());
+    }
+
+    // limits how many passengers fit into a car, the snapshot only carries payload and maximum payload if the load is reported
+    void setCapacity(int capacity, boolean isLoadReported) {
+        this.capacity = capacity;
+        this.isLoadReported = isLoadReported;
+    }
+
+    IElevatorClient getClient() {
+        return client;
+    }
+
+    // spawns passengers for trafficTicks ticks, then lets the building drain for at most drainTicks
+    WaitTimeReport run(IAutomaticModeStrategy strategy, TrafficPattern trafficPattern, int trafficTicks, int drainTicks) {
+        while (tick < trafficTicks + drainTicks) {
+            if (tick < trafficTicks) {
+                trafficPattern.spawn(this, random);
+            } else if (isEmpty()) {
+                break;
+            }
+
+            strategy.execute(snapshot());
+            advance();
+            tick++;
+        }
+
+        long stops = 0;
+
+        for (var car : cars) {
+            stops += car.stops;
+        }
+
+        return new WaitTimeReport(servedPassengers, waitingPassengers.size() + ridingPassengers(),
+                servedPassengers == 0 ? 0 : (double) totalWait / servedPassengers, maximumWait, stops, setTargetCalls, fullCarStops);
+    }
+
+    // the simulated clock, so time based parts of a strategy can be run in ticks
+    long getTick() {
+        return tick;
+    }
+
+    int getNumberOfFloors() {
+        return numberOfFloors;
+    }
+
+    void spawn(int origin, int destination) {
+        if (origin != destination) {
+            waitingPassengers.add(new Passenger(origin, destination, tick));
+        }
+    }
+
+    private boolean isEmpty() {
+        return waitingPassengers.isEmpty() && ridingPassengers() == 0;
+    }
+
+    private int ridingPassengers() {
+        var riding = 0;
+
+        for (var car : cars) {
+            riding += car.riders.size();
+        }
+
+        return riding;
+    }
+
+    private BuildingSnapshot snapshot() {
+        var snapshot = new BuildingSnapshot(cars.size(), numberOfFloors);
+        snapshot.setClockTick(tick);
+
+        for (int i = 0; i < cars.size(); i++) {
+            var car = cars.get(i);
+
+            snapshot.setPolled(i, true);
+            snapshot.setClockTick(i, tick);
+            snapshot.setCurrentFloor(i, car.floor);
+            snapshot.setTargetedFloor(i, car.target);
+            snapshot.setDirection(i, car.direction);
+            snapshot.setDoorStatus(i, car.doorTicks > 0 ? DoorStatus.OPEN : DoorStatus.CLOSED);
+
+            if (isLoadReported) {
+                snapshot.setPayload(i, car.riders.size() * Elevator.AVERAGE_PASSENGER_WEIGHT);
+                snapshot.setMaximumPayload(i, capacity * Elevator.AVERAGE_PASSENGER_WEIGHT);
+            }
+
+            for (var rider : car.riders) {
+                snapshot.setButtonPressed(i, rider.legDestination, true);
+            }
+
+            for (int floorNumber = 0; floorNumber < numberOfFloors; floorNumber++) {
+                snapshot.setServiced(i, floorNumber, car.services[floorNumber]);
+            }
+        }
+
+        for (var passenger : waitingPassengers) {
+            updateLeg(passenger);
+
+            if (passenger.getDirection() == Direction.UP) {
+                snapshot.setUpRequested(passenger.origin, true);
+            } else {
+                snapshot.setDownRequested(passenger.origin, true);
+            }
+        }
+
+        return snapshot;
+    }
+
+    private void advance() {
+        for (var car : cars) {
+            if (car.doorTicks > 0) {
+                car.doorTicks--;
+
+                if (car.doorTicks == 0 && car.floor == car.target) {
+                    car.direction = Direction.UNCOMMITED;
+                }
+            } else if (car.floor != car.target) {
+                car.direction = car.target > car.floor ? Direction.UP : Direction.DOWN;
+                car.floor += car.target > car.floor ? 1 : -1;
+
+                if (car.floor == car.target) {
+                    arrive(car);
+                }
+            } else if (!car.hasArrived) {
+                arrive(car);
+            }
+        }
+    }
+
+    private void arrive(Car car) {
+        car.hasArrived = true;
+        car.doorTicks = DOOR_OPEN_TICKS;
+        car.stops++;
+
+        for (var rider : car.riders) {
+            if (rider.legDestination == car.floor && rider.legDestination != rider.destination) {
+                rider.origin = car.floor;
+                rider.spawnTick = tick;
+                waitingPassengers.add(rider);
+            }
+        }
+
+        car.riders.removeIf(rider -> rider.legDestination == car.floor);
+
+        var departingDirection = car.getDepartingDirection();
+        var isLeftBehind = false;
+        Iterator<Passenger> iterator = waitingPassengers.iterator();
+
+        while (iterator.hasNext()) {
+            var passenger = iterator.next();
+
+            updateLeg(passenger);
+
+            if (passenger.origin == car.floor && car.services[passenger.legDestination]
+                    && (departingDirection == Direction.UNCOMMITED || departingDirection == passenger.getDirection())) {
+                if (car.riders.size() >= capacity) {
+                    isLeftBehind = true;
+                    continue;
+                }
+
+                var wait = passenger.waited + tick - passenger.spawnTick;
+
+                if (passenger.legDestination == passenger.destination) {
+                    totalWait += wait;
+                    maximumWait = Math.max(maximumWait, wait);
+                    servedPassengers++;
+                } else {
+                    passenger.waited = wait;
+                }
+
+                car.riders.add(passenger);
+                iterator.remove();
+
+                if (departingDirection == Direction.UNCOMMITED) {
+                    departingDirection = passenger.getDirection();
+                }
+            }
+        }
+
+        if (isLeftBehind) {
+            fullCarStops++;
+        }
+    }
+
+    // straight to the destination if a car serves both floors, otherwise to the lobby first
+    private void updateLeg(Passenger passenger) {
+        passenger.legDestination = LOBBY;
+
+        for (var car : cars) {
+            if (car.services[passenger.origin] && car.services[passenger.destination]) {
+                passenger.legDestination = passenger.destination;
+                return;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface TrafficPattern {
+        void spawn(SimulatedBuilding building, Random random);
+
+        // every tick a passenger appears with the given probability between two random floors
+        static TrafficPattern interFloor(double probability) {
+            return (building, random) -> {
+                if (random.nextDouble() < probability) {
+                    building.spawn(random.nextInt(building.getNumberOfFloors()), random.nextInt(building.getNumberOfFloors()));
+                }
+            };
+        }
+
+        // morning traffic, lobbyShare of the passengers arrive at the ground floor and go up, the rest travel between floors
+        static TrafficPattern upPeak(double probability, double lobbyShare) {
+            return (building, random) -> {
+                if (random.nextDouble() < probability) {
+                    if (random.nextDouble() < lobbyShare) {
+                        building.spawn(0, 1 + random.nextInt(building.getNumberOfFloors() - 1));
+                    } else {
+                        building.spawn(random.nextInt(building.getNumberOfFloors()), random.nextInt(building.getNumberOfFloors()));
+                    }
+                }
+            };
+        }
+
+        // evening traffic, lobbyShare of the passengers leave from a random upper floor to the ground floor
+        static TrafficPattern downPeak(double probability, double lobbyShare) {
+            return (building, random) -> {
+                if (random.nextDouble() < probability) {
+                    if (random.nextDouble() < lobbyShare) {
+                        building.spawn(1 + random.nextInt(building.getNumberOfFloors() - 1), 0);
+                    } else {
+                        building.spawn(random.nextInt(building.getNumberOfFloors()), random.nextInt(building.getNumberOfFloors()));
+                    }
+                }
+            };
+        }
+
+        // a day in fast forward, every pattern runs for phaseTicks in turn
+        static TrafficPattern phases(int phaseTicks, TrafficPattern... patterns) {
+            return (building, random) -> patterns[(int) (building.getTick() / phaseTicks % patterns.length)].spawn(building, random);
+        }
+
+        // midday traffic, lobbyShare of the passengers go to or come from the ground floor in equal parts
+        static TrafficPattern lunch(double probability, double lobbyShare) {
+            return (building, random) -> {
+                if (random.nextDouble() < probability) {
+                    var lobbyDraw = random.nextDouble();
+                    var upperFloor = 1 + random.nextInt(building.getNumberOfFloors() - 1);
+
+                    if (lobbyDraw < lobbyShare / 2) {
+                        building.spawn(0, upperFloor);
+                    } else if (lobbyDraw < lobbyShare) {
+                        building.spawn(upperFloor, 0);
+                    } else {
+                        building.spawn(random.nextInt(building.getNumberOfFloors()), random.nextInt(building.getNumberOfFloors()));
+                    }
+                }
+            };
+        }
+    }
+
+    static class WaitTimeReport {
+        final long servedPassengers;
+        final long unservedPassengers;
+        final double averageWait;
+        final long maximumWait;
+        final long stops;
+        final long setTargetCalls;
+        final long fullCarStops;
+
+        WaitTimeReport(long servedPassengers, long unservedPassengers, double averageWait, long maximumWait, long stops,
+                       long setTargetCalls, long fullCarStops) {
+            this.servedPassengers = servedPassengers;
+            this.unservedPassengers = unservedPassengers;
+            this.averageWait = averageWait;
+            this.maximumWait = maximumWait;
+            this.stops = stops;
+            this.setTargetCalls = setTargetCalls;
+            this.fullCarStops = fullCarStops;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("served: %d, unserved: %d, average wait: %.1f ticks, maximum wait: %d ticks, stops: %d, setTarget calls: %d, full car stops: %d",
+                    servedPassengers, unservedPassengers, averageWait, maximumWait, stops, setTargetCalls, fullCarStops);
+        }
+    }
+
+    private static class Car {
+        private int floor;
+        private int target;
+        private boolean hasArrived = true;
+        private int doorTicks;
+        private Direction direction = Direction.UNCOMMITED;
+        private long stops;
+        private final List<Passenger> riders = new ArrayList<>();
+        private final boolean[] services;
+
+        private Car(int numberOfFloors) {
+            this.services = new boolean[numberOfFloors];
+            Arrays.fill(services, true);
+        }
+
+        private void setTarget(int target) {
+            this.target = target;
+            this.hasArrived = false;
+        }
+
+        // riders still heading on in the arrival direction keep the car going that way
+        private Direction getDepartingDirection() {
+            var hasRidersAbove = riders.stream().anyMatch(rider -> rider.legDestination > floor);
+            var hasRidersBelow = riders.stream().anyMatch(rider -> rider.legDestination < floor);
+
+            if (direction == Direction.UP && hasRidersAbove || direction != Direction.DOWN && hasRidersAbove && !hasRidersBelow) {
+                return Direction.UP;
+            }
+
+            if (hasRidersBelow) {
+                return Direction.DOWN;
+            }
+
+            return hasRidersAbove ? Direction.UP : Direction.UNCOMMITED;
+        }
+    }
+
+    private static class Passenger {
+        private final int destination;
+        private int origin;
+        private int legDestination;
+        private long spawnTick;
+        private long waited;
+
+        private Passenger(int origin, int destination, long spawnTick) {
+            this.origin = origin;
+            this.destination = destination;
+            this.legDestination = destination;
+            this.spawnTick = spawnTick;
+        }
+
+        private Direction getDirection() {
+            return legDestination > origin ? Direction.UP : Direction.DOWN;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.Direction;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StopPlanTest {
+
+    @Test
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new StopPlan(0));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        var plan = new StopPlan(10);
+
+        plan.add(3);
+        plan.add(7);
+        plan.remove(3);
+
+        assertFalse(plan.contains(3));
+        assertTrue(plan.contains(7));
+        assertFalse(plan.contains(-1));
+        assertFalse(plan.contains(10));
+        assertEquals(1, plan.size());
+        assertThrows(IllegalArgumentException.class, () -> plan.add(10));
+        assertThrows(IllegalArgumentException.class, () -> plan.remove(-1));
+
+        plan.clear();
+
+        assertTrue(plan.isEmpty());
+    }
+
+    @Test
+    void testNextStop() {
+        var plan = new StopPlan(10);
+        plan.add(1);
+        plan.add(4);
+        plan.add(8);
+
+        assertEquals(8, plan.nextStop(4, Direction.UP));
+        assertEquals(1, plan.nextStop(4, Direction.DOWN));
+        assertEquals(4, plan.nextStop(4, Direction.UNCOMMITED));
+        assertEquals(StopPlan.NONE, plan.nextAbove(8));
+        assertEquals(StopPlan.NONE, plan.nextBelow(1));
+        assertEquals(8, plan.nextBelow(20));
+    }
+
+    @Test
+    void testNextBelow_AcrossWords() {
+        var plan = new StopPlan(130);
+        plan.add(2);
+        plan.add(63);
+        plan.add(64);
+        plan.add(129);
+
+        assertEquals(64, plan.nextBelow(129));
+        assertEquals(63, plan.nextBelow(64));
+        assertEquals(2, plan.nextBelow(63));
+        assertEquals(129, plan.nextAbove(64));
+    }
+
+    @Test
+    void testNearest() {
+        var plan = new StopPlan(10);
+
+        assertEquals(StopPlan.NONE, plan.nearest(5));
+
+        plan.add(2);
+        plan.add(8);
+
+        assertEquals(8, plan.nearest(5));
+        assertEquals(2, plan.nearest(4));
+        assertEquals(2, plan.nearest(0));
+    }
+
+    @Test
+    void testFarthest() {
+        var plan = new StopPlan(10);
+        plan.add(2);
+        plan.add(6);
+
+        assertEquals(6, plan.farthest(4, Direction.UP));
+        assertEquals(2, plan.farthest(4, Direction.DOWN));
+        assertEquals(7, plan.farthest(7, Direction.UP));
+        assertEquals(1, plan.farthest(1, Direction.DOWN));
+        assertEquals(4, plan.farthest(4, Direction.UNCOMMITED));
+    }
+
+    @Test
+    void testResetToCarCalls() {
+        var snapshot = new BuildingSnapshot(2, 10);
+        snapshot.setButtonPressed(1, 3, true);
+        snapshot.setButtonPressed(1, 9, true);
+        var requests = new RequestStore(2, 10);
+        requests.update(snapshot);
+        var plan = new StopPlan(10);
+        plan.add(5);
+
+        plan.resetToCarCalls(requests, 1);
+
+        assertFalse(plan.contains(5));
+        assertTrue(plan.contains(3));
+        assertTrue(plan.contains(9));
+    }
+}
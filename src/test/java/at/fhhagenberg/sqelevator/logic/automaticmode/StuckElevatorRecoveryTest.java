@@ -0,0 +1,147 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StuckElevatorRecoveryTest {
+
+    private IElevatorClient client;
+    private TargetCommandChannel commands;
+    private Elevator elevator;
+    private ScheduledExecutorService scheduler;
+    private List<Runnable> scheduledSteps;
+    private List<Long> scheduledDelays;
+    private long now;
+    private StuckElevatorRecovery stuckElevatorRecovery;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.commands = new TargetCommandChannel(client, 0);
+        this.elevator = new Elevator();
+        this.scheduler = mock(ScheduledExecutorService.class);
+        this.scheduledSteps = new ArrayList<>();
+        this.scheduledDelays = new ArrayList<>();
+
+        lenient().when(scheduler.schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS))).thenAnswer(invocation -> {
+            scheduledSteps.add(invocation.getArgument(0));
+            scheduledDelays.add(invocation.getArgument(1));
+            return null;
+        });
+
+        this.stuckElevatorRecovery = new StuckElevatorRecovery(commands, List.of(elevator), 300, 100, scheduler, () -> now);
+    }
+
+    @Test
+    void testConstructor_InvalidDelays() {
+        var elevators = List.of(elevator);
+
+        assertThrows(IllegalArgumentException.class, () -> new StuckElevatorRecovery(null, elevators, 300, 100, scheduler, () -> now));
+        assertThrows(IllegalArgumentException.class, () -> new StuckElevatorRecovery(commands, elevators, 0, 100, scheduler, () -> now));
+        assertThrows(IllegalArgumentException.class, () -> new StuckElevatorRecovery(commands, elevators, 300, -1, scheduler, () -> now));
+    }
+
+    @Test
+    void testObserve_IdleElevatorIsNotWatched() {
+        stuckElevatorRecovery.observe(0, 2, null);
+        stuckElevatorRecovery.observe(0, 2, 2);
+
+        assertEquals(RecoveryState.IDLE, stuckElevatorRecovery.getState(0));
+        assertTrue(scheduledSteps.isEmpty());
+    }
+
+    @Test
+    void testObserve_StuckElevatorIsRecovered() throws RemoteException {
+        stuckElevatorRecovery.observe(0, 2, 5);
+
+        assertEquals(RecoveryState.WATCHING, stuckElevatorRecovery.getState(0));
+        assertEquals(300, scheduledDelays.get(0));
+
+        now = 300;
+        runNextStep();
+
+        assertEquals(RecoveryState.NUDGED, stuckElevatorRecovery.getState(0));
+        verify(client).setTarget(elevator, 2);
+        assertEquals(2, commands.getSentTarget(0));
+
+        now = 400;
+        runNextStep();
+
+        assertEquals(RecoveryState.RETARGETED, stuckElevatorRecovery.getState(0));
+        verify(client).setTarget(elevator, 5);
+        assertEquals(5, commands.getSentTarget(0));
+
+        now = 500;
+        runNextStep();
+
+        assertEquals(RecoveryState.IDLE, stuckElevatorRecovery.getState(0));
+        assertEquals(1, stuckElevatorRecovery.getRecoveryCount(0));
+        assertEquals(2, stuckElevatorRecovery.getRpcCalls());
+    }
+
+    @Test
+    void testObserve_MovementPostponesRecovery() throws RemoteException {
+        stuckElevatorRecovery.observe(0, 2, 5);
+
+        now = 200;
+        stuckElevatorRecovery.observe(0, 3, 5);
+
+        // the first check belongs to an outdated generation
+        now = 300;
+        runNextStep();
+
+        assertEquals(RecoveryState.WATCHING, stuckElevatorRecovery.getState(0));
+        assertEquals(300, scheduledDelays.get(0));
+        verify(client, never()).setTarget(any(Elevator.class), anyInt());
+
+        now = 500;
+        runNextStep();
+
+        assertEquals(RecoveryState.NUDGED, stuckElevatorRecovery.getState(0));
+        verify(client).setTarget(elevator, 3);
+    }
+
+    @Test
+    void testObserve_ReachedTargetStopsWatching() throws RemoteException {
+        stuckElevatorRecovery.observe(0, 2, 5);
+
+        now = 200;
+        stuckElevatorRecovery.observe(0, 5, 5);
+
+        now = 300;
+        runNextStep();
+
+        assertEquals(RecoveryState.IDLE, stuckElevatorRecovery.getState(0));
+        verify(client, never()).setTarget(any(Elevator.class), anyInt());
+    }
+
+    @Test
+    void testStop() {
+        stuckElevatorRecovery.stop();
+
+        verify(scheduler).shutdownNow();
+    }
+
+    private void runNextStep() {
+        scheduledSteps.remove(0).run();
+        scheduledDelays.remove(0);
+    }
+}
@@ -0,0 +1,163 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import at.fhhagenberg.sqelevator.domain.DoorStatus;
+import at.fhhagenberg.sqelevator.domain.Elevator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.rmi.RemoteException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+public class TargetCommandChannelTest {
+
+    private IElevatorClient client;
+    private Elevator first;
+    private Elevator second;
+    private List<Elevator> elevators;
+    private AtomicLong time;
+    private TargetCommandChannel commands;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.first = new Elevator();
+        this.second = new Elevator();
+        this.elevators = List.of(first, second);
+        this.time = new AtomicLong(1000);
+        this.commands = new TargetCommandChannel(client, 100, time::get);
+    }
+
+    @Test
+    void testConstructor_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TargetCommandChannel(null));
+        assertThrows(IllegalArgumentException.class, () -> new TargetCommandChannel(client, -1));
+    }
+
+    @Test
+    void testFlush_SendsLastStagedTargetPerCar() throws RemoteException {
+        commands.setTarget(0, 2);
+        commands.setTarget(0, 5);
+        commands.setTarget(1, 7);
+
+        assertEquals(2, commands.flush(elevators));
+
+        verify(client).setTarget(first, 5);
+        verify(client).setTarget(second, 7);
+        verifyNoMoreInteractions(client);
+        assertEquals(1, commands.getCoalescedCount());
+        assertEquals(2, commands.getSentCount());
+        assertEquals(5, commands.getSentTarget(0));
+    }
+
+    @Test
+    void testFlush_SingleCarLeavesOtherCarsStaged() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.setTarget(1, 7);
+
+        assertTrue(commands.flush(elevators, 1));
+        assertFalse(commands.flush(elevators, 1));
+
+        verify(client).setTarget(second, 7);
+        verifyNoMoreInteractions(client);
+        assertTrue(commands.hasStagedTarget(0));
+        assertEquals(7, commands.getSentTarget(1));
+    }
+
+    @Test
+    void testFlush_ElidesUnchangedTarget() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        time.addAndGet(500);
+
+        commands.setTarget(0, 5);
+
+        assertEquals(0, commands.flush(elevators));
+        verify(client, times(1)).setTarget(any(Elevator.class), anyInt());
+        assertEquals(1, commands.getElidedCount());
+        assertFalse(commands.hasStagedTarget(0));
+    }
+
+    @Test
+    void testFlush_HoldsRetargetWithinWindow() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        time.addAndGet(50);
+
+        commands.setTarget(0, 3);
+
+        assertEquals(0, commands.flush(elevators));
+        assertTrue(commands.hasStagedTarget(0));
+
+        time.addAndGet(50);
+
+        assertEquals(1, commands.flush(elevators));
+        verify(client).setTarget(first, 3);
+    }
+
+    @Test
+    void testAcknowledge_ArrivalAllowsSameTargetAgain() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        var arrived = new BuildingSnapshot(2, 10);
+        arrived.setCurrentFloor(0, 5);
+        arrived.setTargetedFloor(0, 5);
+        arrived.setDoorStatus(0, DoorStatus.OPEN);
+
+        commands.acknowledge(arrived);
+        commands.setTarget(0, 5);
+
+        assertEquals(1, commands.flush(elevators));
+        verify(client, times(2)).setTarget(first, 5);
+    }
+
+    @Test
+    void testAcknowledge_TargetChangedElsewhereIsSentAgain() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        var acknowledged = new BuildingSnapshot(2, 10);
+        acknowledged.setTargetedFloor(0, 5);
+        commands.acknowledge(acknowledged);
+        var overridden = new BuildingSnapshot(2, 10);
+        overridden.setTargetedFloor(0, 8);
+
+        commands.acknowledge(overridden);
+
+        assertEquals(-1, commands.getSentTarget(0));
+        time.addAndGet(500);
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        verify(client, times(2)).setTarget(first, 5);
+    }
+
+    @Test
+    void testAcknowledge_PendingTargetIsKept() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        var notYetPolled = new BuildingSnapshot(2, 10);
+        notYetPolled.setTargetedFloor(0, 0);
+
+        commands.acknowledge(notYetPolled);
+
+        assertEquals(5, commands.getSentTarget(0));
+    }
+
+    @Test
+    void testReset() throws RemoteException {
+        commands.setTarget(0, 5);
+        commands.flush(elevators);
+        commands.setTarget(1, 2);
+
+        commands.reset();
+
+        assertEquals(-1, commands.getSentTarget(0));
+        assertFalse(commands.hasStagedTarget(1));
+    }
+}
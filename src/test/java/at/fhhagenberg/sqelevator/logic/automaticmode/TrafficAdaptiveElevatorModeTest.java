@@ -0,0 +1,125 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.data.IElevatorClient;
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TrafficAdaptiveElevatorModeTest {
+
+    private IElevatorClient client;
+    private TrafficClassifier classifier;
+    private IAutomaticModeStrategy defaultStrategy;
+    private IAutomaticModeStrategy downPeakStrategy;
+    private TrafficAdaptiveElevatorMode trafficAdaptiveElevatorMode;
+
+    @BeforeEach
+    void setup() {
+        this.client = mock(IElevatorClient.class);
+        this.classifier = mock(TrafficClassifier.class);
+        this.defaultStrategy = mock(IAutomaticModeStrategy.class);
+        this.downPeakStrategy = mock(IAutomaticModeStrategy.class);
+
+        this.trafficAdaptiveElevatorMode = new TrafficAdaptiveElevatorMode(client, classifier, defaultStrategy);
+        this.trafficAdaptiveElevatorMode.setStrategy(TrafficMode.DOWN_PEAK, downPeakStrategy);
+    }
+
+    @Test
+    void testConstructor_Null() {
+        assertThrows(IllegalArgumentException.class, () -> new TrafficAdaptiveElevatorMode(client, null, defaultStrategy));
+        assertThrows(IllegalArgumentException.class, () -> new TrafficAdaptiveElevatorMode(client, classifier, null));
+    }
+
+    @Test
+    void testSetStrategy_Null() {
+        assertThrows(IllegalArgumentException.class, () -> trafficAdaptiveElevatorMode.setStrategy(null, downPeakStrategy));
+        assertThrows(IllegalArgumentException.class, () -> trafficAdaptiveElevatorMode.setStrategy(TrafficMode.UP_PEAK, null));
+    }
+
+    @Test
+    void testGetStrategy_FallsBackToDefault() {
+        assertSame(downPeakStrategy, trafficAdaptiveElevatorMode.getStrategy(TrafficMode.DOWN_PEAK));
+        assertSame(defaultStrategy, trafficAdaptiveElevatorMode.getStrategy(TrafficMode.UP_PEAK));
+    }
+
+    @Test
+    void testExecute_WithoutSwitch() {
+        var snapshot = createSnapshot(1L);
+
+        trafficAdaptiveElevatorMode.execute(snapshot);
+
+        verify(classifier).observe(snapshot);
+        verify(defaultStrategy).execute(snapshot);
+        verify(defaultStrategy, never()).setClient(any());
+        verifyNoInteractions(downPeakStrategy);
+    }
+
+    @Test
+    void testExecute_SwitchDispatchesSameSnapshot() {
+        var snapshot = createSnapshot(1L);
+        when(classifier.getMode()).thenReturn(TrafficMode.INTER_FLOOR, TrafficMode.DOWN_PEAK);
+        when(classifier.observe(snapshot)).thenReturn(true);
+
+        trafficAdaptiveElevatorMode.execute(snapshot);
+
+        verify(defaultStrategy).setClient(client);
+        verify(downPeakStrategy).setClient(client);
+        verify(downPeakStrategy).execute(snapshot);
+        verify(defaultStrategy, never()).execute(any());
+        assertSame(downPeakStrategy, trafficAdaptiveElevatorMode.getActiveStrategy());
+    }
+
+    @Test
+    void testExecute_SwitchToSameStrategyKeepsIt() {
+        var snapshot = createSnapshot(1L);
+        when(classifier.getMode()).thenReturn(TrafficMode.INTER_FLOOR, TrafficMode.UP_PEAK);
+        when(classifier.observe(snapshot)).thenReturn(true);
+
+        trafficAdaptiveElevatorMode.execute(snapshot);
+
+        verify(defaultStrategy, never()).setClient(any());
+        verify(defaultStrategy).execute(snapshot);
+        verify(classifier, never()).describe();
+    }
+
+    @Test
+    void testExecute_SameClockTickIsObservedOnce() {
+        trafficAdaptiveElevatorMode.execute(createSnapshot(5L));
+        trafficAdaptiveElevatorMode.execute(createSnapshot(5L));
+
+        verify(classifier, times(1)).observe(any());
+        verify(defaultStrategy, times(2)).execute(any());
+    }
+
+    @Test
+    void testGetMetrics_OfActiveStrategy() {
+        var metrics = new DispatchMetrics();
+        when(defaultStrategy.getMetrics()).thenReturn(metrics);
+
+        assertSame(metrics, trafficAdaptiveElevatorMode.getMetrics());
+    }
+
+    @Test
+    void testSetClient_PassedToActiveStrategy() {
+        var otherClient = mock(IElevatorClient.class);
+
+        trafficAdaptiveElevatorMode.setClient(otherClient);
+
+        verify(defaultStrategy).setClient(otherClient);
+        verifyNoInteractions(downPeakStrategy);
+    }
+
+    private static BuildingSnapshot createSnapshot(long clockTick) {
+        var snapshot = new BuildingSnapshot(2, 10);
+        snapshot.setClockTick(clockTick);
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,160 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import at.fhhagenberg.sqelevator.domain.BuildingSnapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrafficClassifierTest {
+
+    private static final int NONE = -1;
+
+    private long clockTick;
+
+    @Test
+    void testConstructor_Negative() {
+        assertThrows(IllegalArgumentException.class, () -> new TrafficClassifier(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrafficClassifier(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrafficClassifier(0.9, 0));
+    }
+
+    @Test
+    void testObserve_StartsAsInterFloor() {
+        var classifier = new TrafficClassifier();
+
+        assertFalse(classifier.observe(new BuildingSnapshot(2, 10)));
+
+        assertEquals(TrafficMode.INTER_FLOOR, classifier.getMode());
+        assertNull(classifier.getCandidate());
+    }
+
+    @Test
+    void testObserve_TooFewCallsStayInterFloor() {
+        var classifier = new TrafficClassifier(0.99, 1);
+
+        press(classifier, 4, 0, NONE);
+
+        assertEquals(TrafficMode.INTER_FLOOR, classifier.getMode());
+        assertEquals(1.0, classifier.getIncomingShare());
+    }
+
+    @Test
+    void testObserve_UpPeak() {
+        var classifier = new TrafficClassifier(0.99, 1);
+
+        press(classifier, 6, 0, NONE);
+
+        assertEquals(TrafficMode.UP_PEAK, classifier.getMode());
+        assertEquals(1, classifier.getSwitchCount());
+    }
+
+    @Test
+    void testObserve_DownPeak() {
+        var classifier = new TrafficClassifier(0.99, 1);
+
+        press(classifier, 6, NONE, 0);
+
+        assertEquals(TrafficMode.DOWN_PEAK, classifier.getMode());
+        assertEquals(1.0, classifier.getOutgoingShare());
+    }
+
+    @Test
+    void testObserve_Lunch() {
+        var classifier = new TrafficClassifier(0.99, 1);
+
+        press(classifier, 6, 0, 0);
+
+        assertEquals(TrafficMode.LUNCH, classifier.getMode());
+    }
+
+    @Test
+    void testObserve_ActiveModeHeldToExitShare() {
+        var classifier = new TrafficClassifier(0.99, 1);
+        press(classifier, 6, 0, NONE);
+
+        press(classifier, 8, 3, NONE);
+
+        // below the enter share of a peak, but not yet below its exit share
+        assertTrue(classifier.getIncomingShare() < 0.5);
+        assertTrue(classifier.getIncomingShare() >= 0.35);
+        assertEquals(TrafficMode.UP_PEAK, classifier.getMode());
+
+        var freshClassifier = new TrafficClassifier(0.99, 1);
+        press(freshClassifier, 8, 3, NONE);
+        press(freshClassifier, 6, 0, NONE);
+
+        assertTrue(freshClassifier.getIncomingShare() < 0.5);
+        assertEquals(TrafficMode.INTER_FLOOR, freshClassifier.getMode());
+    }
+
+    @Test
+    void testObserve_SwitchNeedsConfirmationTicks() {
+        var classifier = new TrafficClassifier(0.999999, 30);
+
+        press(classifier, 6, 0, NONE);
+
+        // the faded calls only reach the minimum with the sixth press at tick 11
+        assertEquals(TrafficMode.INTER_FLOOR, classifier.getMode());
+        assertEquals(TrafficMode.UP_PEAK, classifier.getCandidate());
+        assertEquals(2, classifier.getConfirmations());
+        assertTrue(classifier.describe().contains("candidate up peak for 2 of 30 ticks"));
+
+        // a single pass after a long quiet stretch confirms it, however few passes ran in between
+        assertTrue(classifier.observe(createSnapshot(40)));
+
+        assertEquals(TrafficMode.UP_PEAK, classifier.getMode());
+        assertNull(classifier.getCandidate());
+        assertEquals(0, classifier.getConfirmations());
+    }
+
+    @Test
+    void testObserve_CallsFadeWithElapsedTicks() {
+        var classifier = new TrafficClassifier(0.99, 1);
+        press(classifier, 6, 0, NONE);
+
+        assertFalse(classifier.observe(createSnapshot(clockTick + 1)));
+        assertEquals(TrafficMode.UP_PEAK, classifier.getMode());
+
+        // one pass much later finds the peak calls faded out
+        assertTrue(classifier.observe(createSnapshot(clockTick + 1000)));
+        assertEquals(TrafficMode.INTER_FLOOR, classifier.getMode());
+    }
+
+    @Test
+    void testObserve_RestartedClockStartsCandidateOver() {
+        var classifier = new TrafficClassifier(0.999999, 30);
+        press(classifier, 6, 0, NONE);
+
+        assertFalse(classifier.observe(createSnapshot(5)));
+
+        assertEquals(TrafficMode.UP_PEAK, classifier.getCandidate());
+        assertEquals(1, classifier.getConfirmations());
+    }
+
+    private BuildingSnapshot createSnapshot(long tick) {
+        var snapshot = new BuildingSnapshot(2, 10);
+        clockTick = tick;
+        snapshot.setClockTick(tick);
+
+        return snapshot;
+    }
+
+    // presses the up hall call and the car call of the first car the given number of times, every press is followed
+    // by a snapshot with both released, every snapshot is one clock tick after the previous one
+    private void press(TrafficClassifier classifier, int times, int upHallCallFloor, int carCallFloor) {
+        for (int press = 0; press < times; press++) {
+            var snapshot = createSnapshot(clockTick + 1);
+
+            if (upHallCallFloor != NONE) {
+                snapshot.setUpRequested(upHallCallFloor, true);
+            }
+
+            if (carCallFloor != NONE) {
+                snapshot.setButtonPressed(0, carCallFloor, true);
+            }
+
+            classifier.observe(snapshot);
+            classifier.observe(createSnapshot(clockTick + 1));
+        }
+    }
+}
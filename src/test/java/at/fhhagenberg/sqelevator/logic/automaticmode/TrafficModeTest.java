@@ -0,0 +1,20 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrafficModeTest {
+
+    @Test
+    public void testUpPeak() {
+        TrafficMode trafficMode = TrafficMode.UP_PEAK;
+        assertEquals("up peak", trafficMode.toString());
+    }
+
+    @Test
+    public void testInterFloor() {
+        TrafficMode trafficMode = TrafficMode.INTER_FLOOR;
+        assertEquals("inter floor", trafficMode.toString());
+    }
+}
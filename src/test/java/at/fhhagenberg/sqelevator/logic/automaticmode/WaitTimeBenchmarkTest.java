@@ -0,0 +1,208 @@
+package at.fhhagenberg.sqelevator.logic.automaticmode;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.rmi.RemoteException;
+import java.util.logging.Logger;
+
+import static at.fhhagenberg.sqelevator.logic.automaticmode.SimulatedBuilding.TrafficPattern.downPeak;
+import static at.fhhagenberg.sqelevator.logic.automaticmode.SimulatedBuilding.TrafficPattern.interFloor;
+import static at.fhhagenberg.sqelevator.logic.automaticmode.SimulatedBuilding.TrafficPattern.phases;
+import static at.fhhagenberg.sqelevator.logic.automaticmode.SimulatedBuilding.TrafficPattern.upPeak;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// replays seeded traffic against the dispatcher in a simulated building, the logged reports are the numbers to compare
+public class WaitTimeBenchmarkTest {
+
+    private static final Logger LOGGER = Logger.getLogger("WaitTimeBenchmarkTest");
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testInterFloorTraffic(long seed) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, seed);
+        var automaticElevatorMode = new AutomaticElevatorMode(building.getClient());
+        automaticElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        automaticElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(automaticElevatorMode, interFloor(0.4), 3000, 3000);
+
+        LOGGER.info(String.format("inter-floor, seed %d: %s", seed, report));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.servedPassengers > 0);
+        assertTrue(report.averageWait < 10, report.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testInterFloorTraffic_CostBased(long seed) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, seed);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient());
+        costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(costBasedElevatorMode, interFloor(0.4), 3000, 3000);
+
+        LOGGER.info(String.format("inter-floor, cost based, seed %d: %s", seed, report));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.averageWait < 10, report.toString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testInterFloorTraffic_BatchAssignment(long seed) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, seed);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient(), new ArrivalTimeEstimator(), new HallCallAssignmentSolver());
+        costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(costBasedElevatorMode, interFloor(0.4), 3000, 3000);
+
+        LOGGER.info(String.format("inter-floor, batch assignment, seed %d: %s, %.1fs saved over greedy plans", seed, report,
+                costBasedElevatorMode.getMetrics().getPlanImprovement()));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.averageWait < 10, report.toString());
+        assertTrue(costBasedElevatorMode.getBatchAssignmentCount() > 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testInterFloorTraffic_BatchAssignmentOverBudget(long seed) throws RemoteException {
+        // a budget of a nanosecond is always overrun, every batch gets the greedy plan the solver starts from
+        var building = new SimulatedBuilding(3, 12, seed);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient(), new ArrivalTimeEstimator(), new HallCallAssignmentSolver(1));
+        costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(costBasedElevatorMode, interFloor(0.4), 3000, 3000);
+        var metrics = costBasedElevatorMode.getMetrics();
+
+        LOGGER.info(String.format("inter-floor, batch assignment over budget, seed %d: %s, %d overruns", seed, report, metrics.getBudgetOverrunCount()));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.averageWait < 10, report.toString());
+        assertEquals(costBasedElevatorMode.getBatchAssignmentCount(), costBasedElevatorMode.getGreedyFallbackCount());
+        assertTrue(metrics.getBudgetOverrunCount() > 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testInterFloorTraffic_Look(long seed) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, seed);
+        var lookElevatorMode = new LookElevatorMode(building.getClient());
+        lookElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        lookElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(lookElevatorMode, interFloor(0.4), 3000, 3000);
+
+        LOGGER.info(String.format("inter-floor, look, seed %d: %s", seed, report));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.averageWait < 10, report.toString());
+    }
+
+    @Test
+    void testInterFloorTraffic_SmallCars() throws RemoteException {
+        var blindReport = runSmallCars(false);
+        var loadAwareReport = runSmallCars(true);
+
+        assertEquals(0, blindReport.unservedPassengers);
+        assertEquals(0, loadAwareReport.unservedPassengers);
+        assertTrue(loadAwareReport.fullCarStops < blindReport.fullCarStops, loadAwareReport.toString());
+        assertTrue(loadAwareReport.averageWait < blindReport.averageWait, loadAwareReport.toString());
+    }
+
+    // heavy traffic for cars that only fit three passengers, with and without the load in the snapshot
+    private SimulatedBuilding.WaitTimeReport runSmallCars(boolean isLoadReported) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, 1);
+        building.setCapacity(3, isLoadReported);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient(), new ArrivalTimeEstimator(), new HallCallAssignmentSolver());
+        costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        var report = building.run(costBasedElevatorMode, interFloor(0.6), 3000, 3000);
+
+        LOGGER.info(String.format("inter-floor, small cars, load reported: %b: %s, rejected stops: %d", isLoadReported, report,
+                costBasedElevatorMode.getMetrics().getRejectedStopCount()));
+        return report;
+    }
+
+    @Test
+    void testUpPeakTraffic_IdleCarParking() throws RemoteException {
+        var stayingReport = runUpPeak(false);
+        var parkingReport = runUpPeak(true);
+
+        assertEquals(0, stayingReport.unservedPassengers);
+        assertEquals(0, parkingReport.unservedPassengers);
+        assertTrue(parkingReport.averageWait < stayingReport.averageWait, parkingReport.toString());
+    }
+
+    // light morning traffic where most passengers start at the lobby, with and without parking the idle cars, the
+    // demand histogram learns in buckets of 300 ticks
+    private SimulatedBuilding.WaitTimeReport runUpPeak(boolean isParking) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, 1);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient(), new ArrivalTimeEstimator(), new HallCallAssignmentSolver());
+        costBasedElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        costBasedElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        if (isParking) {
+            costBasedElevatorMode.setIdleCarParking(new IdleCarParking(10, 300, 10, building::getTick));
+        }
+
+        var report = building.run(costBasedElevatorMode, upPeak(0.1, 0.8), 3000, 3000);
+
+        LOGGER.info(String.format("up-peak, parking: %b: %s", isParking, report));
+        return report;
+    }
+
+    @Test
+    void testUpPeakTraffic_TallBuildingZoning() throws RemoteException {
+        var unzonedReport = runTallBuilding(false);
+        var zonedReport = runTallBuilding(true);
+
+        assertEquals(0, unzonedReport.unservedPassengers);
+        assertEquals(0, zonedReport.unservedPassengers);
+        assertTrue(zonedReport.averageWait < unzonedReport.averageWait, zonedReport.toString());
+    }
+
+    // heavy morning traffic in 24 floors for four cars of eight passengers, with and without two zones of two cars
+    private SimulatedBuilding.WaitTimeReport runTallBuilding(boolean isZoned) throws RemoteException {
+        var building = new SimulatedBuilding(4, 24, 1);
+        building.setCapacity(8, true);
+        var lookElevatorMode = new LookElevatorMode(building.getClient());
+        lookElevatorMode.setStuckElevatorRecovery(mock(StuckElevatorRecovery.class));
+        lookElevatorMode.setTargetCommandChannel(new TargetCommandChannel(building.getClient(), 1, building::getTick));
+
+        if (isZoned) {
+            lookElevatorMode.setFloorZoning(new FloorZoning(2, 300, FloorZoning.DEFAULT_RETENTION));
+        }
+
+        var report = building.run(lookElevatorMode, upPeak(0.5, 0.9), 3000, 3000);
+
+        LOGGER.info(String.format("up-peak, tall building, zoned: %b: %s", isZoned, report));
+        return report;
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 2, 3})
+    void testPhasedTraffic_TrafficAdaptive(long seed) throws RemoteException {
+        var building = new SimulatedBuilding(3, 12, seed);
+        var targetCommands = new TargetCommandChannel(building.getClient(), 1, building::getTick);
+        var costBasedElevatorMode = new CostBasedElevatorMode(building.getClient(), new ArrivalTimeEstimator(), new HallCallAssignmentSolver());
+        costBasedElevatorMode.setTargetCommandChannel(targetCommands);
+        var lookElevatorMode = new LookElevatorMode(building.getClient());
+        lookElevatorMode.setTargetCommandChannel(targetCommands);
+        var trafficAdaptiveElevatorMode = new TrafficAdaptiveElevatorMode(building.getClient(), new TrafficClassifier(), costBasedElevatorMode);
+        trafficAdaptiveElevatorMode.setStrategy(TrafficMode.DOWN_PEAK, lookElevatorMode);
+
+        var report = building.run(trafficAdaptiveElevatorMode, phases(1000, upPeak(0.4, 0.8), interFloor(0.4), downPeak(0.4, 0.8)), 3000, 3000);
+
+        LOGGER.info(String.format("phased, traffic adaptive, seed %d: %s", seed, report));
+        assertEquals(0, report.unservedPassengers);
+        assertTrue(report.averageWait < 10, report.toString());
+        assertEquals(TrafficMode.DOWN_PEAK, trafficAdaptiveElevatorMode.getClassifier().getMode());
+        assertTrue(trafficAdaptiveElevatorMode.getActiveStrategy() instanceof LookElevatorMode);
+        // in, out of and back into a peak, without flapping in between
+        assertEquals(3, trafficAdaptiveElevatorMode.getClassifier().getSwitchCount());
+    }
+}